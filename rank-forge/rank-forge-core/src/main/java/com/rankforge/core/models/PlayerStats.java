@@ -33,6 +33,9 @@ public class PlayerStats {
     private int headshotKills;
     private int roundsPlayed;
     private int clutchesWon;
+    private int openingKills;
+    private int openingDeaths;
+    private int tradeKills;
     private double damageDealt;
     private Instant lastUpdated;
     private int rank;
@@ -97,6 +100,30 @@ public class PlayerStats {
         this.clutchesWon = clutchesWon;
     }
 
+    public int getOpeningKills() {
+        return openingKills;
+    }
+
+    public void setOpeningKills(int openingKills) {
+        this.openingKills = openingKills;
+    }
+
+    public int getOpeningDeaths() {
+        return openingDeaths;
+    }
+
+    public void setOpeningDeaths(int openingDeaths) {
+        this.openingDeaths = openingDeaths;
+    }
+
+    public int getTradeKills() {
+        return tradeKills;
+    }
+
+    public void setTradeKills(int tradeKills) {
+        this.tradeKills = tradeKills;
+    }
+
     public double getDamageDealt() {
         return damageDealt;
     }
@@ -34,9 +34,11 @@ import org.slf4j.LoggerFactory;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -218,6 +220,9 @@ public class CS2LogParser implements LogParser {
     private static final Pattern RESET_BREAKPAD_APP_ID_PATTERN = Pattern.compile(
             "ResetBreakpadAppId: Setting dedicated server app id: (?<appServerId>\\d+)"
     );
+    
+    // Pattern for any Steam ID in a log line, used to collect the match roster at the rewind point
+    private static final Pattern STEAM_ID_PATTERN = Pattern.compile("\\[U:\\d+:\\d+\\]");
 
     private final ObjectMapper objectMapper;
     private final EventStore eventStore;
@@ -458,6 +463,9 @@ public class CS2LogParser implements LogParser {
         int indexToStart = this.roundStartLineIndices.get(roundToStart) - 1;
         this.matchProcessingIndex = currentIndex;
         this.roundStartLineIndices.clear();
+        
+        // Collect the match roster so player stats can be fetched in one query before replay
+        eventProcessingContext.setMatchRoster(collectMatchRoster(lines, indexToStart, currentIndex));
         logger.info("In game over, moving pointer back {} rounds to {}, game over at {}, duration: {} min", 
                 totalRounds, indexToStart, matchProcessingIndex, duration);
         return new ParseLineResponse(new GameOverEvent(
@@ -470,6 +478,22 @@ public class CS2LogParser implements LogParser {
         ), indexToStart);
     }
     
+    /**
+     * Collect the Steam IDs of all human players appearing between the rewind point and the game over line.
+     * Bots never carry a Steam ID, so they are naturally excluded.
+     */
+    private Set<String> collectMatchRoster(List<String> lines, int fromIndex, int toIndex) {
+        Set<String> roster = new HashSet<>();
+        for (int i = Math.max(0, fromIndex); i < toIndex && i < lines.size(); i++) {
+            Matcher steamIdMatcher = STEAM_ID_PATTERN.matcher(lines.get(i));
+            while (steamIdMatcher.find()) {
+                roster.add(steamIdMatcher.group());
+            }
+        }
+        logger.debug("Collected match roster of {} players between {} and {}", roster.size(), fromIndex, toIndex);
+        return roster;
+    }
+    
     /**
      * Parse accolades from log lines after game over event and queue them for batch persistence.
      * Accolades are added to the EventProcessingContext and will be linked to GameEntity
@@ -56,8 +56,8 @@ public class EloBasedRankingAlgorithm implements RankingAlgorithm {
     }
 
     private double calculateClutchFactor(PlayerStats stats) {
-        // TODO implement calculateClutchFactor
-        return 0;
+        // Clutches are rare, so this stays well below 1 and only nudges the rating
+        return (double) stats.getClutchesWon() / (stats.getRoundsPlayed() + 1);
     }
 
     private double calculateHeadshotRatio(PlayerStats stats) {
@@ -38,6 +38,8 @@ import com.rankforge.core.stores.PlayerStatsStore;
 import com.rankforge.pipeline.persistence.EventProcessingContext;
 import com.rankforge.pipeline.persistence.entity.GameEntity;
 import com.rankforge.pipeline.persistence.repository.GameRepository;
+import com.rankforge.pipeline.persistence.spool.MatchBatch;
+import com.rankforge.pipeline.persistence.spool.WriteBehindMatchQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,6 +61,8 @@ public class EventProcessorImpl implements EventProcessor, GameEventVisitor, Gam
     private final List<GameEventListener> eventListeners;
     private final EventProcessingContext context;
     private final GameRepository gameRepository;
+    private final RoundStateTracker roundState = new RoundStateTracker();
+    private WriteBehindMatchQueue writeBehindQueue;
 
     public EventProcessorImpl(PlayerStatsStore statsRepo, RankingService rankingService,
                               EventProcessingContext context, GameRepository gameRepository) {
@@ -69,6 +73,13 @@ public class EventProcessorImpl implements EventProcessor, GameEventVisitor, Gam
         this.eventListeners = new ArrayList<>();
     }
 
+    /**
+     * In write-behind mode, matches still waiting in the queue also count as duplicates.
+     */
+    public void setWriteBehindQueue(WriteBehindMatchQueue writeBehindQueue) {
+        this.writeBehindQueue = writeBehindQueue;
+    }
+
     private static PlayerStats getDefaultPlayerStats(Player player) {
         PlayerStats playerStats = new PlayerStats();
         playerStats.setPlayerId(player.getSteamId());
@@ -119,6 +130,8 @@ public class EventProcessorImpl implements EventProcessor, GameEventVisitor, Gam
 
     @Override
     public void visit(AttackEvent event, PlayerStats player1Stats, PlayerStats player2Stats) {
+        roundState.observe(event.getPlayer1());
+        roundState.observe(event.getPlayer2());
         double oldDamage = player1Stats.getDamageDealt();
         player1Stats.setDamageDealt(player1Stats.getDamageDealt() + event.getDamage());
         logger.debug("Attack event: {} dealt {} damage to {} (total damage: {} -> {})", 
@@ -129,6 +142,8 @@ public class EventProcessorImpl implements EventProcessor, GameEventVisitor, Gam
 
     @Override
     public void visit(AssistEvent event, PlayerStats player1Stats, PlayerStats player2Stats) {
+        // The victim is already dead, only the assister tells who is alive
+        roundState.observe(event.getPlayer1());
         int oldAssists = player1Stats.getAssists();
         player1Stats.setAssists(player1Stats.getAssists() + 1);
         logger.debug("Assist event: {} assisted in kill (assists: {} -> {})", 
@@ -138,7 +153,8 @@ public class EventProcessorImpl implements EventProcessor, GameEventVisitor, Gam
 
     @Override
     public void visit(BombEvent event, PlayerStats player1Stats, PlayerStats player2Stats) {
-        // Bomb events are stored but don't affect stats
+        // Bomb events don't affect stats, but a bomb outcome decides the round
+        roundState.onBomb(event.getEventType());
     }
 
     @Override
@@ -154,6 +170,15 @@ public class EventProcessorImpl implements EventProcessor, GameEventVisitor, Gam
 
         player2Stats.setDeaths(player2Stats.getDeaths() + 1);
         
+        int killFlags = roundState.onKill(event.getPlayer1(), event.getPlayer2(), event.getTimestamp());
+        if ((killFlags & RoundStateTracker.OPENING_KILL) != 0) {
+            player1Stats.setOpeningKills(player1Stats.getOpeningKills() + 1);
+            player2Stats.setOpeningDeaths(player2Stats.getOpeningDeaths() + 1);
+        }
+        if ((killFlags & RoundStateTracker.TRADE_KILL) != 0) {
+            player1Stats.setTradeKills(player1Stats.getTradeKills() + 1);
+        }
+        
         logger.debug("Kill event: {} killed {} with {} {} (killer: kills {} -> {}, hs {} -> {}, victim: deaths {} -> {})", 
                 event.getPlayer1().getName(), event.getPlayer2().getName(), event.getWeapon(),
                 event.isHeadshot() ? "(HEADSHOT)" : "", oldKills, player1Stats.getKills(),
@@ -170,6 +195,7 @@ public class EventProcessorImpl implements EventProcessor, GameEventVisitor, Gam
 
     @Override
     public void visit(RoundStartEvent event, PlayerStats player1Stats, PlayerStats player2Stats) {
+        roundState.startRound();
         this.onRoundStarted(event);
     }
 
@@ -177,6 +203,14 @@ public class EventProcessorImpl implements EventProcessor, GameEventVisitor, Gam
     public void visit(RoundEndEvent event, PlayerStats player1Stats, PlayerStats player2Stats) {
         event.getPlayers().remove("0"); //remove bots
         
+        for (String clutchWinner : roundState.endRound(event.getPlayers())) {
+            statsRepo.getPlayerStats(clutchWinner).ifPresent(stats -> {
+                stats.setClutchesWon(stats.getClutchesWon() + 1);
+                logger.debug("Round end: {} won a clutch (clutches: {})", stats.getLastSeenNickname(), stats.getClutchesWon());
+                statsRepo.store(stats, false);
+            });
+        }
+        
         // Get player list from event, but if empty (last round of match), get from context
         java.util.Collection<String> playerSteamIds = event.getPlayers();
         if (playerSteamIds.isEmpty()) {
@@ -212,6 +246,17 @@ public class EventProcessorImpl implements EventProcessor, GameEventVisitor, Gam
     @Override
     public void visit(GameOverEvent event, PlayerStats player1Stats, PlayerStats player2Stats) {
         logger.info("Processing GAME_OVER event at {} on map {}", event.getTimestamp(), event.getMap());
+        // The match's rounds are replayed after its GAME_OVER
+        roundState.startMatch();
+        
+        // A match queued for write-behind persistence is not in the database yet
+        if (writeBehindQueue != null 
+                && writeBehindQueue.isPending(MatchBatch.fingerprintOf(event.getMap(), event.getTimestamp()))) {
+            logger.info("🔄 DEDUPE: Duplicate game detected in write-behind queue - skipping ingestion. timestamp: {}, map: {}", 
+                    event.getTimestamp(), event.getMap());
+            context.clear();
+            return;
+        }
         
         // Check for duplicate game (same timestamp and map)
         logger.debug("Checking for duplicate game: timestamp={}, map={}", event.getTimestamp(), event.getMap());
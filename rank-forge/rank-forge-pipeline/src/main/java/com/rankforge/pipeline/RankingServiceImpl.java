@@ -43,10 +43,15 @@ public class RankingServiceImpl implements RankingService {
         this.rankingAlgo = rankingAlgo;
     }
 
+    /**
+     * The player's current rating, as stored on their latest stats (0 for an unknown player).
+     * Leaderboard positions are served by the server's in-memory leaderboard index.
+     */
     @Override
     public double getPlayerRanking(String playerId) {
-        // TODO Implement me
-        return 0;
+        return statsRepo.getPlayerStats(playerId)
+                .map(PlayerStats::getRank)
+                .orElse(0);
     }
 
     @Override
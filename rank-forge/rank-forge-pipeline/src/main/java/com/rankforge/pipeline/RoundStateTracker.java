@@ -0,0 +1,278 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline;
+
+import com.rankforge.core.events.BombEvent;
+import com.rankforge.core.models.Player;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Tracks who is alive during a round as a match's events stream through the processor, to detect
+ * opening kills, trade kills and clutches in-stream instead of replaying rounds from the database.
+ * 
+ * Every player of the match gets a slot; each side's roster and alive players are bitsets over
+ * the slots, and the time of each player's last kill of an enemy is kept per slot, so a kill is O(1).
+ * Rosters are learnt from the players acting in events and carried from round to round: at a round
+ * start everybody on the roster is alive again. The first player seen on the other side in a round
+ * means the teams switched sides (half time, overtime), and rosters are pruned to the players still
+ * present at each round end.
+ * 
+ * A player is in a clutch once they are the last one alive on a side that started the round with at
+ * least two players, facing at least one opponent. The logs carry no round winner, so the round is
+ * credited from the bomb (exploded: T, defused: CT) or else from which side was eliminated; rounds
+ * won on time without a bomb outcome are not credited. Clutches are not detected in a match's first
+ * round, where the rosters are not known yet.
+ * 
+ * Author bageshwar.pn
+ * Date 2026
+ */
+public class RoundStateTracker {
+    
+    /**
+     * {@link #onKill} flag: first kill of an enemy in the round
+     */
+    public static final int OPENING_KILL = 1;
+    
+    /**
+     * {@link #onKill} flag: the victim had killed a teammate of the killer within {@link #TRADE_WINDOW_MILLIS}
+     */
+    public static final int TRADE_KILL = 2;
+    
+    static final long TRADE_WINDOW_MILLIS = 5_000;
+    static final int MAX_PLAYERS = Long.SIZE;
+    
+    private static final int CT = 0;
+    private static final int T = 1;
+    private static final long NO_KILL = Long.MIN_VALUE;
+    
+    private final Map<String, Integer> slots = new HashMap<>();
+    private final String[] slotKeys = new String[MAX_PLAYERS];
+    private final long[] roster = new long[2];
+    private final long[] alive = new long[2];
+    private final int[] startedWith = new int[2];
+    private final int[] clutcher = {-1, -1};
+    private final long[] lastKillAt = new long[MAX_PLAYERS];
+    private boolean roundActive;
+    private boolean rosterKnown;
+    private boolean sidesChecked;
+    private boolean openingTaken;
+    private int bombWinner = -1;
+    
+    public RoundStateTracker() {
+        Arrays.fill(lastKillAt, NO_KILL);
+    }
+    
+    /**
+     * Forgets the previous match's players
+     */
+    public void startMatch() {
+        slots.clear();
+        Arrays.fill(slotKeys, null);
+        Arrays.fill(roster, 0L);
+        rosterKnown = false;
+        roundActive = false;
+    }
+    
+    /**
+     * Revives the whole roster and clears the previous round's kills
+     */
+    public void startRound() {
+        alive[CT] = roster[CT];
+        alive[T] = roster[T];
+        startedWith[CT] = Long.bitCount(alive[CT]);
+        startedWith[T] = Long.bitCount(alive[T]);
+        clutcher[CT] = -1;
+        clutcher[T] = -1;
+        Arrays.fill(lastKillAt, NO_KILL);
+        bombWinner = -1;
+        openingTaken = false;
+        sidesChecked = false;
+        roundActive = true;
+    }
+    
+    /**
+     * Registers a player acting in an event: new players join the roster (alive), players seen on
+     * the other side move there
+     * 
+     * @return The player's slot, or -1 if the player is not tracked
+     */
+    public int observe(Player player) {
+        int slot = slotOf(player);
+        int side = sideOf(player);
+        if (slot < 0 || side < 0) {
+            return slot;
+        }
+        long bit = 1L << slot;
+        int other = 1 - side;
+        if (roundActive && !sidesChecked) {
+            sidesChecked = true;
+            if ((roster[other] & bit) != 0 && rosterKnown) {
+                swapSides();
+            }
+        }
+        if ((roster[side] & bit) == 0) {
+            boolean wasAlive = (alive[other] & bit) != 0 || (roster[other] & bit) == 0;
+            roster[other] &= ~bit;
+            alive[other] &= ~bit;
+            roster[side] |= bit;
+            if (roundActive && wasAlive) {
+                alive[side] |= bit;
+            }
+        }
+        return slot;
+    }
+    
+    /**
+     * Marks the victim dead and classifies the kill
+     * 
+     * @return {@link #OPENING_KILL} and/or {@link #TRADE_KILL} flags, 0 for other kills
+     */
+    public int onKill(Player killer, Player victim, Instant timestamp) {
+        int k = observe(killer);
+        int v = observe(victim);
+        if (v < 0) {
+            return 0;
+        }
+        long victimBit = 1L << v;
+        alive[CT] &= ~victimBit;
+        alive[T] &= ~victimBit;
+        
+        int flags = 0;
+        int killerSide = sideOf(killer);
+        int victimSide = sideOf(victim);
+        if (k >= 0 && k != v && killerSide >= 0 && victimSide >= 0 && killerSide != victimSide) {
+            long at = timestamp != null ? timestamp.toEpochMilli() : 0L;
+            if (!openingTaken) {
+                openingTaken = true;
+                flags |= OPENING_KILL;
+            }
+            // The victim's last enemy kill was one of the killer's teammates
+            if (lastKillAt[v] != NO_KILL && at - lastKillAt[v] <= TRADE_WINDOW_MILLIS) {
+                flags |= TRADE_KILL;
+            }
+            lastKillAt[k] = at;
+        }
+        detectClutch(CT);
+        detectClutch(T);
+        return flags;
+    }
+    
+    private void detectClutch(int side) {
+        if (rosterKnown && clutcher[side] < 0 && startedWith[side] >= 2
+                && Long.bitCount(alive[side]) == 1 && alive[1 - side] != 0) {
+            clutcher[side] = Long.numberOfTrailingZeros(alive[side]);
+        }
+    }
+    
+    /**
+     * Records a bomb outcome, which decides the round
+     */
+    public void onBomb(BombEvent.BombEventType type) {
+        if (type == BombEvent.BombEventType.EXPLODE) {
+            bombWinner = T;
+        } else if (type == BombEvent.BombEventType.DEFUSE) {
+            bombWinner = CT;
+        }
+    }
+    
+    /**
+     * Ends the round
+     * 
+     * @param presentAccountIds Account IDs of the players present at the round end; the roster is
+     *                          pruned to them (ignored when empty)
+     * @return Steam IDs of the players who won a clutch this round
+     */
+    public List<String> endRound(Collection<String> presentAccountIds) {
+        List<String> clutchWinners = new ArrayList<>(1);
+        if (roundActive) {
+            int winner = bombWinner;
+            if (winner < 0 && alive[CT] == 0 && alive[T] != 0) {
+                winner = T;
+            } else if (winner < 0 && alive[T] == 0 && alive[CT] != 0) {
+                winner = CT;
+            }
+            if (winner >= 0 && clutcher[winner] >= 0 && isSteamId(slotKeys[clutcher[winner]])) {
+                clutchWinners.add(slotKeys[clutcher[winner]]);
+            }
+        }
+        
+        if (presentAccountIds != null && !presentAccountIds.isEmpty()) {
+            Set<String> present = new HashSet<>();
+            for (String accountId : presentAccountIds) {
+                present.add("[U:1:" + accountId.trim() + "]");
+            }
+            for (int slot = 0; slot < MAX_PLAYERS; slot++) {
+                if (isSteamId(slotKeys[slot]) && !present.contains(slotKeys[slot])) {
+                    roster[CT] &= ~(1L << slot);
+                    roster[T] &= ~(1L << slot);
+                }
+            }
+        }
+        roundActive = false;
+        rosterKnown = true;
+        return clutchWinners;
+    }
+    
+    private void swapSides() {
+        long ctRoster = roster[CT];
+        roster[CT] = roster[T];
+        roster[T] = ctRoster;
+        long ctAlive = alive[CT];
+        alive[CT] = alive[T];
+        alive[T] = ctAlive;
+        int ctStarted = startedWith[CT];
+        startedWith[CT] = startedWith[T];
+        startedWith[T] = ctStarted;
+    }
+    
+    private int slotOf(Player player) {
+        if (player == null) {
+            return -1;
+        }
+        // Bots share the "BOT" ID, so they are told apart by name
+        String key = player.isBot() ? "BOT " + player.getName() : player.getSteamId();
+        Integer slot = slots.get(key);
+        if (slot == null) {
+            if (slots.size() >= MAX_PLAYERS) {
+                return -1;
+            }
+            slot = slots.size();
+            slots.put(key, slot);
+            slotKeys[slot] = key;
+        }
+        return slot;
+    }
+    
+    private static int sideOf(Player player) {
+        if (player == null || player.getTeam() == null) {
+            return -1;
+        }
+        return switch (player.getTeam()) {
+            case "CT" -> CT;
+            case "T" -> T;
+            default -> -1;
+        };
+    }
+    
+    private static boolean isSteamId(String key) {
+        return key != null && key.startsWith("[U:1:");
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence;
+
+import com.rankforge.pipeline.persistence.entity.AccoladeEntity;
+import com.rankforge.pipeline.persistence.entity.PlayerAccoladeCountEntity;
+import jakarta.persistence.EntityManager;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Maintains {@link PlayerAccoladeCountEntity} rows for newly stored accolades.
+ * Must run in the transaction that persists the accolades so the counters never drift from them.
+ * Author bageshwar.pn
+ * Date 2026
+ */
+public final class AccoladeCounters {
+    
+    private AccoladeCounters() {
+    }
+    
+    /**
+     * Adds newly persisted accolades to their players' counters.
+     * Accolades without a resolved player ID are not counted; they are only reachable by name.
+     * 
+     * @param entityManager Entity manager of the transaction storing the accolades
+     * @param accolades Accolades persisted for the first time
+     */
+    public static void increment(EntityManager entityManager, Collection<AccoladeEntity> accolades) {
+        Map<PlayerAccoladeCountEntity.Key, Integer> increments = new LinkedHashMap<>();
+        for (AccoladeEntity accolade : accolades) {
+            if (accolade.getPlayerId() == null || accolade.getType() == null) {
+                continue;
+            }
+            increments.merge(new PlayerAccoladeCountEntity.Key(accolade.getPlayerId(), accolade.getType()), 1, Integer::sum);
+        }
+        
+        Instant now = Instant.now();
+        for (Map.Entry<PlayerAccoladeCountEntity.Key, Integer> increment : increments.entrySet()) {
+            PlayerAccoladeCountEntity.Key key = increment.getKey();
+            PlayerAccoladeCountEntity counter = entityManager.find(PlayerAccoladeCountEntity.class, key);
+            if (counter == null) {
+                counter = new PlayerAccoladeCountEntity(key.getPlayerId(), key.getType());
+                counter.setAccoladeCount(increment.getValue());
+                entityManager.persist(counter);
+            } else {
+                counter.setAccoladeCount(counter.getAccoladeCount() + increment.getValue());
+                counter.setUpdatedAt(now);
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence;
+
+import com.rankforge.pipeline.persistence.entity.PlayerDailyStatsEntity;
+import com.rankforge.pipeline.persistence.entity.PlayerStatsEntity;
+import jakarta.persistence.EntityManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Accumulates what each player added to their cumulative stats per UTC day as a game's snapshots are
+ * stored, then adds the totals to the {@link PlayerDailyStatsEntity} buckets. A game's contribution is
+ * its snapshot minus the player's previous snapshot, so the buckets of a window sum to the difference
+ * between the snapshots at its ends.
+ * Author bageshwar.pn
+ * Date 2026
+ */
+public final class DailyStatsCounters {
+    
+    // Per (player, day): the counted deltas, in the shape of the stored bucket
+    private final Map<PlayerDailyStatsEntity.Key, PlayerDailyStatsEntity> totals = new LinkedHashMap<>();
+    
+    /**
+     * Counts the game a snapshot was taken at
+     * 
+     * @param snapshot The player's snapshot at the end of the game
+     * @param previous The player's latest snapshot before the game, or null for a first game
+     */
+    public void add(PlayerStatsEntity snapshot, PlayerStatsEntity previous) {
+        if (snapshot.getPlayerId() == null || snapshot.getGameTimestamp() == null) {
+            return;
+        }
+        add(snapshot.getPlayerId(), snapshot.getGameTimestamp(),
+                delta(snapshot.getKills(), previous != null ? previous.getKills() : null),
+                delta(snapshot.getDeaths(), previous != null ? previous.getDeaths() : null),
+                delta(snapshot.getAssists(), previous != null ? previous.getAssists() : null),
+                delta(snapshot.getHeadshotKills(), previous != null ? previous.getHeadshotKills() : null),
+                delta(snapshot.getRoundsPlayed(), previous != null ? previous.getRoundsPlayed() : null),
+                delta(snapshot.getClutchesWon(), previous != null ? previous.getClutchesWon() : null),
+                value(snapshot.getDamageDealt()) - (previous != null ? value(previous.getDamageDealt()) : 0.0));
+    }
+    
+    /**
+     * Counts one game of a player with the stats gained in it
+     */
+    public void add(String playerId, Instant gameTimestamp, int kills, int deaths, int assists,
+                    int headshotKills, int roundsPlayed, int clutchesWon, double damageDealt) {
+        PlayerDailyStatsEntity.Key key = new PlayerDailyStatsEntity.Key(playerId, dayOf(gameTimestamp));
+        PlayerDailyStatsEntity bucket = totals.computeIfAbsent(key,
+                k -> new PlayerDailyStatsEntity(k.getPlayerId(), k.getBucketDay()));
+        bucket.setGames(bucket.getGames() + 1);
+        bucket.setKills(bucket.getKills() + kills);
+        bucket.setDeaths(bucket.getDeaths() + deaths);
+        bucket.setAssists(bucket.getAssists() + assists);
+        bucket.setHeadshotKills(bucket.getHeadshotKills() + headshotKills);
+        bucket.setRoundsPlayed(bucket.getRoundsPlayed() + roundsPlayed);
+        bucket.setClutchesWon(bucket.getClutchesWon() + clutchesWon);
+        bucket.setDamageDealt(bucket.getDamageDealt() + damageDealt);
+    }
+    
+    public boolean isEmpty() {
+        return totals.isEmpty();
+    }
+    
+    /**
+     * Per (player, day) deltas counted so far
+     */
+    public Map<PlayerDailyStatsEntity.Key, PlayerDailyStatsEntity> getTotals() {
+        return Collections.unmodifiableMap(totals);
+    }
+    
+    /**
+     * Adds the counted deltas to the buckets, creating the buckets that do not exist yet
+     * 
+     * @param entityManager Entity manager of the transaction storing the snapshots
+     */
+    public void apply(EntityManager entityManager) {
+        Instant now = Instant.now();
+        for (Map.Entry<PlayerDailyStatsEntity.Key, PlayerDailyStatsEntity> total : totals.entrySet()) {
+            PlayerDailyStatsEntity bucket = entityManager.find(PlayerDailyStatsEntity.class, total.getKey());
+            if (bucket == null) {
+                total.getValue().setUpdatedAt(now);
+                entityManager.persist(total.getValue());
+            } else {
+                merge(bucket, total.getValue(), now);
+            }
+        }
+    }
+    
+    /**
+     * The UTC day a game is bucketed under
+     */
+    public static LocalDate dayOf(Instant gameTimestamp) {
+        return gameTimestamp.atZone(ZoneOffset.UTC).toLocalDate();
+    }
+    
+    private static void merge(PlayerDailyStatsEntity bucket, PlayerDailyStatsEntity delta, Instant now) {
+        bucket.setGames(bucket.getGames() + delta.getGames());
+        bucket.setKills(bucket.getKills() + delta.getKills());
+        bucket.setDeaths(bucket.getDeaths() + delta.getDeaths());
+        bucket.setAssists(bucket.getAssists() + delta.getAssists());
+        bucket.setHeadshotKills(bucket.getHeadshotKills() + delta.getHeadshotKills());
+        bucket.setRoundsPlayed(bucket.getRoundsPlayed() + delta.getRoundsPlayed());
+        bucket.setClutchesWon(bucket.getClutchesWon() + delta.getClutchesWon());
+        bucket.setDamageDealt(bucket.getDamageDealt() + delta.getDamageDealt());
+        bucket.setUpdatedAt(now);
+    }
+    
+    private static int delta(Integer current, Integer previous) {
+        return (current != null ? current : 0) - (previous != null ? previous : 0);
+    }
+    
+    private static double value(Double value) {
+        return value != null ? value : 0.0;
+    }
+}
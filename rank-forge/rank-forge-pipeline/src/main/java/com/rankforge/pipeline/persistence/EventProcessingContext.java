@@ -21,6 +21,7 @@ package com.rankforge.pipeline.persistence;
 import com.rankforge.pipeline.persistence.entity.AccoladeEntity;
 import com.rankforge.pipeline.persistence.entity.GameEntity;
 import com.rankforge.pipeline.persistence.entity.GameEventEntity;
+import com.rankforge.pipeline.persistence.entity.PlayerStatsEntity;
 import com.rankforge.pipeline.persistence.entity.RoundEndEventEntity;
 import com.rankforge.pipeline.persistence.entity.RoundStartEventEntity;
 import org.slf4j.Logger;
@@ -28,6 +29,7 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -61,6 +63,8 @@ public class EventProcessingContext {
     private Instant lastRoundEndTimestamp; // Track last ROUND_END timestamp to detect events between rounds
     private final List<GameEventEntity> pendingEntities = new ArrayList<>();
     private final List<AccoladeEntity> pendingAccolades = new ArrayList<>();
+    // Player stats snapshots staged for write-behind persistence (empty when writing synchronously)
+    private final List<PlayerStatsEntity> pendingPlayerStats = new ArrayList<>();
     
     // Tracking for debugging round linking
     private int roundNumber = 0;
@@ -71,6 +75,10 @@ public class EventProcessingContext {
     // Player name to Steam ID mapping for resolving accolade player IDs
     private final Map<String, String> playerNameToSteamId = new HashMap<>();
     
+    // Steam IDs of every player seen in the current match, collected by the parser at the
+    // GAME_OVER rewind point so player stats can be prefetched before the rounds are replayed
+    private final Set<String> matchRoster = new HashSet<>();
+    
     /**
      * App Server ID extracted from ResetBreakpadAppId log line.
      * This identifies which dedicated server the logs came from, enabling multi-tenant isolation.
@@ -121,6 +129,7 @@ public class EventProcessingContext {
         lastRoundEndTimestamp = null; // Clear when new round starts
         
         entity.setGame(currentGame);  // Game already exists!
+        entity.setRoundNumber(roundNumber);
         // Set appServerId from context - must be set before any games/events
         if (appServerId == null) {
             throw new IllegalStateException(
@@ -259,6 +268,14 @@ public class EventProcessingContext {
         pendingAccolades.add(accolade);
     }
     
+    /**
+     * Stages the end-of-game player stats snapshots so they are handed to the write-behind
+     * queue together with the rest of the match.
+     */
+    public void addPendingPlayerStats(Collection<PlayerStatsEntity> playerStats) {
+        pendingPlayerStats.addAll(playerStats);
+    }
+    
     /**
      * Register a player name to Steam ID mapping.
      * This is built up as kill/assist/attack events are processed.
@@ -282,6 +299,48 @@ public class EventProcessingContext {
         return playerNameToSteamId.get(playerName);
     }
     
+    /**
+     * Set the roster (full format Steam IDs) of the match about to be replayed.
+     * Called by the parser when it rewinds from GAME_OVER to the first round.
+     */
+    public void setMatchRoster(Collection<String> steamIds) {
+        matchRoster.clear();
+        if (steamIds != null) {
+            matchRoster.addAll(steamIds);
+        }
+        logger.debug("PLAYER_MAP: Match roster set with {} players", matchRoster.size());
+    }
+    
+    /**
+     * Get the roster of the match being processed, or an empty set if none was collected.
+     */
+    public Set<String> getMatchRoster() {
+        return new HashSet<>(matchRoster);
+    }
+    
+    /**
+     * Get the display names of the match roster: full Steam ID -> name last registered for it.
+     * Players without a registered name are shown as "Player {accountId}". When no roster was
+     * collected, the players registered during replay are used instead.
+     */
+    public Map<String, String> getMatchRosterNames() {
+        Map<String, String> steamIdToName = new HashMap<>();
+        for (Map.Entry<String, String> entry : playerNameToSteamId.entrySet()) {
+            steamIdToName.put(entry.getValue(), entry.getKey().trim());
+        }
+        Collection<String> steamIds = matchRoster.isEmpty() ? steamIdToName.keySet() : matchRoster;
+        
+        Map<String, String> rosterNames = new HashMap<>();
+        for (String steamId : steamIds) {
+            String name = steamIdToName.get(steamId);
+            if (name == null || name.isEmpty()) {
+                name = "Player " + steamId.replace("[U:1:", "").replace("]", "");
+            }
+            rosterNames.put(steamId, name);
+        }
+        return rosterNames;
+    }
+    
     /**
      * Get all registered player name to Steam ID mappings.
      */
@@ -375,8 +434,10 @@ public class EventProcessingContext {
         currentGame = null;
         pendingEntities.clear();
         pendingAccolades.clear();
+        pendingPlayerStats.clear();
         roundEventCounts.clear();
         playerNameToSteamId.clear();
+        matchRoster.clear();
         // appServerId is NOT cleared - it persists for the entire log file processing session
         // It will be cleared when a new log file processing session starts (new EventProcessingContext instance)
         roundNumber = 0;
@@ -446,4 +507,8 @@ public class EventProcessingContext {
     public List<AccoladeEntity> getPendingAccolades() {
         return pendingAccolades;
     }
+    
+    public List<PlayerStatsEntity> getPendingPlayerStats() {
+        return pendingPlayerStats;
+    }
 }
@@ -0,0 +1,102 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rankforge.pipeline.persistence.entity.GameEntity;
+import com.rankforge.pipeline.persistence.entity.GameSummaryEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds {@link GameSummaryEntity} rows and reads their roster back.
+ * Author bageshwar.pn
+ * Date 2026
+ */
+public final class GameSummaryFactory {
+    private static final Logger logger = LoggerFactory.getLogger(GameSummaryFactory.class);
+    
+    private static final TypeReference<LinkedHashMap<String, String>> ROSTER_TYPE = new TypeReference<>() {};
+    // The roster is a flat string map, so a plain mapper is sufficient and keeps callers independent
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    
+    private GameSummaryFactory() {
+    }
+    
+    /**
+     * Creates the summary of a persisted game.
+     * 
+     * @param gameId ID assigned to the game
+     * @param game The game (may be detached)
+     * @param roster Full Steam ID -> display name of the players in the game
+     */
+    public static GameSummaryEntity create(Long gameId, GameEntity game, Map<String, String> roster) {
+        Map<String, String> orderedRoster = orderByName(roster);
+        
+        GameSummaryEntity summary = new GameSummaryEntity();
+        summary.setGameId(gameId);
+        summary.setGameOverTimestamp(game.getGameOverTimestamp());
+        summary.setMap(game.getMap());
+        summary.setMode(game.getMode());
+        summary.setTeam1Score(game.getTeam1Score());
+        summary.setTeam2Score(game.getTeam2Score());
+        summary.setDuration(game.getDuration());
+        summary.setAppServerId(game.getAppServerId());
+        summary.setPlayerCount(orderedRoster.size());
+        try {
+            summary.setRosterJson(OBJECT_MAPPER.writeValueAsString(orderedRoster));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize roster of game " + gameId, e);
+        }
+        return summary;
+    }
+    
+    /**
+     * Reads the roster of a summary: full Steam ID -> display name, ordered by name.
+     */
+    public static Map<String, String> readRoster(GameSummaryEntity summary) {
+        String rosterJson = summary.getRosterJson();
+        if (rosterJson == null || rosterJson.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        try {
+            return OBJECT_MAPPER.readValue(rosterJson, ROSTER_TYPE);
+        } catch (JsonProcessingException e) {
+            logger.warn("Failed to parse roster of game summary {}", summary.getGameId(), e);
+            return new LinkedHashMap<>();
+        }
+    }
+    
+    private static Map<String, String> orderByName(Map<String, String> roster) {
+        List<Map.Entry<String, String>> entries = new ArrayList<>(roster.entrySet());
+        entries.sort(Map.Entry.comparingByValue(String.CASE_INSENSITIVE_ORDER));
+        Map<String, String> ordered = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : entries) {
+            ordered.put(entry.getKey(), entry.getValue());
+        }
+        return ordered;
+    }
+}
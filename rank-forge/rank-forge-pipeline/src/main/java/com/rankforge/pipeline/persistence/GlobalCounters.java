@@ -0,0 +1,184 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence;
+
+import com.rankforge.pipeline.persistence.entity.GameEntity;
+import com.rankforge.pipeline.persistence.entity.GlobalCounterEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Accumulates games and rounds per {@link GlobalCounterEntity} scope (all games, the game's month and
+ * day and its dedicated server) and adds them to the counter rows in the transaction that stores the games.
+ * Every stored game touches the same "ALL" row, so the rows are incremented with one atomic UPDATE each,
+ * as the last statements of the transaction: the row locks are held only until the commit that follows.
+ * A missing row is created, with zero counts, in a short transaction of its own and the UPDATE retried,
+ * so two commits creating the same row do not fail the match on the primary key.
+ * Author bageshwar.pn
+ * Date 2026
+ */
+public final class GlobalCounters {
+    
+    private static final Logger logger = LoggerFactory.getLogger(GlobalCounters.class);
+    
+    // A row created for this commit can be removed again by a concurrent purge of empty rows
+    private static final int MAX_CREATE_ATTEMPTS = 3;
+    
+    // Per scope: [games, rounds]
+    private final Map<GlobalCounterEntity.Key, long[]> totals = new LinkedHashMap<>();
+    
+    /**
+     * Counts a game with its final score as the number of rounds
+     */
+    public void add(GameEntity game) {
+        int rounds = (game.getTeam1Score() != null ? game.getTeam1Score() : 0)
+                + (game.getTeam2Score() != null ? game.getTeam2Score() : 0);
+        add(game.getAppServerId(), game.getGameOverTimestamp(), rounds);
+    }
+    
+    /**
+     * Counts a game under the scopes it belongs to
+     * 
+     * @param appServerId Dedicated server of the game, not counted per server if null
+     * @param gameOverTimestamp End of the game, not counted per month and day if null
+     * @param rounds Rounds played in the game
+     */
+    public void add(Long appServerId, Instant gameOverTimestamp, long rounds) {
+        for (GlobalCounterEntity.Key key : keysOf(appServerId, gameOverTimestamp)) {
+            long[] counts = totals.computeIfAbsent(key, k -> new long[2]);
+            counts[0]++;
+            counts[1] += rounds;
+        }
+    }
+    
+    public boolean isEmpty() {
+        return totals.isEmpty();
+    }
+    
+    /**
+     * Per scope [games, rounds] counted so far
+     */
+    public Map<GlobalCounterEntity.Key, long[]> getTotals() {
+        return Collections.unmodifiableMap(totals);
+    }
+    
+    /**
+     * Adds the counted games and rounds to the counter rows, creating the rows that do not exist yet.
+     * Call it last in the transaction, right before it commits.
+     * 
+     * @param entityManager Entity manager of the transaction storing the games
+     */
+    public void apply(EntityManager entityManager) {
+        Instant now = Instant.now();
+        for (Map.Entry<GlobalCounterEntity.Key, long[]> total : totals.entrySet()) {
+            GlobalCounterEntity.Key key = total.getKey();
+            long[] counts = total.getValue();
+            int attempts = 0;
+            while (increment(entityManager, key, counts, now) == 0) {
+                if (++attempts > MAX_CREATE_ATTEMPTS) {
+                    throw new IllegalStateException("Could not create global counter row " + key.getScope() + "/"
+                            + key.getScopeKey());
+                }
+                createIfMissing(entityManager.getEntityManagerFactory(), key);
+            }
+        }
+    }
+    
+    private static int increment(EntityManager entityManager, GlobalCounterEntity.Key key, long[] counts, Instant now) {
+        return entityManager.createQuery("UPDATE GlobalCounterEntity c SET c.games = c.games + :games, " +
+                        "c.rounds = c.rounds + :rounds, c.updatedAt = :now " +
+                        "WHERE c.scope = :scope AND c.scopeKey = :scopeKey")
+                .setParameter("games", counts[0])
+                .setParameter("rounds", counts[1])
+                .setParameter("now", now)
+                .setParameter("scope", key.getScope())
+                .setParameter("scopeKey", key.getScopeKey())
+                .executeUpdate();
+    }
+    
+    /**
+     * Inserts an empty counter row in its own transaction. A failure means another commit created
+     * the row first (or the database is unavailable, which the retried UPDATE then reports).
+     */
+    private static void createIfMissing(EntityManagerFactory entityManagerFactory, GlobalCounterEntity.Key key) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            entityManager.persist(new GlobalCounterEntity(key.getScope(), key.getScopeKey()));
+            entityManager.getTransaction().commit();
+        } catch (PersistenceException e) {
+            logger.debug("Global counter row {}/{} not created: {}", key.getScope(), key.getScopeKey(), e.getMessage());
+            if (entityManager.getTransaction().isActive()) {
+                entityManager.getTransaction().rollback();
+            }
+        } finally {
+            entityManager.close();
+        }
+    }
+    
+    /**
+     * The counter rows a game is counted in
+     */
+    public static List<GlobalCounterEntity.Key> keysOf(Long appServerId, Instant gameOverTimestamp) {
+        List<GlobalCounterEntity.Key> keys = new ArrayList<>(4);
+        keys.add(new GlobalCounterEntity.Key(GlobalCounterEntity.SCOPE_ALL, GlobalCounterEntity.ALL));
+        if (gameOverTimestamp != null) {
+            keys.add(monthKey(YearMonth.from(gameOverTimestamp.atZone(ZoneOffset.UTC))));
+            keys.add(dayKey(gameOverTimestamp.atZone(ZoneOffset.UTC).toLocalDate()));
+        }
+        if (appServerId != null) {
+            keys.add(serverKey(appServerId));
+        }
+        return keys;
+    }
+    
+    /**
+     * Counter row of the games that ended in a month (UTC)
+     */
+    public static GlobalCounterEntity.Key monthKey(YearMonth month) {
+        return new GlobalCounterEntity.Key(GlobalCounterEntity.SCOPE_MONTH, month.toString());
+    }
+    
+    /**
+     * Counter row of the games that ended on a day (UTC)
+     */
+    public static GlobalCounterEntity.Key dayKey(LocalDate day) {
+        return new GlobalCounterEntity.Key(GlobalCounterEntity.SCOPE_DAY, day.toString());
+    }
+    
+    /**
+     * Counter row of the games played on a dedicated server
+     */
+    public static GlobalCounterEntity.Key serverKey(long appServerId) {
+        return new GlobalCounterEntity.Key(GlobalCounterEntity.SCOPE_SERVER, Long.toString(appServerId));
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rankforge.pipeline.persistence.entity.GameEventEntity;
+import com.rankforge.pipeline.persistence.entity.HeatmapCellEntity;
+import com.rankforge.pipeline.persistence.entity.KillEventEntity;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Quantizes one match's killer and victim positions into a fixed grid and accumulates kills and deaths
+ * per heatmap cell as its kill events are persisted, then upserts the totals into {@link HeatmapCellEntity}
+ * rows in the same transaction.
+ * 
+ * Every position is counted in the map-wide layer, the layer of the player's side (CT or T) and, for
+ * players with Steam IDs, the player's own layer.
+ * 
+ * Author bageshwar.pn
+ * Date 2026
+ */
+public final class HeatmapCounters {
+    
+    private static final Logger logger = LoggerFactory.getLogger(HeatmapCounters.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    
+    /**
+     * Cells per axis
+     */
+    public static final int GRID_SIZE = 128;
+    
+    /**
+     * World units per cell
+     */
+    public static final int CELL_SIZE = 128;
+    
+    /**
+     * World coordinate of the grid's lower edge on both axes; the grid spans [-8192, 8192)
+     */
+    public static final int ORIGIN = -GRID_SIZE * CELL_SIZE / 2;
+    
+    private final String map;
+    
+    // Per cell: [kills, deaths]
+    private final Map<HeatmapCellEntity.Key, int[]> totals = new LinkedHashMap<>();
+    
+    public HeatmapCounters(String map) {
+        this.map = map;
+    }
+    
+    /**
+     * Counts the positions of kill events; other events are ignored
+     */
+    public void add(GameEventEntity event) {
+        if (event instanceof KillEventEntity kill) {
+            add(kill.getPlayer1(), kill.getPlayer2(), kill.getPlayer1Team(), kill.getPlayer2Team(),
+                    kill.getCoordinates());
+        }
+    }
+    
+    /**
+     * Counts one kill from its stored columns
+     * 
+     * @param coordinates Coordinates JSON as stored on the event (see GameEventEntity#getCoordinates())
+     */
+    public void add(String killerId, String victimId, String killerTeam, String victimTeam, String coordinates) {
+        if (map == null || coordinates == null || (killerId != null && killerId.equals(victimId))) {
+            return;
+        }
+        JsonNode positions;
+        try {
+            positions = OBJECT_MAPPER.readTree(coordinates);
+        } catch (JsonProcessingException e) {
+            logger.warn("Skipping kill with unreadable coordinates on {}: {}", map, coordinates);
+            return;
+        }
+        count(positions.get("player1"), killerId, killerTeam, 0);
+        count(positions.get("player2"), victimId, victimTeam, 1);
+    }
+    
+    private void count(JsonNode position, String playerId, String team, int column) {
+        if (position == null || !position.hasNonNull("x") || !position.hasNonNull("y")) {
+            return;
+        }
+        int cellX = cellOf(position.get("x").asInt());
+        int cellY = cellOf(position.get("y").asInt());
+        countsFor(HeatmapCellEntity.ALL, HeatmapCellEntity.ALL, cellX, cellY)[column]++;
+        String side = sideOf(team);
+        if (side != null) {
+            countsFor(HeatmapCellEntity.ALL, side, cellX, cellY)[column]++;
+        }
+        if (playerId != null && playerId.startsWith("[U:1:")) {
+            countsFor(playerId, HeatmapCellEntity.ALL, cellX, cellY)[column]++;
+        }
+    }
+    
+    private int[] countsFor(String playerId, String side, int cellX, int cellY) {
+        return totals.computeIfAbsent(new HeatmapCellEntity.Key(map, playerId, side, cellX, cellY), key -> new int[2]);
+    }
+    
+    public boolean isEmpty() {
+        return totals.isEmpty();
+    }
+    
+    /**
+     * Per cell [kills, deaths] counted so far
+     */
+    public Map<HeatmapCellEntity.Key, int[]> getTotals() {
+        return Collections.unmodifiableMap(totals);
+    }
+    
+    /**
+     * Adds the match totals to the heatmap cells, creating the cells that do not exist yet
+     * 
+     * @param entityManager Entity manager of the transaction storing the match
+     */
+    public void apply(EntityManager entityManager) {
+        Instant now = Instant.now();
+        for (Map.Entry<HeatmapCellEntity.Key, int[]> total : totals.entrySet()) {
+            HeatmapCellEntity cell = entityManager.find(HeatmapCellEntity.class, total.getKey());
+            boolean created = cell == null;
+            if (created) {
+                cell = new HeatmapCellEntity(total.getKey());
+            }
+            cell.setKills(cell.getKills() + total.getValue()[0]);
+            cell.setDeaths(cell.getDeaths() + total.getValue()[1]);
+            cell.setUpdatedAt(now);
+            if (created) {
+                entityManager.persist(cell);
+            }
+        }
+    }
+    
+    /**
+     * Grid cell of a world coordinate; positions beyond the grid land in its edge cells
+     */
+    public static int cellOf(int coordinate) {
+        return Math.max(0, Math.min(GRID_SIZE - 1, Math.floorDiv(coordinate - ORIGIN, CELL_SIZE)));
+    }
+    
+    /**
+     * Heatmap side of a team as stored on events ("CT" or "T"), null for anything else
+     */
+    public static String sideOf(String team) {
+        if (team == null) {
+            return null;
+        }
+        String side = team.trim().toUpperCase();
+        return side.equals("CT") || side.equals("T") ? side : null;
+    }
+}
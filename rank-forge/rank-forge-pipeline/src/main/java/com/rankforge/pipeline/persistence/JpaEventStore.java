@@ -27,6 +27,8 @@ import com.rankforge.pipeline.persistence.entity.*;
 import com.rankforge.pipeline.persistence.repository.AccoladeRepository;
 import com.rankforge.pipeline.persistence.repository.GameEventRepository;
 import com.rankforge.pipeline.persistence.repository.GameRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerStatsRepository;
+import com.rankforge.pipeline.persistence.spool.MatchBatch;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
@@ -53,6 +55,22 @@ public class JpaEventStore implements EventStore, GameEventListener {
     private final EventProcessingContext context;
     private EntityManager entityManager;
     
+    /**
+     * Writes each match - shared with the write-behind queue's writer.
+     */
+    private final MatchCommitter committer = new MatchCommitter();
+    
+    /**
+     * Notified with each game's player stats snapshots once the game is committed.
+     */
+    private PlayerStatsCommitListener commitListener;
+    
+    /**
+     * When set, onGameEnded leaves the linked match staged in the context for the
+     * write-behind queue instead of persisting it.
+     */
+    private boolean writeBehindEnabled = false;
+    
     public JpaEventStore(GameEventRepository repository, AccoladeRepository accoladeRepository,
                          GameRepository gameRepository, ObjectMapper objectMapper, 
                          EventProcessingContext context) {
@@ -72,6 +90,46 @@ public class JpaEventStore implements EventStore, GameEventListener {
         this.entityManager = entityManager;
     }
     
+    /**
+     * Enables streaming commit mode: every {@code interval} rows the EntityManager is flushed and
+     * cleared within the match transaction, so the persistence context stays small regardless of
+     * match length. A value of 0 or less disables streaming.
+     */
+    public void setStreamingFlushInterval(int interval) {
+        committer.setStreamingFlushInterval(interval);
+    }
+    
+    /**
+     * Enables write-behind mode: matches are persisted by the write-behind queue
+     * (see {@link com.rankforge.pipeline.persistence.spool.WriteBehindMatchListener}) rather than
+     * synchronously at GAME_PROCESSED.
+     */
+    public void setWriteBehindEnabled(boolean writeBehindEnabled) {
+        this.writeBehindEnabled = writeBehindEnabled;
+    }
+    
+    /**
+     * Enables the per-game compressed event archive used by the read side for replay.
+     */
+    public void setEventArchiveEnabled(boolean eventArchiveEnabled) {
+        committer.setEventArchiveEnabled(eventArchiveEnabled);
+    }
+    
+    /**
+     * Enables the daily stats buckets, which are computed from each player's previous snapshot.
+     */
+    public void setPlayerStatsRepository(PlayerStatsRepository playerStatsRepository) {
+        committer.setPlayerStatsRepository(playerStatsRepository);
+    }
+    
+    /**
+     * Notified after each game's player stats snapshots are committed. In write-behind mode the
+     * queue commits the match, so register the listener there instead.
+     */
+    public void setCommitListener(PlayerStatsCommitListener commitListener) {
+        this.commitListener = commitListener;
+    }
+    
     /**
      * Constructor without GameRepository for backward compatibility.
      * Note: This will not persist GameEntity separately.
@@ -377,6 +435,11 @@ public class JpaEventStore implements EventStore, GameEventListener {
     @Override
     @Transactional
     public void onGameEnded(GameProcessedEvent event) {
+        if (writeBehindEnabled) {
+            // The match stays staged in the context and is queued by WriteBehindMatchListener
+            logger.debug("Write-behind enabled - deferring persistence of game at {}", event.getTimestamp());
+            return;
+        }
         try {
             // Validate EntityManager is available and open
             if (entityManager == null) {
@@ -405,8 +468,11 @@ public class JpaEventStore implements EventStore, GameEventListener {
                 throw new IllegalStateException("Cannot begin transaction", e);
             }
             
+            MatchBatch batch = captureMatch();
             try {
-                persistGameData();
+                if (batch != null) {
+                    persistGameData(batch);
+                }
                 
                 if (managedTransaction) {
                     try {
@@ -431,299 +497,62 @@ public class JpaEventStore implements EventStore, GameEventListener {
                         // Don't throw - the original exception is more important
                     }
                 }
+                if (batch != null) {
+                    // The match stays staged in the context; a retry must not see the failed attempt's
+                    // identifiers or the references a streaming clear left behind
+                    batch.resetIdentifiers();
+                    batch.link();
+                }
                 throw e;
             }
+            if (batch != null) {
+                context.clear();
+                notifyCommitted(batch);
+            }
         } catch (Exception e) {
             logger.error("Failed to persist game data", e);
             throw new RuntimeException("Failed to persist game data", e);
         }
     }
     
+    /**
+     * The staged match, or null if no game was staged (e.g. a duplicate that was skipped).
+     * The player stats store stages its snapshots first, so the whole match commits together.
+     */
+    private MatchBatch captureMatch() {
+        if (context.getCurrentGame() == null) {
+            logger.debug("No staged game - nothing to persist");
+            context.clear(); // Snapshots staged for a skipped game must not reach the next one
+            return null;
+        }
+        return MatchBatch.capture(context);
+    }
+    
     /**
      * Internal method that performs the actual persistence of game data.
-     * Should be called within a transaction context.
+     * Should be called within a transaction context. The context keeps the match until the
+     * transaction commits, so nothing staged is lost if the commit fails.
      */
-    private void persistGameData() {
+    private void persistGameData(MatchBatch batch) {
         long startTime = System.currentTimeMillis();
-        // Use EntityManager directly to ensure all entities stay in the same persistence context
-        // This avoids the "detached entity" issue when repository calls create boundaries
+        GameEntity game = committer.commit(entityManager, batch);
         
-        // 1. First, persist or merge GameEntity to get its ID
-        GameEntity game = context.getCurrentGame();
-        
-        if (game != null) {
-            // Validate appServerId is set before persisting
-            if (game.getAppServerId() == null) {
-                logger.error("GameEntity has NULL appServerId when attempting to persist! Map: {}, Timestamp: {}, ID: {}", 
-                        game.getMap(), game.getGameOverTimestamp(), game.getId());
-                throw new IllegalStateException(
-                        "GameEntity must have appServerId set before persistence. " +
-                        "Map: " + game.getMap() + ", Timestamp: " + game.getGameOverTimestamp());
-            }
-            logger.debug("Persisting GameEntity with appServerId: {}, map: {}", game.getAppServerId(), game.getMap());
-            
-            long gameStartTime = System.currentTimeMillis();
-            // Use merge instead of persist to handle both new and detached entities
-            // If game.id is null, merge behaves like persist
-            // If game.id is set (detached entity), merge re-attaches it
-            if (game.getId() == null) {
-                entityManager.persist(game);
-            } else {
-                game = entityManager.merge(game);
-            }
-            
-            // Verify appServerId is still set after merge
-            if (game.getAppServerId() == null) {
-                logger.error("GameEntity appServerId became NULL after merge! Map: {}, ID: {}", 
-                        game.getMap(), game.getId());
-                throw new IllegalStateException(
-                        "GameEntity appServerId was lost during merge. " +
-                        "Map: " + game.getMap() + ", ID: " + game.getId());
-            }
-            
-            try {
-                entityManager.flush(); // Flush to get the generated ID
-            } catch (Exception e) {
-                logger.error("Failed to flush GameEntity. Game map: {}, Game ID: {}, appServerId: {}", 
-                        game.getMap(), game.getId(), game.getAppServerId(), e);
-                throw new RuntimeException("Failed to flush GameEntity", e);
-            }
-            
-            long gameTime = System.currentTimeMillis() - gameStartTime;
-            
-            // Update all references to point to the managed entity
-            // Important: must use the returned entity from merge
-            updateGameReferences(game);
-        }
-        
-        // 2. Persist all game events using EntityManager (same persistence context)
-        // First pass: persist RoundStartEventEntity instances to get their IDs
-        // This is needed because other events may reference them
-        // Create defensive copy to prevent ConcurrentModificationException
-        List<GameEventEntity> entitiesToSave = new ArrayList<>(context.getPendingEntities());
-        Map<RoundStartEventEntity, RoundStartEventEntity> roundStartMap = new HashMap<>();
-        
-        logger.debug("Persisting {} total events for game", entitiesToSave.size());
-        
-        long roundStartPersistStart = System.currentTimeMillis();
-        int roundStartCount = 0;
-        
-        for (GameEventEntity entity : entitiesToSave) {
-            if (entity instanceof RoundStartEventEntity roundStart) {
-                // Ensure game reference is managed
-                if (game == null) {
-                    logger.error("Cannot persist RoundStartEventEntity - game is null! " +
-                            "This will create an orphan round. RoundStart timestamp: {}", 
-                            roundStart.getTimestamp());
-                    throw new IllegalStateException("Cannot persist RoundStartEventEntity: game is null");
-                }
-                if (!entityManager.contains(game)) {
-                    game = entityManager.merge(game);
-                }
-                roundStart.setGame(game);
-                
-                // Check if entity already has an ID (detached entity) - use merge instead of persist
-                if (roundStart.getId() == null) {
-                    entityManager.persist(roundStart);
-                } else {
-                    // Entity already has ID, merge it to re-attach to persistence context
-                    roundStart = entityManager.merge(roundStart);
-                }
-                roundStartMap.put(roundStart, roundStart); // Track for reference updates
-                roundStartCount++;
-            }
-        }
-        long roundStartPersistTime = System.currentTimeMillis() - roundStartPersistStart;
-        logger.debug("Persisted {} RoundStartEventEntity instances (took {}ms)", roundStartCount, roundStartPersistTime);
-        
-        // Flush to get RoundStartEventEntity IDs assigned
-        if (!roundStartMap.isEmpty()) {
-            try {
-                entityManager.flush();
-            } catch (Exception e) {
-                logger.error("Failed to flush RoundStartEventEntity instances. " +
-                        "This may cause orphan rounds. RoundStart count: {}", 
-                        roundStartCount, e);
-                throw new RuntimeException("Failed to flush RoundStartEventEntity instances", e);
-            }
-        }
-        
-        // Build cache of managed roundStart entities by ID (after flush, they're all managed)
-        // This avoids expensive contains() checks in the loop
-        Map<Long, RoundStartEventEntity> managedRoundStartCache = new HashMap<>();
-        for (RoundStartEventEntity roundStart : roundStartMap.keySet()) {
-            if (roundStart.getId() != null) {
-                managedRoundStartCache.put(roundStart.getId(), roundStart);
-            }
-        }
-        
-        // Ensure game is managed (check once, not 744 times)
-        if (game != null && !entityManager.contains(game)) {
-            game = entityManager.merge(game);
-        }
-        
-        // Second pass: persist all other events
-        // With SEQUENCE generation, Hibernate can batch inserts for better performance
-        long otherEventsPersistStart = System.currentTimeMillis();
-        int otherEventCount = 0;
-        int eventsWithRoundRef = 0;
-        int eventsWithoutRoundRef = 0;
-        Map<Long, Integer> eventsPerRound = new HashMap<>();
-        
-        final int BATCH_SIZE = 50; // Match hibernate.jdbc.batch_size
-        int batchCount = 0;
-        
-        for (GameEventEntity entity : entitiesToSave) {
-            if (!(entity instanceof RoundStartEventEntity)) {
-                // Game should already be managed (checked once above)
-                entity.setGame(game);
-                
-                // Ensure roundStart reference is set and managed (if applicable)
-                RoundStartEventEntity roundStart = entity.getRoundStart();
-                if (roundStart != null) {
-                    // roundStart should have been persisted in the first pass
-                    // Verify it has an ID and is managed
-                    if (roundStart.getId() == null) {
-                        logger.warn("PERSIST_ROUND: RoundStart has null ID for event type {} at {}", 
-                                entity.getGameEventType(), entity.getTimestamp());
-                        eventsWithoutRoundRef++;
-                    } else {
-                        eventsWithRoundRef++;
-                        eventsPerRound.merge(roundStart.getId(), 1, Integer::sum);
-                        
-                        // Use cached managed entity instead of checking contains()
-                        RoundStartEventEntity managedRoundStart = managedRoundStartCache.get(roundStart.getId());
-                        if (managedRoundStart != null) {
-                            // Use the cached managed entity
-                            entity.setRoundStart(managedRoundStart);
-                        } else {
-                            // Not in cache (shouldn't happen), merge it
-                            logger.debug("PERSIST_ROUND: RoundStart ID {} not in cache, merging for event {}", 
-                                    roundStart.getId(), entity.getGameEventType());
-                            managedRoundStart = entityManager.merge(roundStart);
-                            entity.setRoundStart(managedRoundStart);
-                            // Add to cache for future use
-                            managedRoundStartCache.put(roundStart.getId(), managedRoundStart);
-                        }
-                    }
-                } else {
-                    eventsWithoutRoundRef++;
-                    // Log which event types don't have round reference
-                    if (entity.getGameEventType() != null) {
-                        String eventType = entity.getGameEventType().name();
-                        // Only warn for event types that SHOULD have a round reference
-                        if (!eventType.equals("GAME_OVER") && !eventType.equals("GAME_PROCESSED")) {
-                            logger.debug("PERSIST_ROUND: Event {} at {} has NO roundStart reference", 
-                                    eventType, entity.getTimestamp());
-                        }
-                    }
-                }
-                
-                // Check if entity already has an ID (detached entity) - use merge instead of persist
-                if (entity.getId() == null) {
-                    entityManager.persist(entity);
-                } else {
-                    // Entity already has ID, merge it to re-attach to persistence context
-                    entityManager.merge(entity);
-                }
-                otherEventCount++;
-                batchCount++;
-                
-                // Flush periodically to reduce memory pressure and enable batch processing
-                if (batchCount >= BATCH_SIZE) {
-                    try {
-                        entityManager.flush();
-                    } catch (Exception e) {
-                        logger.error("Failed to flush batch of events. Batch count: {}, Event type: {}", 
-                                batchCount, entity.getGameEventType(), e);
-                        throw new RuntimeException("Failed to flush batch of events", e);
-                    }
-                    batchCount = 0;
-                }
-            }
-        }
-        
-        // Flush any remaining entities
-        if (batchCount > 0) {
-            try {
-                entityManager.flush();
-            } catch (Exception e) {
-                logger.error("Failed to flush remaining events. Remaining batch count: {}", 
-                        batchCount, e);
-                throw new RuntimeException("Failed to flush remaining events", e);
-            }
-        }
-        
-        long otherEventsPersistTime = System.currentTimeMillis() - otherEventsPersistStart;
-        logger.info("Persisted {} other events (took {}ms)", otherEventCount, otherEventsPersistTime);
-        
-        if (!entitiesToSave.isEmpty()) {
-            logger.debug("Persisted {} game events ({} round starts, {} other events)", 
-                    entitiesToSave.size(), roundStartCount, otherEventCount);
-            logger.debug("Events with roundStart: {}, without: {}", 
-                    eventsWithRoundRef, eventsWithoutRoundRef);
-        }
-        
-        // 3. Persist all accolades using EntityManager (same persistence context)
-        long accoladesStart = System.currentTimeMillis();
-        // Create defensive copy to prevent ConcurrentModificationException
-        List<AccoladeEntity> accoladesToSave = new ArrayList<>(context.getPendingAccolades());
-        
-        
-        for (AccoladeEntity accolade : accoladesToSave) {
-            // Check if the game reference is managed; if not, re-attach it
-            GameEntity accoladeGame = accolade.getGame();
-            if (accoladeGame != null && accoladeGame.getId() != null && !entityManager.contains(accoladeGame)) {
-                accolade.setGame(entityManager.merge(accoladeGame));
-            }
-            
-            // Check if entity already has an ID (detached entity) - use merge instead of persist
-            if (accolade.getId() == null) {
-                entityManager.persist(accolade);
-            } else {
-                // Entity already has ID, merge it to re-attach to persistence context
-                entityManager.merge(accolade);
-            }
-        }
-        long accoladesTime = System.currentTimeMillis() - accoladesStart;
-        
-        // Flush all pending changes to database
-        long finalFlushStart = System.currentTimeMillis();
-        try {
-            entityManager.flush();
-            long finalFlushTime = System.currentTimeMillis() - finalFlushStart;
-            logger.debug("Final flush complete (took {}ms)", finalFlushTime);
-        } catch (Exception e) {
-            logger.error("Failed to flush entities to database. " +
-                    "This may cause orphan records or missing data. " +
-                    "Accolades to save: {}, Events to save: {}", 
-                    accoladesToSave.size(), entitiesToSave.size(), e);
-            throw new RuntimeException("Failed to flush entities to database", e);
-        }
-        
-        context.clear();
-        
-        long totalTime = System.currentTimeMillis() - startTime;
+        logger.info("Persisted game {}: {} events, {} accolades, {} player stats (took {}ms)", 
+                game.getId(), batch.getEvents().size(), batch.getAccolades().size(), 
+                batch.getPlayerStats().size(), System.currentTimeMillis() - startTime);
     }
     
     /**
-     * Updates all pending entities and accolades to reference the saved GameEntity.
-     * This is necessary because the saved entity has an ID assigned by the database
-     * and is now a managed entity in the persistence context.
+     * A failing listener must not fail ingestion; the match is already committed.
      */
-    private void updateGameReferences(GameEntity savedGame) {
-        // Also update the context's current game reference to the managed entity
-        context.setCurrentGame(savedGame);
-        
-        // Create defensive copies to prevent ConcurrentModificationException
-        List<GameEventEntity> entities = new ArrayList<>(context.getPendingEntities());
-        List<AccoladeEntity> accolades = new ArrayList<>(context.getPendingAccolades());
-        
-        for (GameEventEntity entity : entities) {
-            entity.setGame(savedGame);
+    private void notifyCommitted(MatchBatch batch) {
+        if (commitListener == null || batch == null || batch.getPlayerStats().isEmpty()) {
+            return;
         }
-        for (AccoladeEntity accolade : accolades) {
-            accolade.setGame(savedGame);
+        try {
+            commitListener.onPlayerStatsCommitted(batch.getPlayerStats());
+        } catch (Exception e) {
+            logger.error("PlayerStats commit listener failed for {} snapshots", batch.getPlayerStats().size(), e);
         }
     }
 
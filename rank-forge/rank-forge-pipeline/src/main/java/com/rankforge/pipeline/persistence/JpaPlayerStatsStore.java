@@ -29,6 +29,7 @@ import com.rankforge.pipeline.persistence.entity.GameEntity;
 import com.rankforge.pipeline.persistence.entity.PlayerStatsEntity;
 import com.rankforge.pipeline.persistence.repository.GameRepository;
 import com.rankforge.pipeline.persistence.repository.PlayerStatsRepository;
+import com.rankforge.pipeline.persistence.spool.WriteBehindMatchQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.transaction.annotation.Transactional;
@@ -47,8 +48,15 @@ public class JpaPlayerStatsStore implements PlayerStatsStore, GameEventListener
     
     private final PlayerStatsRepository repository;
     private final Map<String, PlayerStats> playerStatsMap;
+    // Players confirmed by a roster prefetch to have no stored stats, so lookups skip the database
+    private final Set<String> knownNewPlayers = ConcurrentHashMap.newKeySet();
     private final EventProcessingContext context;
     private final GameRepository gameRepository;
+    // Set in write-behind mode: snapshots are staged for the queue, and queued stats shadow the database
+    private WriteBehindMatchQueue writeBehindQueue;
+    private PlayerStatsCommitListener commitListener;
+    // Set when the event store commits the snapshots with the rest of the match
+    private boolean stageSnapshots = false;
     
     public JpaPlayerStatsStore(PlayerStatsRepository repository) {
         this.repository = repository;
@@ -71,6 +79,32 @@ public class JpaPlayerStatsStore implements PlayerStatsStore, GameEventListener
         this.gameRepository = gameRepository;
     }
     
+    /**
+     * Enables write-behind mode. End-of-game snapshots are staged in the context for the queue
+     * instead of being saved, and stats of matches still in the queue take precedence over
+     * the database when looking players up.
+     */
+    public void setWriteBehindQueue(WriteBehindMatchQueue writeBehindQueue) {
+        this.writeBehindQueue = writeBehindQueue;
+    }
+    
+    /**
+     * Notified after each game's snapshots are saved. When snapshots are staged, whoever commits
+     * the match (event store or write-behind queue) notifies instead, so register the listener there.
+     */
+    public void setCommitListener(PlayerStatsCommitListener commitListener) {
+        this.commitListener = commitListener;
+    }
+    
+    /**
+     * Stages end-of-game snapshots in the context instead of saving them, so the event store
+     * commits them in the match transaction together with the read models derived from them
+     * (rating series, daily stats). This store must then be registered before the event store.
+     */
+    public void setStageSnapshots(boolean stageSnapshots) {
+        this.stageSnapshots = stageSnapshots;
+    }
+    
     /**
      * Convert PlayerStats domain object to PlayerStatsEntity
      */
@@ -83,6 +117,9 @@ public class JpaPlayerStatsStore implements PlayerStatsStore, GameEventListener
         entity.setHeadshotKills(stats.getHeadshotKills());
         entity.setRoundsPlayed(stats.getRoundsPlayed());
         entity.setClutchesWon(stats.getClutchesWon());
+        entity.setOpeningKills(stats.getOpeningKills());
+        entity.setOpeningDeaths(stats.getOpeningDeaths());
+        entity.setTradeKills(stats.getTradeKills());
         entity.setDamageDealt(stats.getDamageDealt());
         entity.setLastUpdated(stats.getLastUpdated() != null ? stats.getLastUpdated() : Instant.now());
         entity.setRank(stats.getRank());
@@ -102,6 +139,9 @@ public class JpaPlayerStatsStore implements PlayerStatsStore, GameEventListener
         stats.setHeadshotKills(entity.getHeadshotKills());
         stats.setRoundsPlayed(entity.getRoundsPlayed());
         stats.setClutchesWon(entity.getClutchesWon());
+        stats.setOpeningKills(entity.getOpeningKills());
+        stats.setOpeningDeaths(entity.getOpeningDeaths());
+        stats.setTradeKills(entity.getTradeKills());
         stats.setDamageDealt(entity.getDamageDealt());
         stats.setLastUpdated(entity.getLastUpdated());
         stats.setRank(entity.getRank());
@@ -116,50 +156,11 @@ public class JpaPlayerStatsStore implements PlayerStatsStore, GameEventListener
      */
     @Transactional
     private void storeBatch(Collection<PlayerStats> stats, Instant gameTimestamp, GameEntity game) {
-        if (stats == null || stats.isEmpty()) {
+        List<PlayerStatsEntity> entitiesToSave = toSnapshotEntities(stats, gameTimestamp, game);
+        if (entitiesToSave.isEmpty()) {
             return;
         }
-        
         try {
-            // Deduplicate by playerId within the batch - keep the latest stats for each player in this game
-            Map<String, PlayerStats> uniqueStats = new HashMap<>();
-            for (PlayerStats stat : stats) {
-                if (stat.getPlayerId() != null) {
-                    // If player already in map, keep the one with later lastUpdated
-                    PlayerStats existing = uniqueStats.get(stat.getPlayerId());
-                    if (existing == null || 
-                        (stat.getLastUpdated() != null && 
-                         (existing.getLastUpdated() == null || stat.getLastUpdated().isAfter(existing.getLastUpdated())))) {
-                        uniqueStats.put(stat.getPlayerId(), stat);
-                    }
-                }
-            }
-            
-            if (uniqueStats.isEmpty()) {
-                return;
-            }
-            
-            List<PlayerStatsEntity> entitiesToSave = new ArrayList<>();
-            
-            // Always create new entities for historical tracking
-            // Validate appServerId is set in context before creating entities
-            Long appServerId = context != null ? context.getAppServerId() : null;
-            if (appServerId == null) {
-                throw new IllegalStateException(
-                        "appServerId must be set in EventProcessingContext before storing PlayerStats. " +
-                        "ResetBreakpadAppId log line must be parsed first.");
-            }
-            
-            for (PlayerStats stat : uniqueStats.values()) {
-                PlayerStatsEntity entity = convertToEntity(stat);
-                entity.setGameTimestamp(gameTimestamp);
-                entity.setGame(game); // Set game reference for confident deletion
-                // Set appServerId from context (extracted from ResetBreakpadAppId log line)
-                entity.setAppServerId(appServerId);
-                entity.setLastUpdated(stat.getLastUpdated() != null ? stat.getLastUpdated() : Instant.now());
-                entitiesToSave.add(entity);
-            }
-            
             // Always insert new records (never update) to track progression
             repository.saveAll(entitiesToSave);
             
@@ -167,6 +168,69 @@ public class JpaPlayerStatsStore implements PlayerStatsStore, GameEventListener
             logger.error("Failed to batch store PlayerStats", e);
             throw e; // Re-throw to let caller handle
         }
+        notifyCommitted(entitiesToSave);
+    }
+    
+    /**
+     * A failing listener must not fail ingestion; the stats are already stored.
+     */
+    private void notifyCommitted(List<PlayerStatsEntity> snapshots) {
+        if (commitListener == null) {
+            return;
+        }
+        try {
+            commitListener.onPlayerStatsCommitted(snapshots);
+        } catch (Exception e) {
+            logger.error("PlayerStats commit listener failed for {} snapshots", snapshots.size(), e);
+        }
+    }
+    
+    /**
+     * Builds one new snapshot entity per player for the end of the given game.
+     */
+    private List<PlayerStatsEntity> toSnapshotEntities(Collection<PlayerStats> stats, Instant gameTimestamp, GameEntity game) {
+        List<PlayerStatsEntity> entitiesToSave = new ArrayList<>();
+        if (stats == null || stats.isEmpty()) {
+            return entitiesToSave;
+        }
+        
+        // Deduplicate by playerId within the batch - keep the latest stats for each player in this game
+        Map<String, PlayerStats> uniqueStats = new HashMap<>();
+        for (PlayerStats stat : stats) {
+            if (stat.getPlayerId() != null) {
+                // If player already in map, keep the one with later lastUpdated
+                PlayerStats existing = uniqueStats.get(stat.getPlayerId());
+                if (existing == null || 
+                    (stat.getLastUpdated() != null && 
+                     (existing.getLastUpdated() == null || stat.getLastUpdated().isAfter(existing.getLastUpdated())))) {
+                    uniqueStats.put(stat.getPlayerId(), stat);
+                }
+            }
+        }
+        
+        if (uniqueStats.isEmpty()) {
+            return entitiesToSave;
+        }
+        
+        // Always create new entities for historical tracking
+        // Validate appServerId is set in context before creating entities
+        Long appServerId = context != null ? context.getAppServerId() : null;
+        if (appServerId == null) {
+            throw new IllegalStateException(
+                    "appServerId must be set in EventProcessingContext before storing PlayerStats. " +
+                    "ResetBreakpadAppId log line must be parsed first.");
+        }
+        
+        for (PlayerStats stat : uniqueStats.values()) {
+            PlayerStatsEntity entity = convertToEntity(stat);
+            entity.setGameTimestamp(gameTimestamp);
+            entity.setGame(game); // Set game reference for confident deletion
+            // Set appServerId from context (extracted from ResetBreakpadAppId log line)
+            entity.setAppServerId(appServerId);
+            entity.setLastUpdated(stat.getLastUpdated() != null ? stat.getLastUpdated() : Instant.now());
+            entitiesToSave.add(entity);
+        }
+        return entitiesToSave;
     }
 
     @Override
@@ -185,6 +249,17 @@ public class JpaPlayerStatsStore implements PlayerStatsStore, GameEventListener
             return Optional.of(playerStatsMap.get(playerSteamId));
         }
         
+        // Stats of a match still in the write-behind queue are newer than anything stored
+        Optional<PlayerStats> queued = getQueuedStats(playerSteamId);
+        if (queued.isPresent()) {
+            return queued;
+        }
+        
+        // Prefetch already confirmed there is nothing stored for this player
+        if (knownNewPlayers.contains(playerSteamId)) {
+            return Optional.empty();
+        }
+        
         // Then check database
         try {
             Optional<PlayerStatsEntity> entityOpt = repository.findByPlayerId(playerSteamId);
@@ -205,9 +280,62 @@ public class JpaPlayerStatsStore implements PlayerStatsStore, GameEventListener
         return Optional.empty();
     }
 
+    /**
+     * Loads the latest stored stats for all given players with a single query and caches them.
+     * Players already cached are skipped; players with no stored stats are remembered so that
+     * {@link #getPlayerStats(String)} does not go back to the database for them.
+     */
+    public void prefetchPlayerStats(Collection<String> playerSteamIds) {
+        if (playerSteamIds == null || playerSteamIds.isEmpty()) {
+            return;
+        }
+        
+        Set<String> toFetch = new HashSet<>();
+        for (String playerSteamId : playerSteamIds) {
+            if (playerSteamId != null && !playerStatsMap.containsKey(playerSteamId)
+                    && getQueuedStats(playerSteamId).isEmpty()) {
+                toFetch.add(playerSteamId);
+            }
+        }
+        if (toFetch.isEmpty()) {
+            return;
+        }
+        
+        try {
+            List<PlayerStatsEntity> entities = repository.findLatestStatsForPlayers(toFetch);
+            for (PlayerStatsEntity entity : entities) {
+                playerStatsMap.putIfAbsent(entity.getPlayerId(), convertToDomain(entity));
+                toFetch.remove(entity.getPlayerId());
+            }
+            knownNewPlayers.addAll(toFetch);
+            logger.debug("Prefetched PlayerStats for {} players ({} without stored stats)", 
+                    entities.size(), toFetch.size());
+        } catch (Exception e) {
+            // Not fatal - getPlayerStats falls back to per-player lookups
+            logger.warn("Failed to prefetch PlayerStats for {} players", toFetch.size(), e);
+        }
+    }
+
+    /**
+     * Looks the player up among matches waiting in the write-behind queue and caches the result.
+     */
+    private Optional<PlayerStats> getQueuedStats(String playerSteamId) {
+        if (writeBehindQueue == null) {
+            return Optional.empty();
+        }
+        return writeBehindQueue.getPendingStats(playerSteamId).map(entity -> {
+            PlayerStats stats = convertToDomain(entity);
+            playerStatsMap.put(playerSteamId, stats);
+            return stats;
+        });
+    }
+
     @Override
     public void onGameStarted(GameOverEvent event) {
-        // no-op
+        // Fetch the baseline stats of the whole roster before the rounds are replayed
+        if (context != null) {
+            prefetchPlayerStats(context.getMatchRoster());
+        }
     }
 
     @Override
@@ -249,8 +377,14 @@ public class JpaPlayerStatsStore implements PlayerStatsStore, GameEventListener
                     "Timestamp: " + gameTimestamp);
         }
         
-        storeBatch(playerStatsMap.values(), gameTimestamp, game);
+        if (writeBehindQueue != null || stageSnapshots) {
+            // Persisted together with the rest of the match by the event store or write-behind queue
+            context.addPendingPlayerStats(toSnapshotEntities(playerStatsMap.values(), gameTimestamp, game));
+        } else {
+            storeBatch(playerStatsMap.values(), gameTimestamp, game);
+        }
         playerStatsMap.clear();
+        knownNewPlayers.clear();
     }
 
     @Override
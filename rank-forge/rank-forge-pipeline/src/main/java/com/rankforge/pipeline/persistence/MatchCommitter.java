@@ -0,0 +1,261 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence;
+
+import com.rankforge.pipeline.persistence.archive.GameEventArchiveCodec;
+import com.rankforge.pipeline.persistence.entity.*;
+import com.rankforge.pipeline.persistence.repository.PlayerStatsRepository;
+import com.rankforge.pipeline.persistence.series.RatingSeriesCodec;
+import com.rankforge.pipeline.persistence.spool.MatchBatch;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes one match into the caller's transaction: the game, its events (and their archive row),
+ * the game summary, accolades, player stats snapshots, and every read model maintained at ingest
+ * (accolade, rivalry, weapon, heatmap, global and daily stats counters and the rating series).
+ *
+ * Both the synchronous commit in {@link JpaEventStore} and the write-behind
+ * {@link com.rankforge.pipeline.persistence.spool.MatchBatchWriter} go through here, so a match
+ * produces the same rows whichever path stores it. Committing or rolling back is left to the caller.
+ *
+ * Author bageshwar.pn
+ * Date 2026
+ */
+public class MatchCommitter {
+    private static final Logger logger = LoggerFactory.getLogger(MatchCommitter.class);
+
+    private static final int BATCH_SIZE = 50; // Match hibernate.jdbc.batch_size
+
+    private boolean eventArchiveEnabled = false;
+    private int streamingFlushInterval = 0;
+    private PlayerStatsRepository playerStatsRepository;
+
+    /**
+     * Also writes the match's events as one compressed GameEventArchive row.
+     */
+    public void setEventArchiveEnabled(boolean eventArchiveEnabled) {
+        this.eventArchiveEnabled = eventArchiveEnabled;
+    }
+
+    /**
+     * Every {@code interval} rows the EntityManager is flushed and cleared, so the persistence
+     * context stays small regardless of match length. 0 or less keeps the whole match managed.
+     */
+    public void setStreamingFlushInterval(int interval) {
+        this.streamingFlushInterval = Math.max(0, interval);
+    }
+
+    /**
+     * Enables the daily stats buckets, which need each player's snapshot before the match.
+     */
+    public void setPlayerStatsRepository(PlayerStatsRepository playerStatsRepository) {
+        this.playerStatsRepository = playerStatsRepository;
+    }
+
+    /**
+     * Writes the match. Its entities must already point at its game and round starts
+     * (see {@link MatchBatch#link()}).
+     *
+     * @return the managed game - after a streaming clear, a reference to it
+     */
+    public GameEntity commit(EntityManager entityManager, MatchBatch batch) {
+        // Read before this match's snapshots are written and become the latest
+        Map<String, PlayerStatsEntity> previousSnapshots = findPreviousSnapshots(batch.getPlayerStats());
+
+        GameEntity game = persistGame(entityManager, batch.getGame());
+        Long gameId = game.getId();
+        GameEventArchiveCodec.Encoder archive = eventArchiveEnabled ? new GameEventArchiveCodec.Encoder() : null;
+
+        // RoundStart rows first - other events reference them
+        Map<Long, RoundStartEventEntity> roundStarts = new HashMap<>();
+        for (GameEventEntity event : batch.getEvents()) {
+            if (event instanceof RoundStartEventEntity roundStart) {
+                roundStart.setGame(game);
+                if (roundStart.getId() == null) {
+                    entityManager.persist(roundStart);
+                } else {
+                    roundStart = entityManager.merge(roundStart);
+                }
+                if (archive != null) {
+                    archive.add(roundStart); // SEQUENCE ids are assigned at persist
+                }
+                if (roundStart.getId() != null) {
+                    roundStarts.put(roundStart.getId(), roundStart);
+                }
+            }
+        }
+        entityManager.flush();
+
+        boolean streaming = streamingFlushInterval > 0;
+        int batchCount = 0;
+        int rowsSinceClear = 0;
+        int contextClears = 0;
+        RivalryCounters rivalries = new RivalryCounters();
+        WeaponStatsCounters weaponStats = new WeaponStatsCounters();
+        HeatmapCounters heatmap = new HeatmapCounters(game.getMap());
+        for (GameEventEntity event : batch.getEvents()) {
+            if (event instanceof RoundStartEventEntity) {
+                continue;
+            }
+            event.setGame(game);
+            RoundStartEventEntity roundStart = event.getRoundStart();
+            if (roundStart != null && roundStart.getId() != null) {
+                event.setRoundStart(roundStarts.computeIfAbsent(roundStart.getId(), id -> entityManager.merge(roundStart)));
+            }
+            if (event.getId() == null) {
+                entityManager.persist(event);
+                rivalries.add(event);
+                weaponStats.add(event);
+                heatmap.add(event);
+            } else {
+                // Re-attached rows were counted when first stored
+                entityManager.merge(event);
+            }
+            if (archive != null) {
+                archive.add(event);
+            }
+            rowsSinceClear++;
+            if (++batchCount >= BATCH_SIZE) {
+                entityManager.flush();
+                batchCount = 0;
+                if (streaming && rowsSinceClear >= streamingFlushInterval) {
+                    // Rows are already flushed - detach them and re-acquire the parents children point at
+                    entityManager.clear();
+                    game = entityManager.getReference(GameEntity.class, gameId);
+                    for (Map.Entry<Long, RoundStartEventEntity> cached : roundStarts.entrySet()) {
+                        cached.setValue(entityManager.getReference(RoundStartEventEntity.class, cached.getKey()));
+                    }
+                    rowsSinceClear = 0;
+                    contextClears++;
+                }
+            }
+        }
+        if (batchCount > 0) {
+            entityManager.flush();
+        }
+        if (contextClears > 0) {
+            logger.debug("Streaming commit cleared the persistence context {} times (interval {})",
+                    contextClears, streamingFlushInterval);
+        }
+
+        // The game entity handed in keeps its fields even when only a reference is managed now
+        GameEntity details = batch.getGame();
+        if (archive != null && archive.getEventCount() > 0) {
+            byte[] payload = archive.finish();
+            entityManager.persist(new GameEventArchiveEntity(gameId, GameEventArchiveCodec.FORMAT_VERSION,
+                    archive.getEventCount(), payload, details.getAppServerId()));
+            logger.debug("Archived {} events for game {} in {} bytes", archive.getEventCount(), gameId, payload.length);
+        }
+        entityManager.persist(GameSummaryFactory.create(gameId, details, batch.getRoster()));
+
+        List<AccoladeEntity> newAccolades = new ArrayList<>();
+        for (AccoladeEntity accolade : batch.getAccolades()) {
+            accolade.setGame(game);
+            if (accolade.getId() == null) {
+                entityManager.persist(accolade);
+                newAccolades.add(accolade);
+            } else {
+                entityManager.merge(accolade);
+            }
+        }
+        AccoladeCounters.increment(entityManager, newAccolades);
+        rivalries.apply(entityManager, details.getGameOverTimestamp());
+        weaponStats.apply(entityManager);
+        heatmap.apply(entityManager);
+
+        DailyStatsCounters dailyStats = new DailyStatsCounters();
+        for (PlayerStatsEntity stats : batch.getPlayerStats()) {
+            stats.setGame(game);
+            entityManager.persist(stats);
+            appendRatingSeries(entityManager, stats);
+            if (previousSnapshots != null) {
+                dailyStats.add(stats, previousSnapshots.get(stats.getPlayerId()));
+            }
+        }
+        dailyStats.apply(entityManager);
+        entityManager.flush();
+        
+        // Last, so the lock on the shared "ALL" row is only held until the caller commits
+        GlobalCounters globalCounters = new GlobalCounters();
+        globalCounters.add(details);
+        globalCounters.apply(entityManager);
+        return game;
+    }
+
+    private GameEntity persistGame(EntityManager entityManager, GameEntity game) {
+        if (game.getAppServerId() == null) {
+            logger.error("GameEntity has NULL appServerId when attempting to persist! Map: {}, Timestamp: {}",
+                    game.getMap(), game.getGameOverTimestamp());
+            throw new IllegalStateException(
+                    "GameEntity must have appServerId set before persistence. " +
+                    "Map: " + game.getMap() + ", Timestamp: " + game.getGameOverTimestamp());
+        }
+        // A game that already has an id (detached entity) is re-attached
+        GameEntity managed = game;
+        if (game.getId() == null) {
+            entityManager.persist(game);
+        } else {
+            managed = entityManager.merge(game);
+        }
+        entityManager.flush(); // Flush to get the generated ID
+        return managed;
+    }
+
+    /**
+     * Latest stored snapshot per player of the match, or null if daily stats are not kept.
+     */
+    private Map<String, PlayerStatsEntity> findPreviousSnapshots(List<PlayerStatsEntity> snapshots) {
+        if (playerStatsRepository == null) {
+            return null;
+        }
+        Map<String, PlayerStatsEntity> previous = new HashMap<>();
+        Set<String> playerIds = new HashSet<>();
+        for (PlayerStatsEntity stats : snapshots) {
+            playerIds.add(stats.getPlayerId());
+        }
+        if (!playerIds.isEmpty()) {
+            for (PlayerStatsEntity entity : playerStatsRepository.findLatestStatsForPlayers(playerIds)) {
+                previous.put(entity.getPlayerId(), entity);
+            }
+        }
+        return previous;
+    }
+
+    /**
+     * Appends the snapshot to its player's rating series. A series that cannot take the snapshot
+     * (an older game ingested late) is dropped and rebuilt from the full history.
+     */
+    private void appendRatingSeries(EntityManager entityManager, PlayerStatsEntity stats) {
+        PlayerRatingSeriesEntity series = entityManager.find(PlayerRatingSeriesEntity.class, stats.getPlayerId());
+        if (series == null) {
+            entityManager.persist(RatingSeriesCodec.build(stats.getPlayerId(), List.of(stats)));
+        } else if (!RatingSeriesCodec.append(series, stats)) {
+            entityManager.remove(series);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence;
+
+import com.rankforge.pipeline.persistence.entity.PlayerStatsEntity;
+
+import java.util.List;
+
+/**
+ * Notified after a match's player stats snapshots are committed to the database, either directly
+ * by {@link JpaPlayerStatsStore} or by the write-behind queue once the match is written.
+ * Lets read-side views such as an in-memory leaderboard update in place instead of re-reading.
+ * 
+ * Author bageshwar.pn
+ * Date 2026
+ */
+public interface PlayerStatsCommitListener {
+    
+    /**
+     * @param snapshots The committed snapshots, one per player of the match
+     */
+    void onPlayerStatsCommitted(List<PlayerStatsEntity> snapshots);
+    
+    /**
+     * A listener notifying the given listeners in order
+     */
+    static PlayerStatsCommitListener of(PlayerStatsCommitListener... listeners) {
+        List<PlayerStatsCommitListener> delegates = List.of(listeners);
+        return snapshots -> {
+            for (PlayerStatsCommitListener delegate : delegates) {
+                delegate.onPlayerStatsCommitted(snapshots);
+            }
+        };
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence;
+
+import com.rankforge.pipeline.persistence.entity.GameEventEntity;
+import com.rankforge.pipeline.persistence.entity.KillEventEntity;
+import com.rankforge.pipeline.persistence.entity.KillMatrixEntity;
+import com.rankforge.pipeline.persistence.entity.PlayerRivalEntity;
+import jakarta.persistence.EntityManager;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the head-to-head {@link KillMatrixEntity} cells and the {@link PlayerRivalEntity} top-K
+ * heaps for one match. Kill events are tallied as the match's events are persisted and the tally
+ * is applied in the same transaction, so rivalry reads never scan GameEvent.
+ * Author bageshwar.pn
+ * Date 2026
+ */
+public final class RivalryCounters {
+    
+    /**
+     * Maximum number of rivals kept per player, period and direction
+     */
+    public static final int TOP_K = 10;
+    
+    // killer -> victim -> kills in this match
+    private final Map<String, Map<String, Integer>> kills = new LinkedHashMap<>();
+    
+    /**
+     * Counts a kill between two different players with Steam IDs; bots, suicides and other events are ignored
+     */
+    public void add(GameEventEntity event) {
+        if (event instanceof KillEventEntity && isCounted(event.getPlayer1(), event.getPlayer2())) {
+            kills.computeIfAbsent(event.getPlayer1(), killer -> new LinkedHashMap<>())
+                    .merge(event.getPlayer2(), 1, Integer::sum);
+        }
+    }
+    
+    public boolean isEmpty() {
+        return kills.isEmpty();
+    }
+    
+    /**
+     * Adds the tallied kills to the all-time and monthly matrix cells and offers each pair's new
+     * totals to the killer's victim heap and the victim's nemesis heap.
+     * 
+     * @param entityManager Entity manager of the transaction storing the match
+     * @param gameTimestamp When the game ended; decides the monthly period
+     */
+    public void apply(EntityManager entityManager, Instant gameTimestamp) {
+        if (kills.isEmpty()) {
+            return;
+        }
+        List<String> periods = gameTimestamp != null
+                ? List.of(KillMatrixEntity.ALL_TIME, monthOf(gameTimestamp))
+                : List.of(KillMatrixEntity.ALL_TIME);
+        Instant now = Instant.now();
+        Map<List<Object>, List<PlayerRivalEntity>> heaps = new HashMap<>();
+        
+        for (Map.Entry<String, Map<String, Integer>> killer : kills.entrySet()) {
+            for (Map.Entry<String, Integer> victim : killer.getValue().entrySet()) {
+                for (String period : periods) {
+                    KillMatrixEntity cell = entityManager.find(KillMatrixEntity.class,
+                            new KillMatrixEntity.Key(killer.getKey(), victim.getKey(), period));
+                    if (cell == null) {
+                        cell = new KillMatrixEntity(killer.getKey(), victim.getKey(), period);
+                        cell.setKills(victim.getValue());
+                        entityManager.persist(cell);
+                    } else {
+                        cell.setKills(cell.getKills() + victim.getValue());
+                        cell.setUpdatedAt(now);
+                    }
+                    offer(entityManager, heaps, killer.getKey(), period, PlayerRivalEntity.Direction.VICTIM,
+                            victim.getKey(), cell.getKills(), now);
+                    offer(entityManager, heaps, victim.getKey(), period, PlayerRivalEntity.Direction.NEMESIS,
+                            killer.getKey(), cell.getKills(), now);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Updates the rival's row if it is in the heap, otherwise adds it while there is room or
+     * replaces the row with the fewest kills if the rival now has more
+     */
+    private static void offer(EntityManager entityManager, Map<List<Object>, List<PlayerRivalEntity>> heaps,
+                              String playerId, String period, PlayerRivalEntity.Direction direction,
+                              String rivalId, int total, Instant now) {
+        List<PlayerRivalEntity> heap = heaps.computeIfAbsent(List.of(playerId, period, direction),
+                key -> loadHeap(entityManager, playerId, period, direction));
+        PlayerRivalEntity min = null;
+        for (PlayerRivalEntity row : heap) {
+            if (row.getRivalId().equals(rivalId)) {
+                row.setKills(total);
+                row.setUpdatedAt(now);
+                return;
+            }
+            if (min == null || row.getKills() < min.getKills()) {
+                min = row;
+            }
+        }
+        if (heap.size() >= TOP_K) {
+            if (total <= min.getKills()) {
+                return;
+            }
+            entityManager.remove(min);
+            heap.remove(min);
+        }
+        PlayerRivalEntity row = new PlayerRivalEntity(playerId, period, direction, rivalId, total);
+        entityManager.persist(row);
+        heap.add(row);
+    }
+    
+    private static List<PlayerRivalEntity> loadHeap(EntityManager entityManager, String playerId, String period,
+                                                    PlayerRivalEntity.Direction direction) {
+        return new ArrayList<>(entityManager.createQuery(
+                        "SELECT r FROM PlayerRivalEntity r " +
+                        "WHERE r.playerId = :playerId AND r.period = :period AND r.direction = :direction",
+                        PlayerRivalEntity.class)
+                .setParameter("playerId", playerId)
+                .setParameter("period", period)
+                .setParameter("direction", direction)
+                .getResultList());
+    }
+    
+    /**
+     * Whether a kill between the two players belongs in the matrix
+     */
+    public static boolean isCounted(String killerId, String victimId) {
+        return killerId != null && victimId != null && killerId.startsWith("[U:1:") && victimId.startsWith("[U:1:")
+                && !killerId.equals(victimId);
+    }
+    
+    /**
+     * Monthly period ("yyyy-MM", UTC) of a game
+     */
+    public static String monthOf(Instant timestamp) {
+        return YearMonth.from(timestamp.atZone(ZoneOffset.UTC)).toString();
+    }
+}
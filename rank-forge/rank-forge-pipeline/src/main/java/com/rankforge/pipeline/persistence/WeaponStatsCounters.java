@@ -0,0 +1,108 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence;
+
+import com.rankforge.pipeline.persistence.entity.AttackEventEntity;
+import com.rankforge.pipeline.persistence.entity.GameEventEntity;
+import com.rankforge.pipeline.persistence.entity.KillEventEntity;
+import com.rankforge.pipeline.persistence.entity.PlayerWeaponStatsEntity;
+import jakarta.persistence.EntityManager;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Accumulates one match's kills, headshot kills, hits and damage per (player, weapon) as its events
+ * are persisted, and upserts the totals into {@link PlayerWeaponStatsEntity} rows in the same transaction.
+ * Damage is the raw damage of each hit, as in the players' damageDealt.
+ * Author bageshwar.pn
+ * Date 2026
+ */
+public final class WeaponStatsCounters {
+    
+    // Per (player, weapon): [kills, headshot kills, hits, damage]
+    private final Map<PlayerWeaponStatsEntity.Key, long[]> totals = new LinkedHashMap<>();
+    
+    /**
+     * Counts kills and hits dealt by players with Steam IDs to anyone but themselves; other events are ignored
+     */
+    public void add(GameEventEntity event) {
+        if (event instanceof KillEventEntity kill) {
+            long[] counts = countsFor(kill.getPlayer1(), kill.getPlayer2(), kill.getWeapon());
+            if (counts != null) {
+                counts[0]++;
+                if (Boolean.TRUE.equals(kill.getIsHeadshot())) {
+                    counts[1]++;
+                }
+            }
+        } else if (event instanceof AttackEventEntity attack) {
+            long[] counts = countsFor(attack.getPlayer1(), attack.getPlayer2(), attack.getWeapon());
+            if (counts != null) {
+                counts[2]++;
+                counts[3] += attack.getDamage() != null ? attack.getDamage() : 0;
+            }
+        }
+    }
+    
+    private long[] countsFor(String playerId, String victimId, String weapon) {
+        if (!isCounted(playerId, victimId, weapon)) {
+            return null;
+        }
+        return totals.computeIfAbsent(new PlayerWeaponStatsEntity.Key(playerId, weapon), key -> new long[4]);
+    }
+    
+    public boolean isEmpty() {
+        return totals.isEmpty();
+    }
+    
+    /**
+     * Adds the match totals to the players' weapon rows, creating the rows that do not exist yet
+     * 
+     * @param entityManager Entity manager of the transaction storing the match
+     */
+    public void apply(EntityManager entityManager) {
+        Instant now = Instant.now();
+        for (Map.Entry<PlayerWeaponStatsEntity.Key, long[]> total : totals.entrySet()) {
+            PlayerWeaponStatsEntity.Key key = total.getKey();
+            long[] counts = total.getValue();
+            PlayerWeaponStatsEntity stats = entityManager.find(PlayerWeaponStatsEntity.class, key);
+            boolean created = stats == null;
+            if (created) {
+                stats = new PlayerWeaponStatsEntity(key.getPlayerId(), key.getWeapon());
+            }
+            stats.setKills(stats.getKills() + (int) counts[0]);
+            stats.setHeadshotKills(stats.getHeadshotKills() + (int) counts[1]);
+            stats.setHits(stats.getHits() + (int) counts[2]);
+            stats.setDamage(stats.getDamage() + counts[3]);
+            stats.setUpdatedAt(now);
+            if (created) {
+                entityManager.persist(stats);
+            }
+        }
+    }
+    
+    /**
+     * Whether a kill or hit belongs in the weapon stats
+     */
+    public static boolean isCounted(String playerId, String victimId, String weapon) {
+        return playerId != null && playerId.startsWith("[U:1:") && !playerId.equals(victimId)
+                && weapon != null && !weapon.isEmpty();
+    }
+}
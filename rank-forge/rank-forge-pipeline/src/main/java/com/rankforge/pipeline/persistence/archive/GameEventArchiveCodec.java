@@ -0,0 +1,392 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.archive;
+
+import com.rankforge.core.events.GameEventType;
+import com.rankforge.pipeline.persistence.entity.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compact binary encoding of all events of a game, used for read-side replay.
+ * 
+ * Layout: a 4-byte magic and a version byte, followed by a deflate-compressed stream of events.
+ * Each event is written as:
+ * <pre>
+ *   type code | id delta | timestamp delta (ms) | round start offset | player1 | player2 |
+ *   player1Team | player2Team | coordinates | type-specific fields
+ * </pre>
+ * Numbers are varints; deltas and offsets are zigzag-encoded against the previous event, so
+ * monotonically allocated ids and timestamps mostly take one or two bytes. Strings (players,
+ * weapons, teams, ...) are dictionary-coded: the first occurrence is written inline and later
+ * ones as its dictionary index. The stream ends with type code 0.
+ * 
+ * The encoder is incremental so events can be added as they are persisted and then released.
+ * 
+ * Author bageshwar.pn
+ * Date 2026
+ */
+public final class GameEventArchiveCodec {
+    
+    public static final int FORMAT_VERSION = 1;
+    
+    private static final byte[] MAGIC = {'R', 'F', 'E', 'A'};
+    private static final int END_OF_EVENTS = 0;
+    
+    private GameEventArchiveCodec() {
+    }
+    
+    /**
+     * Incrementally encodes persisted events (ids must be assigned).
+     */
+    public static class Encoder {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out;
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private long previousId = 0;
+        private long previousTimestamp = 0;
+        private int eventCount = 0;
+        private boolean finished = false;
+        
+        public Encoder() {
+            bytes.writeBytes(MAGIC);
+            bytes.write(FORMAT_VERSION);
+            out = new DataOutputStream(new DeflaterOutputStream(bytes, new Deflater(Deflater.BEST_COMPRESSION)));
+        }
+        
+        public void add(GameEventEntity event) {
+            if (finished) {
+                throw new IllegalStateException("Archive already finished");
+            }
+            if (event.getId() == null) {
+                throw new IllegalArgumentException("Events must be persisted before they are archived");
+            }
+            try {
+                writeVarLong(out, typeCode(event.getGameEventType()));
+                writeVarLong(out, zigzag(event.getId() - previousId));
+                long timestamp = event.getTimestamp().toEpochMilli();
+                writeVarLong(out, zigzag(timestamp - previousTimestamp));
+                RoundStartEventEntity roundStart = event.getRoundStart();
+                writeNullableLong(out, roundStart != null && roundStart.getId() != null 
+                        ? event.getId() - roundStart.getId() : null);
+                writeString(event.getPlayer1());
+                writeString(event.getPlayer2());
+                writeString(event.getPlayer1Team());
+                writeString(event.getPlayer2Team());
+                writeString(event.getCoordinates());
+                
+                if (event instanceof KillEventEntity kill) {
+                    writeString(kill.getWeapon());
+                    writeNullableBoolean(out, kill.getIsHeadshot());
+                } else if (event instanceof AssistEventEntity assist) {
+                    writeString(assist.getAssistType());
+                    writeString(assist.getWeapon());
+                } else if (event instanceof AttackEventEntity attack) {
+                    writeString(attack.getWeapon());
+                    writeString(attack.getHitGroup());
+                    writeNullableLong(out, toLong(attack.getDamage()));
+                    writeNullableLong(out, toLong(attack.getArmorDamage()));
+                    writeNullableLong(out, toLong(attack.getHealthRemaining()));
+                } else if (event instanceof BombEventEntity bomb) {
+                    writeString(bomb.getPlayer());
+                    writeString(bomb.getEventType());
+                    writeNullableLong(out, toLong(bomb.getTimeRemaining()));
+                } else if (event instanceof RoundEndEventEntity roundEnd) {
+                    writeString(roundEnd.getPlayersJson());
+                } else if (event instanceof GameOverEventEntity gameOver) {
+                    writeString(gameOver.getMap());
+                    writeString(gameOver.getMode());
+                    writeNullableLong(out, toLong(gameOver.getTeam1Score()));
+                    writeNullableLong(out, toLong(gameOver.getTeam2Score()));
+                    writeNullableLong(out, toLong(gameOver.getDuration()));
+                }
+                
+                previousId = event.getId();
+                previousTimestamp = timestamp;
+                eventCount++;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to encode event " + event.getId(), e);
+            }
+        }
+        
+        /**
+         * Ends the stream and returns the compressed archive.
+         */
+        public byte[] finish() {
+            if (!finished) {
+                try {
+                    writeVarLong(out, END_OF_EVENTS);
+                    out.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to finish event archive", e);
+                }
+                finished = true;
+            }
+            return bytes.toByteArray();
+        }
+        
+        public int getEventCount() {
+            return eventCount;
+        }
+        
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                writeVarLong(out, 0);
+                return;
+            }
+            Integer index = dictionary.get(value);
+            if (index != null) {
+                writeVarLong(out, index + 1);
+                return;
+            }
+            // First occurrence: the next free index, followed by the string itself
+            int newIndex = dictionary.size();
+            dictionary.put(value, newIndex);
+            writeVarLong(out, newIndex + 1);
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(out, utf8.length);
+            out.write(utf8);
+        }
+    }
+    
+    /**
+     * Decodes an archive back into detached event entities with their original ids.
+     * Events reference shared {@link RoundStartEventEntity} instances; no game is set.
+     */
+    public static List<GameEventEntity> decode(byte[] archive) {
+        if (archive.length < MAGIC.length + 1) {
+            throw new IllegalArgumentException("Not a game event archive: too short");
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (archive[i] != MAGIC[i]) {
+                throw new IllegalArgumentException("Not a game event archive: bad magic");
+            }
+        }
+        int version = archive[MAGIC.length];
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported game event archive version " + version);
+        }
+        
+        ByteArrayInputStream raw = new ByteArrayInputStream(archive, MAGIC.length + 1, archive.length - MAGIC.length - 1);
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(raw))) {
+            List<GameEventEntity> events = new ArrayList<>();
+            List<String> dictionary = new ArrayList<>();
+            Map<Long, RoundStartEventEntity> roundStarts = new HashMap<>();
+            long previousId = 0;
+            long previousTimestamp = 0;
+            
+            while (true) {
+                int typeCode = (int) readVarLong(in);
+                if (typeCode == END_OF_EVENTS) {
+                    break;
+                }
+                GameEventType type = typeOf(typeCode);
+                long id = previousId + unzigzag(readVarLong(in));
+                long timestamp = previousTimestamp + unzigzag(readVarLong(in));
+                Long roundStartOffset = readNullableLong(in);
+                
+                GameEventEntity event = type == GameEventType.ROUND_START
+                        ? roundStarts.computeIfAbsent(id, key -> new RoundStartEventEntity())
+                        : newEntity(type);
+                event.setId(id);
+                event.setGameEventType(type);
+                event.setTimestamp(Instant.ofEpochMilli(timestamp));
+                if (roundStartOffset != null) {
+                    // Placeholder until (or in case) the round start itself is decoded
+                    event.setRoundStart(roundStarts.computeIfAbsent(id - roundStartOffset, key -> new RoundStartEventEntity()));
+                }
+                event.setPlayer1(readString(in, dictionary));
+                event.setPlayer2(readString(in, dictionary));
+                event.setPlayer1Team(readString(in, dictionary));
+                event.setPlayer2Team(readString(in, dictionary));
+                event.setCoordinates(readString(in, dictionary));
+                
+                if (event instanceof KillEventEntity kill) {
+                    kill.setWeapon(readString(in, dictionary));
+                    kill.setIsHeadshot(readNullableBoolean(in));
+                } else if (event instanceof AssistEventEntity assist) {
+                    assist.setAssistType(readString(in, dictionary));
+                    assist.setWeapon(readString(in, dictionary));
+                } else if (event instanceof AttackEventEntity attack) {
+                    attack.setWeapon(readString(in, dictionary));
+                    attack.setHitGroup(readString(in, dictionary));
+                    attack.setDamage(toInteger(readNullableLong(in)));
+                    attack.setArmorDamage(toInteger(readNullableLong(in)));
+                    attack.setHealthRemaining(toInteger(readNullableLong(in)));
+                } else if (event instanceof BombEventEntity bomb) {
+                    bomb.setPlayer(readString(in, dictionary));
+                    bomb.setEventType(readString(in, dictionary));
+                    bomb.setTimeRemaining(toInteger(readNullableLong(in)));
+                } else if (event instanceof RoundEndEventEntity roundEnd) {
+                    roundEnd.setPlayersJson(readString(in, dictionary));
+                } else if (event instanceof GameOverEventEntity gameOver) {
+                    gameOver.setMap(readString(in, dictionary));
+                    gameOver.setMode(readString(in, dictionary));
+                    gameOver.setTeam1Score(toInteger(readNullableLong(in)));
+                    gameOver.setTeam2Score(toInteger(readNullableLong(in)));
+                    gameOver.setDuration(toInteger(readNullableLong(in)));
+                }
+                
+                events.add(event);
+                previousId = id;
+                previousTimestamp = timestamp;
+            }
+            return events;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt game event archive", e);
+        }
+    }
+    
+    // Stable codes - independent of GameEventType ordinals so archives survive enum changes
+    private static int typeCode(GameEventType type) {
+        return switch (type) {
+            case KILL -> 1;
+            case ASSIST -> 2;
+            case ATTACK -> 3;
+            case BOMB_EVENT -> 4;
+            case ROUND_START -> 5;
+            case ROUND_END -> 6;
+            case GAME_OVER -> 7;
+            case GAME_PROCESSED -> 8;
+        };
+    }
+    
+    private static GameEventType typeOf(int code) throws IOException {
+        return switch (code) {
+            case 1 -> GameEventType.KILL;
+            case 2 -> GameEventType.ASSIST;
+            case 3 -> GameEventType.ATTACK;
+            case 4 -> GameEventType.BOMB_EVENT;
+            case 5 -> GameEventType.ROUND_START;
+            case 6 -> GameEventType.ROUND_END;
+            case 7 -> GameEventType.GAME_OVER;
+            case 8 -> GameEventType.GAME_PROCESSED;
+            default -> throw new IOException("Unknown event type code " + code);
+        };
+    }
+    
+    private static GameEventEntity newEntity(GameEventType type) {
+        return switch (type) {
+            case KILL -> new KillEventEntity();
+            case ASSIST -> new AssistEventEntity();
+            case ATTACK -> new AttackEventEntity();
+            case BOMB_EVENT -> new BombEventEntity();
+            case ROUND_START -> new RoundStartEventEntity();
+            case ROUND_END -> new RoundEndEventEntity();
+            case GAME_OVER -> new GameOverEventEntity();
+            case GAME_PROCESSED -> new GameProcessedEventEntity();
+        };
+    }
+    
+    private static String readString(DataInputStream in, List<String> dictionary) throws IOException {
+        int code = (int) readVarLong(in);
+        if (code == 0) {
+            return null;
+        }
+        int index = code - 1;
+        if (index < dictionary.size()) {
+            return dictionary.get(index);
+        }
+        if (index != dictionary.size()) {
+            throw new IOException("Dictionary index " + index + " out of order");
+        }
+        byte[] utf8 = new byte[(int) readVarLong(in)];
+        in.readFully(utf8);
+        String value = new String(utf8, StandardCharsets.UTF_8);
+        dictionary.add(value);
+        return value;
+    }
+    
+    static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+    
+    static long readVarLong(InputStream in) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Truncated game event archive");
+            }
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed varint in game event archive");
+    }
+    
+    private static void writeNullableLong(OutputStream out, Long value) throws IOException {
+        writeVarLong(out, value == null ? 0 : zigzag(value) + 1);
+    }
+    
+    private static Long readNullableLong(InputStream in) throws IOException {
+        long raw = readVarLong(in);
+        return raw == 0 ? null : unzigzag(raw - 1);
+    }
+    
+    private static void writeNullableBoolean(OutputStream out, Boolean value) throws IOException {
+        out.write(value == null ? 0 : (value ? 2 : 1));
+    }
+    
+    private static Boolean readNullableBoolean(InputStream in) throws IOException {
+        int raw = in.read();
+        if (raw < 0) {
+            throw new EOFException("Truncated game event archive");
+        }
+        return raw == 0 ? null : raw == 2;
+    }
+    
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+    
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+    
+    private static Long toLong(Integer value) {
+        return value == null ? null : value.longValue();
+    }
+    
+    private static Integer toInteger(Long value) {
+        return value == null ? null : value.intValue();
+    }
+}
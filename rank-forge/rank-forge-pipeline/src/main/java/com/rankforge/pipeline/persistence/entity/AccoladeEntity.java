@@ -20,6 +20,7 @@ package com.rankforge.pipeline.persistence.entity;
 
 import jakarta.persistence.*;
 import java.time.Instant;
+import java.util.Locale;
 
 /**
  * Entity for Accolades
@@ -41,6 +42,14 @@ public class AccoladeEntity {
     @Column(name = "playerName", nullable = false, length = 255)
     private String playerName;
     
+    /**
+     * Lower-cased, trimmed copy of playerName, kept in step by {@link #setPlayerName(String)}.
+     * Indexed so name lookups for legacy accolades (stored before Steam IDs were resolved)
+     * are an equality seek instead of LOWER(playerName) over the whole table.
+     */
+    @Column(name = "normalizedPlayerName", length = 255)
+    private String normalizedPlayerName;
+    
     @Column(name = "playerId", length = 255)
     private String playerId;
     
@@ -99,6 +108,19 @@ public class AccoladeEntity {
     
     public void setPlayerName(String playerName) {
         this.playerName = playerName;
+        this.normalizedPlayerName = normalizeName(playerName);
+    }
+    
+    public String getNormalizedPlayerName() {
+        return normalizedPlayerName;
+    }
+    
+    /**
+     * Normalizes a player name the way {@code normalizedPlayerName} is stored
+     * @return The trimmed, lower-cased name, or null for null
+     */
+    public static String normalizeName(String playerName) {
+        return playerName != null ? playerName.trim().toLowerCase(Locale.ROOT) : null;
     }
     
     public String getPlayerId() {
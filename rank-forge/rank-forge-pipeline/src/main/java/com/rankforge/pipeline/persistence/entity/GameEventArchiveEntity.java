@@ -0,0 +1,121 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Entity for the compressed per-game event archive.
+ * One row per game holding all of its events encoded by GameEventArchiveCodec, so game and
+ * round detail views can be rebuilt from a single read instead of thousands of event rows.
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@Entity
+@Table(name = "GameEventArchive")
+public class GameEventArchiveEntity {
+    
+    // Shares the primary key of the game it archives
+    @Id
+    @Column(name = "gameId")
+    private Long gameId;
+    
+    @Column(name = "formatVersion", nullable = false)
+    private Integer formatVersion;
+    
+    @Column(name = "eventCount", nullable = false)
+    private Integer eventCount;
+    
+    @Column(name = "payload", nullable = false, columnDefinition = "VARBINARY(MAX)")
+    private byte[] payload;
+    
+    @Column(name = "created_at")
+    private Instant createdAt;
+    
+    /**
+     * App Server ID identifying which dedicated server this game's logs came from.
+     * Required field - must be set for all new imports.
+     */
+    @Column(name = "appServerId", nullable = false)
+    private Long appServerId;
+    
+    // Default constructor
+    public GameEventArchiveEntity() {
+        this.createdAt = Instant.now();
+    }
+    
+    public GameEventArchiveEntity(Long gameId, Integer formatVersion, Integer eventCount, byte[] payload, Long appServerId) {
+        this();
+        this.gameId = gameId;
+        this.formatVersion = formatVersion;
+        this.eventCount = eventCount;
+        this.payload = payload;
+        this.appServerId = appServerId;
+    }
+    
+    // Getters and setters
+    public Long getGameId() {
+        return gameId;
+    }
+    
+    public void setGameId(Long gameId) {
+        this.gameId = gameId;
+    }
+    
+    public Integer getFormatVersion() {
+        return formatVersion;
+    }
+    
+    public void setFormatVersion(Integer formatVersion) {
+        this.formatVersion = formatVersion;
+    }
+    
+    public Integer getEventCount() {
+        return eventCount;
+    }
+    
+    public void setEventCount(Integer eventCount) {
+        this.eventCount = eventCount;
+    }
+    
+    public byte[] getPayload() {
+        return payload;
+    }
+    
+    public void setPayload(byte[] payload) {
+        this.payload = payload;
+    }
+    
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public Long getAppServerId() {
+        return appServerId;
+    }
+    
+    public void setAppServerId(Long appServerId) {
+        this.appServerId = appServerId;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Read model for game listings, written once when a game is persisted.
+ * Holds everything a game list row shows - score, map, duration and the roster with display
+ * names - so listings need one query and no per-game event or player lookups.
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@Entity
+@Table(name = "GameSummary")
+public class GameSummaryEntity {
+    
+    // Shares the primary key of the game it summarizes
+    @Id
+    @Column(name = "gameId")
+    private Long gameId;
+    
+    @Column(name = "gameOverTimestamp", nullable = false)
+    private Instant gameOverTimestamp;
+    
+    @Column(name = "map", length = 255)
+    private String map;
+    
+    @Column(name = "mode", length = 255)
+    private String mode;
+    
+    @Column(name = "team1Score", nullable = false)
+    private Integer team1Score;
+    
+    @Column(name = "team2Score", nullable = false)
+    private Integer team2Score;
+    
+    @Column(name = "duration")
+    private Integer duration; // Duration in minutes
+    
+    @Column(name = "playerCount", nullable = false)
+    private Integer playerCount;
+    
+    // JSON object of full Steam ID -> display name, ordered by name
+    @Column(name = "rosterJson", columnDefinition = "NVARCHAR(MAX)")
+    private String rosterJson;
+    
+    @Column(name = "created_at")
+    private Instant createdAt;
+    
+    /**
+     * App Server ID identifying which dedicated server this game's logs came from.
+     * Required field - must be set for all new imports.
+     */
+    @Column(name = "appServerId", nullable = false)
+    private Long appServerId;
+    
+    // Default constructor
+    public GameSummaryEntity() {
+        this.createdAt = Instant.now();
+    }
+    
+    // Getters and setters    
+    public Long getGameId() {
+        return gameId;
+    }
+    
+    public void setGameId(Long gameId) {
+        this.gameId = gameId;
+    }
+    
+    public Instant getGameOverTimestamp() {
+        return gameOverTimestamp;
+    }
+    
+    public void setGameOverTimestamp(Instant gameOverTimestamp) {
+        this.gameOverTimestamp = gameOverTimestamp;
+    }
+    
+    public String getMap() {
+        return map;
+    }
+    
+    public void setMap(String map) {
+        this.map = map;
+    }
+    
+    public String getMode() {
+        return mode;
+    }
+    
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+    
+    public Integer getTeam1Score() {
+        return team1Score;
+    }
+    
+    public void setTeam1Score(Integer team1Score) {
+        this.team1Score = team1Score;
+    }
+    
+    public Integer getTeam2Score() {
+        return team2Score;
+    }
+    
+    public void setTeam2Score(Integer team2Score) {
+        this.team2Score = team2Score;
+    }
+    
+    public Integer getDuration() {
+        return duration;
+    }
+    
+    public void setDuration(Integer duration) {
+        this.duration = duration;
+    }
+    
+    public Integer getPlayerCount() {
+        return playerCount;
+    }
+    
+    public void setPlayerCount(Integer playerCount) {
+        this.playerCount = playerCount;
+    }
+    
+    public String getRosterJson() {
+        return rosterJson;
+    }
+    
+    public void setRosterJson(String rosterJson) {
+        this.rosterJson = rosterJson;
+    }
+    
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public Long getAppServerId() {
+        return appServerId;
+    }
+    
+    public void setAppServerId(Long appServerId) {
+        this.appServerId = appServerId;
+    }
+}
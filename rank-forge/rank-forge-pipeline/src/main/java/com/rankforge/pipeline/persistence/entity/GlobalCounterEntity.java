@@ -0,0 +1,152 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Entity for the number of stored games and rounds within one scope: all games, the games of a
+ * month (UTC, keyed "yyyy-MM"), the games of a day (UTC, keyed "yyyy-MM-dd") or the games of one dedicated server (keyed by appServerId).
+ * Incremented in the transaction that stores a game (see GlobalCounters) and decremented when games
+ * are deleted, so leaderboard totals are a primary key lookup instead of an aggregate over all games.
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@Entity
+@Table(name = "GlobalCounter")
+@IdClass(GlobalCounterEntity.Key.class)
+public class GlobalCounterEntity {
+    
+    public static final String SCOPE_ALL = "ALL";
+    public static final String SCOPE_MONTH = "MONTH";
+    public static final String SCOPE_DAY = "DAY";
+    public static final String SCOPE_SERVER = "SERVER";
+    
+    /**
+     * Scope key of the {@link #SCOPE_ALL} row
+     */
+    public static final String ALL = "ALL";
+    
+    @Id
+    @Column(name = "scope", length = 16)
+    private String scope;
+    
+    @Id
+    @Column(name = "scopeKey", length = 32)
+    private String scopeKey;
+    
+    @Column(name = "games", nullable = false)
+    private Long games = 0L;
+    
+    @Column(name = "rounds", nullable = false)
+    private Long rounds = 0L;
+    
+    @Column(name = "updatedAt")
+    private Instant updatedAt;
+    
+    // Default constructor
+    public GlobalCounterEntity() {
+    }
+    
+    public GlobalCounterEntity(String scope, String scopeKey) {
+        this.scope = scope;
+        this.scopeKey = scopeKey;
+        this.updatedAt = Instant.now();
+    }
+    
+    // Getters and setters
+    public String getScope() {
+        return scope;
+    }
+    
+    public void setScope(String scope) {
+        this.scope = scope;
+    }
+    
+    public String getScopeKey() {
+        return scopeKey;
+    }
+    
+    public void setScopeKey(String scopeKey) {
+        this.scopeKey = scopeKey;
+    }
+    
+    public Long getGames() {
+        return games;
+    }
+    
+    public void setGames(Long games) {
+        this.games = games;
+    }
+    
+    public Long getRounds() {
+        return rounds;
+    }
+    
+    public void setRounds(Long rounds) {
+        this.rounds = rounds;
+    }
+    
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    /**
+     * Composite primary key (scope, scopeKey)
+     */
+    public static class Key implements Serializable {
+        private String scope;
+        private String scopeKey;
+        
+        public Key() {
+        }
+        
+        public Key(String scope, String scopeKey) {
+            this.scope = scope;
+            this.scopeKey = scopeKey;
+        }
+        
+        public String getScope() {
+            return scope;
+        }
+        
+        public String getScopeKey() {
+            return scopeKey;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            return Objects.equals(scope, other.scope) && Objects.equals(scopeKey, other.scopeKey);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(scope, scopeKey);
+        }
+    }
+}
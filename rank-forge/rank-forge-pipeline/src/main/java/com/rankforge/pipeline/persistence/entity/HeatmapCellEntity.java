@@ -0,0 +1,206 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Entity for one cell of a map's kill/death heatmap: how many kills were made from the cell and how many
+ * players died in it. A heatmap layer is all cells of a (map, player, side); {@link #ALL} stands for every
+ * player or both sides. Maintained incrementally as games are stored (see HeatmapCounters), so heatmaps
+ * never read the raw event coordinates.
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@Entity
+@Table(name = "HeatmapCell")
+@IdClass(HeatmapCellEntity.Key.class)
+public class HeatmapCellEntity {
+    
+    /**
+     * Player and side value of the map-wide layers
+     */
+    public static final String ALL = "ALL";
+    
+    @Id
+    @Column(name = "map", length = 64)
+    private String map;
+    
+    @Id
+    @Column(name = "playerId", length = 255)
+    private String playerId;
+    
+    @Id
+    @Column(name = "side", length = 3)
+    private String side;
+    
+    @Id
+    @Column(name = "cellX")
+    private Integer cellX;
+    
+    @Id
+    @Column(name = "cellY")
+    private Integer cellY;
+    
+    @Column(name = "kills", nullable = false)
+    private Integer kills = 0;
+    
+    @Column(name = "deaths", nullable = false)
+    private Integer deaths = 0;
+    
+    @Column(name = "updatedAt")
+    private Instant updatedAt;
+    
+    // Default constructor
+    public HeatmapCellEntity() {
+    }
+    
+    public HeatmapCellEntity(Key key) {
+        this.map = key.map;
+        this.playerId = key.playerId;
+        this.side = key.side;
+        this.cellX = key.cellX;
+        this.cellY = key.cellY;
+        this.updatedAt = Instant.now();
+    }
+    
+    // Getters and setters
+    public String getMap() {
+        return map;
+    }
+    
+    public void setMap(String map) {
+        this.map = map;
+    }
+    
+    public String getPlayerId() {
+        return playerId;
+    }
+    
+    public void setPlayerId(String playerId) {
+        this.playerId = playerId;
+    }
+    
+    public String getSide() {
+        return side;
+    }
+    
+    public void setSide(String side) {
+        this.side = side;
+    }
+    
+    public Integer getCellX() {
+        return cellX;
+    }
+    
+    public void setCellX(Integer cellX) {
+        this.cellX = cellX;
+    }
+    
+    public Integer getCellY() {
+        return cellY;
+    }
+    
+    public void setCellY(Integer cellY) {
+        this.cellY = cellY;
+    }
+    
+    public Integer getKills() {
+        return kills;
+    }
+    
+    public void setKills(Integer kills) {
+        this.kills = kills;
+    }
+    
+    public Integer getDeaths() {
+        return deaths;
+    }
+    
+    public void setDeaths(Integer deaths) {
+        this.deaths = deaths;
+    }
+    
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    /**
+     * Composite primary key (map, playerId, side, cellX, cellY)
+     */
+    public static class Key implements Serializable {
+        private String map;
+        private String playerId;
+        private String side;
+        private Integer cellX;
+        private Integer cellY;
+        
+        public Key() {
+        }
+        
+        public Key(String map, String playerId, String side, Integer cellX, Integer cellY) {
+            this.map = map;
+            this.playerId = playerId;
+            this.side = side;
+            this.cellX = cellX;
+            this.cellY = cellY;
+        }
+        
+        public String getMap() {
+            return map;
+        }
+        
+        public String getPlayerId() {
+            return playerId;
+        }
+        
+        public String getSide() {
+            return side;
+        }
+        
+        public Integer getCellX() {
+            return cellX;
+        }
+        
+        public Integer getCellY() {
+            return cellY;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            return Objects.equals(map, other.map) && Objects.equals(playerId, other.playerId)
+                    && Objects.equals(side, other.side) && Objects.equals(cellX, other.cellX)
+                    && Objects.equals(cellY, other.cellY);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(map, playerId, side, cellX, cellY);
+        }
+    }
+}
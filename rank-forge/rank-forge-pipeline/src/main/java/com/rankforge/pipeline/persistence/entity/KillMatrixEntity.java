@@ -0,0 +1,156 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Entity for one cell of the head-to-head kill matrix: how often a player killed another,
+ * over all time ({@link #ALL_TIME}) or within one UTC month ("yyyy-MM").
+ * The matrix is sparse - only pairs that met get a row. Maintained in the same transaction
+ * that stores a game's events (see RivalryCounters) and decremented when games are deleted.
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@Entity
+@Table(name = "KillMatrix")
+@IdClass(KillMatrixEntity.Key.class)
+public class KillMatrixEntity {
+    
+    /**
+     * Period of the all-time cells
+     */
+    public static final String ALL_TIME = "ALL";
+    
+    @Id
+    @Column(name = "killerId", length = 255)
+    private String killerId;
+    
+    @Id
+    @Column(name = "victimId", length = 255)
+    private String victimId;
+    
+    @Id
+    @Column(name = "period", length = 7)
+    private String period;
+    
+    @Column(name = "kills", nullable = false)
+    private Integer kills = 0;
+    
+    @Column(name = "updatedAt")
+    private Instant updatedAt;
+    
+    // Default constructor
+    public KillMatrixEntity() {
+    }
+    
+    public KillMatrixEntity(String killerId, String victimId, String period) {
+        this.killerId = killerId;
+        this.victimId = victimId;
+        this.period = period;
+        this.updatedAt = Instant.now();
+    }
+    
+    // Getters and setters
+    public String getKillerId() {
+        return killerId;
+    }
+    
+    public void setKillerId(String killerId) {
+        this.killerId = killerId;
+    }
+    
+    public String getVictimId() {
+        return victimId;
+    }
+    
+    public void setVictimId(String victimId) {
+        this.victimId = victimId;
+    }
+    
+    public String getPeriod() {
+        return period;
+    }
+    
+    public void setPeriod(String period) {
+        this.period = period;
+    }
+    
+    public Integer getKills() {
+        return kills;
+    }
+    
+    public void setKills(Integer kills) {
+        this.kills = kills;
+    }
+    
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    /**
+     * Composite primary key (killerId, victimId, period)
+     */
+    public static class Key implements Serializable {
+        private String killerId;
+        private String victimId;
+        private String period;
+        
+        public Key() {
+        }
+        
+        public Key(String killerId, String victimId, String period) {
+            this.killerId = killerId;
+            this.victimId = victimId;
+            this.period = period;
+        }
+        
+        public String getKillerId() {
+            return killerId;
+        }
+        
+        public String getVictimId() {
+            return victimId;
+        }
+        
+        public String getPeriod() {
+            return period;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            return Objects.equals(killerId, other.killerId) && Objects.equals(victimId, other.victimId)
+                    && Objects.equals(period, other.period);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(killerId, victimId, period);
+        }
+    }
+}
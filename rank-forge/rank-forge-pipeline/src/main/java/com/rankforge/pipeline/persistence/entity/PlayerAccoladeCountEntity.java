@@ -0,0 +1,131 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Entity for the number of accolades of one type a player has been awarded.
+ * Maintained in the same transaction that stores a game's accolades (see AccoladeCounters)
+ * and decremented when games are deleted, so profile accolade summaries are one indexed read
+ * instead of a scan over every Accolade row of the player.
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@Entity
+@Table(name = "PlayerAccoladeCount")
+@IdClass(PlayerAccoladeCountEntity.Key.class)
+public class PlayerAccoladeCountEntity {
+    
+    @Id
+    @Column(name = "playerId", length = 255)
+    private String playerId;
+    
+    @Id
+    @Column(name = "type", length = 255)
+    private String type;
+    
+    @Column(name = "accoladeCount", nullable = false)
+    private Integer accoladeCount = 0;
+    
+    @Column(name = "updatedAt")
+    private Instant updatedAt;
+    
+    // Default constructor
+    public PlayerAccoladeCountEntity() {
+    }
+    
+    public PlayerAccoladeCountEntity(String playerId, String type) {
+        this.playerId = playerId;
+        this.type = type;
+        this.updatedAt = Instant.now();
+    }
+    
+    // Getters and setters
+    public String getPlayerId() {
+        return playerId;
+    }
+    
+    public void setPlayerId(String playerId) {
+        this.playerId = playerId;
+    }
+    
+    public String getType() {
+        return type;
+    }
+    
+    public void setType(String type) {
+        this.type = type;
+    }
+    
+    public Integer getAccoladeCount() {
+        return accoladeCount;
+    }
+    
+    public void setAccoladeCount(Integer accoladeCount) {
+        this.accoladeCount = accoladeCount;
+    }
+    
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    /**
+     * Composite primary key (playerId, type)
+     */
+    public static class Key implements Serializable {
+        private String playerId;
+        private String type;
+        
+        public Key() {
+        }
+        
+        public Key(String playerId, String type) {
+            this.playerId = playerId;
+            this.type = type;
+        }
+        
+        public String getPlayerId() {
+            return playerId;
+        }
+        
+        public String getType() {
+            return type;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            return Objects.equals(playerId, other.playerId) && Objects.equals(type, other.type);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(playerId, type);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Entity for what a player added to their cumulative stats during one UTC day: games, kills,
+ * deaths, assists, headshot kills, rounds, clutches and damage. Each game's contribution (its
+ * snapshot minus the player's previous snapshot) is added when the game's stats are stored (see
+ * DailyStatsCounters) and subtracted when the game is deleted, so rolling-window leaderboards sum
+ * a few buckets per player instead of diffing raw snapshots.
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@Entity
+@Table(name = "PlayerDailyStats")
+@IdClass(PlayerDailyStatsEntity.Key.class)
+public class PlayerDailyStatsEntity {
+    
+    @Id
+    @Column(name = "bucketDay")
+    private LocalDate bucketDay;
+    
+    @Id
+    @Column(name = "playerId", length = 255)
+    private String playerId;
+    
+    @Column(name = "games", nullable = false)
+    private Integer games = 0;
+    
+    @Column(name = "kills", nullable = false)
+    private Integer kills = 0;
+    
+    @Column(name = "deaths", nullable = false)
+    private Integer deaths = 0;
+    
+    @Column(name = "assists", nullable = false)
+    private Integer assists = 0;
+    
+    @Column(name = "headshotKills", nullable = false)
+    private Integer headshotKills = 0;
+    
+    @Column(name = "roundsPlayed", nullable = false)
+    private Integer roundsPlayed = 0;
+    
+    @Column(name = "clutchesWon", nullable = false)
+    private Integer clutchesWon = 0;
+    
+    @Column(name = "damageDealt", nullable = false)
+    private Double damageDealt = 0.0;
+    
+    @Column(name = "updatedAt")
+    private Instant updatedAt;
+    
+    // Default constructor
+    public PlayerDailyStatsEntity() {
+    }
+    
+    public PlayerDailyStatsEntity(String playerId, LocalDate bucketDay) {
+        this.playerId = playerId;
+        this.bucketDay = bucketDay;
+        this.updatedAt = Instant.now();
+    }
+    
+    // Getters and setters
+    public String getPlayerId() {
+        return playerId;
+    }
+    
+    public void setPlayerId(String playerId) {
+        this.playerId = playerId;
+    }
+    
+    public LocalDate getBucketDay() {
+        return bucketDay;
+    }
+    
+    public void setBucketDay(LocalDate bucketDay) {
+        this.bucketDay = bucketDay;
+    }
+    
+    public Integer getGames() {
+        return games;
+    }
+    
+    public void setGames(Integer games) {
+        this.games = games;
+    }
+    
+    public Integer getKills() {
+        return kills;
+    }
+    
+    public void setKills(Integer kills) {
+        this.kills = kills;
+    }
+    
+    public Integer getDeaths() {
+        return deaths;
+    }
+    
+    public void setDeaths(Integer deaths) {
+        this.deaths = deaths;
+    }
+    
+    public Integer getAssists() {
+        return assists;
+    }
+    
+    public void setAssists(Integer assists) {
+        this.assists = assists;
+    }
+    
+    public Integer getHeadshotKills() {
+        return headshotKills;
+    }
+    
+    public void setHeadshotKills(Integer headshotKills) {
+        this.headshotKills = headshotKills;
+    }
+    
+    public Integer getRoundsPlayed() {
+        return roundsPlayed;
+    }
+    
+    public void setRoundsPlayed(Integer roundsPlayed) {
+        this.roundsPlayed = roundsPlayed;
+    }
+    
+    public Integer getClutchesWon() {
+        return clutchesWon;
+    }
+    
+    public void setClutchesWon(Integer clutchesWon) {
+        this.clutchesWon = clutchesWon;
+    }
+    
+    public Double getDamageDealt() {
+        return damageDealt;
+    }
+    
+    public void setDamageDealt(Double damageDealt) {
+        this.damageDealt = damageDealt;
+    }
+    
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    /**
+     * Composite primary key (bucketDay, playerId), day first so windows are clustered range reads
+     */
+    public static class Key implements Serializable {
+        private String playerId;
+        private LocalDate bucketDay;
+        
+        public Key() {
+        }
+        
+        public Key(String playerId, LocalDate bucketDay) {
+            this.playerId = playerId;
+            this.bucketDay = bucketDay;
+        }
+        
+        public String getPlayerId() {
+            return playerId;
+        }
+        
+        public LocalDate getBucketDay() {
+            return bucketDay;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            return Objects.equals(playerId, other.playerId) && Objects.equals(bucketDay, other.bucketDay);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(playerId, bucketDay);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Entity for a player's compact rating history.
+ * One row per player holding one point per game (timestamp, rank, kills, deaths, assists),
+ * delta-encoded by RatingSeriesCodec and appended as games commit, so profiles can chart the
+ * history without reading every PlayerStats snapshot. The last point is kept in columns as the
+ * base for the next delta, together with the id of the snapshot it came from, which tells readers
+ * whether the series still ends at the player's latest snapshot.
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@Entity
+@Table(name = "PlayerRatingSeries")
+public class PlayerRatingSeriesEntity {
+    
+    @Id
+    @Column(name = "playerId", length = 255)
+    private String playerId;
+    
+    @Column(name = "formatVersion", nullable = false)
+    private Integer formatVersion;
+    
+    @Column(name = "pointCount", nullable = false)
+    private Integer pointCount = 0;
+    
+    @Column(name = "lastGameTimestamp")
+    private Instant lastGameTimestamp;
+    
+    @Column(name = "lastSnapshotId")
+    private Long lastSnapshotId;
+    
+    @Column(name = "lastRank", nullable = false)
+    private Integer lastRank = 0;
+    
+    @Column(name = "lastKills", nullable = false)
+    private Integer lastKills = 0;
+    
+    @Column(name = "lastDeaths", nullable = false)
+    private Integer lastDeaths = 0;
+    
+    @Column(name = "lastAssists", nullable = false)
+    private Integer lastAssists = 0;
+    
+    @Column(name = "payload", nullable = false, columnDefinition = "VARBINARY(MAX)")
+    private byte[] payload;
+    
+    @Column(name = "updatedAt")
+    private Instant updatedAt;
+    
+    // Default constructor
+    public PlayerRatingSeriesEntity() {
+    }
+    
+    public PlayerRatingSeriesEntity(String playerId, Integer formatVersion, byte[] payload) {
+        this.playerId = playerId;
+        this.formatVersion = formatVersion;
+        this.payload = payload;
+        this.updatedAt = Instant.now();
+    }
+    
+    // Getters and setters
+    public String getPlayerId() {
+        return playerId;
+    }
+    
+    public void setPlayerId(String playerId) {
+        this.playerId = playerId;
+    }
+    
+    public Integer getFormatVersion() {
+        return formatVersion;
+    }
+    
+    public void setFormatVersion(Integer formatVersion) {
+        this.formatVersion = formatVersion;
+    }
+    
+    public Integer getPointCount() {
+        return pointCount;
+    }
+    
+    public void setPointCount(Integer pointCount) {
+        this.pointCount = pointCount;
+    }
+    
+    public Instant getLastGameTimestamp() {
+        return lastGameTimestamp;
+    }
+    
+    public void setLastGameTimestamp(Instant lastGameTimestamp) {
+        this.lastGameTimestamp = lastGameTimestamp;
+    }
+    
+    public Long getLastSnapshotId() {
+        return lastSnapshotId;
+    }
+    
+    public void setLastSnapshotId(Long lastSnapshotId) {
+        this.lastSnapshotId = lastSnapshotId;
+    }
+    
+    public Integer getLastRank() {
+        return lastRank;
+    }
+    
+    public void setLastRank(Integer lastRank) {
+        this.lastRank = lastRank;
+    }
+    
+    public Integer getLastKills() {
+        return lastKills;
+    }
+    
+    public void setLastKills(Integer lastKills) {
+        this.lastKills = lastKills;
+    }
+    
+    public Integer getLastDeaths() {
+        return lastDeaths;
+    }
+    
+    public void setLastDeaths(Integer lastDeaths) {
+        this.lastDeaths = lastDeaths;
+    }
+    
+    public Integer getLastAssists() {
+        return lastAssists;
+    }
+    
+    public void setLastAssists(Integer lastAssists) {
+        this.lastAssists = lastAssists;
+    }
+    
+    public byte[] getPayload() {
+        return payload;
+    }
+    
+    public void setPayload(byte[] payload) {
+        this.payload = payload;
+    }
+    
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
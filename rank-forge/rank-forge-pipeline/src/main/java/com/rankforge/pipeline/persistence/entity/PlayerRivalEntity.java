@@ -0,0 +1,165 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Entity for one slot of a player's top rivals in a period, kept as a bounded min-heap of rows:
+ * at most RivalryCounters.TOP_K rows per (player, period, direction). A rival enters when its
+ * kill matrix count beats the smallest row, which it replaces, so top-K reads never sort the matrix.
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@Entity
+@Table(name = "PlayerRival")
+@IdClass(PlayerRivalEntity.Key.class)
+public class PlayerRivalEntity {
+    
+    /**
+     * Which side of the kill matrix a rival is on
+     */
+    public enum Direction {
+        /** Players this player killed most */
+        VICTIM,
+        /** Players who killed this player most */
+        NEMESIS
+    }
+    
+    @Id
+    @Column(name = "playerId", length = 255)
+    private String playerId;
+    
+    @Id
+    @Column(name = "period", length = 7)
+    private String period;
+    
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "direction", length = 16)
+    private Direction direction;
+    
+    @Id
+    @Column(name = "rivalId", length = 255)
+    private String rivalId;
+    
+    @Column(name = "kills", nullable = false)
+    private Integer kills = 0;
+    
+    @Column(name = "updatedAt")
+    private Instant updatedAt;
+    
+    // Default constructor
+    public PlayerRivalEntity() {
+    }
+    
+    public PlayerRivalEntity(String playerId, String period, Direction direction, String rivalId, int kills) {
+        this.playerId = playerId;
+        this.period = period;
+        this.direction = direction;
+        this.rivalId = rivalId;
+        this.kills = kills;
+        this.updatedAt = Instant.now();
+    }
+    
+    // Getters and setters
+    public String getPlayerId() {
+        return playerId;
+    }
+    
+    public void setPlayerId(String playerId) {
+        this.playerId = playerId;
+    }
+    
+    public String getPeriod() {
+        return period;
+    }
+    
+    public void setPeriod(String period) {
+        this.period = period;
+    }
+    
+    public Direction getDirection() {
+        return direction;
+    }
+    
+    public void setDirection(Direction direction) {
+        this.direction = direction;
+    }
+    
+    public String getRivalId() {
+        return rivalId;
+    }
+    
+    public void setRivalId(String rivalId) {
+        this.rivalId = rivalId;
+    }
+    
+    public Integer getKills() {
+        return kills;
+    }
+    
+    public void setKills(Integer kills) {
+        this.kills = kills;
+    }
+    
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    /**
+     * Composite primary key (playerId, period, direction, rivalId)
+     */
+    public static class Key implements Serializable {
+        private String playerId;
+        private String period;
+        private Direction direction;
+        private String rivalId;
+        
+        public Key() {
+        }
+        
+        public Key(String playerId, String period, Direction direction, String rivalId) {
+            this.playerId = playerId;
+            this.period = period;
+            this.direction = direction;
+            this.rivalId = rivalId;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            return Objects.equals(playerId, other.playerId) && Objects.equals(period, other.period)
+                    && direction == other.direction && Objects.equals(rivalId, other.rivalId);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(playerId, period, direction, rivalId);
+        }
+    }
+}
@@ -64,6 +64,15 @@ public class PlayerStatsEntity {
     @Column(name = "clutchesWon", nullable = false)
     private Integer clutchesWon = 0;
     
+    @Column(name = "openingKills", nullable = false)
+    private Integer openingKills = 0;
+    
+    @Column(name = "openingDeaths", nullable = false)
+    private Integer openingDeaths = 0;
+    
+    @Column(name = "tradeKills", nullable = false)
+    private Integer tradeKills = 0;
+    
     @Column(name = "damageDealt", nullable = false)
     private Double damageDealt = 0.0;
     
@@ -160,6 +169,30 @@ public class PlayerStatsEntity {
         this.clutchesWon = clutchesWon;
     }
     
+    public Integer getOpeningKills() {
+        return openingKills;
+    }
+    
+    public void setOpeningKills(Integer openingKills) {
+        this.openingKills = openingKills;
+    }
+    
+    public Integer getOpeningDeaths() {
+        return openingDeaths;
+    }
+    
+    public void setOpeningDeaths(Integer openingDeaths) {
+        this.openingDeaths = openingDeaths;
+    }
+    
+    public Integer getTradeKills() {
+        return tradeKills;
+    }
+    
+    public void setTradeKills(Integer tradeKills) {
+        this.tradeKills = tradeKills;
+    }
+    
     public Double getDamageDealt() {
         return damageDealt;
     }
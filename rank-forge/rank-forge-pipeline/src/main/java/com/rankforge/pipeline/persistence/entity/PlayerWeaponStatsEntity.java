@@ -0,0 +1,164 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Entity for a player's all-time totals with one weapon: kills, headshot kills, hits and damage.
+ * Upserted in the same transaction that stores a game's events (see WeaponStatsCounters) and
+ * decremented when games are deleted, so weapon breakdowns are a primary key lookup instead of
+ * a GROUP BY over GameEvent.
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@Entity
+@Table(name = "PlayerWeaponStats")
+@IdClass(PlayerWeaponStatsEntity.Key.class)
+public class PlayerWeaponStatsEntity {
+    
+    @Id
+    @Column(name = "playerId", length = 255)
+    private String playerId;
+    
+    @Id
+    @Column(name = "weapon", length = 255)
+    private String weapon;
+    
+    @Column(name = "kills", nullable = false)
+    private Integer kills = 0;
+    
+    @Column(name = "headshotKills", nullable = false)
+    private Integer headshotKills = 0;
+    
+    @Column(name = "hits", nullable = false)
+    private Integer hits = 0;
+    
+    @Column(name = "damage", nullable = false)
+    private Long damage = 0L;
+    
+    @Column(name = "updatedAt")
+    private Instant updatedAt;
+    
+    // Default constructor
+    public PlayerWeaponStatsEntity() {
+    }
+    
+    public PlayerWeaponStatsEntity(String playerId, String weapon) {
+        this.playerId = playerId;
+        this.weapon = weapon;
+        this.updatedAt = Instant.now();
+    }
+    
+    // Getters and setters
+    public String getPlayerId() {
+        return playerId;
+    }
+    
+    public void setPlayerId(String playerId) {
+        this.playerId = playerId;
+    }
+    
+    public String getWeapon() {
+        return weapon;
+    }
+    
+    public void setWeapon(String weapon) {
+        this.weapon = weapon;
+    }
+    
+    public Integer getKills() {
+        return kills;
+    }
+    
+    public void setKills(Integer kills) {
+        this.kills = kills;
+    }
+    
+    public Integer getHeadshotKills() {
+        return headshotKills;
+    }
+    
+    public void setHeadshotKills(Integer headshotKills) {
+        this.headshotKills = headshotKills;
+    }
+    
+    public Integer getHits() {
+        return hits;
+    }
+    
+    public void setHits(Integer hits) {
+        this.hits = hits;
+    }
+    
+    public Long getDamage() {
+        return damage;
+    }
+    
+    public void setDamage(Long damage) {
+        this.damage = damage;
+    }
+    
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    /**
+     * Composite primary key (playerId, weapon)
+     */
+    public static class Key implements Serializable {
+        private String playerId;
+        private String weapon;
+        
+        public Key() {
+        }
+        
+        public Key(String playerId, String weapon) {
+            this.playerId = playerId;
+            this.weapon = weapon;
+        }
+        
+        public String getPlayerId() {
+            return playerId;
+        }
+        
+        public String getWeapon() {
+            return weapon;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            return Objects.equals(playerId, other.playerId) && Objects.equals(weapon, other.weapon);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(playerId, weapon);
+        }
+    }
+}
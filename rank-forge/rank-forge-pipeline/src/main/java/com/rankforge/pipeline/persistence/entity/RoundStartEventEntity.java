@@ -19,6 +19,7 @@
 package com.rankforge.pipeline.persistence.entity;
 
 import com.rankforge.core.events.GameEventType;
+import jakarta.persistence.Column;
 import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
 import java.time.Instant;
@@ -32,6 +33,13 @@ import java.time.Instant;
 @DiscriminatorValue("ROUND_START")
 public class RoundStartEventEntity extends GameEventEntity {
     
+    /**
+     * 1-based position of the round within its game, assigned at ingestion.
+     * Null for rounds stored before round numbering; those are numbered on first lookup.
+     */
+    @Column(name = "roundNumber")
+    private Integer roundNumber;
+    
     public RoundStartEventEntity() {
         super();
     }
@@ -39,4 +47,12 @@ public class RoundStartEventEntity extends GameEventEntity {
     public RoundStartEventEntity(Instant timestamp) {
         super(timestamp, GameEventType.ROUND_START);
     }
+    
+    public Integer getRoundNumber() {
+        return roundNumber;
+    }
+    
+    public void setRoundNumber(Integer roundNumber) {
+        this.roundNumber = roundNumber;
+    }
 }
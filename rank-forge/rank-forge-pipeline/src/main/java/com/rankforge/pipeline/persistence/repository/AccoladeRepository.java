@@ -19,7 +19,9 @@
 package com.rankforge.pipeline.persistence.repository;
 
 import com.rankforge.pipeline.persistence.entity.AccoladeEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -49,8 +51,57 @@ public interface AccoladeRepository extends JpaRepository<AccoladeEntity, Long>
     List<AccoladeEntity> findByPlayerId(@Param("playerId") String playerId);
     
     /**
-     * Find all accolades for a player by player name (case-insensitive)
+     * Find one page of a player's accolades, newest first, with their games fetched
      */
-    @Query("SELECT a FROM AccoladeEntity a WHERE LOWER(a.playerName) = LOWER(:playerName) ORDER BY a.createdAt DESC")
-    List<AccoladeEntity> findByPlayerName(@Param("playerName") String playerName);
+    @Query("SELECT a FROM AccoladeEntity a LEFT JOIN FETCH a.game WHERE a.playerId = :playerId " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AccoladeEntity> findPageByPlayerId(@Param("playerId") String playerId, Pageable pageable);
+    
+    /**
+     * Find one page of accolades by normalized player name (see {@link AccoladeEntity#normalizeName(String)}),
+     * newest first, with their games fetched
+     */
+    @Query("SELECT a FROM AccoladeEntity a LEFT JOIN FETCH a.game WHERE a.normalizedPlayerName = :normalizedName " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AccoladeEntity> findPageByNormalizedPlayerName(@Param("normalizedName") String normalizedName, Pageable pageable);
+    
+    /**
+     * Check whether any accolade is stored under the player ID
+     */
+    boolean existsByPlayerId(String playerId);
+    
+    /**
+     * Per-type accolade counts of a player, aggregated in the database.
+     * Used for players whose counters have not been maintained yet.
+     * @param playerId The player ID
+     * @return List of Object arrays where [0] = type (String), [1] = count (Long)
+     */
+    @Query("SELECT a.type, COUNT(a) FROM AccoladeEntity a WHERE a.playerId = :playerId GROUP BY a.type")
+    List<Object[]> countByPlayerIdGroupedByType(@Param("playerId") String playerId);
+    
+    /**
+     * Per-type accolade counts by normalized player name, aggregated in the database
+     * @param normalizedName The normalized player name
+     * @return List of Object arrays where [0] = type (String), [1] = count (Long)
+     */
+    @Query("SELECT a.type, COUNT(a) FROM AccoladeEntity a WHERE a.normalizedPlayerName = :normalizedName GROUP BY a.type")
+    List<Object[]> countByNormalizedPlayerNameGroupedByType(@Param("normalizedName") String normalizedName);
+    
+    /**
+     * Per-player, per-type counts of the accolades of the given games that have a player ID.
+     * Captured before deletion to decrement the player accolade counters.
+     * @param gameIds List of game IDs
+     * @return List of Object arrays where [0] = playerId (String), [1] = type (String), [2] = count (Long)
+     */
+    @Query("SELECT a.playerId, a.type, COUNT(a) FROM AccoladeEntity a " +
+           "WHERE a.game.id IN :gameIds AND a.playerId IS NOT NULL GROUP BY a.playerId, a.type")
+    List<Object[]> countByGameIdsGroupedByPlayerAndType(@Param("gameIds") List<Long> gameIds);
+    
+    /**
+     * Bulk delete accolades for the given games
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM AccoladeEntity a WHERE a.game.id IN :gameIds")
+    int deleteByGameIds(@Param("gameIds") List<Long> gameIds);
 }
@@ -21,7 +21,9 @@ package com.rankforge.pipeline.persistence.repository;
 import com.rankforge.core.events.GameEventType;
 import com.rankforge.pipeline.persistence.entity.GameEventEntity;
 import com.rankforge.pipeline.persistence.entity.RoundEndEventEntity;
+import com.rankforge.pipeline.persistence.entity.RoundStartEventEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -77,6 +79,93 @@ public interface GameEventRepository extends JpaRepository<GameEventEntity, Long
             @Param("eventType") GameEventType eventType
     );
     
+    /**
+     * Per-player kill, headshot kill and assist counts for a game, aggregated in the database
+     * @param gameId The game ID
+     * @return List of Object arrays where [0] = playerId (String), [1] = kills (Long),
+     *         [2] = headshot kills (Long), [3] = assists (Long)
+     */
+    @Query("SELECT e.player1, " +
+           "SUM(CASE WHEN e.gameEventType = 'KILL' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN e.gameEventType = 'KILL' AND TREAT(e AS KillEventEntity).isHeadshot = true THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN e.gameEventType = 'ASSIST' THEN 1 ELSE 0 END) " +
+           "FROM GameEventEntity e " +
+           "WHERE e.game.id = :gameId AND e.gameEventType IN ('KILL', 'ASSIST') AND e.player1 IS NOT NULL " +
+           "GROUP BY e.player1")
+    List<Object[]> countKillsAndAssistsByGameId(@Param("gameId") Long gameId);
+
+    /**
+     * Per-player death counts for a game, aggregated in the database
+     * @param gameId The game ID
+     * @return List of Object arrays where [0] = playerId (String), [1] = deaths (Long)
+     */
+    @Query("SELECT e.player2, COUNT(e) FROM KillEventEntity e " +
+           "WHERE e.game.id = :gameId AND e.player2 IS NOT NULL " +
+           "GROUP BY e.player2")
+    List<Object[]> countDeathsByGameId(@Param("gameId") Long gameId);
+
+    /**
+     * Kill counts per (killer, victim) pair for a set of games, to subtract deleted games from the kill matrix
+     * @param gameIds List of game IDs
+     * @return List of Object arrays where [0] = killer ID (String), [1] = victim ID (String),
+     *         [2] = game over timestamp (Instant), [3] = kills (Long)
+     */
+    @Query("SELECT e.player1, e.player2, g.gameOverTimestamp, COUNT(e) FROM KillEventEntity e JOIN e.game g " +
+           "WHERE g.id IN :gameIds AND e.player1 IS NOT NULL AND e.player2 IS NOT NULL " +
+           "GROUP BY e.player1, e.player2, g.gameOverTimestamp")
+    List<Object[]> countKillPairsByGameIds(@Param("gameIds") List<Long> gameIds);
+
+    /**
+     * Kill and headshot kill counts per (killer, weapon) for a set of games, to subtract deleted games
+     * from the weapon stats. Suicides and team-world kills are excluded as they are at ingestion.
+     * @param gameIds List of game IDs
+     * @return List of Object arrays where [0] = killer ID (String), [1] = weapon (String),
+     *         [2] = kills (Long), [3] = headshot kills (Long)
+     */
+    @Query("SELECT e.player1, e.weapon, COUNT(e), SUM(CASE WHEN e.isHeadshot = true THEN 1 ELSE 0 END) " +
+           "FROM KillEventEntity e " +
+           "WHERE e.game.id IN :gameIds AND e.player1 IS NOT NULL AND e.weapon IS NOT NULL " +
+           "AND (e.player2 IS NULL OR e.player2 <> e.player1) " +
+           "GROUP BY e.player1, e.weapon")
+    List<Object[]> countKillsByWeaponForGameIds(@Param("gameIds") List<Long> gameIds);
+
+    /**
+     * Hit counts and raw damage per (attacker, weapon) for a set of games, to subtract deleted games
+     * from the weapon stats. Self damage is excluded as it is at ingestion.
+     * @param gameIds List of game IDs
+     * @return List of Object arrays where [0] = attacker ID (String), [1] = weapon (String),
+     *         [2] = hits (Long), [3] = damage (Long)
+     */
+    @Query("SELECT e.player1, e.weapon, COUNT(e), SUM(COALESCE(e.damage, 0)) " +
+           "FROM AttackEventEntity e " +
+           "WHERE e.game.id IN :gameIds AND e.player1 IS NOT NULL AND e.weapon IS NOT NULL " +
+           "AND (e.player2 IS NULL OR e.player2 <> e.player1) " +
+           "GROUP BY e.player1, e.weapon")
+    List<Object[]> sumHitsByWeaponForGameIds(@Param("gameIds") List<Long> gameIds);
+
+    /**
+     * Stored columns of the kills with coordinates of a set of games, to subtract deleted games from the heatmaps
+     * @param gameIds List of game IDs
+     * @return List of Object arrays where [0] = map (String), [1] = killer ID (String), [2] = victim ID (String),
+     *         [3] = killer team (String), [4] = victim team (String), [5] = coordinates JSON (String)
+     */
+    @Query("SELECT g.map, e.player1, e.player2, e.player1Team, e.player2Team, e.coordinates " +
+           "FROM KillEventEntity e JOIN e.game g " +
+           "WHERE g.id IN :gameIds AND e.coordinates IS NOT NULL")
+    List<Object[]> findKillPositionsByGameIds(@Param("gameIds") List<Long> gameIds);
+
+    /**
+     * Scalar projection of a game's attack events in hit order, for damage calculation.
+     * Damage dealt depends on the victim's health before each hit, so the rows are returned
+     * rather than summed; no entities (or coordinate LOBs) are loaded.
+     * @param gameId The game ID
+     * @return List of Object arrays where [0] = attacker (String), [1] = victim (String),
+     *         [2] = round start event ID (Long, may be null), [3] = health remaining (Integer, may be null)
+     */
+    @Query("SELECT e.player1, e.player2, e.roundStart.id, e.healthRemaining FROM AttackEventEntity e " +
+           "WHERE e.game.id = :gameId ORDER BY e.timestamp ASC, e.id ASC")
+    List<Object[]> findAttackHitsByGameId(@Param("gameId") Long gameId);
+
     /**
      * Find events by round start ID and event type
      */
@@ -86,6 +175,23 @@ public interface GameEventRepository extends JpaRepository<GameEventEntity, Long
             @Param("eventType") GameEventType eventType
     );
     
+    /**
+     * Find a round by its persisted round number, together with the game's highest round number
+     * @param gameId The game ID
+     * @param roundNumber 1-based round number
+     * @return List with at most one Object array where [0] = RoundStartEventEntity, [1] = round count (Integer)
+     */
+    @Query("SELECT e, (SELECT MAX(r.roundNumber) FROM RoundStartEventEntity r WHERE r.game.id = :gameId) " +
+           "FROM RoundStartEventEntity e WHERE e.game.id = :gameId AND e.roundNumber = :roundNumber")
+    List<Object[]> findRoundByNumber(@Param("gameId") Long gameId, @Param("roundNumber") int roundNumber);
+
+    /**
+     * Find round start events of a game that have no round number yet (stored before round numbering)
+     */
+    @Query("SELECT e FROM RoundStartEventEntity e WHERE e.game.id = :gameId AND e.roundNumber IS NULL " +
+           "ORDER BY e.timestamp ASC, e.id ASC")
+    List<RoundStartEventEntity> findUnnumberedRoundStarts(@Param("gameId") Long gameId);
+
     /**
      * Find round end events by game ID
      */
@@ -99,4 +205,23 @@ public interface GameEventRepository extends JpaRepository<GameEventEntity, Long
      */
     @Query("SELECT e FROM RoundEndEventEntity e WHERE e.game.id IN :gameIds ORDER BY e.game.id ASC, e.timestamp ASC")
     List<RoundEndEventEntity> findRoundEndEventsByGameIds(@Param("gameIds") List<Long> gameIds);
+    
+    /**
+     * Bulk delete events that reference a round start (kills, assists, round ends, ...) for the given games.
+     * Must run before {@link #deleteByGameIds(List)} because these rows hold a foreign key to the ROUND_START rows.
+     * @param gameIds List of game IDs
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM GameEventEntity e WHERE e.game.id IN :gameIds AND e.roundStart IS NOT NULL")
+    int deleteRoundScopedEventsByGameIds(@Param("gameIds") List<Long> gameIds);
+    
+    /**
+     * Bulk delete all remaining events (ROUND_START, GAME_OVER, ...) for the given games.
+     * @param gameIds List of game IDs
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM GameEventEntity e WHERE e.game.id IN :gameIds")
+    int deleteByGameIds(@Param("gameIds") List<Long> gameIds);
 }
@@ -20,6 +20,7 @@ package com.rankforge.pipeline.persistence.repository;
 
 import com.rankforge.pipeline.persistence.entity.GameEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -90,21 +91,14 @@ public interface GameRepository extends JpaRepository<GameEntity, Long> {
     }
     
     /**
-     * Calculate total rounds across all games
-     * Sum of (team1Score + team2Score) for all games
-     * @return Total number of rounds across all games
+     * Counter scopes and rounds of a set of games, to subtract deleted games from the global counters
+     * @param gameIds List of game IDs
+     * @return List of Object arrays where [0] = appServerId (Long), [1] = game over timestamp (Instant),
+     *         [2] = rounds (Integer), counting a missing score as 0 like the ingest side
      */
-    @Query("SELECT COALESCE(SUM(g.team1Score + g.team2Score), 0) FROM GameEntity g")
-    long calculateTotalRounds();
-    
-    /**
-     * Calculate total rounds for games within a month range
-     * @param startOfMonth Start of month (00:00:00 UTC on first day)
-     * @param endOfMonth End of month (23:59:59 UTC on last day)
-     * @return Total number of rounds in games within the month
-     */
-    @Query("SELECT COALESCE(SUM(g.team1Score + g.team2Score), 0) FROM GameEntity g WHERE g.gameOverTimestamp >= :startOfMonth AND g.gameOverTimestamp <= :endOfMonth")
-    long calculateTotalRoundsInMonth(@Param("startOfMonth") Instant startOfMonth, @Param("endOfMonth") Instant endOfMonth);
+    @Query("SELECT g.appServerId, g.gameOverTimestamp, COALESCE(g.team1Score, 0) + COALESCE(g.team2Score, 0) " +
+           "FROM GameEntity g WHERE g.id IN :gameIds")
+    List<Object[]> findCounterScopesByIds(@Param("gameIds") List<Long> gameIds);
     
     /**
      * Find all games within a month range
@@ -114,4 +108,29 @@ public interface GameRepository extends JpaRepository<GameEntity, Long> {
      */
     @Query("SELECT g FROM GameEntity g WHERE g.gameOverTimestamp >= :startOfMonth AND g.gameOverTimestamp <= :endOfMonth ORDER BY g.gameOverTimestamp ASC")
     List<GameEntity> findGamesByMonthRange(@Param("startOfMonth") Instant startOfMonth, @Param("endOfMonth") Instant endOfMonth);
+    
+    /**
+     * Find IDs of all games that ended within a time range (inclusive), oldest first.
+     * Used by the admin purge to delete games in batches without loading them.
+     * @param from Range start
+     * @param to Range end
+     * @return List of game IDs
+     */
+    @Query("SELECT g.id FROM GameEntity g WHERE g.gameOverTimestamp >= :from AND g.gameOverTimestamp <= :to ORDER BY g.gameOverTimestamp ASC")
+    List<Long> findIdsByGameOverTimestampBetween(@Param("from") Instant from, @Param("to") Instant to);
+    
+    /**
+     * Find games that have no GameSummary row yet (stored before the read model existed)
+     */
+    @Query("SELECT g FROM GameEntity g WHERE NOT EXISTS (SELECT 1 FROM GameSummaryEntity s WHERE s.gameId = g.id)")
+    List<GameEntity> findGamesWithoutSummary();
+    
+    /**
+     * Bulk delete games by ID. Dependent events, accolades and player stats must be deleted first.
+     * @param gameIds List of game IDs
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM GameEntity g WHERE g.id IN :gameIds")
+    int deleteByIds(@Param("gameIds") List<Long> gameIds);
 }
@@ -0,0 +1,81 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.repository;
+
+import java.time.Instant;
+
+/**
+ * Optional filters for game listings. Unset (null) fields do not restrict the result.
+ * Author bageshwar.pn
+ * Date 2026
+ */
+public class GameSummaryFilter {
+    
+    private String map;
+    private Long appServerId;
+    // Inclusive lower bound on gameOverTimestamp
+    private Instant from;
+    // Exclusive upper bound on gameOverTimestamp
+    private Instant to;
+    // Full Steam ID of a player who took part in the game
+    private String playerId;
+    
+    public GameSummaryFilter() {
+    }
+    
+    public String getMap() {
+        return map;
+    }
+    
+    public void setMap(String map) {
+        this.map = map;
+    }
+    
+    public Long getAppServerId() {
+        return appServerId;
+    }
+    
+    public void setAppServerId(Long appServerId) {
+        this.appServerId = appServerId;
+    }
+    
+    public Instant getFrom() {
+        return from;
+    }
+    
+    public void setFrom(Instant from) {
+        this.from = from;
+    }
+    
+    public Instant getTo() {
+        return to;
+    }
+    
+    public void setTo(Instant to) {
+        this.to = to;
+    }
+    
+    public String getPlayerId() {
+        return playerId;
+    }
+    
+    public void setPlayerId(String playerId) {
+        this.playerId = playerId;
+    }
+}
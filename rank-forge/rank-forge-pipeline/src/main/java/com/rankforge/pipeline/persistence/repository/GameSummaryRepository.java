@@ -0,0 +1,58 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.repository;
+
+import com.rankforge.pipeline.persistence.entity.GameSummaryEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for the game listing read model, keyed by game ID.
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@Repository
+public interface GameSummaryRepository extends JpaRepository<GameSummaryEntity, Long>, GameSummaryRepositoryCustom {
+    
+    /**
+     * All game summaries, most recent first
+     */
+    @Query("SELECT s FROM GameSummaryEntity s ORDER BY s.gameOverTimestamp DESC, s.gameId DESC")
+    List<GameSummaryEntity> findAllNewestFirst();
+    
+    /**
+     * The most recent game summaries, limited by the page size
+     */
+    @Query("SELECT s FROM GameSummaryEntity s ORDER BY s.gameOverTimestamp DESC, s.gameId DESC")
+    List<GameSummaryEntity> findNewest(Pageable pageable);
+    
+    /**
+     * Bulk delete summaries for the given games
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM GameSummaryEntity s WHERE s.gameId IN :gameIds")
+    int deleteByGameIds(@Param("gameIds") List<Long> gameIds);
+}
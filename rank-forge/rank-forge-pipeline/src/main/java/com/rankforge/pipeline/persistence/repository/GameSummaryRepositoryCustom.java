@@ -0,0 +1,42 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.repository;
+
+import com.rankforge.pipeline.persistence.entity.GameSummaryEntity;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Keyset-paginated game listing queries that need a dynamically built WHERE clause.
+ * Author bageshwar.pn
+ * Date 2026
+ */
+public interface GameSummaryRepositoryCustom {
+    
+    /**
+     * Find the next page of game summaries, newest first, ordered by (gameOverTimestamp, gameId).
+     * 
+     * @param filter Optional filters
+     * @param afterTimestamp gameOverTimestamp of the last row of the previous page, or null for the first page
+     * @param afterGameId gameId of the last row of the previous page, or null for the first page
+     * @param limit Maximum number of rows
+     */
+    List<GameSummaryEntity> findPage(GameSummaryFilter filter, Instant afterTimestamp, Long afterGameId, int limit);
+}
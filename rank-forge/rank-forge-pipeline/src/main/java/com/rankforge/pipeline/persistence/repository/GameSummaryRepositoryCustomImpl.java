@@ -0,0 +1,87 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.repository;
+
+import com.rankforge.pipeline.persistence.entity.GameSummaryEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the game listing query with only the predicates that are set, so each filter
+ * combination seeks its own composite index instead of a catch-all "(:p IS NULL OR ...)" plan.
+ * Author bageshwar.pn
+ * Date 2026
+ */
+public class GameSummaryRepositoryCustomImpl implements GameSummaryRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<GameSummaryEntity> findPage(GameSummaryFilter filter, Instant afterTimestamp, Long afterGameId, int limit) {
+        List<String> predicates = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+        
+        if (filter != null) {
+            if (filter.getMap() != null) {
+                predicates.add("s.map = :map");
+                parameters.put("map", filter.getMap());
+            }
+            if (filter.getAppServerId() != null) {
+                predicates.add("s.appServerId = :appServerId");
+                parameters.put("appServerId", filter.getAppServerId());
+            }
+            if (filter.getFrom() != null) {
+                predicates.add("s.gameOverTimestamp >= :from");
+                parameters.put("from", filter.getFrom());
+            }
+            if (filter.getTo() != null) {
+                predicates.add("s.gameOverTimestamp < :to");
+                parameters.put("to", filter.getTo());
+            }
+            if (filter.getPlayerId() != null) {
+                predicates.add("EXISTS (SELECT 1 FROM PlayerStatsEntity p WHERE p.game.id = s.gameId AND p.playerId = :playerId)");
+                parameters.put("playerId", filter.getPlayerId());
+            }
+        }
+        if (afterTimestamp != null && afterGameId != null) {
+            predicates.add("(s.gameOverTimestamp < :afterTimestamp " +
+                    "OR (s.gameOverTimestamp = :afterTimestamp AND s.gameId < :afterGameId))");
+            parameters.put("afterTimestamp", afterTimestamp);
+            parameters.put("afterGameId", afterGameId);
+        }
+        
+        StringBuilder jpql = new StringBuilder("SELECT s FROM GameSummaryEntity s");
+        if (!predicates.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", predicates));
+        }
+        jpql.append(" ORDER BY s.gameOverTimestamp DESC, s.gameId DESC");
+        
+        TypedQuery<GameSummaryEntity> query = entityManager.createQuery(jpql.toString(), GameSummaryEntity.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
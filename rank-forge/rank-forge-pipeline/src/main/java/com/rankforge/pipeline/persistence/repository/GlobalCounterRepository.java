@@ -0,0 +1,61 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.repository;
+
+import com.rankforge.pipeline.persistence.entity.GlobalCounterEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for the game and round totals per scope
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@Repository
+public interface GlobalCounterRepository extends JpaRepository<GlobalCounterEntity, GlobalCounterEntity.Key> {
+    
+    /**
+     * Find the counter rows of a scope whose keys fall in a range. Day and month keys are ISO
+     * dates, so the range matches the calendar order.
+     */
+    List<GlobalCounterEntity> findByScopeAndScopeKeyBetween(String scope, String fromKey, String toKey);
+    
+    /**
+     * Subtract deleted games and their rounds from a counter row
+     * @return Number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE GlobalCounterEntity c SET c.games = c.games - :games, c.rounds = c.rounds - :rounds " +
+           "WHERE c.scope = :scope AND c.scopeKey = :scopeKey")
+    int decrement(@Param("scope") String scope, @Param("scopeKey") String scopeKey,
+                  @Param("games") long games, @Param("rounds") long rounds);
+    
+    /**
+     * Bulk delete counter rows left without games
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM GlobalCounterEntity c WHERE c.games <= 0")
+    int deleteEmpty();
+}
@@ -0,0 +1,70 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.repository;
+
+import com.rankforge.pipeline.persistence.entity.HeatmapCellEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for kill/death heatmap cells
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@Repository
+public interface HeatmapCellRepository extends JpaRepository<HeatmapCellEntity, HeatmapCellEntity.Key> {
+    
+    /**
+     * The non-empty cells of one heatmap layer (a clustered index range on the primary key prefix)
+     * @param map Map name
+     * @param playerId Player ID or {@link HeatmapCellEntity#ALL}
+     * @param side "CT", "T" or {@link HeatmapCellEntity#ALL}
+     * @return List of Object arrays where [0] = cellX (Integer), [1] = cellY (Integer),
+     *         [2] = kills (Integer), [3] = deaths (Integer)
+     */
+    @Query("SELECT c.cellX, c.cellY, c.kills, c.deaths FROM HeatmapCellEntity c " +
+           "WHERE c.map = :map AND c.playerId = :playerId AND c.side = :side")
+    List<Object[]> findLayer(@Param("map") String map, @Param("playerId") String playerId,
+                             @Param("side") String side);
+    
+    /**
+     * Subtract the kills and deaths of deleted games from a cell
+     * @return Number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE HeatmapCellEntity c SET c.kills = c.kills - :kills, c.deaths = c.deaths - :deaths " +
+           "WHERE c.map = :map AND c.playerId = :playerId AND c.side = :side " +
+           "AND c.cellX = :cellX AND c.cellY = :cellY")
+    int decrement(@Param("map") String map, @Param("playerId") String playerId, @Param("side") String side,
+                  @Param("cellX") int cellX, @Param("cellY") int cellY,
+                  @Param("kills") int kills, @Param("deaths") int deaths);
+    
+    /**
+     * Bulk delete cells left without kills or deaths
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM HeatmapCellEntity c WHERE c.kills <= 0 AND c.deaths <= 0")
+    int deleteEmpty();
+}
@@ -0,0 +1,72 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.repository;
+
+import com.rankforge.pipeline.persistence.entity.KillMatrixEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for the head-to-head kill matrix
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@Repository
+public interface KillMatrixRepository extends JpaRepository<KillMatrixEntity, KillMatrixEntity.Key> {
+    
+    /**
+     * The players a player killed most in a period. Only used to rebuild rival heaps after deletions.
+     */
+    @Query("SELECT m FROM KillMatrixEntity m WHERE m.killerId = :playerId AND m.period = :period " +
+           "ORDER BY m.kills DESC, m.victimId ASC")
+    List<KillMatrixEntity> findTopVictims(@Param("playerId") String playerId, @Param("period") String period,
+                                          Pageable pageable);
+    
+    /**
+     * The players who killed a player most in a period. Only used to rebuild rival heaps after deletions.
+     */
+    @Query("SELECT m FROM KillMatrixEntity m WHERE m.victimId = :playerId AND m.period = :period " +
+           "ORDER BY m.kills DESC, m.killerId ASC")
+    List<KillMatrixEntity> findTopKillers(@Param("playerId") String playerId, @Param("period") String period,
+                                          Pageable pageable);
+    
+    /**
+     * Subtract the kills of deleted games from a matrix cell
+     * @return Number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE KillMatrixEntity m SET m.kills = m.kills - :kills " +
+           "WHERE m.killerId = :killerId AND m.victimId = :victimId AND m.period = :period")
+    int decrement(@Param("killerId") String killerId, @Param("victimId") String victimId,
+                  @Param("period") String period, @Param("kills") int kills);
+    
+    /**
+     * Bulk delete cells that dropped to zero
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM KillMatrixEntity m WHERE m.kills <= 0")
+    int deleteEmpty();
+}
@@ -0,0 +1,60 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.repository;
+
+import com.rankforge.pipeline.persistence.entity.PlayerAccoladeCountEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for per-player accolade type counters
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@Repository
+public interface PlayerAccoladeCountRepository
+        extends JpaRepository<PlayerAccoladeCountEntity, PlayerAccoladeCountEntity.Key> {
+    
+    /**
+     * Find a player's accolade counters, most frequent type first
+     */
+    List<PlayerAccoladeCountEntity> findByPlayerIdOrderByAccoladeCountDesc(String playerId);
+    
+    /**
+     * Subtract deleted accolades from a player's counter
+     * @return Number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE PlayerAccoladeCountEntity c SET c.accoladeCount = c.accoladeCount - :count " +
+           "WHERE c.playerId = :playerId AND c.type = :type")
+    int decrement(@Param("playerId") String playerId, @Param("type") String type, @Param("count") int count);
+    
+    /**
+     * Bulk delete counters that dropped to zero
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM PlayerAccoladeCountEntity c WHERE c.accoladeCount <= 0")
+    int deleteEmpty();
+}
@@ -0,0 +1,70 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.repository;
+
+import com.rankforge.pipeline.persistence.entity.PlayerDailyStatsEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for the per-player daily stat buckets
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@Repository
+public interface PlayerDailyStatsRepository extends JpaRepository<PlayerDailyStatsEntity, PlayerDailyStatsEntity.Key> {
+    
+    /**
+     * Find the buckets of all players for the days in a range, oldest day first
+     * @param from First day (inclusive)
+     * @param to Last day (inclusive)
+     */
+    @Query("SELECT d FROM PlayerDailyStatsEntity d WHERE d.bucketDay BETWEEN :from AND :to ORDER BY d.bucketDay ASC")
+    List<PlayerDailyStatsEntity> findByBucketDayBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+    
+    /**
+     * Subtract deleted games and their stats from a player's bucket
+     * @return Number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE PlayerDailyStatsEntity d SET d.games = d.games - :games, d.kills = d.kills - :kills, " +
+           "d.deaths = d.deaths - :deaths, d.assists = d.assists - :assists, " +
+           "d.headshotKills = d.headshotKills - :headshotKills, d.roundsPlayed = d.roundsPlayed - :roundsPlayed, " +
+           "d.clutchesWon = d.clutchesWon - :clutchesWon, d.damageDealt = d.damageDealt - :damageDealt " +
+           "WHERE d.playerId = :playerId AND d.bucketDay = :bucketDay")
+    int decrement(@Param("playerId") String playerId, @Param("bucketDay") LocalDate bucketDay,
+                  @Param("games") int games, @Param("kills") int kills, @Param("deaths") int deaths,
+                  @Param("assists") int assists, @Param("headshotKills") int headshotKills,
+                  @Param("roundsPlayed") int roundsPlayed, @Param("clutchesWon") int clutchesWon,
+                  @Param("damageDealt") double damageDealt);
+    
+    /**
+     * Bulk delete buckets left without games
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM PlayerDailyStatsEntity d WHERE d.games <= 0")
+    int deleteEmpty();
+}
@@ -0,0 +1,54 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.repository;
+
+import com.rankforge.pipeline.persistence.entity.PlayerRatingSeriesEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+/**
+ * Repository for per-player rating series, keyed by player ID.
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@Repository
+public interface PlayerRatingSeriesRepository extends JpaRepository<PlayerRatingSeriesEntity, String> {
+    
+    /**
+     * Bulk delete the series of the given players; they are rebuilt from PlayerStats on the next read
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM PlayerRatingSeriesEntity s WHERE s.playerId IN :playerIds")
+    int deleteByPlayerIds(@Param("playerIds") Collection<String> playerIds);
+    
+    /**
+     * Bulk delete the series of every player of the given games, while their stats entries still exist
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM PlayerRatingSeriesEntity s WHERE s.playerId IN (" +
+           "SELECT p.playerId FROM PlayerStatsEntity p WHERE p.game.id IN :gameIds)")
+    int deleteByGameIds(@Param("gameIds") Collection<Long> gameIds);
+}
@@ -0,0 +1,56 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.repository;
+
+import com.rankforge.pipeline.persistence.entity.PlayerRivalEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for the per-player top rival heaps
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@Repository
+public interface PlayerRivalRepository extends JpaRepository<PlayerRivalEntity, PlayerRivalEntity.Key> {
+    
+    /**
+     * A player's rival heap for a period and direction (at most RivalryCounters.TOP_K rows), most kills first
+     */
+    @Query("SELECT r FROM PlayerRivalEntity r " +
+           "WHERE r.playerId = :playerId AND r.period = :period AND r.direction = :direction " +
+           "ORDER BY r.kills DESC, r.rivalId ASC")
+    List<PlayerRivalEntity> findHeap(@Param("playerId") String playerId, @Param("period") String period,
+                                     @Param("direction") PlayerRivalEntity.Direction direction);
+    
+    /**
+     * Bulk delete a player's rival heap for a period and direction, before rebuilding it
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM PlayerRivalEntity r " +
+           "WHERE r.playerId = :playerId AND r.period = :period AND r.direction = :direction")
+    int deleteHeap(@Param("playerId") String playerId, @Param("period") String period,
+                   @Param("direction") PlayerRivalEntity.Direction direction);
+}
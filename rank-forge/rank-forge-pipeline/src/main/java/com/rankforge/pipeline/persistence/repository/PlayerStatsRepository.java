@@ -20,11 +20,13 @@ package com.rankforge.pipeline.persistence.repository;
 
 import com.rankforge.pipeline.persistence.entity.PlayerStatsEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -58,6 +60,29 @@ public interface PlayerStatsRepository extends JpaRepository<PlayerStatsEntity,
     @Query("SELECT p FROM PlayerStatsEntity p WHERE p.playerId = :playerId ORDER BY p.gameTimestamp ASC, p.lastUpdated ASC")
     List<PlayerStatsEntity> findHistoryByPlayerId(@Param("playerId") String playerId);
     
+    /**
+     * Find only the latest snapshot of a player (single row, without loading the history)
+     */
+    Optional<PlayerStatsEntity> findFirstByPlayerIdOrderByGameTimestampDescLastUpdatedDesc(String playerId);
+    
+    /**
+     * Every nickname each player has been seen with and when it was last used, for the player search index
+     * @return List of Object arrays where [0] = playerId (String), [1] = nickname (String),
+     *         [2] = last game timestamp with that nickname (Instant)
+     */
+    @Query("SELECT p.playerId, p.lastSeenNickname, MAX(p.gameTimestamp) FROM PlayerStatsEntity p " +
+           "WHERE p.lastSeenNickname IS NOT NULL GROUP BY p.playerId, p.lastSeenNickname")
+    List<Object[]> findNicknameUsage();
+    
+    /**
+     * Nickname usage of a set of players, as {@link #findNicknameUsage()}
+     * @return List of Object arrays where [0] = playerId (String), [1] = nickname (String),
+     *         [2] = last game timestamp with that nickname (Instant)
+     */
+    @Query("SELECT p.playerId, p.lastSeenNickname, MAX(p.gameTimestamp) FROM PlayerStatsEntity p " +
+           "WHERE p.playerId IN :playerIds AND p.lastSeenNickname IS NOT NULL GROUP BY p.playerId, p.lastSeenNickname")
+    List<Object[]> findNicknameUsageByPlayerIds(@Param("playerIds") Collection<String> playerIds);
+    
     /**
      * Find the latest stats for all players (one record per player - most recent gameTimestamp)
      * Gets all records, then filters to latest per player using a subquery
@@ -72,7 +97,27 @@ public interface PlayerStatsRepository extends JpaRepository<PlayerStatsEntity,
            ") " +
            "ORDER BY p.rank ASC")
     List<PlayerStatsEntity> findLatestStatsForAllPlayers();
-    
+
+    /**
+     * Find the latest stats for a set of players in a single query (one record per player).
+     * Used to prefetch the baseline snapshots of a match roster before its events are replayed,
+     * instead of loading each player's full history on first sight.
+     * Players without any stored stats are simply absent from the result.
+     *
+     * @param playerIds Player IDs (full format, e.g. "[U:1:1090227400]")
+     * @return Latest PlayerStatsEntity per player found
+     */
+    @Query("SELECT p FROM PlayerStatsEntity p " +
+           "WHERE p.playerId IN :playerIds " +
+           "AND p.gameTimestamp = (" +
+           "  SELECT MAX(p2.gameTimestamp) FROM PlayerStatsEntity p2 WHERE p2.playerId = p.playerId" +
+           ") " +
+           "AND p.id = (" +
+           "  SELECT MAX(p3.id) FROM PlayerStatsEntity p3 " +
+           "  WHERE p3.playerId = p.playerId AND p3.gameTimestamp = p.gameTimestamp" +
+           ")")
+    List<PlayerStatsEntity> findLatestStatsForPlayers(@Param("playerIds") Collection<String> playerIds);
+
     /**
      * Find all players ordered by rank ascending (uses latest stats)
      * @deprecated Use findLatestStatsForAllPlayers() instead for historical data
@@ -82,21 +127,6 @@ public interface PlayerStatsRepository extends JpaRepository<PlayerStatsEntity,
         return findLatestStatsForAllPlayers();
     }
     
-    /**
-     * Find the latest player stats by nickname (case-insensitive)
-     * Used for resolving player names to Steam IDs
-     */
-    @Query("SELECT p FROM PlayerStatsEntity p WHERE LOWER(p.lastSeenNickname) = LOWER(:nickname) ORDER BY p.gameTimestamp DESC")
-    List<PlayerStatsEntity> findByLastSeenNicknameIgnoreCaseOrderByGameTimestampDesc(@Param("nickname") String nickname);
-    
-    /**
-     * Find the latest player stats by nickname (single result)
-     */
-    default Optional<PlayerStatsEntity> findByLastSeenNickname(String nickname) {
-        List<PlayerStatsEntity> results = findByLastSeenNicknameIgnoreCaseOrderByGameTimestampDesc(nickname);
-        return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
-    }
-    
     /**
      * Find all player stats entries for a specific game timestamp.
      * Used for cascade deletion when a game is deleted.
@@ -120,6 +150,79 @@ public interface PlayerStatsRepository extends JpaRepository<PlayerStatsEntity,
     @Query("SELECT p FROM PlayerStatsEntity p WHERE p.game.id = :gameId")
     List<PlayerStatsEntity> findByGameId(@Param("gameId") Long gameId);
     
+    /**
+     * Find all player stats entries for the given games, oldest first.
+     * Used to capture the per-game deltas before games are deleted.
+     * 
+     * @param gameIds List of game IDs
+     * @return List of PlayerStatsEntity entries for those games
+     */
+    @Query("SELECT p FROM PlayerStatsEntity p WHERE p.game.id IN :gameIds ORDER BY p.gameTimestamp ASC")
+    List<PlayerStatsEntity> findByGameIds(@Param("gameIds") List<Long> gameIds);
+    
+    /**
+     * For each player stats entry of the given games, find the player's previous snapshot
+     * (latest record strictly before that game). Entries without a previous snapshot are not returned.
+     * 
+     * @param gameIds List of game IDs
+     * @return List of Object arrays where [0] = id of the game's entry (Long), [1] = previous PlayerStatsEntity
+     */
+    @Query("SELECT cur.id, prev FROM PlayerStatsEntity cur, PlayerStatsEntity prev " +
+           "WHERE cur.game.id IN :gameIds " +
+           "AND prev.playerId = cur.playerId " +
+           "AND prev.gameTimestamp = (" +
+           "  SELECT MAX(p2.gameTimestamp) FROM PlayerStatsEntity p2 " +
+           "  WHERE p2.playerId = cur.playerId AND p2.gameTimestamp < cur.gameTimestamp" +
+           ") " +
+           "AND prev.id = (" +
+           "  SELECT MAX(p3.id) FROM PlayerStatsEntity p3 " +
+           "  WHERE p3.playerId = cur.playerId AND p3.gameTimestamp = prev.gameTimestamp" +
+           ")")
+    List<Object[]> findPreviousSnapshotsByGameIds(@Param("gameIds") List<Long> gameIds);
+    
+    /**
+     * Bulk delete all player stats entries for the given games
+     * @param gameIds List of game IDs
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM PlayerStatsEntity p WHERE p.game.id IN :gameIds")
+    int deleteByGameIds(@Param("gameIds") List<Long> gameIds);
+    
+    /**
+     * Rebase all cumulative snapshots of a player recorded after a given time by subtracting
+     * the contribution of a deleted game. Runs as a single set-based UPDATE.
+     * 
+     * @param playerId The player ID
+     * @param after Only snapshots with a gameTimestamp strictly after this are updated
+     * @return Number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE PlayerStatsEntity p SET " +
+           "p.kills = p.kills - :kills, " +
+           "p.deaths = p.deaths - :deaths, " +
+           "p.assists = p.assists - :assists, " +
+           "p.headshotKills = p.headshotKills - :headshotKills, " +
+           "p.roundsPlayed = p.roundsPlayed - :roundsPlayed, " +
+           "p.clutchesWon = p.clutchesWon - :clutchesWon, " +
+           "p.openingKills = p.openingKills - :openingKills, " +
+           "p.openingDeaths = p.openingDeaths - :openingDeaths, " +
+           "p.tradeKills = p.tradeKills - :tradeKills, " +
+           "p.damageDealt = p.damageDealt - CAST(:damageDealt AS double) " +
+           "WHERE p.playerId = :playerId AND p.gameTimestamp > :after")
+    int rebaseSnapshotsAfter(@Param("playerId") String playerId,
+                             @Param("after") Instant after,
+                             @Param("kills") int kills,
+                             @Param("deaths") int deaths,
+                             @Param("assists") int assists,
+                             @Param("headshotKills") int headshotKills,
+                             @Param("roundsPlayed") int roundsPlayed,
+                             @Param("clutchesWon") int clutchesWon,
+                             @Param("openingKills") int openingKills,
+                             @Param("openingDeaths") int openingDeaths,
+                             @Param("tradeKills") int tradeKills,
+                             @Param("damageDealt") double damageDealt);
+    
     /**
      * Find all player stats records within a specific month range (inclusive)
      * @param startOfMonth Start of month (00:00:00 UTC on first day)
@@ -156,30 +259,30 @@ public interface PlayerStatsRepository extends JpaRepository<PlayerStatsEntity,
     long countDistinctGamesByPlayerId(@Param("playerId") String playerId);
     
     /**
-     * Count distinct games played by a player within a month range
-     * @param playerId The player ID
-     * @param startOfMonth Start of month (00:00:00 UTC on first day)
-     * @param endOfMonth End of month (23:59:59 UTC on last day)
-     * @return Number of distinct games played in the month
+     * Count distinct games played by every player (batch query for the all-time leaderboard)
+     * @return List of Object arrays where [0] = playerId (String), [1] = gameCount (Long)
      */
-    @Query("SELECT COUNT(DISTINCT p.gameTimestamp) FROM PlayerStatsEntity p WHERE p.playerId = :playerId AND p.gameTimestamp >= :startOfMonth AND p.gameTimestamp <= :endOfMonth")
-    long countDistinctGamesByPlayerIdInMonth(@Param("playerId") String playerId, @Param("startOfMonth") Instant startOfMonth, @Param("endOfMonth") Instant endOfMonth);
+    @Query("SELECT p.playerId, COUNT(DISTINCT p.gameTimestamp) FROM PlayerStatsEntity p GROUP BY p.playerId")
+    List<Object[]> countDistinctGamesPerPlayer();
     
     /**
-     * Count total distinct games across all players (all-time)
-     * @return Total number of distinct games
+     * Count distinct games played by multiple players (batch query)
+     * @param playerIds Player IDs to count games for
+     * @return List of Object arrays where [0] = playerId (String), [1] = gameCount (Long)
      */
-    @Query("SELECT COUNT(DISTINCT p.gameTimestamp) FROM PlayerStatsEntity p")
-    long countTotalDistinctGames();
+    @Query("SELECT p.playerId, COUNT(DISTINCT p.gameTimestamp) FROM PlayerStatsEntity p " +
+           "WHERE p.playerId IN :playerIds GROUP BY p.playerId")
+    List<Object[]> countDistinctGamesByPlayerIds(@Param("playerIds") Collection<String> playerIds);
     
     /**
-     * Count total distinct games within a month range
+     * Count distinct games played by a player within a month range
+     * @param playerId The player ID
      * @param startOfMonth Start of month (00:00:00 UTC on first day)
      * @param endOfMonth End of month (23:59:59 UTC on last day)
-     * @return Total number of distinct games in the month
+     * @return Number of distinct games played in the month
      */
-    @Query("SELECT COUNT(DISTINCT p.gameTimestamp) FROM PlayerStatsEntity p WHERE p.gameTimestamp >= :startOfMonth AND p.gameTimestamp <= :endOfMonth")
-    long countTotalDistinctGamesInMonth(@Param("startOfMonth") Instant startOfMonth, @Param("endOfMonth") Instant endOfMonth);
+    @Query("SELECT COUNT(DISTINCT p.gameTimestamp) FROM PlayerStatsEntity p WHERE p.playerId = :playerId AND p.gameTimestamp >= :startOfMonth AND p.gameTimestamp <= :endOfMonth")
+    long countDistinctGamesByPlayerIdInMonth(@Param("playerId") String playerId, @Param("startOfMonth") Instant startOfMonth, @Param("endOfMonth") Instant endOfMonth);
     
     /**
      * Count distinct games played by multiple players within a month range (batch query)
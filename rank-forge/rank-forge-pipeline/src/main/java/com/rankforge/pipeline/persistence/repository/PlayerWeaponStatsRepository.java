@@ -0,0 +1,64 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.repository;
+
+import com.rankforge.pipeline.persistence.entity.PlayerWeaponStatsEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for per-player weapon totals
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@Repository
+public interface PlayerWeaponStatsRepository extends JpaRepository<PlayerWeaponStatsEntity, PlayerWeaponStatsEntity.Key> {
+    
+    /**
+     * A player's weapon rows, most kills first (a clustered index range on the primary key prefix)
+     */
+    @Query("SELECT w FROM PlayerWeaponStatsEntity w WHERE w.playerId = :playerId " +
+           "ORDER BY w.kills DESC, w.damage DESC, w.weapon ASC")
+    List<PlayerWeaponStatsEntity> findByPlayerId(@Param("playerId") String playerId);
+    
+    /**
+     * Subtract the totals of deleted games from a player's weapon row
+     * @return Number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE PlayerWeaponStatsEntity w SET w.kills = w.kills - :kills, " +
+           "w.headshotKills = w.headshotKills - :headshotKills, w.hits = w.hits - :hits, w.damage = w.damage - :damage " +
+           "WHERE w.playerId = :playerId AND w.weapon = :weapon")
+    int decrement(@Param("playerId") String playerId, @Param("weapon") String weapon,
+                  @Param("kills") int kills, @Param("headshotKills") int headshotKills,
+                  @Param("hits") int hits, @Param("damage") long damage);
+    
+    /**
+     * Bulk delete rows left without kills or hits
+     * @return Number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM PlayerWeaponStatsEntity w WHERE w.kills <= 0 AND w.hits <= 0")
+    int deleteEmpty();
+}
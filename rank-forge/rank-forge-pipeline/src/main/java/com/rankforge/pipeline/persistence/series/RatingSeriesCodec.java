@@ -0,0 +1,187 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.series;
+
+import com.rankforge.pipeline.persistence.entity.PlayerRatingSeriesEntity;
+import com.rankforge.pipeline.persistence.entity.PlayerStatsEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact, appendable encoding of a player's rating history.
+ * 
+ * Layout: a version byte followed by one record per game:
+ * <pre>
+ *   timestamp delta (s) | rank delta | kills delta | deaths delta | assists delta
+ * </pre>
+ * Every field is a zigzag varint against the previous point (the first point against zero).
+ * Ranks move by a few points per game and the stats are cumulative, so most records take
+ * five to eight bytes. The last point is kept on the entity, so appending a game writes only
+ * its own record.
+ * 
+ * Author bageshwar.pn
+ * Date 2026
+ */
+public final class RatingSeriesCodec {
+    
+    public static final int FORMAT_VERSION = 1;
+    
+    private RatingSeriesCodec() {
+    }
+    
+    /**
+     * One game of a player's rating history, with the cumulative stats after that game
+     */
+    public static final class Point {
+        private final Instant gameTimestamp;
+        private final int rank;
+        private final int kills;
+        private final int deaths;
+        private final int assists;
+        
+        public Point(Instant gameTimestamp, int rank, int kills, int deaths, int assists) {
+            this.gameTimestamp = gameTimestamp;
+            this.rank = rank;
+            this.kills = kills;
+            this.deaths = deaths;
+            this.assists = assists;
+        }
+        
+        public Instant getGameTimestamp() { return gameTimestamp; }
+        public int getRank() { return rank; }
+        public int getKills() { return kills; }
+        public int getDeaths() { return deaths; }
+        public int getAssists() { return assists; }
+    }
+    
+    /**
+     * Builds a series from a player's full snapshot history (oldest first)
+     */
+    public static PlayerRatingSeriesEntity build(String playerId, List<PlayerStatsEntity> history) {
+        PlayerRatingSeriesEntity series = new PlayerRatingSeriesEntity(playerId, FORMAT_VERSION, new byte[] {FORMAT_VERSION});
+        for (PlayerStatsEntity snapshot : history) {
+            if (!append(series, snapshot)) {
+                throw new IllegalArgumentException("History of " + playerId + " is not in game order");
+            }
+        }
+        return series;
+    }
+    
+    /**
+     * Appends a game's snapshot to the series.
+     * 
+     * @return false if the snapshot is older than the series' last game; the series is left
+     *         unchanged and must be rebuilt from the full history
+     */
+    public static boolean append(PlayerRatingSeriesEntity series, PlayerStatsEntity snapshot) {
+        Instant timestamp = snapshot.getGameTimestamp();
+        if (series.getLastGameTimestamp() != null && timestamp.isBefore(series.getLastGameTimestamp())) {
+            return false;
+        }
+        long previousSeconds = series.getLastGameTimestamp() != null ? series.getLastGameTimestamp().getEpochSecond() : 0;
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream(series.getPayload().length + 16);
+        out.writeBytes(series.getPayload());
+        writeVarLong(out, zigzag(timestamp.getEpochSecond() - previousSeconds));
+        writeVarLong(out, zigzag(snapshot.getRank() - series.getLastRank()));
+        writeVarLong(out, zigzag(snapshot.getKills() - series.getLastKills()));
+        writeVarLong(out, zigzag(snapshot.getDeaths() - series.getLastDeaths()));
+        writeVarLong(out, zigzag(snapshot.getAssists() - series.getLastAssists()));
+        
+        series.setPayload(out.toByteArray());
+        series.setPointCount(series.getPointCount() + 1);
+        series.setLastGameTimestamp(timestamp);
+        series.setLastSnapshotId(snapshot.getId());
+        series.setLastRank(snapshot.getRank());
+        series.setLastKills(snapshot.getKills());
+        series.setLastDeaths(snapshot.getDeaths());
+        series.setLastAssists(snapshot.getAssists());
+        series.setUpdatedAt(Instant.now());
+        return true;
+    }
+    
+    /**
+     * Decodes all points of the series, oldest first
+     */
+    public static List<Point> decode(PlayerRatingSeriesEntity series) {
+        byte[] payload = series.getPayload();
+        if (payload == null || payload.length == 0 || payload[0] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported rating series format for " + series.getPlayerId());
+        }
+        List<Point> points = new ArrayList<>(series.getPointCount());
+        InputStream in = new ByteArrayInputStream(payload, 1, payload.length - 1);
+        long seconds = 0;
+        int rank = 0;
+        int kills = 0;
+        int deaths = 0;
+        int assists = 0;
+        try {
+            for (int i = 0; i < series.getPointCount(); i++) {
+                seconds += unzigzag(readVarLong(in));
+                rank += (int) unzigzag(readVarLong(in));
+                kills += (int) unzigzag(readVarLong(in));
+                deaths += (int) unzigzag(readVarLong(in));
+                assists += (int) unzigzag(readVarLong(in));
+                points.add(new Point(Instant.ofEpochSecond(seconds), rank, kills, deaths, assists));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return points;
+    }
+    
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+    
+    private static long readVarLong(InputStream in) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Truncated rating series");
+            }
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed varint in rating series");
+    }
+    
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+    
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.spool;
+
+import com.rankforge.pipeline.persistence.EventProcessingContext;
+import com.rankforge.pipeline.persistence.entity.AccoladeEntity;
+import com.rankforge.pipeline.persistence.entity.GameEntity;
+import com.rankforge.pipeline.persistence.entity.GameEventEntity;
+import com.rankforge.pipeline.persistence.entity.PlayerStatsEntity;
+import com.rankforge.pipeline.persistence.entity.RoundStartEventEntity;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A parsed, fully linked match ready for persistence: the game, its events, accolades,
+ * end-of-game player stats snapshots and the roster names for the game summary.
+ * 
+ * Entity references (game, round start) are not serialized. Instead each event records the
+ * position of its RoundStart in {@link #getEvents()}, and {@link #link()} restores the
+ * references after the batch has been read back from the spool.
+ * 
+ * Author bageshwar.pn
+ * Date 2026
+ */
+public class MatchBatch {
+    
+    private String fingerprint;
+    private GameEntity game;
+    private List<GameEventEntity> events = new ArrayList<>();
+    // For each event, index of its RoundStart in events (-1 when the event has no round)
+    private List<Integer> roundStartIndexes = new ArrayList<>();
+    private List<AccoladeEntity> accolades = new ArrayList<>();
+    private List<PlayerStatsEntity> playerStats = new ArrayList<>();
+    // Full Steam ID -> display name, for the game summary
+    private Map<String, String> roster = new LinkedHashMap<>();
+    
+    public MatchBatch() {
+    }
+    
+    /**
+     * Fingerprint identifying a match, consistent with the GAME_OVER duplicate check
+     * (same map, same game over second).
+     */
+    public static String fingerprintOf(String map, Instant gameOverTimestamp) {
+        return map + "@" + gameOverTimestamp.getEpochSecond();
+    }
+    
+    /**
+     * Captures the match currently staged in the context. The context keeps its own
+     * lists, so it can be cleared right after.
+     */
+    public static MatchBatch capture(EventProcessingContext context) {
+        GameEntity game = context.getCurrentGame();
+        if (game == null) {
+            throw new IllegalStateException("Cannot capture match batch: no current game in context");
+        }
+        
+        MatchBatch batch = new MatchBatch();
+        batch.fingerprint = fingerprintOf(game.getMap(), game.getGameOverTimestamp());
+        batch.game = game;
+        batch.events = new ArrayList<>(context.getPendingEntities());
+        batch.accolades = new ArrayList<>(context.getPendingAccolades());
+        batch.playerStats = new ArrayList<>(context.getPendingPlayerStats());
+        batch.roster = new LinkedHashMap<>(context.getMatchRosterNames());
+        
+        Map<RoundStartEventEntity, Integer> roundStartPositions = new IdentityHashMap<>();
+        for (int i = 0; i < batch.events.size(); i++) {
+            if (batch.events.get(i) instanceof RoundStartEventEntity roundStart) {
+                roundStartPositions.put(roundStart, i);
+            }
+        }
+        for (GameEventEntity event : batch.events) {
+            RoundStartEventEntity roundStart = event.getRoundStart();
+            batch.roundStartIndexes.add(roundStart != null ? roundStartPositions.getOrDefault(roundStart, -1) : -1);
+        }
+        return batch;
+    }
+    
+    /**
+     * Points every event, accolade and stats snapshot at this batch's game and round starts.
+     */
+    public void link() {
+        for (int i = 0; i < events.size(); i++) {
+            GameEventEntity event = events.get(i);
+            event.setGame(game);
+            int roundStartIndex = i < roundStartIndexes.size() ? roundStartIndexes.get(i) : -1;
+            event.setRoundStart(roundStartIndex >= 0 ? (RoundStartEventEntity) events.get(roundStartIndex) : null);
+        }
+        for (AccoladeEntity accolade : accolades) {
+            accolade.setGame(game);
+        }
+        for (PlayerStatsEntity stats : playerStats) {
+            stats.setGame(game);
+        }
+    }
+    
+    /**
+     * Drops identifiers assigned by a failed persistence attempt so the batch can be retried
+     * as new rows.
+     */
+    public void resetIdentifiers() {
+        game.setId(null);
+        events.forEach(event -> event.setId(null));
+        accolades.forEach(accolade -> accolade.setId(null));
+        playerStats.forEach(stats -> stats.setId(null));
+    }
+    
+    public String getFingerprint() {
+        return fingerprint;
+    }
+    
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+    
+    public GameEntity getGame() {
+        return game;
+    }
+    
+    public void setGame(GameEntity game) {
+        this.game = game;
+    }
+    
+    public List<GameEventEntity> getEvents() {
+        return events;
+    }
+    
+    public void setEvents(List<GameEventEntity> events) {
+        this.events = events;
+    }
+    
+    public List<Integer> getRoundStartIndexes() {
+        return roundStartIndexes;
+    }
+    
+    public void setRoundStartIndexes(List<Integer> roundStartIndexes) {
+        this.roundStartIndexes = roundStartIndexes;
+    }
+    
+    public List<AccoladeEntity> getAccolades() {
+        return accolades;
+    }
+    
+    public void setAccolades(List<AccoladeEntity> accolades) {
+        this.accolades = accolades;
+    }
+    
+    public List<PlayerStatsEntity> getPlayerStats() {
+        return playerStats;
+    }
+    
+    public void setPlayerStats(List<PlayerStatsEntity> playerStats) {
+        this.playerStats = playerStats;
+    }
+    
+    public Map<String, String> getRoster() {
+        return roster;
+    }
+    
+    public void setRoster(Map<String, String> roster) {
+        this.roster = roster;
+    }
+}
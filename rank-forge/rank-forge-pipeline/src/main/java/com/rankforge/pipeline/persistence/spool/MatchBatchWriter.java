@@ -0,0 +1,119 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.spool;
+
+import com.rankforge.pipeline.persistence.MatchCommitter;
+import com.rankforge.pipeline.persistence.entity.GameEntity;
+import com.rankforge.pipeline.persistence.repository.GameRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerStatsRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+
+/**
+ * Persists a {@link MatchBatch} in a single transaction.
+ * 
+ * Writes are idempotent by match fingerprint: a batch whose game is already stored (same map and
+ * game over time, see {@link GameRepository#findDuplicate}) is skipped. A batch that was
+ * committed but not yet acknowledged in the spool when the process stopped is therefore not
+ * written twice when it is replayed.
+ * 
+ * Author bageshwar.pn
+ * Date 2026
+ */
+public class MatchBatchWriter {
+    private static final Logger logger = LoggerFactory.getLogger(MatchBatchWriter.class);
+    
+    private final EntityManagerFactory entityManagerFactory;
+    private final GameRepository gameRepository;
+    private final MatchCommitter committer = new MatchCommitter();
+    
+    public MatchBatchWriter(EntityManagerFactory entityManagerFactory, GameRepository gameRepository) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.gameRepository = gameRepository;
+    }
+    
+    /**
+     * Also writes each match's events as one compressed GameEventArchive row.
+     */
+    public void setEventArchiveEnabled(boolean eventArchiveEnabled) {
+        committer.setEventArchiveEnabled(eventArchiveEnabled);
+    }
+    
+    /**
+     * Every {@code interval} rows the EntityManager is flushed and cleared within the match
+     * transaction, as on the synchronous path. 0 or less keeps the whole match managed.
+     */
+    public void setStreamingFlushInterval(int interval) {
+        committer.setStreamingFlushInterval(interval);
+    }
+    
+    /**
+     * Also adds what each snapshot gained over the player's previous one to the player's daily
+     * stats bucket, in the match transaction.
+     */
+    public void setPlayerStatsRepository(PlayerStatsRepository playerStatsRepository) {
+        committer.setPlayerStatsRepository(playerStatsRepository);
+    }
+    
+    /**
+     * Writes the batch unless its match is already stored.
+     * 
+     * @return true if the match was written, false if it was a duplicate
+     */
+    public boolean write(MatchBatch batch) {
+        GameEntity game = batch.getGame();
+        Optional<GameEntity> existing = gameRepository.findDuplicate(game.getGameOverTimestamp(), game.getMap());
+        if (existing.isPresent()) {
+            logger.info("🔄 DEDUPE: Spooled match {} already stored as game {} - skipping", 
+                    batch.getFingerprint(), existing.get().getId());
+            return false;
+        }
+        
+        long startTime = System.currentTimeMillis();
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            batch.link();
+            committer.commit(entityManager, batch);
+            entityManager.getTransaction().commit();
+            
+            logger.info("Persisted spooled match {} as game {}: {} events, {} accolades, {} player stats (took {}ms)", 
+                    batch.getFingerprint(), game.getId(), batch.getEvents().size(), batch.getAccolades().size(),
+                    batch.getPlayerStats().size(), System.currentTimeMillis() - startTime);
+            return true;
+        } catch (RuntimeException e) {
+            if (entityManager.getTransaction().isActive()) {
+                try {
+                    entityManager.getTransaction().rollback();
+                } catch (Exception rollbackException) {
+                    logger.error("Error rolling back spooled match {}", batch.getFingerprint(), rollbackException);
+                }
+            }
+            // Identifiers from the failed attempt must not leak into the retry
+            batch.resetIdentifiers();
+            throw e;
+        } finally {
+            entityManager.close();
+        }
+    }
+}
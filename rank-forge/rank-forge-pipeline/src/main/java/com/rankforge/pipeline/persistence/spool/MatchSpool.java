@@ -0,0 +1,491 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.spool;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rankforge.core.util.ObjectMapperFactory;
+import com.rankforge.pipeline.persistence.entity.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Durable local spool for {@link MatchBatch}es awaiting persistence.
+ * 
+ * The spool is a sequence of append-only segment files ({@code <file>.1}, {@code <file>.2}, ...)
+ * with one JSON record per line. Every append is forced to disk before returning. Matches are
+ * persisted in spool order, so progress is a single {@link Position}: everything before the
+ * acknowledged position (kept in {@code <file>.ack}) is in the database. Readers stream the
+ * segments from a position and never load more than they ask for.
+ * 
+ * A segment is rotated once it reaches {@code segmentMaxBytes} and deleted as soon as it is fully
+ * acknowledged, so the spool only holds unpersisted matches. A partially written line (crash
+ * mid-append) is skipped when reading and the next append starts a new segment.
+ * 
+ * Matches that cannot be persisted at all are moved to {@code <file>.dead} for inspection.
+ * 
+ * Author bageshwar.pn
+ * Date 2026
+ */
+public class MatchSpool {
+    private static final Logger logger = LoggerFactory.getLogger(MatchSpool.class);
+    
+    static final String BATCH = "BATCH";
+    // Written by the single-file spool before segments; only read when migrating it
+    static final String ACK = "ACK";
+    static final String DEAD = "DEAD";
+    
+    static final long DEFAULT_SEGMENT_MAX_BYTES = 16L * 1024 * 1024;
+    
+    private final Path file;
+    private final Path directory;
+    private final String segmentPrefix;
+    private final Path ackFile;
+    private final Path deadLetterFile;
+    private final long segmentMaxBytes;
+    private final ObjectMapper objectMapper;
+    private Position acked;
+    private long activeSegment;
+    
+    public MatchSpool(Path file) throws IOException {
+        this(file, DEFAULT_SEGMENT_MAX_BYTES);
+    }
+    
+    public MatchSpool(Path file, long segmentMaxBytes) throws IOException {
+        this.file = file.toAbsolutePath();
+        this.directory = this.file.getParent();
+        this.segmentPrefix = this.file.getFileName() + ".";
+        this.ackFile = directory.resolve(segmentPrefix + "ack");
+        this.deadLetterFile = directory.resolve(segmentPrefix + "dead");
+        this.segmentMaxBytes = segmentMaxBytes;
+        this.objectMapper = createSpoolObjectMapper();
+        Files.createDirectories(directory);
+        
+        this.acked = readAckedPosition();
+        TreeSet<Long> segments = listSegments();
+        this.activeSegment = segments.isEmpty() ? Math.max(acked.segment, 1) : segments.last();
+        if (endsWithTornRecord(segmentPath(activeSegment))) {
+            // Never append behind a partial line - it would corrupt the next record
+            activeSegment++;
+        }
+        if (Files.isRegularFile(this.file)) {
+            migrateSingleFileSpool();
+        }
+    }
+    
+    /**
+     * Durably appends a match to the spool.
+     * 
+     * @return the position just past the match, to be passed to {@link #acknowledge(Position)}
+     */
+    public synchronized Position append(MatchBatch batch) throws IOException {
+        SpoolRecord record = new SpoolRecord();
+        record.type = BATCH;
+        record.fingerprint = batch.getFingerprint();
+        record.batch = batch;
+        byte[] line = (objectMapper.writeValueAsString(record) + "\n").getBytes(StandardCharsets.UTF_8);
+        
+        Path segment = segmentPath(activeSegment);
+        if (Files.exists(segment) && Files.size(segment) >= segmentMaxBytes) {
+            activeSegment++;
+            segment = segmentPath(activeSegment);
+        }
+        try {
+            long end = write(segment, line);
+            return new Position(activeSegment, end);
+        } catch (IOException e) {
+            // The segment may now end in a partial line
+            activeSegment++;
+            throw e;
+        }
+    }
+    
+    /**
+     * Reads up to {@code max} matches appended after {@code from}, in append order.
+     */
+    public synchronized List<SpooledBatch> read(Position from, int max) throws IOException {
+        List<SpooledBatch> batches = new ArrayList<>();
+        if (max > 0) {
+            forEach(from, batch -> batches.add(batch), max);
+        }
+        return batches;
+    }
+    
+    /**
+     * Streams every match appended after {@code from} to the consumer, one at a time.
+     */
+    public synchronized void scan(Position from, Consumer<SpooledBatch> consumer) throws IOException {
+        forEach(from, consumer, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Durably records that every match up to {@code end} has been persisted and deletes
+     * the segments that hold nothing else.
+     */
+    public synchronized void acknowledge(Position end) throws IOException {
+        if (end.compareTo(acked) <= 0) {
+            return;
+        }
+        Path segment = segmentPath(end.segment);
+        if (Files.exists(segment) && Files.size(segment) == end.offset) {
+            // Segment fully drained - appends continue on a fresh segment so this one can go
+            if (end.segment == activeSegment) {
+                activeSegment++;
+            }
+            end = new Position(end.segment + 1, 0);
+        }
+        writeAckedPosition(end);
+        acked = end;
+        for (Long sequence : listSegments().headSet(end.segment)) {
+            Files.deleteIfExists(segmentPath(sequence));
+        }
+    }
+    
+    /**
+     * Durably copies a match that failed to persist to the dead-letter file, with the reason.
+     * The caller still acknowledges it so the spool keeps draining.
+     */
+    public synchronized void deadLetter(MatchBatch batch, String error) throws IOException {
+        SpoolRecord record = new SpoolRecord();
+        record.type = DEAD;
+        record.fingerprint = batch.getFingerprint();
+        record.error = error;
+        record.batch = batch;
+        write(deadLetterFile, (objectMapper.writeValueAsString(record) + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Position up to which every match has been acknowledged.
+     */
+    public synchronized Position getAckedPosition() {
+        return acked;
+    }
+    
+    public Path getFile() {
+        return file;
+    }
+    
+    public Path getDeadLetterFile() {
+        return deadLetterFile;
+    }
+    
+    /**
+     * Segment files currently on disk, oldest first.
+     */
+    public synchronized List<Path> getSegments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        for (Long sequence : listSegments()) {
+            segments.add(segmentPath(sequence));
+        }
+        return segments;
+    }
+    
+    private void forEach(Position from, Consumer<SpooledBatch> consumer, int max) throws IOException {
+        int count = 0;
+        for (Long sequence : listSegments().tailSet(from.segment)) {
+            long offset = sequence == from.segment ? from.offset : 0;
+            Path segment = segmentPath(sequence);
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                channel.position(offset);
+                InputStream in = new BufferedInputStream(Channels.newInputStream(channel));
+                ByteArrayOutputStream line = new ByteArrayOutputStream();
+                int b;
+                while (count < max && (b = in.read()) != -1) {
+                    offset++;
+                    if (b != '\n') {
+                        line.write(b);
+                        continue;
+                    }
+                    SpoolRecord record = parse(line, segment, offset);
+                    line.reset();
+                    if (record != null && BATCH.equals(record.type) && record.batch != null) {
+                        record.batch.link();
+                        consumer.accept(new SpooledBatch(record.batch, new Position(sequence, offset)));
+                        count++;
+                    }
+                }
+                // Bytes left in 'line' are a torn record without its newline - skipped
+            }
+            if (count >= max) {
+                return;
+            }
+        }
+    }
+    
+    private SpoolRecord parse(ByteArrayOutputStream line, Path segment, long end) {
+        String text = line.toString(StandardCharsets.UTF_8);
+        if (text.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(text, SpoolRecord.class);
+        } catch (JsonProcessingException e) {
+            logger.warn("Skipping unreadable spool record ending at {}:{} ({})", segment, end, e.getOriginalMessage());
+            return null;
+        }
+    }
+    
+    private long write(Path segment, byte[] line) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.CREATE, 
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+            return channel.size();
+        }
+    }
+    
+    private Position readAckedPosition() throws IOException {
+        if (!Files.exists(ackFile)) {
+            return new Position(0, 0);
+        }
+        String[] parts = Files.readString(ackFile, StandardCharsets.UTF_8).trim().split(" ");
+        try {
+            return new Position(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+        } catch (RuntimeException e) {
+            // Safe to replay from the start - the writer skips matches that are already stored
+            logger.warn("Ignoring unreadable spool acknowledgement {}", ackFile);
+            return new Position(0, 0);
+        }
+    }
+    
+    private void writeAckedPosition(Position position) throws IOException {
+        Path temp = directory.resolve(segmentPrefix + "ack.tmp");
+        byte[] content = (position.segment + " " + position.offset).getBytes(StandardCharsets.UTF_8);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, 
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.wrap(content));
+            channel.force(true);
+        }
+        Files.move(temp, ackFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    private TreeSet<Long> listSegments() throws IOException {
+        TreeSet<Long> segments = new TreeSet<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(path -> {
+                String name = path.getFileName().toString();
+                if (name.startsWith(segmentPrefix)) {
+                    String suffix = name.substring(segmentPrefix.length());
+                    if (!suffix.isEmpty() && suffix.chars().allMatch(Character::isDigit)) {
+                        segments.add(Long.parseLong(suffix));
+                    }
+                }
+            });
+        }
+        return segments;
+    }
+    
+    private Path segmentPath(long sequence) {
+        return directory.resolve(segmentPrefix + sequence);
+    }
+    
+    private static boolean endsWithTornRecord(Path segment) throws IOException {
+        if (!Files.exists(segment) || Files.size(segment) == 0) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, channel.size() - 1);
+            return last.get(0) != '\n';
+        }
+    }
+    
+    /**
+     * Moves the unacknowledged matches of a spool written before segments (BATCH and ACK
+     * records in a single file) into a new segment, streaming the file twice.
+     */
+    private void migrateSingleFileSpool() throws IOException {
+        Set<String> acknowledged = new HashSet<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                SpoolRecord record = parseLegacy(line);
+                if (record != null && ACK.equals(record.type)) {
+                    acknowledged.add(record.fingerprint);
+                }
+            }
+        }
+        
+        int migrated = 0;
+        Set<String> seen = new HashSet<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                SpoolRecord record = parseLegacy(line);
+                if (record != null && BATCH.equals(record.type) && record.batch != null
+                        && !acknowledged.contains(record.fingerprint) && seen.add(record.fingerprint)) {
+                    append(record.batch);
+                    migrated++;
+                }
+            }
+        }
+        Files.delete(file);
+        logger.info("Migrated {} pending matches from single-file spool {}", migrated, file);
+    }
+    
+    private SpoolRecord parseLegacy(String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(line, SpoolRecord.class);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Entities are serialized field by field. Relations to the game and round start are left out
+     * and restored by {@link MatchBatch#link()}; database identifiers are never spooled.
+     */
+    static ObjectMapper createSpoolObjectMapper() {
+        ObjectMapper mapper = ObjectMapperFactory.createObjectMapper();
+        mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE);
+        mapper.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        mapper.addMixIn(GameEventEntity.class, GameEventMixin.class);
+        mapper.addMixIn(GameEntity.class, IdentifierMixin.class);
+        mapper.addMixIn(AccoladeEntity.class, GameChildMixin.class);
+        mapper.addMixIn(PlayerStatsEntity.class, GameChildMixin.class);
+        return mapper;
+    }
+    
+    static class SpoolRecord {
+        String type;
+        String fingerprint;
+        String error;
+        MatchBatch batch;
+    }
+    
+    /**
+     * A byte offset within a spool segment.
+     */
+    public static final class Position implements Comparable<Position> {
+        private final long segment;
+        private final long offset;
+        
+        public Position(long segment, long offset) {
+            this.segment = segment;
+            this.offset = offset;
+        }
+        
+        public long getSegment() {
+            return segment;
+        }
+        
+        public long getOffset() {
+            return offset;
+        }
+        
+        @Override
+        public int compareTo(Position other) {
+            int bySegment = Long.compare(segment, other.segment);
+            return bySegment != 0 ? bySegment : Long.compare(offset, other.offset);
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Position other && segment == other.segment && offset == other.offset;
+        }
+        
+        @Override
+        public int hashCode() {
+            return Long.hashCode(segment) * 31 + Long.hashCode(offset);
+        }
+        
+        @Override
+        public String toString() {
+            return segment + ":" + offset;
+        }
+    }
+    
+    /**
+     * A match read from the spool together with the position just past its record.
+     */
+    public static final class SpooledBatch {
+        private final MatchBatch batch;
+        private final Position end;
+        
+        public SpooledBatch(MatchBatch batch, Position end) {
+            this.batch = batch;
+            this.end = end;
+        }
+        
+        public MatchBatch getBatch() {
+            return batch;
+        }
+        
+        public Position getEnd() {
+            return end;
+        }
+    }
+    
+    @JsonIgnoreProperties({"id"})
+    abstract static class IdentifierMixin {
+    }
+    
+    @JsonIgnoreProperties({"id", "game"})
+    abstract static class GameChildMixin {
+    }
+    
+    @JsonIgnoreProperties({"id", "game", "roundStart"})
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "@type")
+    @JsonSubTypes({
+            @JsonSubTypes.Type(value = KillEventEntity.class, name = "KILL"),
+            @JsonSubTypes.Type(value = AssistEventEntity.class, name = "ASSIST"),
+            @JsonSubTypes.Type(value = AttackEventEntity.class, name = "ATTACK"),
+            @JsonSubTypes.Type(value = BombEventEntity.class, name = "BOMB_EVENT"),
+            @JsonSubTypes.Type(value = RoundStartEventEntity.class, name = "ROUND_START"),
+            @JsonSubTypes.Type(value = RoundEndEventEntity.class, name = "ROUND_END"),
+            @JsonSubTypes.Type(value = GameOverEventEntity.class, name = "GAME_OVER"),
+            @JsonSubTypes.Type(value = GameProcessedEventEntity.class, name = "GAME_PROCESSED")
+    })
+    abstract static class GameEventMixin {
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.spool;
+
+import com.rankforge.core.events.GameOverEvent;
+import com.rankforge.core.events.GameProcessedEvent;
+import com.rankforge.core.events.RoundEndEvent;
+import com.rankforge.core.events.RoundStartEvent;
+import com.rankforge.core.interfaces.GameEventListener;
+import com.rankforge.pipeline.persistence.EventProcessingContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hands each finished match to the {@link WriteBehindMatchQueue}.
+ * 
+ * Must be registered after the event and player stats stores: in write-behind mode they only
+ * stage their data in the {@link EventProcessingContext}, and this listener captures the staged
+ * match and clears the context for the next game.
+ * 
+ * Author bageshwar.pn
+ * Date 2026
+ */
+public class WriteBehindMatchListener implements GameEventListener {
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindMatchListener.class);
+    
+    private final WriteBehindMatchQueue queue;
+    private final EventProcessingContext context;
+    
+    public WriteBehindMatchListener(WriteBehindMatchQueue queue, EventProcessingContext context) {
+        this.queue = queue;
+        this.context = context;
+    }
+    
+    @Override
+    public void onGameStarted(GameOverEvent event) {
+        // no-op
+    }
+    
+    @Override
+    public void onGameEnded(GameProcessedEvent event) {
+        if (context.getCurrentGame() == null) {
+            logger.debug("No staged game at {} - nothing to queue", event.getTimestamp());
+            return;
+        }
+        queue.submit(MatchBatch.capture(context));
+        context.clear();
+    }
+    
+    @Override
+    public void onRoundStarted(RoundStartEvent event) {
+        // no-op
+    }
+    
+    @Override
+    public void onRoundEnded(RoundEndEvent event) {
+        // no-op
+    }
+}
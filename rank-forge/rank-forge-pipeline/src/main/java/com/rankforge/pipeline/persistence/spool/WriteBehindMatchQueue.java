@@ -0,0 +1,346 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.spool;
+
+import com.rankforge.pipeline.persistence.PlayerStatsCommitListener;
+import com.rankforge.pipeline.persistence.entity.PlayerStatsEntity;
+import com.rankforge.pipeline.persistence.spool.MatchSpool.Position;
+import com.rankforge.pipeline.persistence.spool.MatchSpool.SpooledBatch;
+import org.hibernate.exception.JDBCConnectionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded write-behind queue for parsed matches.
+ * 
+ * Ingestion threads hand finished matches to {@link #submit(MatchBatch)}, which only appends
+ * them to the {@link MatchSpool} and returns - it never waits for the database. A single drain
+ * thread writes them through {@link MatchBatchWriter}, retrying with exponential backoff while
+ * the database is unavailable (e.g. Azure SQL resuming from auto-pause), and acknowledges each
+ * match in the spool once it is committed. A match that keeps failing for another reason is
+ * moved to the spool's dead-letter file after {@code maxAttempts} tries so it cannot block the
+ * matches queued behind it.
+ * 
+ * At most {@code capacity} matches are held in memory. Beyond that, matches stay on disk only
+ * and are streamed back from the spool, {@code capacity} at a time, as the buffer drains.
+ * Unacknowledged matches found in the spool on {@link #start()} are replayed; the writer's
+ * fingerprint check keeps this exactly-once.
+ * 
+ * While matches are pending, their player stats snapshots are exposed through
+ * {@link #getPendingStats(String)} so later matches build on them instead of stale database rows.
+ * 
+ * Author bageshwar.pn
+ * Date 2026
+ */
+public class WriteBehindMatchQueue implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindMatchQueue.class);
+    
+    private static final long INITIAL_BACKOFF_MILLIS = 1000;
+    private static final long MAX_BACKOFF_MILLIS = 60000;
+    static final int DEFAULT_MAX_ATTEMPTS = 10;
+    
+    private final MatchSpool spool;
+    private final MatchBatchWriter writer;
+    private final BlockingQueue<SpooledBatch> buffer;
+    private final Set<String> pendingFingerprints = ConcurrentHashMap.newKeySet();
+    private final Map<String, PendingStats> pendingStats = new ConcurrentHashMap<>();
+    // Set when a match could not be buffered; the drain thread then refills from the spool
+    private boolean spilled = false;
+    // End of the last match handed to the buffer; spilled matches are read back from here
+    private Position readPosition;
+    private volatile boolean running = false;
+    private Thread drainThread;
+    private volatile PlayerStatsCommitListener commitListener;
+    private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+    
+    public WriteBehindMatchQueue(MatchSpool spool, MatchBatchWriter writer, int capacity) {
+        this.spool = spool;
+        this.writer = writer;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.readPosition = spool.getAckedPosition();
+    }
+    
+    /**
+     * Notified with each match's player stats snapshots once the match is committed.
+     */
+    public void setCommitListener(PlayerStatsCommitListener commitListener) {
+        this.commitListener = commitListener;
+    }
+    
+    /**
+     * Failed writes of a match before it is dead-lettered. Failures to reach the database are
+     * not counted - those are retried until it is back.
+     */
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+    
+    /**
+     * Recovers unacknowledged matches from the spool and starts draining.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        try {
+            int[] recovered = {0};
+            // Only fingerprints and stats snapshots are kept for matches that do not fit the buffer
+            spool.scan(spool.getAckedPosition(), spooled -> {
+                if (spooled.getEnd().compareTo(readPosition) <= 0) {
+                    return; // submitted before start and already buffered
+                }
+                if (!pendingFingerprints.contains(spooled.getBatch().getFingerprint())) {
+                    recovered[0]++;
+                }
+                track(spooled.getBatch());
+                if (!spilled && buffer.offer(spooled)) {
+                    readPosition = spooled.getEnd();
+                } else {
+                    spilled = true;
+                }
+            });
+            if (recovered[0] > 0) {
+                logger.info("Recovered {} unpersisted matches from spool {}", recovered[0], spool.getFile());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read match spool " + spool.getFile(), e);
+        }
+        
+        running = true;
+        drainThread = new Thread(this::drainLoop, "match-write-behind");
+        drainThread.setDaemon(true);
+        drainThread.start();
+    }
+    
+    /**
+     * Durably queues a match for persistence and returns without touching the database.
+     */
+    public synchronized void submit(MatchBatch batch) {
+        if (pendingFingerprints.contains(batch.getFingerprint())) {
+            logger.info("🔄 DEDUPE: Match {} is already queued for persistence - skipping", batch.getFingerprint());
+            return;
+        }
+        Position end;
+        try {
+            end = spool.append(batch);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to spool match " + batch.getFingerprint(), e);
+        }
+        track(batch);
+        
+        // Keep spool order: once spilled, later matches wait on disk behind the spilled ones
+        if (!spilled && buffer.offer(new SpooledBatch(batch, end))) {
+            readPosition = end;
+        } else {
+            spilled = true;
+            logger.debug("Write-behind buffer full, match {} kept in spool only", batch.getFingerprint());
+        }
+        logger.info("Queued match {} for persistence ({} pending)", batch.getFingerprint(), pendingFingerprints.size());
+    }
+    
+    /**
+     * Whether a match with this fingerprint is queued but not yet persisted.
+     */
+    public boolean isPending(String fingerprint) {
+        return pendingFingerprints.contains(fingerprint);
+    }
+    
+    public int getPendingCount() {
+        return pendingFingerprints.size();
+    }
+    
+    /**
+     * Latest queued (not yet persisted) stats snapshot for the player, if any.
+     */
+    public Optional<PlayerStatsEntity> getPendingStats(String playerId) {
+        PendingStats pending = pendingStats.get(playerId);
+        return pending != null ? Optional.of(pending.stats) : Optional.empty();
+    }
+    
+    @Override
+    public void close() {
+        running = false;
+        if (drainThread != null) {
+            drainThread.interrupt();
+            try {
+                drainThread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!pendingFingerprints.isEmpty()) {
+            logger.info("Write-behind queue stopped with {} matches left in spool {}", 
+                    pendingFingerprints.size(), spool.getFile());
+        }
+    }
+    
+    private void drainLoop() {
+        while (running) {
+            try {
+                SpooledBatch spooled = buffer.poll(1, TimeUnit.SECONDS);
+                if (spooled == null) {
+                    refillFromSpool();
+                    continue;
+                }
+                writeWithRetry(spooled);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Unexpected error in write-behind drain loop", e);
+            }
+        }
+    }
+    
+    /**
+     * Writes one match, backing off while the database is unavailable. Returns without
+     * acknowledging if the queue is closed first - the match is then replayed on next start.
+     * After {@code maxAttempts} failures that are not connection problems the match is
+     * dead-lettered and acknowledged.
+     */
+    void writeWithRetry(SpooledBatch spooled) throws InterruptedException {
+        MatchBatch batch = spooled.getBatch();
+        long backoff = INITIAL_BACKOFF_MILLIS;
+        int attempts = 0;
+        while (true) {
+            try {
+                boolean written = writer.write(batch);
+                acknowledge(spooled, written);
+                if (written) {
+                    notifyCommitted(batch);
+                }
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                if (!isConnectionFailure(e) && ++attempts >= maxAttempts) {
+                    deadLetter(spooled, e);
+                    return;
+                }
+                logger.warn("Failed to persist match {}, retrying in {}ms: {}", 
+                        batch.getFingerprint(), backoff, e.getMessage());
+                Thread.sleep(backoff);
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+    
+    private synchronized void acknowledge(SpooledBatch spooled, boolean written) {
+        String fingerprint = spooled.getBatch().getFingerprint();
+        try {
+            // Matches are written in spool order, so this also releases any fully drained segment
+            spool.acknowledge(spooled.getEnd());
+        } catch (IOException e) {
+            // The match is in the database; a replay after restart is caught by the fingerprint check
+            logger.error("Failed to acknowledge match {} in spool", fingerprint, e);
+        }
+        pendingFingerprints.remove(fingerprint);
+        pendingStats.values().removeIf(pending -> pending.fingerprint.equals(fingerprint));
+        logger.debug("Match {} {} ({} pending)", fingerprint, written ? "persisted" : "was a duplicate", 
+                pendingFingerprints.size());
+    }
+    
+    private void deadLetter(SpooledBatch spooled, RuntimeException failure) {
+        MatchBatch batch = spooled.getBatch();
+        logger.error("Giving up on match {} after {} attempts, moving it to {}", 
+                batch.getFingerprint(), maxAttempts, spool.getDeadLetterFile(), failure);
+        try {
+            spool.deadLetter(batch, String.valueOf(failure));
+        } catch (IOException e) {
+            // Still acknowledged: keeping it would stall every match behind it
+            logger.error("Failed to dead-letter match {}", batch.getFingerprint(), e);
+        }
+        acknowledge(spooled, false);
+    }
+    
+    /**
+     * Whether the failure only means the database could not be reached, e.g. while it resumes.
+     */
+    static boolean isConnectionFailure(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientException || cause instanceof SQLRecoverableException 
+                    || cause instanceof ConnectException
+                    || cause instanceof JDBCConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private void notifyCommitted(MatchBatch batch) {
+        PlayerStatsCommitListener listener = commitListener;
+        if (listener == null || batch.getPlayerStats().isEmpty()) {
+            return;
+        }
+        try {
+            listener.onPlayerStatsCommitted(batch.getPlayerStats());
+        } catch (RuntimeException e) {
+            // Must not reach the retry loop - the match is already committed and acknowledged
+            logger.error("PlayerStats commit listener failed for match {}", batch.getFingerprint(), e);
+        }
+    }
+    
+    private synchronized void refillFromSpool() throws IOException {
+        if (!spilled || !buffer.isEmpty()) {
+            return;
+        }
+        int max = buffer.remainingCapacity();
+        List<SpooledBatch> next = spool.read(readPosition, max);
+        for (SpooledBatch spooled : next) {
+            buffer.offer(spooled);
+            readPosition = spooled.getEnd();
+        }
+        // A full read may have left more behind; a short one reached the end of the spool
+        spilled = next.size() == max;
+    }
+    
+    private void track(MatchBatch batch) {
+        pendingFingerprints.add(batch.getFingerprint());
+        for (PlayerStatsEntity stats : batch.getPlayerStats()) {
+            pendingStats.merge(stats.getPlayerId(), new PendingStats(batch.getFingerprint(), stats),
+                    (current, candidate) -> candidate.stats.getGameTimestamp().isBefore(current.stats.getGameTimestamp())
+                            ? current : candidate);
+        }
+    }
+    
+    private static class PendingStats {
+        private final String fingerprint;
+        private final PlayerStatsEntity stats;
+        
+        PendingStats(String fingerprint, PlayerStatsEntity stats) {
+            this.fingerprint = fingerprint;
+            this.stats = stats;
+        }
+    }
+}
@@ -221,19 +221,20 @@ class EloBasedRankingAlgorithmTest {
         }
 
         @Test
-        @DisplayName("Should return zero for clutch factor (not implemented)")
-        void shouldReturnZeroForClutchFactor() {
+        @DisplayName("Should add clutches won per round played to the rating")
+        void shouldAddClutchFactor() {
             // Given
             PlayerStats stats = createPlayerStats("player1", 10, 5, 2, 3);
-            stats.setClutchesWon(5); // This should not affect the calculation yet
+            stats.setClutchesWon(5);
             
             // When
             int rank = algorithm.calculateRank(stats);
             
-            // Then - Clutch factor should not contribute to rank (returns 0)
+            // Then - 5 clutches over 10 rounds played
             double expectedKdrContribution = (10.0 / 6.0) * 200;
             double expectedHeadshotContribution = (3.0 / 11.0) * 100;
-            double expectedTotal = 1000 + expectedKdrContribution + expectedHeadshotContribution; // No clutch contribution
+            double expectedClutchContribution = (5.0 / 11.0) * 150;
+            double expectedTotal = 1000 + expectedKdrContribution + expectedHeadshotContribution + expectedClutchContribution;
             assertEquals((int) expectedTotal, rank);
         }
     }
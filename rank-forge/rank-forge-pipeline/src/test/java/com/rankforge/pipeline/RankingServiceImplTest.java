@@ -32,6 +32,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -183,13 +184,26 @@ class RankingServiceImplTest {
     class GetPlayerRankingTests {
 
         @Test
-        @DisplayName("Should return zero for get player ranking (not implemented)")
-        void shouldReturnZeroForGetPlayerRanking() {
+        @DisplayName("Should return the rating stored on the player's latest stats")
+        void shouldReturnStoredRating() {
             // Given
-            String playerId = "test-player";
+            PlayerStats stats = new PlayerStats();
+            stats.setPlayerId("test-player");
+            stats.setRank(1250);
+            when(mockStatsStore.getPlayerStats("test-player")).thenReturn(Optional.of(stats));
 
             // When
-            double ranking = rankingService.getPlayerRanking(playerId);
+            double ranking = rankingService.getPlayerRanking("test-player");
+
+            // Then
+            assertEquals(1250.0, ranking, 0.001);
+        }
+
+        @Test
+        @DisplayName("Should return zero for an unknown player")
+        void shouldReturnZeroForUnknownPlayer() {
+            // When
+            double ranking = rankingService.getPlayerRanking("unknown-player");
 
             // Then
             assertEquals(0.0, ranking, 0.001);
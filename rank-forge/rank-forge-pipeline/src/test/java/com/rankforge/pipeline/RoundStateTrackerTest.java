@@ -0,0 +1,135 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline;
+
+import com.rankforge.core.events.BombEvent;
+import com.rankforge.core.models.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RoundStateTracker: opening kills, trade kills and clutches over a 2v2 match
+ */
+class RoundStateTrackerTest {
+
+    private static final Instant T0 = Instant.parse("2026-02-14T21:00:00Z");
+    private static final List<String> ALL_PRESENT = List.of("1", "2", "3", "4");
+
+    private RoundStateTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new RoundStateTracker();
+        tracker.startMatch();
+        // First round: the rosters are learnt, no clutch can be credited yet
+        tracker.startRound();
+        assertEquals(RoundStateTracker.OPENING_KILL, tracker.onKill(ct("1"), t("3"), T0));
+        tracker.onKill(ct("2"), t("4"), T0.plusSeconds(10));
+        assertTrue(tracker.endRound(ALL_PRESENT).isEmpty());
+    }
+
+    @Test
+    void testOnKill_FirstKillOfRound_IsOpeningKill() {
+        tracker.startRound();
+
+        assertEquals(RoundStateTracker.OPENING_KILL, tracker.onKill(t("3"), ct("1"), T0));
+        assertEquals(0, tracker.onKill(t("4"), ct("2"), T0.plusSeconds(20)));
+    }
+
+    @Test
+    void testOnKill_VictimKilledTeammateWithinWindow_IsTradeKill() {
+        tracker.startRound();
+
+        tracker.onKill(t("3"), ct("1"), T0);
+        assertEquals(RoundStateTracker.TRADE_KILL, tracker.onKill(ct("2"), t("3"), T0.plusSeconds(4)));
+    }
+
+    @Test
+    void testOnKill_VictimKilledTeammateOutsideWindow_IsNotTradeKill() {
+        tracker.startRound();
+
+        tracker.onKill(t("3"), ct("1"), T0);
+        assertEquals(0, tracker.onKill(ct("2"), t("3"), T0.plusSeconds(6)));
+    }
+
+    @Test
+    void testEndRound_LastPlayerEliminatesOpponents_WinsClutch() {
+        tracker.startRound();
+        tracker.onKill(t("3"), ct("1"), T0);
+        tracker.onKill(ct("2"), t("3"), T0.plusSeconds(10));
+        tracker.onKill(ct("2"), t("4"), T0.plusSeconds(20));
+
+        assertEquals(List.of("[U:1:2]"), tracker.endRound(ALL_PRESENT));
+    }
+
+    @Test
+    void testEndRound_LastPlayerLosesRound_NoClutch() {
+        tracker.startRound();
+        tracker.onKill(t("3"), ct("1"), T0);
+        tracker.onKill(t("4"), ct("2"), T0.plusSeconds(10));
+
+        assertTrue(tracker.endRound(ALL_PRESENT).isEmpty());
+    }
+
+    @Test
+    void testEndRound_BombExplodesWithLastTerroristAlive_WinsClutch() {
+        tracker.startRound();
+        tracker.onKill(ct("1"), t("3"), T0);
+        tracker.onBomb(BombEvent.BombEventType.EXPLODE);
+
+        assertEquals(List.of("[U:1:4]"), tracker.endRound(ALL_PRESENT));
+    }
+
+    @Test
+    void testObserve_TeamsSwitchSides_RostersFollowPlayers() {
+        tracker.startRound();
+        // Half time: players 1 and 2 now play T
+        tracker.onKill(t("1"), ct("3"), T0);
+        tracker.onKill(ct("4"), t("1"), T0.plusSeconds(10));
+        tracker.onKill(ct("4"), t("2"), T0.plusSeconds(20));
+
+        assertEquals(List.of("[U:1:4]"), tracker.endRound(ALL_PRESENT));
+    }
+
+    @Test
+    void testEndRound_PlayerLeft_IsDroppedFromRoster() {
+        tracker.startRound();
+        assertTrue(tracker.endRound(List.of("1", "3", "4")).isEmpty());
+
+        // Player 1 is alone on CT from the start, which is not a clutch
+        tracker.startRound();
+        tracker.onKill(ct("1"), t("3"), T0);
+        tracker.onKill(ct("1"), t("4"), T0.plusSeconds(10));
+
+        assertTrue(tracker.endRound(List.of("1", "3", "4")).isEmpty());
+    }
+
+    private static Player ct(String accountId) {
+        return new Player("Player" + accountId, "[U:1:" + accountId + "]", "CT");
+    }
+
+    private static Player t(String accountId) {
+        return new Player("Player" + accountId, "[U:1:" + accountId + "]", "TERRORIST");
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence;
+
+import com.rankforge.pipeline.persistence.entity.AccoladeEntity;
+import com.rankforge.pipeline.persistence.entity.PlayerAccoladeCountEntity;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AccoladeCounters and the normalized accolade player name
+ */
+@ExtendWith(MockitoExtension.class)
+class AccoladeCountersTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Test
+    void testIncrement_NewCounters_ArePersistedWithGroupedCounts() {
+        AccoladeCounters.increment(entityManager, List.of(
+                accolade("[U:1:1]", "kills"),
+                accolade("[U:1:1]", "kills"),
+                accolade("[U:1:2]", "MVP")));
+
+        ArgumentCaptor<PlayerAccoladeCountEntity> captor = ArgumentCaptor.forClass(PlayerAccoladeCountEntity.class);
+        verify(entityManager, times(2)).persist(captor.capture());
+        PlayerAccoladeCountEntity kills = captor.getAllValues().get(0);
+        assertEquals("[U:1:1]", kills.getPlayerId());
+        assertEquals("kills", kills.getType());
+        assertEquals(2, kills.getAccoladeCount());
+        assertEquals(1, captor.getAllValues().get(1).getAccoladeCount());
+    }
+
+    @Test
+    void testIncrement_ExistingCounter_IsIncrementedInPlace() {
+        PlayerAccoladeCountEntity existing = new PlayerAccoladeCountEntity("[U:1:1]", "kills");
+        existing.setAccoladeCount(5);
+        when(entityManager.find(PlayerAccoladeCountEntity.class, new PlayerAccoladeCountEntity.Key("[U:1:1]", "kills")))
+                .thenReturn(existing);
+
+        AccoladeCounters.increment(entityManager, List.of(accolade("[U:1:1]", "kills")));
+
+        assertEquals(6, existing.getAccoladeCount());
+        verify(entityManager, never()).persist(any());
+    }
+
+    @Test
+    void testIncrement_UnresolvedPlayer_IsNotCounted() {
+        AccoladeCounters.increment(entityManager, List.of(accolade(null, "kills")));
+
+        verify(entityManager, never()).find(eq(PlayerAccoladeCountEntity.class), any());
+        verify(entityManager, never()).persist(any());
+    }
+
+    @Test
+    void testSetPlayerName_StoresNormalizedName() {
+        AccoladeEntity accolade = accolade("[U:1:1]", "kills");
+        accolade.setPlayerName("  Frag MASTER ");
+
+        assertEquals("  Frag MASTER ", accolade.getPlayerName());
+        assertEquals("frag master", accolade.getNormalizedPlayerName());
+        assertNull(AccoladeEntity.normalizeName(null));
+    }
+
+    private AccoladeEntity accolade(String playerId, String type) {
+        AccoladeEntity accolade = new AccoladeEntity();
+        accolade.setPlayerId(playerId);
+        accolade.setPlayerName("Player");
+        accolade.setType(type);
+        return accolade;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence;
+
+import com.rankforge.pipeline.persistence.entity.PlayerDailyStatsEntity;
+import com.rankforge.pipeline.persistence.entity.PlayerStatsEntity;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DailyStatsCounters: per-player daily deltas between consecutive snapshots
+ */
+@ExtendWith(MockitoExtension.class)
+class DailyStatsCountersTest {
+
+    private static final String PLAYER = "[U:1:1]";
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Test
+    void testAdd_WithPreviousSnapshot_CountsTheDifference() {
+        DailyStatsCounters counters = new DailyStatsCounters();
+        counters.add(snapshot("2026-03-01T22:00:00Z", 30, 12, 300, 2400.0),
+                snapshot("2026-02-27T20:00:00Z", 20, 10, 276, 2000.0));
+
+        PlayerDailyStatsEntity bucket =
+                counters.getTotals().get(new PlayerDailyStatsEntity.Key(PLAYER, LocalDate.of(2026, 3, 1)));
+        assertNotNull(bucket);
+        assertEquals(1, bucket.getGames());
+        assertEquals(10, bucket.getKills());
+        assertEquals(2, bucket.getDeaths());
+        assertEquals(24, bucket.getRoundsPlayed());
+        assertEquals(400.0, bucket.getDamageDealt());
+    }
+
+    @Test
+    void testAdd_GamesOnTheSameUtcDay_ShareOneBucket() {
+        DailyStatsCounters counters = new DailyStatsCounters();
+        counters.add(snapshot("2026-03-01T00:30:00Z", 10, 5, 24, 800.0), null);
+        counters.add(snapshot("2026-03-01T23:30:00Z", 25, 9, 48, 1900.0),
+                snapshot("2026-03-01T00:30:00Z", 10, 5, 24, 800.0));
+        counters.add(snapshot("2026-03-02T00:10:00Z", 30, 12, 72, 2300.0),
+                snapshot("2026-03-01T23:30:00Z", 25, 9, 48, 1900.0));
+
+        assertEquals(2, counters.getTotals().size());
+        PlayerDailyStatsEntity first =
+                counters.getTotals().get(new PlayerDailyStatsEntity.Key(PLAYER, LocalDate.of(2026, 3, 1)));
+        assertEquals(2, first.getGames());
+        assertEquals(25, first.getKills());
+        assertEquals(48, first.getRoundsPlayed());
+        assertEquals(LocalDate.of(2026, 3, 2), DailyStatsCounters.dayOf(Instant.parse("2026-03-02T00:10:00Z")));
+    }
+
+    @Test
+    void testApply_ExistingBucket_IsIncremented() {
+        PlayerDailyStatsEntity.Key key = new PlayerDailyStatsEntity.Key(PLAYER, LocalDate.of(2026, 3, 1));
+        PlayerDailyStatsEntity existing = new PlayerDailyStatsEntity(PLAYER, key.getBucketDay());
+        existing.setGames(3);
+        existing.setKills(40);
+        when(entityManager.find(PlayerDailyStatsEntity.class, key)).thenReturn(existing);
+
+        DailyStatsCounters counters = new DailyStatsCounters();
+        counters.add(PLAYER, Instant.parse("2026-03-01T12:00:00Z"), 7, 5, 2, 3, 24, 1, 650.0);
+        counters.add("[U:1:2]", Instant.parse("2026-03-01T12:00:00Z"), 5, 7, 1, 2, 24, 0, 500.0);
+        counters.apply(entityManager);
+
+        assertEquals(4, existing.getGames());
+        assertEquals(47, existing.getKills());
+        assertEquals(1, existing.getClutchesWon());
+        ArgumentCaptor<PlayerDailyStatsEntity> captor = ArgumentCaptor.forClass(PlayerDailyStatsEntity.class);
+        verify(entityManager).persist(captor.capture());
+        assertEquals("[U:1:2]", captor.getValue().getPlayerId());
+        assertEquals(1, captor.getValue().getGames());
+    }
+
+    private static PlayerStatsEntity snapshot(String gameTimestamp, int kills, int deaths, int roundsPlayed, double damageDealt) {
+        PlayerStatsEntity snapshot = new PlayerStatsEntity();
+        snapshot.setPlayerId(PLAYER);
+        snapshot.setGameTimestamp(Instant.parse(gameTimestamp));
+        snapshot.setKills(kills);
+        snapshot.setDeaths(deaths);
+        snapshot.setRoundsPlayed(roundsPlayed);
+        snapshot.setDamageDealt(damageDealt);
+        return snapshot;
+    }
+}
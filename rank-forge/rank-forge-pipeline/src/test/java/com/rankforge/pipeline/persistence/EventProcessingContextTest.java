@@ -23,6 +23,7 @@ import org.junit.jupiter.api.*;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -167,6 +168,29 @@ class EventProcessingContextTest {
             assertSame(round2, context.getCurrentRoundStart());
             assertSame(testGame, round2.getGame());
         }
+
+        @Test
+        @DisplayName("Should number rounds in order and restart numbering for a new game")
+        void shouldNumberRounds() {
+            // Given
+            context.setAppServerId(1L);
+            context.setCurrentGame(testGame);
+            RoundStartEventEntity round1 = new RoundStartEventEntity(Instant.now());
+            RoundStartEventEntity round2 = new RoundStartEventEntity(Instant.now().plusSeconds(60));
+            RoundStartEventEntity nextGameRound = new RoundStartEventEntity(Instant.now().plusSeconds(120));
+
+            // When
+            context.onRoundStart(round1);
+            context.onRoundEnd(new RoundEndEventEntity(Instant.now().plusSeconds(30)));
+            context.onRoundStart(round2);
+            context.setCurrentGame(createTestGame());
+            context.onRoundStart(nextGameRound);
+
+            // Then
+            assertEquals(1, round1.getRoundNumber());
+            assertEquals(2, round2.getRoundNumber());
+            assertEquals(1, nextGameRound.getRoundNumber());
+        }
     }
 
     @Nested
@@ -699,6 +723,31 @@ class EventProcessingContextTest {
         }
     }
 
+    @Nested
+    @DisplayName("Match Roster Names Tests (getMatchRosterNames)")
+    class MatchRosterNamesTests {
+
+        @Test
+        @DisplayName("Should name roster players from registrations and fall back to account IDs")
+        void shouldNameRosterPlayers() {
+            context.setMatchRoster(List.of("[U:1:11]", "[U:1:12]"));
+            context.registerPlayer("Alice ", "[U:1:11]");
+            context.registerPlayer("Spectator", "[U:1:99]");
+
+            Map<String, String> names = context.getMatchRosterNames();
+
+            assertEquals(Map.of("[U:1:11]", "Alice", "[U:1:12]", "Player 12"), names);
+        }
+
+        @Test
+        @DisplayName("Should use registered players when no roster was collected")
+        void shouldUseRegisteredPlayersWithoutRoster() {
+            context.registerPlayer("Bob", "[U:1:21]");
+
+            assertEquals(Map.of("[U:1:21]", "Bob"), context.getMatchRosterNames());
+        }
+    }
+
     /**
      * Helper to create a test GameEntity
      */
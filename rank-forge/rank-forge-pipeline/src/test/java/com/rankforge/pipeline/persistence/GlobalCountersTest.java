@@ -0,0 +1,191 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence;
+
+import com.rankforge.pipeline.persistence.entity.GameEntity;
+import com.rankforge.pipeline.persistence.entity.GlobalCounterEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for GlobalCounters: games and rounds per global, monthly, daily and server scope
+ */
+@ExtendWith(MockitoExtension.class)
+class GlobalCountersTest {
+
+    private static final GlobalCounterEntity.Key ALL =
+            new GlobalCounterEntity.Key(GlobalCounterEntity.SCOPE_ALL, GlobalCounterEntity.ALL);
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Query update;
+
+    // Parameters of each executed UPDATE, keyed "scope/scopeKey"
+    private final Map<String, Map<String, Object>> updates = new LinkedHashMap<>();
+    private final Map<String, Object> parameters = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(entityManager.createQuery(anyString())).thenReturn(update);
+        lenient().when(update.setParameter(anyString(), any())).thenAnswer(invocation -> {
+            parameters.put(invocation.getArgument(0), invocation.getArgument(1));
+            return update;
+        });
+    }
+
+    @Test
+    void testApply_ExistingRows_AreIncrementedAtomicallyPerScope() {
+        recordUpdates(1);
+        GlobalCounters counters = new GlobalCounters();
+        counters.add(game(7L, "2026-01-31T23:30:00Z", 13, 11));
+        counters.add(game(7L, "2026-02-01T00:30:00Z", 13, 5));
+        counters.add(game(8L, "2026-02-02T20:00:00Z", null, null));
+
+        counters.apply(entityManager);
+
+        assertEquals(8, updates.size());
+        assertIncrement("ALL/ALL", 3, 42);
+        assertIncrement("MONTH/2026-01", 1, 24);
+        assertIncrement("MONTH/2026-02", 2, 18);
+        assertIncrement("DAY/2026-01-31", 1, 24);
+        assertIncrement("DAY/2026-02-01", 1, 18);
+        assertIncrement("DAY/2026-02-02", 1, 0);
+        assertIncrement("SERVER/7", 2, 42);
+        assertIncrement("SERVER/8", 1, 0);
+        verify(entityManager, never()).find(any(), any(), any(LockModeType.class));
+        verify(entityManager, never()).persist(any());
+    }
+
+    @Test
+    void testApply_MissingRow_IsCreatedInOwnTransactionThenIncremented() {
+        recordUpdates(0, 1);
+        EntityManager creator = creatorEntityManager();
+
+        GlobalCounters counters = new GlobalCounters();
+        counters.add(null, null, 30);
+        counters.apply(entityManager);
+
+        ArgumentCaptor<GlobalCounterEntity> captor = ArgumentCaptor.forClass(GlobalCounterEntity.class);
+        verify(creator).persist(captor.capture());
+        assertEquals(ALL, new GlobalCounterEntity.Key(captor.getValue().getScope(), captor.getValue().getScopeKey()));
+        assertEquals(0L, captor.getValue().getGames());
+        verify(creator.getTransaction()).commit();
+        verify(creator).close();
+        verify(update, times(2)).executeUpdate();
+        assertIncrement("ALL/ALL", 1, 30);
+    }
+
+    @Test
+    void testApply_RowCreatedConcurrently_DuplicateIsIgnored() {
+        recordUpdates(0, 1);
+        EntityManager creator = creatorEntityManager();
+        doThrow(new PersistenceException("duplicate key")).when(creator).persist(any());
+        when(creator.getTransaction().isActive()).thenReturn(true);
+
+        GlobalCounters counters = new GlobalCounters();
+        counters.add(null, null, 30);
+        counters.apply(entityManager);
+
+        verify(creator.getTransaction()).rollback();
+        verify(update, times(2)).executeUpdate();
+    }
+
+    @Test
+    void testApply_RowNeverAppears_Fails() {
+        recordUpdates(0);
+        creatorEntityManager();
+
+        GlobalCounters counters = new GlobalCounters();
+        counters.add(null, null, 30);
+
+        assertThrows(IllegalStateException.class, () -> counters.apply(entityManager));
+        verify(update, times(4)).executeUpdate();
+    }
+
+    @Test
+    void testKeysOf_ScopesWithoutValues_AreSkipped() {
+        assertEquals(List.of(ALL), GlobalCounters.keysOf(null, null));
+        assertEquals(List.of(ALL, GlobalCounters.monthKey(YearMonth.of(2026, 3)),
+                        GlobalCounters.dayKey(LocalDate.of(2026, 3, 15))),
+                GlobalCounters.keysOf(null, Instant.parse("2026-03-15T12:00:00Z")));
+        assertTrue(new GlobalCounters().isEmpty());
+    }
+
+    /**
+     * Records the parameters of each UPDATE, which returns the given row counts in turn (the last one repeats)
+     */
+    private void recordUpdates(int... rowCounts) {
+        int[] calls = {0};
+        when(update.executeUpdate()).thenAnswer(invocation -> {
+            updates.put(parameters.get("scope") + "/" + parameters.get("scopeKey"), new HashMap<>(parameters));
+            return rowCounts[Math.min(calls[0]++, rowCounts.length - 1)];
+        });
+    }
+
+    private EntityManager creatorEntityManager() {
+        EntityManagerFactory factory = mock(EntityManagerFactory.class);
+        EntityManager creator = mock(EntityManager.class);
+        EntityTransaction transaction = mock(EntityTransaction.class);
+        when(entityManager.getEntityManagerFactory()).thenReturn(factory);
+        when(factory.createEntityManager()).thenReturn(creator);
+        when(creator.getTransaction()).thenReturn(transaction);
+        return creator;
+    }
+
+    private void assertIncrement(String scope, long games, long rounds) {
+        Map<String, Object> parameters = updates.get(scope);
+        assertNotNull(parameters, scope);
+        assertEquals(games, parameters.get("games"));
+        assertEquals(rounds, parameters.get("rounds"));
+    }
+
+    private static GameEntity game(Long appServerId, String gameOver, Integer team1Score, Integer team2Score) {
+        GameEntity game = new GameEntity();
+        game.setAppServerId(appServerId);
+        game.setGameOverTimestamp(Instant.parse(gameOver));
+        game.setTeam1Score(team1Score);
+        game.setTeam2Score(team2Score);
+        return game;
+    }
+}
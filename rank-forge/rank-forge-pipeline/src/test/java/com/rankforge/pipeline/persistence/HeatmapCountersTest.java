@@ -0,0 +1,136 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence;
+
+import com.rankforge.pipeline.persistence.entity.AttackEventEntity;
+import com.rankforge.pipeline.persistence.entity.HeatmapCellEntity;
+import com.rankforge.pipeline.persistence.entity.KillEventEntity;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for HeatmapCounters: grid quantization and per-layer kill/death cells
+ */
+@ExtendWith(MockitoExtension.class)
+class HeatmapCountersTest {
+
+    private static final String MAP = "de_dust2";
+    private static final String ALICE = "[U:1:1]";
+    private static final String BOB = "[U:1:2]";
+    private static final String ALL = HeatmapCellEntity.ALL;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Test
+    void testCellOf_QuantizesAndClampsToTheGrid() {
+        assertEquals(64, HeatmapCounters.cellOf(0));
+        assertEquals(64, HeatmapCounters.cellOf(127));
+        assertEquals(63, HeatmapCounters.cellOf(-1));
+        assertEquals(0, HeatmapCounters.cellOf(-8192));
+        assertEquals(0, HeatmapCounters.cellOf(-20000));
+        assertEquals(HeatmapCounters.GRID_SIZE - 1, HeatmapCounters.cellOf(20000));
+    }
+
+    @Test
+    void testAdd_KillerAndVictimPositions_FillMapSideAndPlayerLayers() {
+        HeatmapCounters heatmap = new HeatmapCounters(MAP);
+        heatmap.add(kill(ALICE, BOB, "CT", "T", coordinates(0, 0, 256, 256)));
+        heatmap.add(kill(ALICE, BOB, "CT", "T", coordinates(100, 20, 300, 300)));
+        heatmap.add(kill("BOT Ivan", ALICE, "T", "CT", coordinates(0, 0, 0, 0)));
+
+        Map<HeatmapCellEntity.Key, int[]> totals = heatmap.getTotals();
+        assertArrayEquals(new int[]{3, 1}, totals.get(key(ALL, ALL, 64, 64)));
+        assertArrayEquals(new int[]{2, 1}, totals.get(key(ALL, "CT", 64, 64)));
+        assertArrayEquals(new int[]{1, 0}, totals.get(key(ALL, "T", 64, 64)));
+        assertArrayEquals(new int[]{0, 2}, totals.get(key(ALL, "T", 66, 66)));
+        assertArrayEquals(new int[]{2, 1}, totals.get(key(ALICE, ALL, 64, 64)));
+        assertArrayEquals(new int[]{0, 2}, totals.get(key(BOB, ALL, 66, 66)));
+        assertFalse(totals.containsKey(key("BOT Ivan", ALL, 64, 64)), "Bots have no player layer");
+    }
+
+    @Test
+    void testAdd_SkipsSuicidesMissingCoordinatesAndOtherEvents() {
+        HeatmapCounters heatmap = new HeatmapCounters(MAP);
+        heatmap.add(kill(ALICE, ALICE, "CT", "CT", coordinates(0, 0, 0, 0)));
+        heatmap.add(kill(ALICE, BOB, "CT", "T", null));
+        heatmap.add(kill(ALICE, BOB, "CT", "T", "not json"));
+        AttackEventEntity attack = new AttackEventEntity(Instant.EPOCH);
+        attack.setPlayer1(ALICE);
+        attack.setPlayer2(BOB);
+        attack.setCoordinates(coordinates(0, 0, 0, 0));
+        heatmap.add(attack);
+        assertTrue(heatmap.isEmpty());
+
+        HeatmapCounters noMap = new HeatmapCounters(null);
+        noMap.add(kill(ALICE, BOB, "CT", "T", coordinates(0, 0, 0, 0)));
+        assertTrue(noMap.isEmpty());
+    }
+
+    @Test
+    void testApply_CreatesNewCellsAndIncrementsExistingOnes() {
+        HeatmapCellEntity existing = new HeatmapCellEntity(key(ALL, ALL, 64, 64));
+        existing.setKills(5);
+        existing.setDeaths(2);
+        when(entityManager.find(HeatmapCellEntity.class, key(ALL, ALL, 64, 64))).thenReturn(existing);
+
+        HeatmapCounters heatmap = new HeatmapCounters(MAP);
+        heatmap.add(kill(ALICE, BOB, null, null, "{\"player1\":{\"x\":0,\"y\":0}}"));
+        heatmap.apply(entityManager);
+
+        assertEquals(6, existing.getKills());
+        assertEquals(2, existing.getDeaths());
+        ArgumentCaptor<HeatmapCellEntity> captor = ArgumentCaptor.forClass(HeatmapCellEntity.class);
+        verify(entityManager).persist(captor.capture());
+        assertEquals(ALICE, captor.getValue().getPlayerId());
+        assertEquals(1, captor.getValue().getKills());
+        verify(entityManager, times(1)).persist(any());
+    }
+
+    private static HeatmapCellEntity.Key key(String playerId, String side, int cellX, int cellY) {
+        return new HeatmapCellEntity.Key(MAP, playerId, side, cellX, cellY);
+    }
+
+    private static String coordinates(int killerX, int killerY, int victimX, int victimY) {
+        return "{\"player1\":{\"x\":" + killerX + ",\"y\":" + killerY + ",\"z\":0},"
+                + "\"player2\":{\"x\":" + victimX + ",\"y\":" + victimY + ",\"z\":0}}";
+    }
+
+    private static KillEventEntity kill(String killer, String victim, String killerTeam, String victimTeam,
+                                        String coordinates) {
+        KillEventEntity kill = new KillEventEntity(Instant.EPOCH);
+        kill.setPlayer1(killer);
+        kill.setPlayer2(victim);
+        kill.setPlayer1Team(killerTeam);
+        kill.setPlayer2Team(victimTeam);
+        kill.setCoordinates(coordinates);
+        return kill;
+    }
+}
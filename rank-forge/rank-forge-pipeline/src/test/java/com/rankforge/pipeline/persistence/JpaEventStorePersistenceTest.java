@@ -21,16 +21,20 @@ package com.rankforge.pipeline.persistence;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rankforge.core.events.*;
 import com.rankforge.core.models.Player;
+import com.rankforge.pipeline.persistence.archive.GameEventArchiveCodec;
 import com.rankforge.pipeline.persistence.entity.*;
 import com.rankforge.pipeline.persistence.repository.AccoladeRepository;
 import com.rankforge.pipeline.persistence.repository.GameEventRepository;
 import com.rankforge.pipeline.persistence.repository.GameRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerStatsRepository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.Query;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 
 import java.time.Instant;
 import java.util.ArrayList;
@@ -41,6 +45,7 @@ import java.util.Map;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 /**
@@ -72,6 +77,11 @@ class JpaEventStorePersistenceTest {
         // Configure EntityManager to be open
         when(entityManager.isOpen()).thenReturn(true);
         
+        // Counter rows exist: their atomic increments update one row each
+        Query counterUpdate = mock(Query.class, RETURNS_SELF);
+        when(counterUpdate.executeUpdate()).thenReturn(1);
+        when(entityManager.createQuery(anyString())).thenReturn(counterUpdate);
+        
         // Mock EntityTransaction
         EntityTransaction transaction = mock(EntityTransaction.class);
         when(entityManager.getTransaction()).thenReturn(transaction);
@@ -370,10 +380,231 @@ class JpaEventStorePersistenceTest {
         }
     }
 
+    // ========================================================================
+    // STREAMING: Bounded persistence context for long matches
+    // ========================================================================
+
+    @Test
+    @DisplayName("STREAMING: Persistence context should be cleared every N rows with parents re-acquired")
+    void streamingCommitShouldClearContextAndReacquireParents() {
+        eventStore.setStreamingFlushInterval(50);
+        
+        GameEntity game = createTestGame();
+        game.setId(1L);
+        game.setAppServerId(7L);
+        context.setAppServerId(7L);
+        context.setCurrentGame(game);
+        
+        doAnswer(invocation -> {
+            invocation.<RoundStartEventEntity>getArgument(0).setId(10L);
+            return null;
+        }).when(entityManager).persist(any(RoundStartEventEntity.class));
+        GameEntity gameReference = new GameEntity();
+        gameReference.setId(1L);
+        RoundStartEventEntity roundReference = new RoundStartEventEntity(Instant.now());
+        roundReference.setId(10L);
+        when(entityManager.getReference(GameEntity.class, 1L)).thenReturn(gameReference);
+        when(entityManager.getReference(RoundStartEventEntity.class, 10L)).thenReturn(roundReference);
+        
+        // One long round: 120 kills
+        context.onRoundStart(new RoundStartEventEntity(Instant.now()));
+        List<KillEventEntity> kills = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            KillEventEntity kill = new KillEventEntity(Instant.now().plusSeconds(i));
+            context.addEvent(kill);
+            kills.add(kill);
+        }
+        
+        eventStore.onGameEnded(createGameProcessedEvent());
+        
+        // Cleared after rows 50 and 100; the tail is flushed without a clear
+        verify(entityManager, times(2)).clear();
+        // Rows persisted before the first clear keep the original parents
+        assertSame(game, kills.get(0).getGame());
+        // Rows persisted after a clear point at references from the fresh persistence context
+        assertSame(gameReference, kills.get(119).getGame());
+        assertSame(roundReference, kills.get(119).getRoundStart());
+        assertTrue(context.getPendingEntities().isEmpty(), "Context should not retain streamed rows");
+    }
+
+    @Test
+    @DisplayName("STREAMING: A failed commit leaves the match staged in the context, ready for a retry")
+    void failedStreamingCommitShouldKeepMatchStaged() {
+        eventStore.setStreamingFlushInterval(50);
+        
+        GameEntity game = createTestGame();
+        game.setAppServerId(7L);
+        context.setAppServerId(7L);
+        context.setCurrentGame(game);
+        
+        doAnswer(invocation -> {
+            invocation.<GameEntity>getArgument(0).setId(1L);
+            return null;
+        }).when(entityManager).persist(any(GameEntity.class));
+        doAnswer(invocation -> {
+            invocation.<RoundStartEventEntity>getArgument(0).setId(10L);
+            return null;
+        }).when(entityManager).persist(any(RoundStartEventEntity.class));
+        doAnswer(invocation -> {
+            invocation.<KillEventEntity>getArgument(0).setId(100L);
+            return null;
+        }).when(entityManager).persist(any(KillEventEntity.class));
+        when(entityManager.getReference(GameEntity.class, 1L)).thenReturn(new GameEntity());
+        when(entityManager.getReference(RoundStartEventEntity.class, 10L))
+                .thenReturn(new RoundStartEventEntity(Instant.now()));
+        // Fails after the streamed rows were flushed and the context cleared
+        doThrow(new IllegalStateException("connection lost"))
+                .when(entityManager).persist(any(GameSummaryEntity.class));
+        
+        RoundStartEventEntity roundStart = new RoundStartEventEntity(Instant.now());
+        context.onRoundStart(roundStart);
+        List<KillEventEntity> kills = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            KillEventEntity kill = new KillEventEntity(Instant.now().plusSeconds(i));
+            context.addEvent(kill);
+            kills.add(kill);
+        }
+        
+        assertThrows(RuntimeException.class, () -> eventStore.onGameEnded(createGameProcessedEvent()));
+        
+        verify(entityManager, times(2)).clear();
+        assertSame(game, context.getCurrentGame());
+        assertEquals(121, context.getPendingEntities().size(), "No staged event should be lost");
+        assertNull(game.getId());
+        assertNull(roundStart.getId());
+        assertNull(kills.get(119).getId());
+        // Links point at the staged entities again, not at references of the rolled back context
+        assertSame(game, kills.get(119).getGame());
+        assertSame(roundStart, kills.get(119).getRoundStart());
+    }
+
+    @Test
+    @DisplayName("STREAMING: Disabled by default - persistence context is never cleared mid-commit")
+    void nonStreamingCommitShouldNotClearContext() {
+        GameEntity game = createTestGame();
+        game.setId(1L);
+        game.setAppServerId(7L);
+        context.setAppServerId(7L);
+        context.setCurrentGame(game);
+        
+        context.onRoundStart(new RoundStartEventEntity(Instant.now()));
+        for (int i = 0; i < 120; i++) {
+            context.addEvent(new KillEventEntity(Instant.now().plusSeconds(i)));
+        }
+        
+        eventStore.onGameEnded(createGameProcessedEvent());
+        
+        verify(entityManager, never()).clear();
+        verify(entityManager, never()).getReference(any(), any());
+    }
+
     // ========================================================================
     // Helper methods
     // ========================================================================
 
+    @Test
+    @DisplayName("ARCHIVE: Enabled archive stores all events of the game as one decodable row")
+    void archiveShouldStoreAllEventsOfGame() {
+        eventStore.setEventArchiveEnabled(true);
+        
+        GameEntity game = createTestGame();
+        game.setId(1L);
+        game.setAppServerId(7L);
+        context.setAppServerId(7L);
+        context.setCurrentGame(game);
+        
+        long[] nextId = {100L};
+        doAnswer(invocation -> {
+            invocation.<GameEventEntity>getArgument(0).setId(nextId[0]++);
+            return null;
+        }).when(entityManager).persist(any(GameEventEntity.class));
+        
+        context.onRoundStart(new RoundStartEventEntity(Instant.now()));
+        for (int i = 0; i < 3; i++) {
+            context.addEvent(new KillEventEntity(Instant.now().plusSeconds(i)));
+        }
+        context.onRoundEnd(new RoundEndEventEntity(Instant.now().plusSeconds(5)));
+        
+        eventStore.onGameEnded(createGameProcessedEvent());
+        
+        ArgumentCaptor<GameEventArchiveEntity> archiveCaptor = ArgumentCaptor.forClass(GameEventArchiveEntity.class);
+        verify(entityManager).persist(archiveCaptor.capture());
+        GameEventArchiveEntity archive = archiveCaptor.getValue();
+        assertEquals(1L, archive.getGameId());
+        assertEquals(7L, archive.getAppServerId());
+        assertEquals(5, archive.getEventCount());
+        List<GameEventEntity> decoded = GameEventArchiveCodec.decode(archive.getPayload());
+        assertEquals(5, decoded.size());
+        assertEquals(3, decoded.stream().filter(e -> e.getGameEventType() == GameEventType.KILL).count());
+        assertTrue(decoded.stream().skip(1).allMatch(e -> Long.valueOf(100L).equals(e.getRoundStart().getId())));
+    }
+
+    @Test
+    @DisplayName("COMMIT: Staged player stats are stored in the match transaction and reported once committed")
+    void stagedPlayerStatsShouldCommitWithMatch() {
+        PlayerStatsRepository playerStatsRepository = mock(PlayerStatsRepository.class);
+        PlayerStatsCommitListener listener = mock(PlayerStatsCommitListener.class);
+        eventStore.setPlayerStatsRepository(playerStatsRepository);
+        eventStore.setCommitListener(listener);
+        
+        GameEntity game = createTestGame();
+        game.setId(1L);
+        game.setAppServerId(7L);
+        context.setAppServerId(7L);
+        context.setCurrentGame(game);
+        PlayerStatsEntity stats = new PlayerStatsEntity();
+        stats.setPlayerId("[U:1:123]");
+        stats.setKills(5);
+        stats.setGameTimestamp(game.getGameOverTimestamp());
+        context.addPendingPlayerStats(List.of(stats));
+        EntityTransaction transaction = entityManager.getTransaction();
+        when(transaction.isActive()).thenReturn(false, true); // begun by the store, active at commit
+        
+        eventStore.onGameEnded(createGameProcessedEvent());
+        
+        InOrder order = inOrder(playerStatsRepository, entityManager, transaction, listener);
+        order.verify(playerStatsRepository).findLatestStatsForPlayers(any());
+        order.verify(entityManager).persist(stats);
+        order.verify(entityManager).persist(any(PlayerDailyStatsEntity.class));
+        order.verify(transaction).commit();
+        order.verify(listener).onPlayerStatsCommitted(List.of(stats));
+        assertSame(game, stats.getGame());
+        assertTrue(context.getPendingPlayerStats().isEmpty());
+    }
+
+    @Test
+    @DisplayName("COMMIT: A failed daily stats write rolls back the snapshots with it")
+    void failedDailyStatsShouldRollBackSnapshots() {
+        PlayerStatsRepository playerStatsRepository = mock(PlayerStatsRepository.class);
+        PlayerStatsCommitListener listener = mock(PlayerStatsCommitListener.class);
+        eventStore.setPlayerStatsRepository(playerStatsRepository);
+        eventStore.setCommitListener(listener);
+        
+        GameEntity game = createTestGame();
+        game.setId(1L);
+        game.setAppServerId(7L);
+        context.setAppServerId(7L);
+        context.setCurrentGame(game);
+        PlayerStatsEntity stats = new PlayerStatsEntity();
+        stats.setPlayerId("[U:1:123]");
+        stats.setKills(5);
+        stats.setGameTimestamp(game.getGameOverTimestamp());
+        context.addPendingPlayerStats(List.of(stats));
+        EntityTransaction transaction = entityManager.getTransaction();
+        when(transaction.isActive()).thenReturn(false, true);
+        doThrow(new IllegalStateException("deadlock"))
+                .when(entityManager).persist(any(PlayerDailyStatsEntity.class));
+        
+        assertThrows(RuntimeException.class, () -> eventStore.onGameEnded(createGameProcessedEvent()));
+        
+        verify(entityManager).persist(stats);
+        verify(transaction).rollback();
+        verify(transaction, never()).commit();
+        verifyNoInteractions(listener);
+        // Still staged, so the match and its buckets can be stored together on a retry
+        assertEquals(List.of(stats), context.getPendingPlayerStats());
+    }
+
     private GameEntity createTestGame() {
         GameEntity game = new GameEntity();
         game.setGameOverTimestamp(Instant.now());
@@ -35,7 +35,9 @@ import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 /**
@@ -260,6 +262,30 @@ class JpaPlayerStatsStoreTest {
         }
     }
 
+    @Test
+    void testPrefetchPlayerStats_LoadsRosterInOneQueryAndSkipsPerPlayerLookups() {
+        String existingPlayer = "[U:1:1090227400]";
+        String newPlayer = "[U:1:1026155000]";
+
+        PlayerStatsEntity latest = new PlayerStatsEntity();
+        latest.setPlayerId(existingPlayer);
+        latest.setLastSeenNickname("Player1");
+        latest.setKills(42);
+        latest.setRank(1200);
+        when(repository.findLatestStatsForPlayers(anyCollection())).thenReturn(List.of(latest));
+
+        store.prefetchPlayerStats(List.of(existingPlayer, newPlayer));
+
+        Optional<PlayerStats> existing = store.getPlayerStats(existingPlayer);
+        assertTrue(existing.isPresent());
+        assertEquals(42, existing.get().getKills());
+        assertTrue(store.getPlayerStats(newPlayer).isEmpty(),
+                "Player without stored stats should not be found");
+
+        verify(repository, times(1)).findLatestStatsForPlayers(anyCollection());
+        verify(repository, never()).findByPlayerIdOrderByGameTimestampDesc(anyString());
+    }
+
     private PlayerStats createPlayerStats(String playerId, String nickname, int kills, int deaths, Instant lastUpdated) {
         PlayerStats stats = new PlayerStats();
         stats.setPlayerId(playerId);
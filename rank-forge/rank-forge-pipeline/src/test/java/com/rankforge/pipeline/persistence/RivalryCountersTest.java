@@ -0,0 +1,179 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence;
+
+import com.rankforge.pipeline.persistence.entity.AssistEventEntity;
+import com.rankforge.pipeline.persistence.entity.KillEventEntity;
+import com.rankforge.pipeline.persistence.entity.KillMatrixEntity;
+import com.rankforge.pipeline.persistence.entity.PlayerRivalEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RivalryCounters: kill matrix cells and top-K rival heaps
+ */
+@ExtendWith(MockitoExtension.class)
+class RivalryCountersTest {
+
+    private static final String ALICE = "[U:1:1]";
+    private static final String BOB = "[U:1:2]";
+    private static final Instant GAME_OVER = Instant.parse("2026-02-14T21:00:00Z");
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TypedQuery<PlayerRivalEntity> heapQuery;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(entityManager.createQuery(anyString(), eq(PlayerRivalEntity.class))).thenReturn(heapQuery);
+        lenient().when(heapQuery.setParameter(anyString(), any())).thenReturn(heapQuery);
+        lenient().when(heapQuery.getResultList()).thenReturn(List.of());
+    }
+
+    @Test
+    void testApply_NewPairs_CreateAllTimeAndMonthlyCellsAndHeapRows() {
+        RivalryCounters rivalries = new RivalryCounters();
+        rivalries.add(kill(ALICE, BOB));
+        rivalries.add(kill(ALICE, BOB));
+        rivalries.add(kill(BOB, ALICE));
+        rivalries.add(kill(ALICE, "BOT"));
+        rivalries.add(kill(BOB, BOB));
+        rivalries.add(assist(ALICE, BOB));
+
+        rivalries.apply(entityManager, GAME_OVER);
+
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(entityManager, times(12)).persist(captor.capture());
+        Map<String, Integer> cells = captor.getAllValues().stream()
+                .filter(KillMatrixEntity.class::isInstance).map(KillMatrixEntity.class::cast)
+                .collect(Collectors.toMap(c -> c.getKillerId() + ">" + c.getVictimId() + "@" + c.getPeriod(),
+                        KillMatrixEntity::getKills));
+        assertEquals(Map.of(
+                ALICE + ">" + BOB + "@ALL", 2, ALICE + ">" + BOB + "@2026-02", 2,
+                BOB + ">" + ALICE + "@ALL", 1, BOB + ">" + ALICE + "@2026-02", 1), cells);
+        List<PlayerRivalEntity> rivals = captor.getAllValues().stream()
+                .filter(PlayerRivalEntity.class::isInstance).map(PlayerRivalEntity.class::cast)
+                .collect(Collectors.toList());
+        assertEquals(8, rivals.size());
+        PlayerRivalEntity bobsNemesis = rivals.stream()
+                .filter(r -> r.getPlayerId().equals(BOB) && r.getDirection() == PlayerRivalEntity.Direction.NEMESIS)
+                .findFirst().orElseThrow();
+        assertEquals(ALICE, bobsNemesis.getRivalId());
+        assertEquals(2, bobsNemesis.getKills());
+    }
+
+    @Test
+    void testApply_ExistingCellAndHeapRow_AreUpdatedInPlace() {
+        KillMatrixEntity cell = new KillMatrixEntity(ALICE, BOB, KillMatrixEntity.ALL_TIME);
+        cell.setKills(7);
+        when(entityManager.find(KillMatrixEntity.class, new KillMatrixEntity.Key(ALICE, BOB, KillMatrixEntity.ALL_TIME)))
+                .thenReturn(cell);
+        PlayerRivalEntity victimRow = new PlayerRivalEntity(ALICE, KillMatrixEntity.ALL_TIME,
+                PlayerRivalEntity.Direction.VICTIM, BOB, 7);
+        PlayerRivalEntity nemesisRow = new PlayerRivalEntity(BOB, KillMatrixEntity.ALL_TIME,
+                PlayerRivalEntity.Direction.NEMESIS, ALICE, 7);
+        when(heapQuery.getResultList()).thenReturn(List.of(victimRow), List.of(nemesisRow));
+
+        RivalryCounters rivalries = new RivalryCounters();
+        rivalries.add(kill(ALICE, BOB));
+        rivalries.apply(entityManager, null);
+
+        assertEquals(8, cell.getKills());
+        assertEquals(8, victimRow.getKills());
+        assertEquals(8, nemesisRow.getKills());
+        verify(entityManager, never()).persist(any());
+    }
+
+    @Test
+    void testApply_FullHeap_ReplacesTheSmallestRowOnlyWhenBeaten() {
+        KillMatrixEntity cell = new KillMatrixEntity(ALICE, BOB, KillMatrixEntity.ALL_TIME);
+        cell.setKills(5);
+        when(entityManager.find(KillMatrixEntity.class, new KillMatrixEntity.Key(ALICE, BOB, KillMatrixEntity.ALL_TIME)))
+                .thenReturn(cell);
+        List<PlayerRivalEntity> fullHeap = new ArrayList<>();
+        for (int i = 0; i < RivalryCounters.TOP_K; i++) {
+            fullHeap.add(new PlayerRivalEntity(ALICE, KillMatrixEntity.ALL_TIME, PlayerRivalEntity.Direction.VICTIM,
+                    "[U:1:" + (100 + i) + "]", 6 + i));
+        }
+        when(heapQuery.getResultList()).thenReturn(fullHeap, List.of());
+
+        // 6 kills ties the smallest row: no change
+        RivalryCounters tie = new RivalryCounters();
+        tie.add(kill(ALICE, BOB));
+        tie.apply(entityManager, null);
+        verify(entityManager, never()).remove(any());
+
+        // 7 kills beats it
+        when(heapQuery.getResultList()).thenReturn(fullHeap, List.of());
+        RivalryCounters beat = new RivalryCounters();
+        beat.add(kill(ALICE, BOB));
+        beat.apply(entityManager, null);
+
+        verify(entityManager).remove(fullHeap.get(0));
+        ArgumentCaptor<PlayerRivalEntity> captor = ArgumentCaptor.forClass(PlayerRivalEntity.class);
+        verify(entityManager, times(3)).persist(captor.capture());
+        PlayerRivalEntity entered = captor.getAllValues().stream()
+                .filter(r -> r.getPlayerId().equals(ALICE)).reduce((first, last) -> last).orElseThrow();
+        assertEquals(BOB, entered.getRivalId());
+        assertEquals(7, entered.getKills());
+    }
+
+    @Test
+    void testIsCounted_OnlyKillsBetweenDifferentSteamPlayers() {
+        assertTrue(RivalryCounters.isCounted(ALICE, BOB));
+        assertFalse(RivalryCounters.isCounted(ALICE, ALICE));
+        assertFalse(RivalryCounters.isCounted("BOT", BOB));
+        assertFalse(RivalryCounters.isCounted(ALICE, null));
+        assertEquals("2026-02", RivalryCounters.monthOf(GAME_OVER));
+    }
+
+    private static KillEventEntity kill(String killer, String victim) {
+        KillEventEntity kill = new KillEventEntity(GAME_OVER);
+        kill.setPlayer1(killer);
+        kill.setPlayer2(victim);
+        return kill;
+    }
+
+    private static AssistEventEntity assist(String assister, String victim) {
+        AssistEventEntity assist = new AssistEventEntity(GAME_OVER);
+        assist.setPlayer1(assister);
+        assist.setPlayer2(victim);
+        return assist;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence;
+
+import com.rankforge.pipeline.persistence.entity.AssistEventEntity;
+import com.rankforge.pipeline.persistence.entity.AttackEventEntity;
+import com.rankforge.pipeline.persistence.entity.KillEventEntity;
+import com.rankforge.pipeline.persistence.entity.PlayerWeaponStatsEntity;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for WeaponStatsCounters: per (player, weapon) kills, headshots, hits and damage
+ */
+@ExtendWith(MockitoExtension.class)
+class WeaponStatsCountersTest {
+
+    private static final String ALICE = "[U:1:1]";
+    private static final String BOB = "[U:1:2]";
+    private static final Instant TIMESTAMP = Instant.parse("2026-02-14T21:00:00Z");
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Test
+    void testApply_NewRows_AreCreatedWithMatchTotals() {
+        WeaponStatsCounters weaponStats = new WeaponStatsCounters();
+        weaponStats.add(kill(ALICE, BOB, "ak47", true));
+        weaponStats.add(kill(ALICE, BOB, "ak47", false));
+        weaponStats.add(attack(ALICE, BOB, "ak47", 27));
+        weaponStats.add(attack(ALICE, BOB, "ak47", 100));
+        weaponStats.add(kill(BOB, ALICE, "awp", false));
+        weaponStats.add(attack(BOB, ALICE, "awp", 115));
+        weaponStats.add(kill(BOB, BOB, "hegrenade", false));
+        weaponStats.add(attack(BOB, BOB, "hegrenade", 40));
+        weaponStats.add(kill("BOT", ALICE, "m4a1", true));
+        weaponStats.add(kill(ALICE, BOB, null, false));
+        weaponStats.add(assist(ALICE, BOB));
+
+        weaponStats.apply(entityManager);
+
+        ArgumentCaptor<PlayerWeaponStatsEntity> captor = ArgumentCaptor.forClass(PlayerWeaponStatsEntity.class);
+        verify(entityManager, times(2)).persist(captor.capture());
+        Map<String, PlayerWeaponStatsEntity> rows = captor.getAllValues().stream()
+                .collect(Collectors.toMap(w -> w.getPlayerId() + "/" + w.getWeapon(), Function.identity()));
+        assertEquals(2, rows.size());
+        PlayerWeaponStatsEntity ak = rows.get(ALICE + "/ak47");
+        assertEquals(2, ak.getKills());
+        assertEquals(1, ak.getHeadshotKills());
+        assertEquals(2, ak.getHits());
+        assertEquals(127L, ak.getDamage());
+        PlayerWeaponStatsEntity awp = rows.get(BOB + "/awp");
+        assertEquals(1, awp.getKills());
+        assertEquals(115L, awp.getDamage());
+    }
+
+    @Test
+    void testApply_ExistingRow_IsIncrementedInPlace() {
+        PlayerWeaponStatsEntity existing = new PlayerWeaponStatsEntity(ALICE, "deagle");
+        existing.setKills(10);
+        existing.setHeadshotKills(4);
+        existing.setHits(30);
+        existing.setDamage(1500L);
+        when(entityManager.find(PlayerWeaponStatsEntity.class, new PlayerWeaponStatsEntity.Key(ALICE, "deagle")))
+                .thenReturn(existing);
+
+        WeaponStatsCounters weaponStats = new WeaponStatsCounters();
+        weaponStats.add(attack(ALICE, BOB, "deagle", 63));
+        weaponStats.add(kill(ALICE, BOB, "deagle", true));
+        weaponStats.apply(entityManager);
+
+        assertEquals(11, existing.getKills());
+        assertEquals(5, existing.getHeadshotKills());
+        assertEquals(31, existing.getHits());
+        assertEquals(1563L, existing.getDamage());
+        verify(entityManager, never()).persist(any());
+    }
+
+    @Test
+    void testIsEmpty_NoCountedEvents() {
+        WeaponStatsCounters weaponStats = new WeaponStatsCounters();
+        weaponStats.add(kill("BOT", BOB, "ak47", false));
+        weaponStats.add(attack(ALICE, ALICE, "inferno", 8));
+        assertTrue(weaponStats.isEmpty());
+        assertFalse(WeaponStatsCounters.isCounted(ALICE, BOB, ""));
+        assertTrue(WeaponStatsCounters.isCounted(ALICE, null, "knife"));
+    }
+
+    private static KillEventEntity kill(String killer, String victim, String weapon, boolean headshot) {
+        KillEventEntity kill = new KillEventEntity(TIMESTAMP);
+        kill.setPlayer1(killer);
+        kill.setPlayer2(victim);
+        kill.setWeapon(weapon);
+        kill.setIsHeadshot(headshot);
+        return kill;
+    }
+
+    private static AttackEventEntity attack(String attacker, String victim, String weapon, int damage) {
+        AttackEventEntity attack = new AttackEventEntity(TIMESTAMP);
+        attack.setPlayer1(attacker);
+        attack.setPlayer2(victim);
+        attack.setWeapon(weapon);
+        attack.setDamage(damage);
+        return attack;
+    }
+
+    private static AssistEventEntity assist(String assister, String victim) {
+        AssistEventEntity assist = new AssistEventEntity(TIMESTAMP);
+        assist.setPlayer1(assister);
+        assist.setPlayer2(victim);
+        return assist;
+    }
+}
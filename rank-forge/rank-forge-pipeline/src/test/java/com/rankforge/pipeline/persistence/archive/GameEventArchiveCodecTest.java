@@ -0,0 +1,222 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.archive;
+
+import com.rankforge.core.events.GameEventType;
+import com.rankforge.pipeline.persistence.entity.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the per-game compressed event archive encoding.
+ * 
+ * Author bageshwar.pn
+ * Date 2026
+ */
+class GameEventArchiveCodecTest {
+
+    private static final Instant START = Instant.parse("2026-03-01T20:00:00Z");
+
+    @Nested
+    @DisplayName("Round trip")
+    class RoundTripTests {
+
+        @Test
+        @DisplayName("Should restore every event type with its fields, ids and round links")
+        void shouldRoundTripAllEventTypes() {
+            List<GameEventEntity> events = createMatch(2);
+
+            List<GameEventEntity> decoded = GameEventArchiveCodec.decode(encode(events));
+
+            assertEquals(events.size(), decoded.size());
+            for (int i = 0; i < events.size(); i++) {
+                GameEventEntity expected = events.get(i);
+                GameEventEntity actual = decoded.get(i);
+                assertEquals(expected.getClass(), actual.getClass());
+                assertEquals(expected.getId(), actual.getId());
+                assertEquals(expected.getGameEventType(), actual.getGameEventType());
+                assertEquals(expected.getTimestamp(), actual.getTimestamp());
+                assertEquals(expected.getPlayer1(), actual.getPlayer1());
+                assertEquals(expected.getPlayer2(), actual.getPlayer2());
+                assertEquals(expected.getPlayer1Team(), actual.getPlayer1Team());
+                assertEquals(expected.getCoordinates(), actual.getCoordinates());
+                if (expected.getRoundStart() == null) {
+                    assertNull(actual.getRoundStart());
+                } else {
+                    assertEquals(expected.getRoundStart().getId(), actual.getRoundStart().getId());
+                }
+            }
+
+            KillEventEntity kill = (KillEventEntity) decoded.get(1);
+            assertEquals("ak47", kill.getWeapon());
+            assertTrue(kill.getIsHeadshot());
+            AssistEventEntity assist = (AssistEventEntity) decoded.get(2);
+            assertEquals("flash", assist.getAssistType());
+            AttackEventEntity attack = (AttackEventEntity) decoded.get(3);
+            assertEquals(27, attack.getDamage());
+            assertNull(attack.getArmorDamage());
+            assertEquals(-3, attack.getHealthRemaining());
+            assertEquals("head", attack.getHitGroup());
+            BombEventEntity bomb = (BombEventEntity) decoded.get(4);
+            assertEquals("planted", bomb.getEventType());
+            assertEquals(40, bomb.getTimeRemaining());
+            RoundEndEventEntity roundEnd = (RoundEndEventEntity) decoded.get(5);
+            assertEquals("[\"101\",\"102\"]", roundEnd.getPlayersJson());
+            GameOverEventEntity gameOver = (GameOverEventEntity) decoded.get(decoded.size() - 1);
+            assertEquals("de_ancient", gameOver.getMap());
+            assertEquals(13, gameOver.getTeam1Score());
+            assertEquals(11, gameOver.getTeam2Score());
+        }
+
+        @Test
+        @DisplayName("Should share one round start instance between the events of a round")
+        void shouldShareRoundStartInstances() {
+            List<GameEventEntity> decoded = GameEventArchiveCodec.decode(encode(createMatch(1)));
+
+            RoundStartEventEntity roundStart = (RoundStartEventEntity) decoded.get(0);
+            for (GameEventEntity event : decoded.subList(1, 6)) {
+                assertSame(roundStart, event.getRoundStart());
+            }
+        }
+
+        @Test
+        @DisplayName("Should compress repeated players and weapons well below the plain text size")
+        void shouldCompressRepetitiveMatch() {
+            List<GameEventEntity> events = createMatch(24);
+            int plainBytes = events.stream()
+                    .mapToInt(e -> String.valueOf(e.getPlayer1()).length() + String.valueOf(e.getPlayer2()).length() + 24)
+                    .sum();
+
+            byte[] archive = encode(events);
+
+            assertTrue(archive.length < plainBytes / 4,
+                    "archive of " + archive.length + " bytes for ~" + plainBytes + " bytes of event text");
+        }
+    }
+
+    @Nested
+    @DisplayName("Validation")
+    class ValidationTests {
+
+        @Test
+        @DisplayName("Should reject events that have not been persisted")
+        void shouldRejectUnpersistedEvents() {
+            GameEventArchiveCodec.Encoder encoder = new GameEventArchiveCodec.Encoder();
+            KillEventEntity kill = new KillEventEntity();
+            kill.setGameEventType(GameEventType.KILL);
+            kill.setTimestamp(START);
+
+            assertThrows(IllegalArgumentException.class, () -> encoder.add(kill));
+        }
+
+        @Test
+        @DisplayName("Should reject payloads that are not archives")
+        void shouldRejectForeignPayload() {
+            assertThrows(IllegalArgumentException.class, 
+                    () -> GameEventArchiveCodec.decode("not an archive".getBytes()));
+        }
+
+        @Test
+        @DisplayName("Should decode an empty archive")
+        void shouldDecodeEmptyArchive() {
+            GameEventArchiveCodec.Encoder encoder = new GameEventArchiveCodec.Encoder();
+
+            assertTrue(GameEventArchiveCodec.decode(encoder.finish()).isEmpty());
+            assertEquals(0, encoder.getEventCount());
+        }
+    }
+
+    private static byte[] encode(List<GameEventEntity> events) {
+        GameEventArchiveCodec.Encoder encoder = new GameEventArchiveCodec.Encoder();
+        events.forEach(encoder::add);
+        assertEquals(events.size(), encoder.getEventCount());
+        return encoder.finish();
+    }
+
+    private static List<GameEventEntity> createMatch(int rounds) {
+        List<GameEventEntity> events = new ArrayList<>();
+        long id = 1000;
+        Instant at = START;
+        for (int round = 0; round < rounds; round++) {
+            RoundStartEventEntity roundStart = event(new RoundStartEventEntity(), GameEventType.ROUND_START, id++, at, null);
+            events.add(roundStart);
+
+            KillEventEntity kill = event(new KillEventEntity(), GameEventType.KILL, id++, at.plusSeconds(20), roundStart);
+            kill.setPlayer1("[U:1:101]");
+            kill.setPlayer2("[U:1:102]");
+            kill.setPlayer1Team("CT");
+            kill.setPlayer2Team("TERRORIST");
+            kill.setCoordinates("{\"x\":1.5}");
+            kill.setWeapon("ak47");
+            kill.setIsHeadshot(true);
+            events.add(kill);
+
+            AssistEventEntity assist = event(new AssistEventEntity(), GameEventType.ASSIST, id++, at.plusSeconds(20), roundStart);
+            assist.setPlayer1("[U:1:103]");
+            assist.setPlayer2("[U:1:102]");
+            assist.setAssistType("flash");
+            events.add(assist);
+
+            AttackEventEntity attack = event(new AttackEventEntity(), GameEventType.ATTACK, id++, at.plusMillis(19_500), roundStart);
+            attack.setPlayer1("[U:1:101]");
+            attack.setPlayer2("[U:1:102]");
+            attack.setWeapon("ak47");
+            attack.setDamage(27);
+            attack.setHitGroup("head");
+            attack.setHealthRemaining(-3);
+            events.add(attack);
+
+            BombEventEntity bomb = event(new BombEventEntity(), GameEventType.BOMB_EVENT, id++, at.plusSeconds(60), roundStart);
+            bomb.setPlayer("[U:1:102]");
+            bomb.setEventType("planted");
+            bomb.setTimeRemaining(40);
+            events.add(bomb);
+
+            RoundEndEventEntity roundEnd = event(new RoundEndEventEntity(), GameEventType.ROUND_END, id++, at.plusSeconds(100), roundStart);
+            roundEnd.setPlayersJson("[\"101\",\"102\"]");
+            events.add(roundEnd);
+
+            at = at.plusSeconds(115);
+        }
+        GameOverEventEntity gameOver = event(new GameOverEventEntity(), GameEventType.GAME_OVER, id, at, null);
+        gameOver.setMap("de_ancient");
+        gameOver.setMode("competitive");
+        gameOver.setTeam1Score(13);
+        gameOver.setTeam2Score(11);
+        gameOver.setDuration(42);
+        events.add(gameOver);
+        return events;
+    }
+
+    private static <T extends GameEventEntity> T event(T event, GameEventType type, long id, Instant at,
+                                                       RoundStartEventEntity roundStart) {
+        event.setId(id);
+        event.setGameEventType(type);
+        event.setTimestamp(at);
+        event.setRoundStart(roundStart);
+        return event;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.series;
+
+import com.rankforge.pipeline.persistence.entity.PlayerRatingSeriesEntity;
+import com.rankforge.pipeline.persistence.entity.PlayerStatsEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the delta-encoded player rating series.
+ * 
+ * Author bageshwar.pn
+ * Date 2026
+ */
+class RatingSeriesCodecTest {
+
+    private static final String PLAYER_ID = "[U:1:1000000]";
+    private static final Instant START = Instant.parse("2026-03-01T20:00:00Z");
+
+    @Test
+    @DisplayName("Should restore every point of a built series")
+    void shouldRoundTripHistory() {
+        List<PlayerStatsEntity> history = createHistory(500);
+
+        PlayerRatingSeriesEntity series = RatingSeriesCodec.build(PLAYER_ID, history);
+        List<RatingSeriesCodec.Point> points = RatingSeriesCodec.decode(series);
+
+        assertEquals(500, series.getPointCount());
+        assertEquals(history.get(499).getGameTimestamp(), series.getLastGameTimestamp());
+        assertEquals(500, points.size());
+        for (int i = 0; i < history.size(); i++) {
+            PlayerStatsEntity expected = history.get(i);
+            RatingSeriesCodec.Point actual = points.get(i);
+            assertEquals(expected.getGameTimestamp(), actual.getGameTimestamp());
+            assertEquals(expected.getRank(), actual.getRank());
+            assertEquals(expected.getKills(), actual.getKills());
+            assertEquals(expected.getDeaths(), actual.getDeaths());
+            assertEquals(expected.getAssists(), actual.getAssists());
+        }
+        // Small deltas: well under the 16 bytes per game of a fixed-width encoding
+        assertTrue(series.getPayload().length < 500 * 10, "payload was " + series.getPayload().length + " bytes");
+    }
+
+    @Test
+    @DisplayName("Should append a newer game and decode the same as a full build")
+    void shouldAppendNewerGame() {
+        List<PlayerStatsEntity> history = createHistory(3);
+        PlayerRatingSeriesEntity series = RatingSeriesCodec.build(PLAYER_ID, history.subList(0, 2));
+
+        assertTrue(RatingSeriesCodec.append(series, history.get(2)));
+
+        PlayerRatingSeriesEntity rebuilt = RatingSeriesCodec.build(PLAYER_ID, history);
+        assertArrayEquals(rebuilt.getPayload(), series.getPayload());
+        assertEquals(3, series.getPointCount());
+        assertEquals(history.get(2).getId(), series.getLastSnapshotId());
+    }
+
+    @Test
+    @DisplayName("Should refuse a game older than the last point")
+    void shouldRejectOlderGame() {
+        List<PlayerStatsEntity> history = createHistory(3);
+        PlayerRatingSeriesEntity series = RatingSeriesCodec.build(PLAYER_ID, List.of(history.get(0), history.get(2)));
+        byte[] payload = series.getPayload();
+
+        assertFalse(RatingSeriesCodec.append(series, history.get(1)));
+        assertSame(payload, series.getPayload());
+        assertEquals(2, series.getPointCount());
+        assertEquals(history.get(2).getId(), series.getLastSnapshotId());
+    }
+
+    private List<PlayerStatsEntity> createHistory(int games) {
+        List<PlayerStatsEntity> history = new ArrayList<>();
+        int rank = 1000;
+        int kills = 0;
+        int deaths = 0;
+        int assists = 0;
+        for (int i = 0; i < games; i++) {
+            // Ratings go up and down, cumulative stats only grow
+            rank += (i % 3 == 0) ? -12 : 9;
+            kills += 15 + i % 7;
+            deaths += 12 + i % 5;
+            assists += i % 4;
+            PlayerStatsEntity snapshot = new PlayerStatsEntity();
+            snapshot.setId(100L + i);
+            snapshot.setPlayerId(PLAYER_ID);
+            snapshot.setGameTimestamp(START.plus(Duration.ofHours(20L * i)));
+            snapshot.setRank(rank);
+            snapshot.setKills(kills);
+            snapshot.setDeaths(deaths);
+            snapshot.setAssists(assists);
+            history.add(snapshot);
+        }
+        return history;
+    }
+}
@@ -0,0 +1,433 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.pipeline.persistence.spool;
+
+import com.rankforge.pipeline.persistence.EventProcessingContext;
+import com.rankforge.pipeline.persistence.PlayerStatsCommitListener;
+import com.rankforge.pipeline.persistence.entity.*;
+import com.rankforge.pipeline.persistence.spool.MatchSpool.Position;
+import com.rankforge.pipeline.persistence.spool.MatchSpool.SpoolRecord;
+import com.rankforge.pipeline.persistence.spool.MatchSpool.SpooledBatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLTransientConnectionException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the write-behind match queue and its durable spool.
+ * 
+ * Author bageshwar.pn
+ * Date 2026
+ */
+class WriteBehindMatchQueueTest {
+
+    private static final Instant GAME_OVER = Instant.parse("2026-03-01T20:00:00Z");
+
+    @TempDir
+    Path tempDir;
+
+    private MatchSpool spool;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        spool = new MatchSpool(tempDir.resolve("spool/match-spool.jsonl"));
+    }
+
+    @Nested
+    @DisplayName("Spool")
+    class SpoolTests {
+
+        @Test
+        @DisplayName("Should read back a pending match with types and round links restored")
+        void shouldRoundTripPendingMatch() throws Exception {
+            spool.append(createBatch("de_dust2", GAME_OVER));
+
+            List<SpooledBatch> pending = pending();
+
+            assertEquals(1, pending.size());
+            MatchBatch batch = pending.get(0).getBatch();
+            assertEquals(MatchBatch.fingerprintOf("de_dust2", GAME_OVER), batch.getFingerprint());
+            assertEquals("de_dust2", batch.getGame().getMap());
+            assertNull(batch.getGame().getId(), "Database identifiers must not be spooled");
+
+            List<GameEventEntity> events = batch.getEvents();
+            assertEquals(3, events.size());
+            RoundStartEventEntity roundStart = assertInstanceOf(RoundStartEventEntity.class, events.get(0));
+            KillEventEntity kill = assertInstanceOf(KillEventEntity.class, events.get(1));
+            assertInstanceOf(RoundEndEventEntity.class, events.get(2));
+            assertEquals("AK-47", kill.getWeapon());
+            assertSame(roundStart, kill.getRoundStart());
+            assertSame(batch.getGame(), kill.getGame());
+
+            assertEquals(1, batch.getAccolades().size());
+            assertSame(batch.getGame(), batch.getAccolades().get(0).getGame());
+            assertEquals(12, batch.getPlayerStats().get(0).getKills());
+            assertSame(batch.getGame(), batch.getPlayerStats().get(0).getGame());
+        }
+
+        @Test
+        @DisplayName("Acknowledged matches should no longer be pending")
+        void acknowledgedMatchShouldNotBePending() throws Exception {
+            MatchBatch first = createBatch("de_dust2", GAME_OVER);
+            MatchBatch second = createBatch("de_mirage", GAME_OVER.plusSeconds(3600));
+            Position firstEnd = spool.append(first);
+            spool.append(second);
+
+            spool.acknowledge(firstEnd);
+
+            List<SpooledBatch> pending = pending();
+            assertEquals(1, pending.size());
+            assertEquals(second.getFingerprint(), pending.get(0).getBatch().getFingerprint());
+        }
+
+        @Test
+        @DisplayName("The acknowledged position should survive a restart")
+        void acknowledgedPositionShouldBePersisted() throws Exception {
+            Position firstEnd = spool.append(createBatch("de_dust2", GAME_OVER));
+            MatchBatch second = createBatch("de_mirage", GAME_OVER.plusSeconds(3600));
+            spool.append(second);
+            spool.acknowledge(firstEnd);
+
+            MatchSpool reopened = new MatchSpool(spool.getFile());
+
+            List<SpooledBatch> pending = reopened.read(reopened.getAckedPosition(), 10);
+            assertEquals(1, pending.size());
+            assertEquals(second.getFingerprint(), pending.get(0).getBatch().getFingerprint());
+        }
+
+        @Test
+        @DisplayName("Reads should return at most the requested number of matches, in order")
+        void readShouldBeBounded() throws Exception {
+            for (int i = 0; i < 3; i++) {
+                spool.append(createBatch("de_dust2", GAME_OVER.plusSeconds(i * 3600L)));
+            }
+
+            List<SpooledBatch> first = spool.read(spool.getAckedPosition(), 2);
+            List<SpooledBatch> rest = spool.read(first.get(1).getEnd(), 2);
+
+            assertEquals(2, first.size());
+            assertEquals(1, rest.size());
+            assertEquals(MatchBatch.fingerprintOf("de_dust2", GAME_OVER.plusSeconds(7200)), 
+                    rest.get(0).getBatch().getFingerprint());
+        }
+
+        @Test
+        @DisplayName("A partially written last record should be skipped")
+        void shouldSkipTornRecord() throws Exception {
+            spool.append(createBatch("de_dust2", GAME_OVER));
+            Files.writeString(spool.getSegments().get(0), "{\"type\":\"BATCH\",\"fingerprint\":\"de_inf", 
+                    StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+            assertEquals(1, pending().size());
+
+            // After a restart appends must not continue behind the partial line
+            MatchSpool reopened = new MatchSpool(spool.getFile());
+            reopened.append(createBatch("de_mirage", GAME_OVER));
+            assertEquals(2, reopened.read(reopened.getAckedPosition(), 10).size());
+        }
+
+        @Test
+        @DisplayName("Fully acknowledged segments should be deleted")
+        void acknowledgedSegmentsShouldBeDeleted() throws Exception {
+            MatchSpool rotating = new MatchSpool(tempDir.resolve("rotating/match-spool.jsonl"), 1);
+            Position firstEnd = rotating.append(createBatch("de_dust2", GAME_OVER));
+            rotating.append(createBatch("de_mirage", GAME_OVER));
+            Position lastEnd = rotating.append(createBatch("de_inferno", GAME_OVER));
+            assertEquals(3, rotating.getSegments().size());
+
+            rotating.acknowledge(firstEnd);
+            assertEquals(2, rotating.getSegments().size());
+
+            rotating.acknowledge(lastEnd);
+            assertTrue(rotating.getSegments().isEmpty());
+            assertTrue(rotating.read(rotating.getAckedPosition(), 10).isEmpty());
+        }
+
+        @Test
+        @DisplayName("A single-file spool should be migrated with only its unacknowledged matches")
+        void shouldMigrateSingleFileSpool() throws Exception {
+            Path legacy = tempDir.resolve("legacy/match-spool.jsonl");
+            Files.createDirectories(legacy.getParent());
+            MatchBatch acknowledged = createBatch("de_dust2", GAME_OVER);
+            MatchBatch pending = createBatch("de_mirage", GAME_OVER);
+            Files.writeString(legacy, legacyRecord(MatchSpool.BATCH, acknowledged) 
+                    + legacyRecord(MatchSpool.BATCH, pending) 
+                    + legacyRecord(MatchSpool.ACK, acknowledged), StandardCharsets.UTF_8);
+
+            MatchSpool migrated = new MatchSpool(legacy);
+
+            List<SpooledBatch> batches = migrated.read(migrated.getAckedPosition(), 10);
+            assertEquals(1, batches.size());
+            assertEquals(pending.getFingerprint(), batches.get(0).getBatch().getFingerprint());
+            assertFalse(Files.exists(legacy));
+        }
+
+        private String legacyRecord(String type, MatchBatch batch) throws Exception {
+            SpoolRecord record = new SpoolRecord();
+            record.type = type;
+            record.fingerprint = batch.getFingerprint();
+            record.batch = MatchSpool.BATCH.equals(type) ? batch : null;
+            return MatchSpool.createSpoolObjectMapper().writeValueAsString(record) + "\n";
+        }
+    }
+
+    @Nested
+    @DisplayName("Queue")
+    class QueueTests {
+
+        private MatchBatchWriter writer;
+        private WriteBehindMatchQueue queue;
+
+        @BeforeEach
+        void setUp() {
+            writer = mock(MatchBatchWriter.class);
+            queue = new WriteBehindMatchQueue(spool, writer, 2);
+        }
+
+        @AfterEach
+        void tearDown() {
+            queue.close();
+        }
+
+        @Test
+        @DisplayName("Submit should spool the match and expose its stats without touching the database")
+        void submitShouldSpoolWithoutWriting() throws Exception {
+            MatchBatch batch = createBatch("de_dust2", GAME_OVER);
+
+            queue.submit(batch);
+
+            verifyNoInteractions(writer);
+            assertTrue(queue.isPending(batch.getFingerprint()));
+            assertEquals(1, pending().size());
+            assertEquals(12, queue.getPendingStats("[U:1:100]").orElseThrow().getKills());
+        }
+
+        @Test
+        @DisplayName("Drained matches should be acknowledged and their segments deleted")
+        void drainShouldAcknowledgeAndCompact() throws Exception {
+            when(writer.write(any())).thenReturn(true);
+            MatchBatch batch = createBatch("de_dust2", GAME_OVER);
+
+            queue.start();
+            queue.submit(batch);
+
+            verify(writer, timeout(5000)).write(batch);
+            waitUntilDrained();
+            assertFalse(queue.isPending(batch.getFingerprint()));
+            assertTrue(queue.getPendingStats("[U:1:100]").isEmpty());
+            assertTrue(spool.getSegments().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Committed matches should be reported to the commit listener, duplicates should not")
+        void committedMatchesShouldNotifyListener() throws Exception {
+            PlayerStatsCommitListener listener = mock(PlayerStatsCommitListener.class);
+            queue.setCommitListener(listener);
+            when(writer.write(any())).thenReturn(true, false);
+            MatchBatch written = createBatch("de_dust2", GAME_OVER);
+            MatchBatch duplicate = createBatch("de_mirage", GAME_OVER);
+
+            queue.start();
+            queue.submit(written);
+            queue.submit(duplicate);
+
+            verify(writer, timeout(5000).times(2)).write(any());
+            waitUntilDrained();
+            verify(listener, timeout(5000)).onPlayerStatsCommitted(written.getPlayerStats());
+            verifyNoMoreInteractions(listener);
+        }
+
+        @Test
+        @DisplayName("Unacknowledged matches in the spool should be replayed on start")
+        void startShouldReplaySpool() throws Exception {
+            when(writer.write(any())).thenReturn(false); // already stored before the restart
+            spool.append(createBatch("de_dust2", GAME_OVER));
+
+            queue.start();
+
+            verify(writer, timeout(5000)).write(any());
+            waitUntilDrained();
+            assertTrue(pending().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Failed writes should be retried until the database is available")
+        void failedWriteShouldBeRetried() throws Exception {
+            when(writer.write(any()))
+                    .thenThrow(new IllegalStateException("database paused"))
+                    .thenReturn(true);
+
+            queue.start();
+            queue.submit(createBatch("de_dust2", GAME_OVER));
+
+            verify(writer, timeout(5000).times(2)).write(any());
+            waitUntilDrained();
+        }
+
+        @Test
+        @DisplayName("A match that keeps failing should be dead-lettered without blocking later matches")
+        void poisonMatchShouldBeDeadLettered() throws Exception {
+            MatchBatch poison = createBatch("de_dust2", GAME_OVER);
+            MatchBatch next = createBatch("de_mirage", GAME_OVER);
+            when(writer.write(poison)).thenThrow(new IllegalStateException("constraint violation"));
+            when(writer.write(next)).thenReturn(true);
+            queue.setMaxAttempts(2);
+
+            queue.start();
+            queue.submit(poison);
+            queue.submit(next);
+
+            verify(writer, timeout(5000)).write(next);
+            waitUntilDrained();
+            verify(writer, times(2)).write(poison);
+            assertTrue(Files.readString(spool.getDeadLetterFile()).contains(poison.getFingerprint()));
+            assertTrue(pending().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Connection failures should not count towards the attempt limit")
+        void connectionFailuresShouldNotBeCounted() {
+            RuntimeException unreachable = new RuntimeException("Unable to acquire JDBC Connection",
+                    new SQLTransientConnectionException("Connection is not available"));
+
+            assertTrue(WriteBehindMatchQueue.isConnectionFailure(unreachable));
+            assertFalse(WriteBehindMatchQueue.isConnectionFailure(new IllegalStateException("bad data")));
+        }
+
+        @Test
+        @DisplayName("Matches beyond capacity should stay in the spool and drain in order")
+        void overflowShouldDrainFromSpool() throws Exception {
+            when(writer.write(any())).thenReturn(true);
+            for (int i = 0; i < 5; i++) {
+                queue.submit(createBatch("de_dust2", GAME_OVER.plusSeconds(i * 3600L)));
+            }
+            assertEquals(5, queue.getPendingCount());
+
+            queue.start();
+
+            verify(writer, timeout(10000).times(5)).write(any());
+            waitUntilDrained();
+            verify(writer, times(5)).write(any());
+            assertTrue(pending().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Spilled matches should be written in submission order")
+        void spilledMatchesShouldKeepOrder() throws Exception {
+            when(writer.write(any())).thenReturn(true);
+            List<String> submitted = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                MatchBatch batch = createBatch("de_dust2", GAME_OVER.plusSeconds(i * 3600L));
+                submitted.add(batch.getFingerprint());
+                queue.submit(batch);
+            }
+
+            queue.start();
+
+            verify(writer, timeout(10000).times(5)).write(any());
+            ArgumentCaptor<MatchBatch> written = ArgumentCaptor.forClass(MatchBatch.class);
+            verify(writer, times(5)).write(written.capture());
+            assertEquals(submitted, written.getAllValues().stream()
+                    .map(MatchBatch::getFingerprint).collect(Collectors.toList()));
+        }
+
+        @Test
+        @DisplayName("A match already queued should not be queued twice")
+        void duplicateSubmitShouldBeIgnored() throws Exception {
+            queue.submit(createBatch("de_dust2", GAME_OVER));
+            queue.submit(createBatch("de_dust2", GAME_OVER));
+
+            assertEquals(1, queue.getPendingCount());
+            assertEquals(1, pending().size());
+        }
+
+        private void waitUntilDrained() throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (queue.getPendingCount() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals(0, queue.getPendingCount(), "Queue should be drained");
+        }
+    }
+
+    // ========================================================================
+    // Helper methods
+    // ========================================================================
+
+    private List<SpooledBatch> pending() throws Exception {
+        return spool.read(spool.getAckedPosition(), 100);
+    }
+
+    private MatchBatch createBatch(String map, Instant gameOver) {
+        EventProcessingContext context = new EventProcessingContext();
+        context.setAppServerId(1L);
+
+        GameEntity game = new GameEntity();
+        game.setMap(map);
+        game.setGameOverTimestamp(gameOver);
+        game.setEndTime(gameOver);
+        game.setTeam1Score(13);
+        game.setTeam2Score(9);
+        game.setAppServerId(1L);
+        context.setCurrentGame(game);
+
+        AccoladeEntity accolade = new AccoladeEntity();
+        accolade.setType("MVP");
+        accolade.setPlayerName("Player1");
+        accolade.setValue(3.0);
+        accolade.setPosition(1);
+        accolade.setScore(10.0);
+        context.addAccolade(accolade);
+        context.linkAccoladesToGame();
+
+        context.onRoundStart(new RoundStartEventEntity(gameOver.minusSeconds(120)));
+        KillEventEntity kill = new KillEventEntity(gameOver.minusSeconds(100));
+        kill.setWeapon("AK-47");
+        kill.setIsHeadshot(true);
+        context.addEvent(kill);
+        context.onRoundEnd(new RoundEndEventEntity(gameOver.minusSeconds(60)));
+
+        PlayerStatsEntity stats = new PlayerStatsEntity();
+        stats.setPlayerId("[U:1:100]");
+        stats.setKills(12);
+        stats.setGameTimestamp(gameOver);
+        stats.setGame(game);
+        stats.setAppServerId(1L);
+        context.addPendingPlayerStats(List.of(stats));
+
+        return MatchBatch.capture(context);
+    }
+}
@@ -0,0 +1,400 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Size-bounded in-memory cache with expire-after-write and refresh-ahead.
+ * 
+ * Entries are kept in least-recently-used order and the eldest is evicted once {@code maxEntries}
+ * is exceeded. An entry older than the TTL is treated as absent. When a synchronized lookup
+ * ({@code @Cacheable(sync = true)}) hits an entry older than the refresh threshold, the cached value
+ * is returned and the value is reloaded in the background, so hot keys do not expire under load.
+ * 
+ * Loads are single-flight: concurrent synchronized lookups of the same missing key wait for one
+ * in-flight load instead of each running the loader (counted as coalesced requests).
+ * 
+ * Every eviction bumps a generation counter; loads and refreshes that started before an eviction
+ * do not store their (possibly stale) result.
+ * 
+ * Author bageshwar.pn
+ * Date 2026
+ */
+public class BoundedTtlCache implements Cache {
+    
+    private static final Logger CACHE_LOGGER = LoggerFactory.getLogger("Cache");
+    
+    private final String name;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long refreshAfterNanos;
+    private final Executor refreshExecutor;
+    private final LongSupplier ticker;
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private long generation = 0;
+    
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    
+    /**
+     * @param name Cache name
+     * @param maxEntries Maximum number of entries
+     * @param ttl Time to live after write, or null to never expire
+     * @param refreshAfter Age after which a hit triggers a background reload, or null to disable
+     * @param refreshExecutor Runs background reloads
+     */
+    public BoundedTtlCache(String name, int maxEntries, Duration ttl, Duration refreshAfter, Executor refreshExecutor) {
+        this(name, maxEntries, ttl, refreshAfter, refreshExecutor, System::nanoTime);
+    }
+    
+    BoundedTtlCache(String name, int maxEntries, Duration ttl, Duration refreshAfter, Executor refreshExecutor,
+                    LongSupplier ticker) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be >= 1");
+        }
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl != null ? ttl.toNanos() : Long.MAX_VALUE;
+        this.refreshAfterNanos = refreshAfter != null ? refreshAfter.toNanos() : Long.MAX_VALUE;
+        this.refreshExecutor = refreshExecutor;
+        this.ticker = ticker;
+    }
+    
+    @Override
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+    
+    @Override
+    public ValueWrapper get(Object key) {
+        Entry entry = lookup(key);
+        return entry != null ? new SimpleValueWrapper(entry.value) : null;
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        Entry entry = lookup(key);
+        if (entry == null) {
+            return null;
+        }
+        if (type != null && !type.isInstance(entry.value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + entry.value);
+        }
+        return (T) entry.value;
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Entry entry = lookup(key);
+        if (entry != null) {
+            if (ticker.getAsLong() - entry.writtenAt >= refreshAfterNanos && entry.startRefresh()) {
+                refreshAhead(key, entry, valueLoader);
+            }
+            return (T) entry.value;
+        }
+        
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            CACHE_LOGGER.debug("Cache MISS - waiting for in-flight load: cache='{}', key='{}'", name, key);
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            }
+        }
+        try {
+            // A load that finished between the lookup and registering this flight has stored its value
+            Entry loaded = peek(key);
+            if (loaded != null) {
+                flight.complete(loaded.value);
+                return (T) loaded.value;
+            }
+            T value = load(key, valueLoader);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            // Waiters must never be left blocked on a failed load
+            flight.completeExceptionally(e instanceof ValueRetrievalException ? e.getCause() : e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+    
+    private <T> T load(Object key, Callable<T> valueLoader) {
+        long startGeneration = currentGeneration();
+        CACHE_LOGGER.debug("Cache MISS - loading value: cache='{}', key='{}'", name, key);
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        loads.incrementAndGet();
+        if (value != null) {
+            store(key, value, startGeneration);
+        }
+        return value;
+    }
+    
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        synchronized (this) {
+            insert(key, value);
+        }
+        CACHE_LOGGER.info("Cache PUT: cache='{}', key='{}'", name, key);
+    }
+    
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = get(key);
+        if (existing == null) {
+            put(key, value);
+        }
+        return existing;
+    }
+    
+    @Override
+    public void evict(Object key) {
+        synchronized (this) {
+            generation++;
+            entries.remove(key);
+        }
+        CACHE_LOGGER.info("Cache EVICT: cache='{}', key='{}'", name, key);
+    }
+    
+    @Override
+    public void clear() {
+        synchronized (this) {
+            generation++;
+            entries.clear();
+        }
+        CACHE_LOGGER.info("Cache CLEAR: cache='{}'", name);
+    }
+    
+    /**
+     * Evicts every entry whose key matches
+     * @return Number of entries evicted
+     */
+    public int evictIf(Predicate<Object> keyPredicate) {
+        int evicted = 0;
+        synchronized (this) {
+            generation++;
+            Iterator<Object> keys = entries.keySet().iterator();
+            while (keys.hasNext()) {
+                if (keyPredicate.test(keys.next())) {
+                    keys.remove();
+                    evicted++;
+                }
+            }
+        }
+        CACHE_LOGGER.info("Cache EVICT: cache='{}', {} matching entries", name, evicted);
+        return evicted;
+    }
+    
+    public synchronized int size() {
+        return entries.size();
+    }
+    
+    public Stats getStats() {
+        return new Stats(size(), maxEntries, hits.get(), misses.get(), loads.get(), coalesced.get(), 
+                refreshes.get(), evictions.get(), expirations.get());
+    }
+    
+    private Entry lookup(Object key) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry != null && ticker.getAsLong() - entry.writtenAt >= ttlNanos) {
+                entries.remove(key);
+                expirations.incrementAndGet();
+                entry = null;
+            }
+        }
+        if (entry != null) {
+            hits.incrementAndGet();
+            CACHE_LOGGER.info("Cache HIT: cache='{}', key='{}'", name, key);
+        } else {
+            misses.incrementAndGet();
+            CACHE_LOGGER.debug("Cache MISS: cache='{}', key='{}'", name, key);
+        }
+        return entry;
+    }
+    
+    /**
+     * Current unexpired entry, without counting a hit or miss
+     */
+    private synchronized Entry peek(Object key) {
+        Entry entry = entries.get(key);
+        return entry != null && ticker.getAsLong() - entry.writtenAt < ttlNanos ? entry : null;
+    }
+    
+    private <T> void refreshAhead(Object key, Entry entry, Callable<T> valueLoader) {
+        long startGeneration = currentGeneration();
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    T value = valueLoader.call();
+                    refreshes.incrementAndGet();
+                    if (value != null) {
+                        store(key, value, startGeneration);
+                    }
+                } catch (Exception e) {
+                    CACHE_LOGGER.warn("Cache REFRESH failed: cache='{}', key='{}'", name, key, e);
+                } finally {
+                    entry.endRefresh();
+                }
+            });
+        } catch (RuntimeException e) {
+            // Executor rejected the task (e.g. shutting down); the entry simply expires
+            entry.endRefresh();
+        }
+    }
+    
+    private synchronized long currentGeneration() {
+        return generation;
+    }
+    
+    /**
+     * Stores a loaded value unless the cache was evicted since the load started
+     */
+    private void store(Object key, Object value, long startGeneration) {
+        synchronized (this) {
+            if (generation != startGeneration) {
+                CACHE_LOGGER.debug("Cache DISCARD: cache='{}', key='{}' (evicted while loading)", name, key);
+                return;
+            }
+            insert(key, value);
+        }
+        CACHE_LOGGER.info("Cache PUT: cache='{}', key='{}'", name, key);
+    }
+    
+    private void insert(Object key, Object value) {
+        entries.put(key, new Entry(value, ticker.getAsLong()));
+        Iterator<Map.Entry<Object, Entry>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+    
+    private static final class Entry {
+        private final Object value;
+        private final long writtenAt;
+        private boolean refreshing = false;
+        
+        Entry(Object value, long writtenAt) {
+            this.value = value;
+            this.writtenAt = writtenAt;
+        }
+        
+        synchronized boolean startRefresh() {
+            if (refreshing) {
+                return false;
+            }
+            refreshing = true;
+            return true;
+        }
+        
+        synchronized void endRefresh() {
+            refreshing = false;
+        }
+    }
+    
+    /**
+     * Point-in-time cache statistics
+     */
+    public static class Stats {
+        private final int size;
+        private final int maxEntries;
+        private final long hits;
+        private final long misses;
+        private final long loads;
+        private final long coalesced;
+        private final long refreshes;
+        private final long evictions;
+        private final long expirations;
+        
+        Stats(int size, int maxEntries, long hits, long misses, long loads, long coalesced, long refreshes,
+              long evictions, long expirations) {
+            this.size = size;
+            this.maxEntries = maxEntries;
+            this.hits = hits;
+            this.misses = misses;
+            this.loads = loads;
+            this.coalesced = coalesced;
+            this.refreshes = refreshes;
+            this.evictions = evictions;
+            this.expirations = expirations;
+        }
+        
+        public int getSize() { return size; }
+        public int getMaxEntries() { return maxEntries; }
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getLoads() { return loads; }
+        /** Requests that waited for another request's in-flight load instead of loading */
+        public long getCoalesced() { return coalesced; }
+        public long getRefreshes() { return refreshes; }
+        public long getEvictions() { return evictions; }
+        public long getExpirations() { return expirations; }
+        
+        public double getHitRate() {
+            long requests = hits + misses;
+            return requests > 0 ? (double) hits / requests : 0;
+        }
+    }
+}
@@ -20,160 +20,164 @@ package com.rankforge.server.config;
 
 import com.rankforge.core.interfaces.RankingAlgorithm;
 import com.rankforge.pipeline.EloBasedRankingAlgorithm;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.cache.Cache;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CachingConfigurerSupport;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCache;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.Collection;
-import java.util.Collections;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Cache configuration for RankForge Server
- * Uses in-memory caching (ConcurrentMapCacheManager) for leaderboard data
+ * Uses size-bounded in-memory caches ({@link BoundedTtlCache}) for leaderboard data
  * 
  * Caching Strategy:
- * - Monthly leaderboards for past months: Cached indefinitely (data doesn't change)
- * - Monthly leaderboard for current month: Cached for 5 minutes (data may change as new games are processed)
- * - All-time leaderboards: Cached for 1 minute (data changes as new games are processed)
+ * - Monthly leaderboards for past months: Cached until evicted by a data change (or after the monthly TTL)
+ * - Monthly leaderboard for current (or future) month: Memoised for a few seconds in a separate cache,
+ *   so bursts of identical requests share one computation while new games still show up promptly
+ * - All-time and top N leaderboards: Expire 1 minute after write and are refreshed ahead in the background
+ * - Rolling-window leaderboards and the daily bucket prefix sums behind them: Cached until evicted by a
+ *   data change, keyed by the window's last day so a new day starts new entries
+ * - Response bodies: Serialized JSON and gzip bytes of versioned endpoints (see {@link ResponseBodyCacheFilter})
+ * - Game event archives: The decoded events of the few most recently viewed games, so paging through a
+ *   game's rounds decodes its archive once
  * 
  * Cache Keys:
- * - Monthly: "monthly-leaderboard-{year}-{month}-{limit}-{offset}"
- * - All-time: "all-time-leaderboard-{limit}"
- * - Top N: "top-leaderboard-{limit}"
+ * - Monthly: "{year}-{month}-{limit}-{offset}"
+ * - All-time: "all-time"
+ * - Top N: "{limit}"
+ * - Rolling window: "{last day}-{days}-{limit}-{offset}", bucket prefix sums by last day
+ * - Response bodies: "{data version}:{path}?{query}"
+ * - Game event archives: game ID
+ * 
+ * Concurrent misses for the same key wait for a single in-flight load (see {@link BoundedTtlCache}).
  * 
  * Cache Eviction:
- * - Manual eviction via @CacheEvict when new games are processed (future enhancement)
- * - Automatic eviction based on TTL (if using Redis/EhCache in future)
+ * - LeaderboardCacheEvictor evicts the affected caches and months when games are ingested or deleted
+ * - GameService evicts the archives of deleted games
+ * - Least recently used entries beyond each cache's size bound
  * 
  * Author bageshwar.pn
  * Date 2026
  */
 @Configuration
 @EnableCaching
-public class CacheConfig extends CachingConfigurerSupport {
+public class CacheConfig extends CachingConfigurerSupport implements DisposableBean {
+    
+    public static final String MONTHLY_LEADERBOARD = "monthlyLeaderboard";
+    public static final String ALL_TIME_LEADERBOARD = "allTimeLeaderboard";
+    public static final String TOP_LEADERBOARD = "topLeaderboard";
+    public static final String CURRENT_MONTH_LEADERBOARD = "currentMonthLeaderboard";
+    public static final String ROLLING_LEADERBOARD = "rollingLeaderboard";
+    public static final String ROLLING_BUCKETS = "rollingBuckets";
+    public static final String RESPONSE_BODIES = "responseBodies";
+    public static final String GAME_EVENT_ARCHIVES = "gameEventArchives";
+    
+    // Refreshes are rare (one per hot key per TTL), so a small pool with a short queue is enough
+    private final ExecutorService refreshExecutor = new ThreadPoolExecutor(1, 2, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(16), runnable -> {
+                Thread thread = new Thread(runnable, "cache-refresh");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+    
+    @Value("${rankforge.cache.leaderboard.ttl-seconds:60}")
+    private long leaderboardTtlSeconds;
+    
+    @Value("${rankforge.cache.leaderboard.refresh-after-seconds:45}")
+    private long leaderboardRefreshAfterSeconds;
+    
+    @Value("${rankforge.cache.top-leaderboard.max-entries:20}")
+    private int topLeaderboardMaxEntries;
+    
+    @Value("${rankforge.cache.monthly-leaderboard.ttl-hours:24}")
+    private long monthlyTtlHours;
+    
+    @Value("${rankforge.cache.monthly-leaderboard.max-entries:200}")
+    private int monthlyMaxEntries;
+    
+    @Value("${rankforge.cache.current-month-leaderboard.ttl-seconds:15}")
+    private long currentMonthTtlSeconds;
     
-    private static final Logger LOGGER = LoggerFactory.getLogger(CacheConfig.class);
+    @Value("${rankforge.cache.rolling-leaderboard.ttl-hours:24}")
+    private long rollingTtlHours;
+    
+    @Value("${rankforge.cache.rolling-leaderboard.max-entries:100}")
+    private int rollingMaxEntries;
+    
+    @Value("${rankforge.cache.response-bodies.ttl-hours:24}")
+    private long responseBodiesTtlHours;
+    
+    @Value("${rankforge.cache.response-bodies.max-entries:200}")
+    private int responseBodiesMaxEntries;
+    
+    @Value("${rankforge.cache.game-event-archives.ttl-minutes:30}")
+    private long gameEventArchivesTtlMinutes;
+    
+    @Value("${rankforge.cache.game-event-archives.max-entries:16}")
+    private int gameEventArchivesMaxEntries;
     
     /**
-     * Configure cache manager with logging
-     * Using ConcurrentMapCacheManager for simple in-memory caching
-     * For production with high traffic, consider Redis or EhCache
+     * Configure cache manager with one bounded cache per leaderboard, plus the response body and
+     * game event archive caches
      */
     @Bean
     @Override
     public CacheManager cacheManager() {
-        return new LoggingCacheManager();
+        Duration leaderboardTtl = Duration.ofSeconds(leaderboardTtlSeconds);
+        Duration leaderboardRefreshAfter = Duration.ofSeconds(leaderboardRefreshAfterSeconds);
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+                new BoundedTtlCache(MONTHLY_LEADERBOARD, monthlyMaxEntries, Duration.ofHours(monthlyTtlHours), 
+                        null, refreshExecutor),
+                new BoundedTtlCache(ALL_TIME_LEADERBOARD, 1, leaderboardTtl, leaderboardRefreshAfter, refreshExecutor),
+                new BoundedTtlCache(TOP_LEADERBOARD, topLeaderboardMaxEntries, leaderboardTtl, 
+                        leaderboardRefreshAfter, refreshExecutor),
+                new BoundedTtlCache(CURRENT_MONTH_LEADERBOARD, topLeaderboardMaxEntries, 
+                        Duration.ofSeconds(currentMonthTtlSeconds), null, refreshExecutor),
+                new BoundedTtlCache(ROLLING_LEADERBOARD, rollingMaxEntries, Duration.ofHours(rollingTtlHours),
+                        null, refreshExecutor),
+                // Today's and, around midnight, yesterday's prefix sums
+                new BoundedTtlCache(ROLLING_BUCKETS, 2, Duration.ofHours(rollingTtlHours), null, refreshExecutor),
+                new BoundedTtlCache(RESPONSE_BODIES, responseBodiesMaxEntries, Duration.ofHours(responseBodiesTtlHours),
+                        null, refreshExecutor),
+                // Decoded archives hold every event of a game, so only a handful are kept
+                new BoundedTtlCache(GAME_EVENT_ARCHIVES, gameEventArchivesMaxEntries,
+                        Duration.ofMinutes(gameEventArchivesTtlMinutes), null, refreshExecutor)
+        ));
+        return cacheManager;
     }
     
     /**
-     * Custom CacheManager that logs cache hits and misses
+     * Resolves the monthly leaderboard cache from the (year, month, ...) arguments: past months
+     * go to the long-lived cache, the current month to the short-lived memo. Months are UTC, like
+     * the game timestamps and the counters' month buckets.
      */
-    private static class LoggingCacheManager implements CacheManager {
-        private final ConcurrentMapCacheManager delegate;
-        
-        public LoggingCacheManager() {
-            this.delegate = new ConcurrentMapCacheManager();
-            this.delegate.setCacheNames(java.util.Arrays.asList(
-                "monthlyLeaderboard",
-                "allTimeLeaderboard",
-                "topLeaderboard"
-            ));
-            this.delegate.setAllowNullValues(false);
-        }
-        
-        @Override
-        public Cache getCache(String name) {
-            Cache cache = delegate.getCache(name);
-            if (cache != null) {
-                return new LoggingCache(cache);
-            }
-            return null;
-        }
-        
-        @Override
-        public Collection<String> getCacheNames() {
-            return delegate.getCacheNames();
-        }
+    @Bean
+    public CacheResolver monthlyLeaderboardCacheResolver(CacheManager cacheManager) {
+        return context -> {
+            Object[] args = context.getArgs();
+            YearMonth requested = YearMonth.of((Integer) args[0], (Integer) args[1]);
+            boolean pastMonth = requested.isBefore(YearMonth.now(ZoneOffset.UTC));
+            return List.of(cacheManager.getCache(pastMonth ? MONTHLY_LEADERBOARD : CURRENT_MONTH_LEADERBOARD));
+        };
     }
     
-    /**
-     * Cache wrapper that logs cache operations
-     */
-    private static class LoggingCache implements Cache {
-        private final Cache delegate;
-        private static final Logger CACHE_LOGGER = LoggerFactory.getLogger("Cache");
-        
-        public LoggingCache(Cache delegate) {
-            this.delegate = delegate;
-        }
-        
-        @Override
-        public String getName() {
-            return delegate.getName();
-        }
-        
-        @Override
-        public Object getNativeCache() {
-            return delegate.getNativeCache();
-        }
-        
-        @Override
-        public ValueWrapper get(Object key) {
-            ValueWrapper value = delegate.get(key);
-            if (value != null) {
-                CACHE_LOGGER.info("Cache HIT: cache='{}', key='{}'", getName(), key);
-            } else {
-                CACHE_LOGGER.debug("Cache MISS: cache='{}', key='{}'", getName(), key);
-            }
-            return value;
-        }
-        
-        @Override
-        public <T> T get(Object key, Class<T> type) {
-            T value = delegate.get(key, type);
-            if (value != null) {
-                CACHE_LOGGER.info("Cache HIT: cache='{}', key='{}'", getName(), key);
-            } else {
-                CACHE_LOGGER.debug("Cache MISS: cache='{}', key='{}'", getName(), key);
-            }
-            return value;
-        }
-        
-        @Override
-        public <T> T get(Object key, java.util.concurrent.Callable<T> valueLoader) {
-            // This method is called when cache miss occurs and value needs to be loaded
-            CACHE_LOGGER.debug("Cache MISS - loading value: cache='{}', key='{}'", getName(), key);
-            T value = delegate.get(key, valueLoader);
-            if (value != null) {
-                CACHE_LOGGER.info("Cache PUT: cache='{}', key='{}'", getName(), key);
-            }
-            return value;
-        }
-        
-        @Override
-        public void put(Object key, Object value) {
-            delegate.put(key, value);
-            CACHE_LOGGER.info("Cache PUT: cache='{}', key='{}'", getName(), key);
-        }
-        
-        @Override
-        public void evict(Object key) {
-            delegate.evict(key);
-            CACHE_LOGGER.info("Cache EVICT: cache='{}', key='{}'", getName(), key);
-        }
-        
-        @Override
-        public void clear() {
-            delegate.clear();
-            CACHE_LOGGER.info("Cache CLEAR: cache='{}'", getName());
-        }
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
     }
     
     /**
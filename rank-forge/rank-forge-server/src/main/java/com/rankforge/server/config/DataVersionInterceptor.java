@@ -0,0 +1,160 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.config;
+
+import com.rankforge.server.event.GamesDeletedEvent;
+import com.rankforge.server.event.LeaderboardChangedEvent;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Conditional GET for the read APIs, driven by a data version.
+ * 
+ * The version increases whenever a game is committed (its player stats reach the leaderboard)
+ * or deleted, and is sent as a weak ETag with a matching Last-Modified. A request whose
+ * If-None-Match (or If-Modified-Since) still matches is answered with 304 before the controller runs.
+ * The version starts at the startup time, so tags issued before a restart never match.
+ * 
+ * Leaderboards relative to today (the rolling window, and the monthly board without year and month)
+ * change at UTC midnight or month start without a new version. Their validators also carry the
+ * resolved date or month, and Last-Modified is never earlier than that period's start.
+ * 
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@Component
+public class DataVersionInterceptor implements HandlerInterceptor {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataVersionInterceptor.class);
+    
+    private static final String MONTHLY_LEADERBOARD_PATH = "/api/rankings/leaderboard/monthly";
+    private static final String ROLLING_LEADERBOARD_PATH = "/api/rankings/leaderboard/rolling";
+    
+    private final Clock clock;
+    private long version;
+    private Instant lastModified;
+    
+    public DataVersionInterceptor() {
+        this(Clock.systemUTC());
+    }
+    
+    DataVersionInterceptor(Clock clock) {
+        this.clock = clock;
+        Instant now = clock.instant();
+        this.version = now.toEpochMilli();
+        this.lastModified = now.truncatedTo(ChronoUnit.SECONDS);
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        return !checkNotModified(request, response);
+    }
+    
+    /**
+     * Adds the version headers to the response and checks the request's conditional headers against them
+     * @return true if the response has been set to 304 Not Modified and needs no body
+     */
+    public boolean checkNotModified(HttpServletRequest request, HttpServletResponse response) {
+        long currentVersion;
+        Instant currentLastModified;
+        synchronized (this) {
+            currentVersion = version;
+            currentLastModified = lastModified;
+        }
+        String etag = etag(currentVersion);
+        LocalDate periodStart = periodStart(request);
+        if (periodStart != null) {
+            etag = etag(currentVersion + "-" + periodStart);
+            Instant start = periodStart.atStartOfDay(ZoneOffset.UTC).toInstant();
+            if (start.isAfter(currentLastModified)) {
+                currentLastModified = start;
+            }
+        }
+        // Clients may keep the body but must revalidate it on every use
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        return webRequest.checkNotModified(etag, currentLastModified.toEpochMilli());
+    }
+    
+    /**
+     * First day (UTC) of the period a today-relative leaderboard resolves to, or null if the
+     * response depends on the data version only
+     */
+    private LocalDate periodStart(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        LocalDate today = LocalDate.now(clock.withZone(ZoneOffset.UTC));
+        if (path.endsWith(ROLLING_LEADERBOARD_PATH)) {
+            return today;
+        }
+        if (path.endsWith(MONTHLY_LEADERBOARD_PATH)
+                && (request.getParameter("year") == null || request.getParameter("month") == null)) {
+            return today.withDayOfMonth(1);
+        }
+        return null;
+    }
+    
+    /**
+     * Ordered after LeaderboardCacheEvictor, so a new version is never served from an evicted cache
+     */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeaderboardChanged(LeaderboardChangedEvent event) {
+        bump();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGamesDeleted(GamesDeletedEvent event) {
+        bump();
+    }
+    
+    public synchronized long getVersion() {
+        return version;
+    }
+    
+    synchronized void bump() {
+        version++;
+        Instant now = clock.instant().truncatedTo(ChronoUnit.SECONDS);
+        // Last-Modified has second precision; keep it moving with the version
+        lastModified = now.isAfter(lastModified) ? now : lastModified.plusSeconds(1);
+        LOGGER.debug("Data version bumped to {}", version);
+    }
+    
+    static String etag(long version) {
+        return etag(String.valueOf(version));
+    }
+    
+    private static String etag(String validator) {
+        return "W/\"" + validator + "\"";
+    }
+}
@@ -30,9 +30,14 @@ import com.rankforge.pipeline.persistence.repository.AccoladeRepository;
 import com.rankforge.pipeline.persistence.repository.GameEventRepository;
 import com.rankforge.pipeline.persistence.repository.GameRepository;
 import com.rankforge.pipeline.persistence.repository.PlayerStatsRepository;
+import com.rankforge.pipeline.persistence.spool.MatchBatchWriter;
+import com.rankforge.pipeline.persistence.spool.MatchSpool;
+import com.rankforge.pipeline.persistence.spool.WriteBehindMatchQueue;
+import jakarta.persistence.EntityManagerFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
@@ -43,6 +48,8 @@ import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Properties;
 
 /**
@@ -148,6 +155,32 @@ public class PersistenceConfig {
         return new JpaPlayerStatsStore(playerStatsRepository);
     }
     
+    /**
+     * Write-behind queue for parsed matches, backed by a durable local spool file.
+     * Lets ingestion continue while the database is unavailable (e.g. Azure SQL auto-pause).
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "rankforge.persistence.write-behind.enabled", havingValue = "true")
+    public WriteBehindMatchQueue writeBehindMatchQueue(
+            EntityManagerFactory entityManagerFactory,
+            GameRepository gameRepository,
+            PlayerStatsRepository playerStatsRepository,
+            @Value("${rankforge.persistence.write-behind.spool-file:data/match-spool.jsonl}") String spoolFile,
+            @Value("${rankforge.persistence.write-behind.capacity:8}") int capacity,
+            @Value("${rankforge.persistence.write-behind.max-attempts:10}") int maxAttempts,
+            @Value("${rankforge.persistence.event-archive.enabled:true}") boolean eventArchiveEnabled,
+            @Value("${rankforge.persistence.streaming-flush-interval:1000}") int streamingFlushInterval) throws IOException {
+        LOGGER.info("Initializing write-behind match queue with spool {} (capacity {})", spoolFile, capacity);
+        MatchBatchWriter writer = new MatchBatchWriter(entityManagerFactory, gameRepository);
+        writer.setEventArchiveEnabled(eventArchiveEnabled);
+        writer.setStreamingFlushInterval(streamingFlushInterval);
+        writer.setPlayerStatsRepository(playerStatsRepository);
+        WriteBehindMatchQueue queue = new WriteBehindMatchQueue(new MatchSpool(Path.of(spoolFile)), writer, capacity);
+        queue.setMaxAttempts(maxAttempts);
+        queue.start();
+        return queue;
+    }
+    
     /**
      * JPA AccoladeStore bean
      */
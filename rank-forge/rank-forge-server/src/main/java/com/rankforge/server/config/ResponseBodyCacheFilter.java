@@ -0,0 +1,183 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.DateTimeException;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caches the final JSON bytes (and a gzip variant) of hot, versioned read endpoints:
+ * past-month leaderboards, game details and round details.
+ * 
+ * Cache hits are written straight to the response stream, skipping the controller, Jackson
+ * serialization and compression. Keys include the data version of {@link DataVersionInterceptor},
+ * so an ingest or delete makes every stored body unreachable; old entries age out of the bounded cache.
+ * Only 200 JSON responses are stored.
+ * 
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@Component
+@Order(2)
+public class ResponseBodyCacheFilter extends OncePerRequestFilter {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResponseBodyCacheFilter.class);
+    
+    private static final Pattern GAME_DETAILS_PATH = Pattern.compile("^/api/games/[^/]+/details$");
+    private static final Pattern ROUND_DETAILS_PATH = Pattern.compile("^/api/games/[^/]+/rounds/[^/]+$");
+    private static final String MONTHLY_LEADERBOARD_PATH = "/api/rankings/leaderboard/monthly";
+    private static final String GZIP = "gzip";
+    
+    private final Cache cache;
+    private final DataVersionInterceptor dataVersionInterceptor;
+    
+    @Autowired
+    public ResponseBodyCacheFilter(CacheManager cacheManager, DataVersionInterceptor dataVersionInterceptor) {
+        this.cache = cacheManager.getCache(CacheConfig.RESPONSE_BODIES);
+        this.dataVersionInterceptor = dataVersionInterceptor;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (cache == null || !"GET".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        if (GAME_DETAILS_PATH.matcher(path).matches() || ROUND_DETAILS_PATH.matcher(path).matches()) {
+            return false;
+        }
+        return !(MONTHLY_LEADERBOARD_PATH.equals(path) && isPastMonth(request));
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String key = dataVersionInterceptor.getVersion() + ":" + request.getRequestURI() + "?" + request.getQueryString();
+        
+        CachedBody cached = cache.get(key, CachedBody.class);
+        if (cached != null) {
+            // Same conditional GET handling as the controllers would get
+            if (dataVersionInterceptor.checkNotModified(request, response)) {
+                return;
+            }
+            write(request, response, cached);
+            return;
+        }
+        
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+        
+        String contentType = wrapper.getContentType();
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || contentType == null
+                || !MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType))) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        byte[] json = wrapper.getContentAsByteArray();
+        CachedBody body = new CachedBody(contentType, json, gzip(json));
+        cache.put(key, body);
+        LOGGER.debug("Stored response body for {} ({} bytes, {} gzipped)", key, json.length, body.gzip.length);
+        
+        // Headers and status already reached the response; write the stored variant instead of the buffer
+        write(request, response, body);
+    }
+    
+    private void write(HttpServletRequest request, HttpServletResponse response, CachedBody body) throws IOException {
+        boolean gzip = acceptsGzip(request);
+        byte[] bytes = gzip ? body.gzip : body.json;
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(body.contentType);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+    
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains(GZIP);
+    }
+    
+    /**
+     * Whether the request names a month before the current UTC month, the same month boundary
+     * DataVersionInterceptor and the monthly cache resolver use
+     */
+    private static boolean isPastMonth(HttpServletRequest request) {
+        String year = request.getParameter("year");
+        String month = request.getParameter("month");
+        if (year == null || month == null) {
+            // Defaults to the current month
+            return false;
+        }
+        try {
+            return YearMonth.of(Integer.parseInt(year), Integer.parseInt(month)).isBefore(YearMonth.now(ZoneOffset.UTC));
+        } catch (NumberFormatException | DateTimeException e) {
+            return false;
+        }
+    }
+    
+    static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+    
+    /**
+     * Serialized response body with its precompressed variant
+     */
+    static final class CachedBody {
+        private final String contentType;
+        private final byte[] json;
+        private final byte[] gzip;
+        
+        CachedBody(String contentType, byte[] json, byte[] gzip) {
+            this.contentType = contentType;
+            this.json = json;
+            this.gzip = gzip;
+        }
+    }
+}
@@ -18,9 +18,11 @@
 
 package com.rankforge.server.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.resource.PathResourceResolver;
@@ -29,13 +31,28 @@ import java.io.IOException;
 
 /**
  * Web configuration for serving React SPA
- * Handles static resources and catch-all routing for React Router
+ * Handles static resources and catch-all routing for React Router,
+ * and conditional GET for the read APIs
  * Author bageshwar.pn
  * Date 2024
  */
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private final DataVersionInterceptor dataVersionInterceptor;
+
+    @Autowired
+    public WebConfig(DataVersionInterceptor dataVersionInterceptor) {
+        this.dataVersionInterceptor = dataVersionInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(dataVersionInterceptor)
+                .addPathPatterns("/api/rankings/**", "/api/games/**", "/api/players/**")
+                .excludePathPatterns("/api/*/health");
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         // Serve static resources from React build
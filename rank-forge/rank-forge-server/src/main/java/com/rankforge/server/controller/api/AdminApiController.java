@@ -18,16 +18,21 @@
 
 package com.rankforge.server.controller.api;
 
+import com.rankforge.server.config.BoundedTtlCache;
 import com.rankforge.server.service.AdminGameService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * REST API Controller for admin operations.
@@ -43,10 +48,12 @@ public class AdminApiController {
     private static final Logger logger = LoggerFactory.getLogger(AdminApiController.class);
     
     private final AdminGameService adminGameService;
+    private final CacheManager cacheManager;
     
     @Autowired
-    public AdminApiController(AdminGameService adminGameService) {
+    public AdminApiController(AdminGameService adminGameService, CacheManager cacheManager) {
         this.adminGameService = adminGameService;
+        this.cacheManager = cacheManager;
     }
     
     /**
@@ -57,8 +64,7 @@ public class AdminApiController {
      * - Logs the action for auditing
      * - Returns success or error response
      * 
-     * Note: Aggregate stats (leaderboards, user totals, clan totals) should be
-     * recomputed in the background after deletion.
+     * Note: Later cumulative player stats are rebased in the background after deletion.
      * 
      * @param gameId The ID of the game to delete
      * @return Response indicating success or failure
@@ -105,6 +111,66 @@ public class AdminApiController {
         }
     }
     
+    /**
+     * Delete a batch of games by ID, or all games that ended within a time range.
+     * 
+     * Either pass a JSON array of game IDs as the body, or the from/to query parameters
+     * (ISO-8601 instants, inclusive). Deletion uses set-based statements per batch, and
+     * later cumulative player stats are rebased in the background after commit.
+     * 
+     * @param from Range start (optional)
+     * @param to Range end (optional)
+     * @param gameIds Game IDs to delete (optional)
+     * @return Response with the number of deleted games
+     */
+    @PostMapping("/games/purge")
+    public ResponseEntity<Map<String, Object>> purgeGames(
+            @RequestParam(value = "from", required = false) Instant from,
+            @RequestParam(value = "to", required = false) Instant to,
+            @RequestBody(required = false) List<Long> gameIds) {
+        Instant deletionTime = Instant.now();
+        Map<String, Object> response = new HashMap<>();
+        
+        int deleted;
+        if (gameIds != null && !gameIds.isEmpty()) {
+            logger.info("ADMIN_AUDIT: Batch game deletion requested - {} game IDs, time: {}, requester: API", 
+                    gameIds.size(), deletionTime);
+            deleted = adminGameService.deleteGames(gameIds);
+        } else if (from != null && to != null && !from.isAfter(to)) {
+            logger.info("ADMIN_AUDIT: Game purge requested - from: {}, to: {}, time: {}, requester: API", 
+                    from, to, deletionTime);
+            deleted = adminGameService.purgeGames(from, to);
+            response.put("from", from.toString());
+            response.put("to", to.toString());
+        } else {
+            response.put("success", false);
+            response.put("error", "Provide a list of game IDs or a valid from/to range");
+            return ResponseEntity.badRequest().body(response);
+        }
+        
+        logger.info("ADMIN_AUDIT: Purge completed - {} games deleted, time: {}", deleted, deletionTime);
+        response.put("success", true);
+        response.put("deletedGames", deleted);
+        response.put("deletedAt", deletionTime.toString());
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Hit, miss, load, refresh, eviction and expiration counts of each bounded cache
+     * @return Statistics by cache name
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, BoundedTtlCache.Stats>> getCacheStats() {
+        Map<String, BoundedTtlCache.Stats> stats = new TreeMap<>();
+        for (String cacheName : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null && cache.getNativeCache() instanceof BoundedTtlCache boundedCache) {
+                stats.put(cacheName, boundedCache.getStats());
+            }
+        }
+        return ResponseEntity.ok(stats);
+    }
+    
     /**
      * Health check endpoint for admin API
      * @return Simple health status
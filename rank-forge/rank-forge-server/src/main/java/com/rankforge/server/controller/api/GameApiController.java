@@ -18,14 +18,18 @@
 
 package com.rankforge.server.controller.api;
 
+import com.rankforge.pipeline.persistence.repository.GameSummaryFilter;
 import com.rankforge.server.dto.GameDTO;
 import com.rankforge.server.dto.GameDetailsDTO;
+import com.rankforge.server.dto.GamePageDTO;
 import com.rankforge.server.dto.RoundDetailsDTO;
 import com.rankforge.server.service.GameService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -72,6 +76,56 @@ public class GameApiController {
         return ResponseEntity.ok(games);
     }
 
+    /**
+     * Get one page of processed games, newest first (keyset pagination)
+     * @param cursor Cursor returned with the previous page (omit for the first page)
+     * @param limit Page size (default: 25, max: 100)
+     * @param map Only games on this map
+     * @param appServerId Only games from this server
+     * @param from Only games that ended at or after this instant (ISO-8601)
+     * @param to Only games that ended before this instant (ISO-8601)
+     * @param playerId Only games this player took part in (Steam ID or numeric account ID)
+     * @return The page of games and the cursor for the next page
+     */
+    @GetMapping("/page")
+    public ResponseEntity<GamePageDTO> getGamesPage(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "25") int limit,
+            @RequestParam(value = "map", required = false) String map,
+            @RequestParam(value = "appServerId", required = false) Long appServerId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(value = "playerId", required = false) String playerId) {
+        
+        if (limit <= 0 || limit > 100) {
+            limit = 25; // Default to 25 if invalid
+        }
+        
+        GameSummaryFilter filter = new GameSummaryFilter();
+        filter.setMap(map != null && !map.isBlank() ? map.trim() : null);
+        filter.setAppServerId(appServerId);
+        filter.setFrom(from);
+        filter.setTo(to);
+        filter.setPlayerId(normalizePlayerId(playerId));
+        
+        try {
+            return ResponseEntity.ok(gameService.getGamesPage(cursor, limit, filter));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Accepts "[U:1:123]" or the bare account ID "123"
+     */
+    private static String normalizePlayerId(String playerId) {
+        if (playerId == null || playerId.isBlank()) {
+            return null;
+        }
+        String trimmed = playerId.trim();
+        return trimmed.chars().allMatch(Character::isDigit) ? "[U:1:" + trimmed + "]" : trimmed;
+    }
+
     /**
      * Health check endpoint
      * @return Simple health status
@@ -0,0 +1,65 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.controller.api;
+
+import com.rankforge.pipeline.persistence.HeatmapCounters;
+import com.rankforge.server.dto.HeatmapDTO;
+import com.rankforge.server.service.HeatmapService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST API Controller for per-map data
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@RestController
+@RequestMapping("/api/maps")
+@CrossOrigin(origins = "*")
+public class MapApiController {
+    
+    private final HeatmapService heatmapService;
+    
+    @Autowired
+    public MapApiController(HeatmapService heatmapService) {
+        this.heatmapService = heatmapService;
+    }
+    
+    /**
+     * Get a map's kill/death heatmap as compact count arrays
+     * @param map Map name (e.g., "de_dust2")
+     * @param playerId Numeric or full Steam ID to restrict to one player's kills and deaths (default: everyone)
+     * @param side "CT" or "T" to restrict to one side (default: both); not combined with playerId
+     * @return The heatmap layer, empty when nothing was recorded
+     */
+    @GetMapping("/{map}/heatmap")
+    public ResponseEntity<HeatmapDTO> getHeatmap(
+            @PathVariable("map") String map,
+            @RequestParam(value = "playerId", required = false) String playerId,
+            @RequestParam(value = "side", required = false) String side) {
+        boolean hasPlayer = playerId != null && !playerId.isBlank();
+        boolean hasSide = side != null && !side.isBlank();
+        if ((hasSide && HeatmapCounters.sideOf(side) == null) || (hasPlayer && hasSide)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(heatmapService.getHeatmap(map.trim(),
+                hasPlayer ? playerId.trim() : null, hasSide ? side : null));
+    }
+}
@@ -18,14 +18,29 @@
 
 package com.rankforge.server.controller.api;
 
+import com.rankforge.pipeline.persistence.RivalryCounters;
+import com.rankforge.pipeline.persistence.entity.KillMatrixEntity;
 import com.rankforge.server.dto.PlayerProfileDTO;
+import com.rankforge.server.dto.PlayerRivalsDTO;
+import com.rankforge.server.dto.PlayerSearchResultDTO;
+import com.rankforge.server.dto.PlayerWeaponStatsDTO;
 import com.rankforge.server.service.PlayerProfileService;
+import com.rankforge.server.service.PlayerSearchIndex;
+import com.rankforge.server.service.RivalryService;
+import com.rankforge.server.service.WeaponStatsService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * REST API Controller for player profiles
@@ -34,34 +49,71 @@ import java.util.Optional;
  * Date 2026
  */
 @RestController
+@Validated
 @RequestMapping("/api/players")
 @CrossOrigin(origins = "*")
 public class PlayerProfileApiController {
     
     private final PlayerProfileService playerProfileService;
+    private final PlayerSearchIndex playerSearchIndex;
+    private final RivalryService rivalryService;
+    private final WeaponStatsService weaponStatsService;
     
     @Autowired
-    public PlayerProfileApiController(PlayerProfileService playerProfileService) {
+    public PlayerProfileApiController(PlayerProfileService playerProfileService, PlayerSearchIndex playerSearchIndex,
+                                      RivalryService rivalryService, WeaponStatsService weaponStatsService) {
         this.playerProfileService = playerProfileService;
+        this.playerSearchIndex = playerSearchIndex;
+        this.rivalryService = rivalryService;
+        this.weaponStatsService = weaponStatsService;
+    }
+    
+    /**
+     * Search players by current or past nickname, for autocomplete.
+     * Served from the in-memory player search index.
+     * @param query Case-insensitive name or part of a name; shorter than 3 characters matches name prefixes only
+     * @param limit Maximum number of players (default: 10, min: 1, max: 50)
+     * @return Matching players, best matches first
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<PlayerSearchResultDTO>> searchPlayers(
+            @RequestParam(value = "q") String query,
+            @RequestParam(value = "limit", defaultValue = "10")
+            @Min(value = 1, message = "Limit must be >= 1")
+            @Max(value = 50, message = "Limit must be <= 50")
+            int limit) {
+        List<PlayerSearchResultDTO> results = playerSearchIndex.search(query, limit).stream()
+                .map(match -> new PlayerSearchResultDTO(match.getPlayerId(), match.getCurrentName(),
+                        match.getMatchedName(), match.isPastName()))
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(results);
     }
     
     /**
      * Get complete player profile by player ID
      * @param playerId The numeric Steam ID (e.g., "123456789") or full format "[U:1:123456789]"
+     * @param resolution Rating history resolution: "auto" (downsampled to at most points, default),
+     *                   "weekly" (last game of each week) or "full" (every game)
+     * @param points Maximum number of rating history points for "auto" (default: 200, min: 10, max: 1000)
      * @return Complete player profile with rating history and accolades
      */
     @GetMapping("/{playerId}")
-    public ResponseEntity<PlayerProfileDTO> getPlayerProfile(@PathVariable("playerId") String playerId) {
-        // URL decode the player ID first
-        String decodedPlayerId = java.net.URLDecoder.decode(playerId, java.nio.charset.StandardCharsets.UTF_8);
-        
-        // If it's just a numeric ID, convert to full Steam ID format [U:1:xxx]
-        String fullPlayerId = decodedPlayerId;
-        if (decodedPlayerId.matches("\\d+")) {
-            fullPlayerId = "[U:1:" + decodedPlayerId + "]";
+    public ResponseEntity<PlayerProfileDTO> getPlayerProfile(
+            @PathVariable("playerId") String playerId,
+            @RequestParam(value = "resolution", defaultValue = "auto") String resolution,
+            @RequestParam(value = "points", defaultValue = "200")
+            @Min(value = 10, message = "Points must be >= 10")
+            @Max(value = 1000, message = "Points must be <= 1000")
+            int points) {
+        PlayerProfileService.HistoryResolution historyResolution;
+        try {
+            historyResolution = PlayerProfileService.HistoryResolution.valueOf(resolution.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
         
-        Optional<PlayerProfileDTO> profile = playerProfileService.getPlayerProfile(fullPlayerId);
+        Optional<PlayerProfileDTO> profile = playerProfileService.getPlayerProfile(
+                toFullPlayerId(playerId), historyResolution, points);
         
         if (profile.isPresent()) {
             return ResponseEntity.ok(profile.get());
@@ -70,6 +122,63 @@ public class PlayerProfileApiController {
         }
     }
     
+    /**
+     * Get one page of a player's accolades, newest first.
+     * The profile carries the first page; this pages through the rest.
+     * @param playerId The numeric Steam ID (e.g., "123456789") or full format "[U:1:123456789]"
+     * @param page 0-based page number (default: 0)
+     * @param size Page size (default: 20, min: 1, max: 100)
+     * @return The page of accolades (empty past the last page)
+     */
+    @GetMapping("/{playerId}/accolades")
+    public ResponseEntity<List<PlayerProfileDTO.PlayerAccoladeDTO>> getPlayerAccolades(
+            @PathVariable("playerId") String playerId,
+            @RequestParam(value = "page", defaultValue = "0")
+            @Min(value = 0, message = "Page must be >= 0")
+            int page,
+            @RequestParam(value = "size", defaultValue = "20")
+            @Min(value = 1, message = "Size must be >= 1")
+            @Max(value = 100, message = "Size must be <= 100")
+            int size) {
+        return ResponseEntity.ok(playerProfileService.getPlayerAccolades(toFullPlayerId(playerId), page, size));
+    }
+    
+    /**
+     * Get a player's head-to-head rivals: who they kill most and who kills them most
+     * @param playerId The numeric Steam ID (e.g., "123456789") or full format "[U:1:123456789]"
+     * @param month Month as "yyyy-MM" (default: all time)
+     * @param limit Rivals per direction (default: 5, min: 1, max: 10)
+     * @return Top victims and nemeses with both sides of each head-to-head record
+     */
+    @GetMapping("/{playerId}/rivals")
+    public ResponseEntity<PlayerRivalsDTO> getPlayerRivals(
+            @PathVariable("playerId") String playerId,
+            @RequestParam(value = "month", required = false) String month,
+            @RequestParam(value = "limit", defaultValue = "5")
+            @Min(value = 1, message = "Limit must be >= 1")
+            @Max(value = RivalryCounters.TOP_K, message = "Limit must be <= 10")
+            int limit) {
+        String period = KillMatrixEntity.ALL_TIME;
+        if (month != null && !month.isBlank()) {
+            try {
+                period = YearMonth.parse(month.trim()).toString();
+            } catch (DateTimeParseException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        return ResponseEntity.ok(rivalryService.getRivals(toFullPlayerId(playerId), period, limit));
+    }
+    
+    /**
+     * Get a player's all-time kills, headshots, hits and damage per weapon
+     * @param playerId The numeric Steam ID (e.g., "123456789") or full format "[U:1:123456789]"
+     * @return One entry per weapon, most kills first (empty for unknown players)
+     */
+    @GetMapping("/{playerId}/weapons")
+    public ResponseEntity<List<PlayerWeaponStatsDTO>> getPlayerWeapons(@PathVariable("playerId") String playerId) {
+        return ResponseEntity.ok(weaponStatsService.getPlayerWeapons(toFullPlayerId(playerId)));
+    }
+    
     /**
      * Get list of all players with basic info
      * @return List of all players with basic profile data
@@ -80,6 +189,17 @@ public class PlayerProfileApiController {
         return ResponseEntity.ok(players);
     }
     
+    /**
+     * URL-decodes a path player ID and converts a bare numeric ID to the full Steam ID format [U:1:xxx]
+     */
+    private String toFullPlayerId(String playerId) {
+        String decodedPlayerId = java.net.URLDecoder.decode(playerId, java.nio.charset.StandardCharsets.UTF_8);
+        if (decodedPlayerId.matches("\\d+")) {
+            return "[U:1:" + decodedPlayerId + "]";
+        }
+        return decodedPlayerId;
+    }
+    
     /**
      * Health check endpoint
      * @return Simple health status
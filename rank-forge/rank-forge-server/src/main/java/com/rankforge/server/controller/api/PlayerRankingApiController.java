@@ -21,6 +21,7 @@ package com.rankforge.server.controller.api;
 import com.rankforge.server.dto.LeaderboardResponseDTO;
 import com.rankforge.server.dto.PlayerRankingDTO;
 import com.rankforge.server.service.PlayerRankingService;
+import com.rankforge.server.service.RollingLeaderboardService;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,6 +33,7 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 
 import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Optional;
 
@@ -47,10 +49,13 @@ import java.util.Optional;
 public class PlayerRankingApiController {
 
     private final PlayerRankingService playerRankingService;
+    private final RollingLeaderboardService rollingLeaderboardService;
 
     @Autowired
-    public PlayerRankingApiController(PlayerRankingService playerRankingService) {
+    public PlayerRankingApiController(PlayerRankingService playerRankingService,
+                                      RollingLeaderboardService rollingLeaderboardService) {
         this.playerRankingService = playerRankingService;
+        this.rollingLeaderboardService = rollingLeaderboardService;
     }
 
     /**
@@ -125,6 +130,46 @@ public class PlayerRankingApiController {
         }
     }
 
+    /**
+     * Get the players ranked around a specific player, including the player
+     * @param playerId The Steam ID or player identifier
+     * @param radius Number of players above and below to include (default: 5, max: 50)
+     * @return Rankings with leaderboard positions, if the player is ranked
+     */
+    @GetMapping("/player/{playerId}/around")
+    public ResponseEntity<List<PlayerRankingDTO>> getPlayersAround(
+            @PathVariable("playerId") String playerId,
+            @RequestParam(value = "radius", defaultValue = "5") 
+            @Min(value = 0, message = "Radius must be >= 0") 
+            @Max(value = 50, message = "Radius must be <= 50") 
+            int radius) {
+        
+        List<PlayerRankingDTO> rankings = playerRankingService.getPlayersAround(playerId, radius);
+        if (rankings.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(rankings);
+    }
+
+    /**
+     * Get one page of the all-time leaderboard
+     * @param offset Number of players to skip (default: 0)
+     * @param limit Number of players to return (default: 50, max: 100)
+     * @return Rankings with leaderboard positions
+     */
+    @GetMapping("/page")
+    public ResponseEntity<List<PlayerRankingDTO>> getLeaderboardPage(
+            @RequestParam(value = "offset", defaultValue = "0") 
+            @Min(value = 0, message = "Offset must be >= 0") 
+            int offset,
+            @RequestParam(value = "limit", defaultValue = "50") 
+            @Min(value = 1, message = "Limit must be >= 1") 
+            @Max(value = 100, message = "Limit must be <= 100") 
+            int limit) {
+        
+        return ResponseEntity.ok(playerRankingService.getLeaderboardPage(offset, limit));
+    }
+
     /**
      * Get monthly leaderboard for a specific month
      * @param year The year (e.g., 2026). If not provided, defaults to current year. Must be between 2000-2100.
@@ -152,15 +197,14 @@ public class PlayerRankingApiController {
             @Max(value = 10000, message = "Offset must be <= 10000") 
             int offset) {
         
-        // Default to current month if not provided
-        LocalDate now = LocalDate.now();
+        // Default to current month if not provided - UTC, like the month buckets and the ETag
+        LocalDate now = LocalDate.now(ZoneOffset.UTC);
         int queryYear = (year != null) ? year : now.getYear();
         int queryMonth = (month != null) ? month : now.getMonthValue();
         
         // Validate that requested date is not in the future
         LocalDate requestedDate = LocalDate.of(queryYear, queryMonth, 1);
-        LocalDate currentDate = LocalDate.now();
-        if (requestedDate.isAfter(currentDate)) {
+        if (requestedDate.isAfter(now)) {
             // Return empty response instead of 400 for future dates
             return ResponseEntity.ok(new LeaderboardResponseDTO(new ArrayList<>(), 0, 0, 0));
         }
@@ -170,6 +214,34 @@ public class PlayerRankingApiController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get the leaderboard of the last N days (UTC), today included
+     * @param days Window length in days (default: 7, max: 30)
+     * @param limit Maximum number of results to return (default: 100, max: 1000)
+     * @param offset Number of results to skip for pagination (default: 0, max: 10000)
+     * @return LeaderboardResponseDTO with rankings and summary stats for the window
+     */
+    @GetMapping("/leaderboard/rolling")
+    public ResponseEntity<LeaderboardResponseDTO> getRollingLeaderboard(
+            @RequestParam(value = "days", defaultValue = "7") 
+            @Min(value = 1, message = "Days must be >= 1") 
+            @Max(value = RollingLeaderboardService.MAX_WINDOW_DAYS, message = "Days must be <= 30") 
+            int days,
+            @RequestParam(value = "limit", defaultValue = "100") 
+            @Min(value = 1, message = "Limit must be >= 1") 
+            @Max(value = 1000, message = "Limit must be <= 1000") 
+            int limit,
+            @RequestParam(value = "offset", defaultValue = "0") 
+            @Min(value = 0, message = "Offset must be >= 0") 
+            @Max(value = 10000, message = "Offset must be <= 10000") 
+            int offset) {
+        
+        // Windows end with today's bucket, so cached pages roll over at UTC midnight
+        LeaderboardResponseDTO response = rollingLeaderboardService.getRollingLeaderboard(
+                LocalDate.now(ZoneOffset.UTC), days, limit, offset);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Health check endpoint
      * @return Simple health status
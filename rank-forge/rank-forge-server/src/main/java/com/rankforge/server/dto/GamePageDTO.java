@@ -0,0 +1,65 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.dto;
+
+import java.util.List;
+
+/**
+ * DTO for one page of the keyset-paginated game listing
+ * Author bageshwar.pn
+ * Date 2026
+ */
+public class GamePageDTO {
+    private List<GameDTO> games;
+    // Opaque cursor to request the next page with, null on the last page
+    private String nextCursor;
+    private boolean hasMore;
+
+    public GamePageDTO() {}
+
+    public GamePageDTO(List<GameDTO> games, String nextCursor, boolean hasMore) {
+        this.games = games;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<GameDTO> getGames() {
+        return games;
+    }
+
+    public void setGames(List<GameDTO> games) {
+        this.games = games;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
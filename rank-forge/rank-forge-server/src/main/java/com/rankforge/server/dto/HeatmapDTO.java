@@ -0,0 +1,168 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.dto;
+
+/**
+ * DTO for one kill/death heatmap layer of a map. Only the bounding box of the non-empty cells is sent:
+ * {@code kills} and {@code deaths} are row-major arrays of {@code width * height} counts, where index
+ * {@code (cellY - minCellY) * width + (cellX - minCellX)} holds cell (cellX, cellY). Cell (0, 0) starts at
+ * world coordinates (origin, origin) and every cell is {@code cellSize} units wide.
+ * Author bageshwar.pn
+ * Date 2026
+ */
+public class HeatmapDTO {
+    
+    private String map;
+    private String playerId;            // "ALL" for every player
+    private String side;                // "CT", "T" or "ALL"
+    private int gridSize;               // Cells per axis
+    private int cellSize;               // World units per cell
+    private int origin;                 // World coordinate of cell 0 on both axes
+    private int minCellX;
+    private int minCellY;
+    private int width;
+    private int height;
+    private int[] kills = new int[0];   // Kills made from each cell
+    private int[] deaths = new int[0];  // Deaths in each cell
+    private long totalKills;
+    private long totalDeaths;
+    
+    public HeatmapDTO() {}
+    
+    public HeatmapDTO(String map, String playerId, String side, int gridSize, int cellSize, int origin) {
+        this.map = map;
+        this.playerId = playerId;
+        this.side = side;
+        this.gridSize = gridSize;
+        this.cellSize = cellSize;
+        this.origin = origin;
+    }
+    
+    public String getMap() {
+        return map;
+    }
+    
+    public void setMap(String map) {
+        this.map = map;
+    }
+    
+    public String getPlayerId() {
+        return playerId;
+    }
+    
+    public void setPlayerId(String playerId) {
+        this.playerId = playerId;
+    }
+    
+    public String getSide() {
+        return side;
+    }
+    
+    public void setSide(String side) {
+        this.side = side;
+    }
+    
+    public int getGridSize() {
+        return gridSize;
+    }
+    
+    public void setGridSize(int gridSize) {
+        this.gridSize = gridSize;
+    }
+    
+    public int getCellSize() {
+        return cellSize;
+    }
+    
+    public void setCellSize(int cellSize) {
+        this.cellSize = cellSize;
+    }
+    
+    public int getOrigin() {
+        return origin;
+    }
+    
+    public void setOrigin(int origin) {
+        this.origin = origin;
+    }
+    
+    public int getMinCellX() {
+        return minCellX;
+    }
+    
+    public void setMinCellX(int minCellX) {
+        this.minCellX = minCellX;
+    }
+    
+    public int getMinCellY() {
+        return minCellY;
+    }
+    
+    public void setMinCellY(int minCellY) {
+        this.minCellY = minCellY;
+    }
+    
+    public int getWidth() {
+        return width;
+    }
+    
+    public void setWidth(int width) {
+        this.width = width;
+    }
+    
+    public int getHeight() {
+        return height;
+    }
+    
+    public void setHeight(int height) {
+        this.height = height;
+    }
+    
+    public int[] getKills() {
+        return kills;
+    }
+    
+    public void setKills(int[] kills) {
+        this.kills = kills;
+    }
+    
+    public int[] getDeaths() {
+        return deaths;
+    }
+    
+    public void setDeaths(int[] deaths) {
+        this.deaths = deaths;
+    }
+    
+    public long getTotalKills() {
+        return totalKills;
+    }
+    
+    public void setTotalKills(long totalKills) {
+        this.totalKills = totalKills;
+    }
+    
+    public long getTotalDeaths() {
+        return totalDeaths;
+    }
+    
+    public void setTotalDeaths(long totalDeaths) {
+        this.totalDeaths = totalDeaths;
+    }
+}
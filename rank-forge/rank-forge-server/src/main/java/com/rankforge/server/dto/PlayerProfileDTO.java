@@ -42,6 +42,9 @@ public class PlayerProfileDTO {
     private double headshotPercentage;
     private int totalRoundsPlayed;
     private int clutchesWon;
+    private int openingKills;           // First kill of a round
+    private int openingDeaths;          // First death of a round
+    private int tradeKills;             // Kills avenging a teammate within 5 seconds
     private double totalDamageDealt;
     private int totalGamesPlayed;
     
@@ -148,6 +151,30 @@ public class PlayerProfileDTO {
         this.clutchesWon = clutchesWon;
     }
     
+    public int getOpeningKills() {
+        return openingKills;
+    }
+    
+    public void setOpeningKills(int openingKills) {
+        this.openingKills = openingKills;
+    }
+    
+    public int getOpeningDeaths() {
+        return openingDeaths;
+    }
+    
+    public void setOpeningDeaths(int openingDeaths) {
+        this.openingDeaths = openingDeaths;
+    }
+    
+    public int getTradeKills() {
+        return tradeKills;
+    }
+    
+    public void setTradeKills(int tradeKills) {
+        this.tradeKills = tradeKills;
+    }
+    
     public double getTotalDamageDealt() {
         return totalDamageDealt;
     }
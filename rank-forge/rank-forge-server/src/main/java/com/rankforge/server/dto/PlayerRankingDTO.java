@@ -37,6 +37,8 @@ public class PlayerRankingDTO {
     private int clutchesWon;
     private double damageDealt;
     private int gamesPlayed;
+    // 1-based position on the all-time leaderboard; 0 when not applicable (e.g. monthly leaderboards)
+    private int position;
 
     public PlayerRankingDTO() {}
 
@@ -164,4 +166,12 @@ public class PlayerRankingDTO {
     public void setGamesPlayed(int gamesPlayed) {
         this.gamesPlayed = gamesPlayed;
     }
-}
\ No newline at end of file
+
+    public int getPosition() {
+        return position;
+    }
+
+    public void setPosition(int position) {
+        this.position = position;
+    }
+}
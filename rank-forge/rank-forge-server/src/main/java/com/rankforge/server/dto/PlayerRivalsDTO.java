@@ -0,0 +1,125 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for a player's head-to-head rivals in a period
+ * Author bageshwar.pn
+ * Date 2026
+ */
+public class PlayerRivalsDTO {
+    
+    private String playerId;
+    private String period;              // "ALL" or "yyyy-MM"
+    private List<RivalDTO> victims = new ArrayList<>();   // Players this player killed most
+    private List<RivalDTO> nemeses = new ArrayList<>();   // Players who killed this player most
+    
+    public PlayerRivalsDTO() {}
+    
+    public PlayerRivalsDTO(String playerId, String period) {
+        this.playerId = playerId;
+        this.period = period;
+    }
+    
+    public String getPlayerId() {
+        return playerId;
+    }
+    
+    public void setPlayerId(String playerId) {
+        this.playerId = playerId;
+    }
+    
+    public String getPeriod() {
+        return period;
+    }
+    
+    public void setPeriod(String period) {
+        this.period = period;
+    }
+    
+    public List<RivalDTO> getVictims() {
+        return victims;
+    }
+    
+    public void setVictims(List<RivalDTO> victims) {
+        this.victims = victims;
+    }
+    
+    public List<RivalDTO> getNemeses() {
+        return nemeses;
+    }
+    
+    public void setNemeses(List<RivalDTO> nemeses) {
+        this.nemeses = nemeses;
+    }
+    
+    /**
+     * Head-to-head record against one rival
+     */
+    public static class RivalDTO {
+        private String playerId;
+        private String playerName;
+        private int kills;      // Times the player killed this rival
+        private int deaths;     // Times this rival killed the player
+        
+        public RivalDTO() {}
+        
+        public RivalDTO(String playerId, String playerName, int kills, int deaths) {
+            this.playerId = playerId;
+            this.playerName = playerName;
+            this.kills = kills;
+            this.deaths = deaths;
+        }
+        
+        public String getPlayerId() {
+            return playerId;
+        }
+        
+        public void setPlayerId(String playerId) {
+            this.playerId = playerId;
+        }
+        
+        public String getPlayerName() {
+            return playerName;
+        }
+        
+        public void setPlayerName(String playerName) {
+            this.playerName = playerName;
+        }
+        
+        public int getKills() {
+            return kills;
+        }
+        
+        public void setKills(int kills) {
+            this.kills = kills;
+        }
+        
+        public int getDeaths() {
+            return deaths;
+        }
+        
+        public void setDeaths(int deaths) {
+            this.deaths = deaths;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.dto;
+
+/**
+ * Data Transfer Object for a player found by name search
+ * Author bageshwar.pn
+ * Date 2026
+ */
+public class PlayerSearchResultDTO {
+    private String playerId;
+    private String playerName;      // Current nickname
+    private String matchedName;     // The nickname that matched the query
+    private boolean pastName;       // Whether matchedName is a past nickname
+    
+    public PlayerSearchResultDTO() {}
+    
+    public PlayerSearchResultDTO(String playerId, String playerName, String matchedName, boolean pastName) {
+        this.playerId = playerId;
+        this.playerName = playerName;
+        this.matchedName = matchedName;
+        this.pastName = pastName;
+    }
+    
+    public String getPlayerId() {
+        return playerId;
+    }
+    
+    public void setPlayerId(String playerId) {
+        this.playerId = playerId;
+    }
+    
+    public String getPlayerName() {
+        return playerName;
+    }
+    
+    public void setPlayerName(String playerName) {
+        this.playerName = playerName;
+    }
+    
+    public String getMatchedName() {
+        return matchedName;
+    }
+    
+    public void setMatchedName(String matchedName) {
+        this.matchedName = matchedName;
+    }
+    
+    public boolean isPastName() {
+        return pastName;
+    }
+    
+    public void setPastName(boolean pastName) {
+        this.pastName = pastName;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.dto;
+
+/**
+ * DTO for a player's all-time totals with one weapon
+ * Author bageshwar.pn
+ * Date 2026
+ */
+public class PlayerWeaponStatsDTO {
+    
+    private String weapon;
+    private int kills;
+    private int headshotKills;
+    private double headshotPercentage;  // Headshot kills / kills * 100
+    private int hits;
+    private long damage;                // Raw damage of all hits
+    private double damagePerHit;
+    
+    public PlayerWeaponStatsDTO() {}
+    
+    public PlayerWeaponStatsDTO(String weapon, int kills, int headshotKills, int hits, long damage) {
+        this.weapon = weapon;
+        this.kills = kills;
+        this.headshotKills = headshotKills;
+        this.hits = hits;
+        this.damage = damage;
+        this.headshotPercentage = kills > 0 ? Math.round(headshotKills * 1000.0 / kills) / 10.0 : 0.0;
+        this.damagePerHit = hits > 0 ? Math.round(damage * 10.0 / hits) / 10.0 : 0.0;
+    }
+    
+    public String getWeapon() {
+        return weapon;
+    }
+    
+    public void setWeapon(String weapon) {
+        this.weapon = weapon;
+    }
+    
+    public int getKills() {
+        return kills;
+    }
+    
+    public void setKills(int kills) {
+        this.kills = kills;
+    }
+    
+    public int getHeadshotKills() {
+        return headshotKills;
+    }
+    
+    public void setHeadshotKills(int headshotKills) {
+        this.headshotKills = headshotKills;
+    }
+    
+    public double getHeadshotPercentage() {
+        return headshotPercentage;
+    }
+    
+    public void setHeadshotPercentage(double headshotPercentage) {
+        this.headshotPercentage = headshotPercentage;
+    }
+    
+    public int getHits() {
+        return hits;
+    }
+    
+    public void setHits(int hits) {
+        this.hits = hits;
+    }
+    
+    public long getDamage() {
+        return damage;
+    }
+    
+    public void setDamage(long damage) {
+        this.damage = damage;
+    }
+    
+    public double getDamagePerHit() {
+        return damagePerHit;
+    }
+    
+    public void setDamagePerHit(double damagePerHit) {
+        this.damagePerHit = damagePerHit;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.event;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Published by AdminGameService after games have been bulk deleted.
+ * Carries the per-player stats each deleted game contributed, captured before the rows were removed,
+ * so listeners can repair derived data (later cumulative snapshots, rollups) once the delete commits.
+ * Author bageshwar.pn
+ * Date 2026
+ */
+public class GamesDeletedEvent {
+    
+    private final List<Long> gameIds;
+    private final List<StatsDelta> statsDeltas;
+    
+    public GamesDeletedEvent(List<Long> gameIds, List<StatsDelta> statsDeltas) {
+        this.gameIds = Collections.unmodifiableList(gameIds);
+        this.statsDeltas = Collections.unmodifiableList(statsDeltas);
+    }
+    
+    public List<Long> getGameIds() { return gameIds; }
+    public List<StatsDelta> getStatsDeltas() { return statsDeltas; }
+    
+    /**
+     * Contribution of one deleted game to a player's cumulative stats
+     * (the game's snapshot minus the player's previous snapshot).
+     */
+    public static class StatsDelta {
+        private final String playerId;
+        private final Instant gameTimestamp;
+        private final int kills;
+        private final int deaths;
+        private final int assists;
+        private final int headshotKills;
+        private final int roundsPlayed;
+        private final int clutchesWon;
+        private final int openingKills;
+        private final int openingDeaths;
+        private final int tradeKills;
+        private final double damageDealt;
+        
+        public StatsDelta(String playerId, Instant gameTimestamp, int kills, int deaths, int assists,
+                          int headshotKills, int roundsPlayed, int clutchesWon, int openingKills,
+                          int openingDeaths, int tradeKills, double damageDealt) {
+            this.playerId = playerId;
+            this.gameTimestamp = gameTimestamp;
+            this.kills = kills;
+            this.deaths = deaths;
+            this.assists = assists;
+            this.headshotKills = headshotKills;
+            this.roundsPlayed = roundsPlayed;
+            this.clutchesWon = clutchesWon;
+            this.openingKills = openingKills;
+            this.openingDeaths = openingDeaths;
+            this.tradeKills = tradeKills;
+            this.damageDealt = damageDealt;
+        }
+        
+        public String getPlayerId() { return playerId; }
+        public Instant getGameTimestamp() { return gameTimestamp; }
+        public int getKills() { return kills; }
+        public int getDeaths() { return deaths; }
+        public int getAssists() { return assists; }
+        public int getHeadshotKills() { return headshotKills; }
+        public int getRoundsPlayed() { return roundsPlayed; }
+        public int getClutchesWon() { return clutchesWon; }
+        public int getOpeningKills() { return openingKills; }
+        public int getOpeningDeaths() { return openingDeaths; }
+        public int getTradeKills() { return tradeKills; }
+        public double getDamageDealt() { return damageDealt; }
+    }
+}
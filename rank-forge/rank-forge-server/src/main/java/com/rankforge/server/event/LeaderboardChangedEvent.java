@@ -0,0 +1,68 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.event;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Published when committed player stats change: after an ingested match's stats commit, and after
+ * deleted games have been repaired. Carries the UTC months of the affected games so listeners can
+ * drop exactly the derived data (cached leaderboards) those months feed.
+ * Author bageshwar.pn
+ * Date 2026
+ */
+public class LeaderboardChangedEvent {
+    
+    private final Set<YearMonth> months;
+    private final boolean allMonths;
+    
+    private LeaderboardChangedEvent(Set<YearMonth> months, boolean allMonths) {
+        this.months = Collections.unmodifiableSet(months);
+        this.allMonths = allMonths;
+    }
+    
+    /**
+     * Change affecting the months of the given game timestamps
+     */
+    public static LeaderboardChangedEvent forGames(Collection<Instant> gameTimestamps) {
+        Set<YearMonth> months = new TreeSet<>();
+        gameTimestamps.stream()
+                .filter(Objects::nonNull)
+                .map(timestamp -> YearMonth.from(timestamp.atZone(ZoneOffset.UTC)))
+                .forEach(months::add);
+        return new LeaderboardChangedEvent(months, false);
+    }
+    
+    /**
+     * Change whose months are unknown
+     */
+    public static LeaderboardChangedEvent forAllMonths() {
+        return new LeaderboardChangedEvent(new TreeSet<>(), true);
+    }
+    
+    public Set<YearMonth> getMonths() { return months; }
+    public boolean isAllMonths() { return allMonths; }
+}
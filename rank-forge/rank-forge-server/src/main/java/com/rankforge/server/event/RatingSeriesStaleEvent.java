@@ -0,0 +1,36 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.event;
+
+/**
+ * Published by PlayerProfileService when a profile read finds a player's rating series missing or
+ * behind the snapshots. The read serves a series built in memory; RatingSeriesRebuilder stores one.
+ * Author bageshwar.pn
+ * Date 2026
+ */
+public class RatingSeriesStaleEvent {
+    
+    private final String playerId;
+    
+    public RatingSeriesStaleEvent(String playerId) {
+        this.playerId = playerId;
+    }
+    
+    public String getPlayerId() { return playerId; }
+}
@@ -18,27 +18,40 @@
 
 package com.rankforge.server.service;
 
-import com.rankforge.pipeline.persistence.entity.AccoladeEntity;
+import com.rankforge.pipeline.persistence.DailyStatsCounters;
+import com.rankforge.pipeline.persistence.GlobalCounters;
 import com.rankforge.pipeline.persistence.entity.GameEntity;
-import com.rankforge.pipeline.persistence.entity.GameEventEntity;
+import com.rankforge.pipeline.persistence.entity.GlobalCounterEntity;
+import com.rankforge.pipeline.persistence.entity.PlayerDailyStatsEntity;
 import com.rankforge.pipeline.persistence.entity.PlayerStatsEntity;
 import com.rankforge.pipeline.persistence.repository.AccoladeRepository;
+import com.rankforge.pipeline.persistence.repository.GameEventArchiveRepository;
 import com.rankforge.pipeline.persistence.repository.GameEventRepository;
 import com.rankforge.pipeline.persistence.repository.GameRepository;
+import com.rankforge.pipeline.persistence.repository.GameSummaryRepository;
+import com.rankforge.pipeline.persistence.repository.GlobalCounterRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerAccoladeCountRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerDailyStatsRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerRatingSeriesRepository;
 import com.rankforge.pipeline.persistence.repository.PlayerStatsRepository;
+import com.rankforge.server.event.GamesDeletedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Admin service for game management operations including deletion.
- * Handles cascade deletion of related entities.
+ * Handles cascade deletion of related entities with set-based deletes keyed by game ID.
  * Author bageshwar.pn
  * Date 2026
  */
@@ -47,33 +60,72 @@ public class AdminGameService {
     
     private static final Logger logger = LoggerFactory.getLogger(AdminGameService.class);
     
+    /**
+     * Maximum number of game IDs per bulk statement (keeps IN lists well below SQL Server's parameter limit)
+     */
+    static final int DELETE_BATCH_SIZE = 500;
+    
     private final GameRepository gameRepository;
     private final GameEventRepository gameEventRepository;
     private final AccoladeRepository accoladeRepository;
     private final PlayerStatsRepository playerStatsRepository;
+    private final GameEventArchiveRepository gameEventArchiveRepository;
+    private final GameSummaryRepository gameSummaryRepository;
+    private final PlayerAccoladeCountRepository playerAccoladeCountRepository;
+    private final GlobalCounterRepository globalCounterRepository;
+    private final PlayerDailyStatsRepository playerDailyStatsRepository;
+    private final PlayerRatingSeriesRepository playerRatingSeriesRepository;
+    private final RivalryService rivalryService;
+    private final WeaponStatsService weaponStatsService;
+    private final HeatmapService heatmapService;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Autowired
     public AdminGameService(GameRepository gameRepository,
                            GameEventRepository gameEventRepository,
                            AccoladeRepository accoladeRepository,
-                           PlayerStatsRepository playerStatsRepository) {
+                           PlayerStatsRepository playerStatsRepository,
+                           GameEventArchiveRepository gameEventArchiveRepository,
+                           GameSummaryRepository gameSummaryRepository,
+                           PlayerAccoladeCountRepository playerAccoladeCountRepository,
+                           GlobalCounterRepository globalCounterRepository,
+                           PlayerDailyStatsRepository playerDailyStatsRepository,
+                           PlayerRatingSeriesRepository playerRatingSeriesRepository,
+                           RivalryService rivalryService,
+                           WeaponStatsService weaponStatsService,
+                           HeatmapService heatmapService,
+                           ApplicationEventPublisher eventPublisher) {
         this.gameRepository = gameRepository;
         this.gameEventRepository = gameEventRepository;
         this.accoladeRepository = accoladeRepository;
         this.playerStatsRepository = playerStatsRepository;
+        this.gameEventArchiveRepository = gameEventArchiveRepository;
+        this.gameSummaryRepository = gameSummaryRepository;
+        this.playerAccoladeCountRepository = playerAccoladeCountRepository;
+        this.globalCounterRepository = globalCounterRepository;
+        this.playerDailyStatsRepository = playerDailyStatsRepository;
+        this.playerRatingSeriesRepository = playerRatingSeriesRepository;
+        this.rivalryService = rivalryService;
+        this.weaponStatsService = weaponStatsService;
+        this.heatmapService = heatmapService;
+        this.eventPublisher = eventPublisher;
     }
     
     /**
      * Delete a game and all related entities (cascade deletion).
      * 
-     * Deletes in order:
-     * 1. All game events (rounds, kills, assists, etc.) associated with the game
-     * 2. All accolades associated with the game
-     * 3. All player stats entries that match the game's timestamp
-     * 4. The game entity itself
+     * Deletes in order, one bulk statement each:
+     * 1. All game events (rounds, kills, assists, etc.) associated with the game, subtracting the kills
+     *    from the head-to-head kill matrix and the kills and hits from the weapon stats and
+     *    the kill positions from the heatmaps first
+     * 2. All accolades associated with the game, subtracting them from the players' accolade counters
+     * 3. All player stats entries associated with the game, subtracting what they added from the
+     *    players' daily stats buckets and dropping the players' rating series
+     * 4. The game's compressed event archive and listing summary
+     * 5. The game entity itself, subtracting it from the global game and round counters
      * 
-     * Note: This is a hard delete. Aggregate stats (leaderboards, user totals, clan totals)
-     * should be recomputed in the background after deletion.
+     * Note: This is a hard delete. Later cumulative player stats snapshots are rebased
+     * asynchronously by PlayerStatsRepairService once the deletion commits.
      * 
      * @param gameId The ID of the game to delete
      * @return true if the game was found and deleted, false if not found
@@ -89,46 +141,184 @@ public class AdminGameService {
         }
         
         GameEntity game = gameOpt.get();
-        Instant gameTimestamp = game.getGameOverTimestamp();
-        String map = game.getMap();
-        
         logger.info("ADMIN_DELETE: Game found - ID: {}, timestamp: {}, map: {}", 
-                gameId, gameTimestamp, map);
+                gameId, game.getGameOverTimestamp(), game.getMap());
         
-        // 1. Delete all game events associated with this game (including GAME_OVER)
-        List<GameEventEntity> gameEvents = gameEventRepository.findAllByGameId(gameId);
-        int eventCount = gameEvents.size();
-        if (eventCount > 0) {
-            gameEventRepository.deleteAll(gameEvents);
-            logger.info("ADMIN_DELETE: Deleted {} game events (including GAME_OVER) for game ID: {}", 
-                    eventCount, gameId);
+        List<Long> gameIds = List.of(gameId);
+        deleteGameBatch(gameIds, captureStatsDeltas(gameIds));
+        return true;
+    }
+    
+    /**
+     * Delete a set of games and all related entities.
+     * Unknown IDs are ignored.
+     * 
+     * Stats deltas are captured for every batch before the first batch is deleted: once a batch's
+     * snapshots are gone, a later batch would otherwise measure its snapshots against an older
+     * snapshot of the same player and count the already deleted game twice.
+     * 
+     * @param gameIds The IDs of the games to delete
+     * @return Number of games deleted
+     */
+    @Transactional
+    public int deleteGames(List<Long> gameIds) {
+        if (gameIds == null || gameIds.isEmpty()) {
+            return 0;
         }
+        logger.info("ADMIN_DELETE: Starting batch deletion of {} game IDs", gameIds.size());
         
-        // 2. Delete all accolades associated with this game
-        List<AccoladeEntity> accolades = accoladeRepository.findByGameId(gameId);
-        int accoladeCount = accolades.size();
-        if (accoladeCount > 0) {
-            accoladeRepository.deleteAll(accolades);
-            logger.info("ADMIN_DELETE: Deleted {} accolades for game ID: {}", accoladeCount, gameId);
+        List<List<Long>> batches = new ArrayList<>();
+        List<List<GamesDeletedEvent.StatsDelta>> batchDeltas = new ArrayList<>();
+        for (int i = 0; i < gameIds.size(); i += DELETE_BATCH_SIZE) {
+            List<Long> batch = gameIds.subList(i, Math.min(i + DELETE_BATCH_SIZE, gameIds.size()));
+            batches.add(batch);
+            batchDeltas.add(captureStatsDeltas(batch));
         }
         
-        // 3. Delete player stats entries associated with this game
-        // Use gameId for confident deletion instead of timestamp
-        List<PlayerStatsEntity> playerStats = playerStatsRepository.findByGameId(gameId);
-        int statsCount = playerStats.size();
-        if (statsCount > 0) {
-            playerStatsRepository.deleteAll(playerStats);
-            logger.info("ADMIN_DELETE: Deleted {} player stats entries for game ID: {}", statsCount, gameId);
+        int deleted = 0;
+        for (int i = 0; i < batches.size(); i++) {
+            deleted += deleteGameBatch(batches.get(i), batchDeltas.get(i));
         }
+        return deleted;
+    }
+    
+    /**
+     * Delete all games that ended within a time range (inclusive), in batches.
+     * 
+     * @param from Range start
+     * @param to Range end
+     * @return Number of games deleted
+     */
+    @Transactional
+    public int purgeGames(Instant from, Instant to) {
+        List<Long> gameIds = gameRepository.findIdsByGameOverTimestampBetween(from, to);
+        logger.info("ADMIN_DELETE: Purging {} games between {} and {}", gameIds.size(), from, to);
+        return deleteGames(gameIds);
+    }
+    
+    /**
+     * Deletes one batch of games with bulk statements and publishes a GamesDeletedEvent
+     * carrying the per-player stats deltas needed to repair later snapshots.
+     * The deltas must have been captured before any of the games being deleted were removed.
+     */
+    private int deleteGameBatch(List<Long> gameIds, List<GamesDeletedEvent.StatsDelta> statsDeltas) {
+        rivalryService.subtractGames(gameIds);
+        weaponStatsService.subtractGames(gameIds);
+        heatmapService.subtractGames(gameIds);
         
-        // 4. Delete the game entity itself
-        gameRepository.delete(game);
-        logger.info("ADMIN_DELETE: Deleted game entity ID: {}", gameId);
+        // Round-scoped events reference ROUND_START rows, so they go first
+        int eventCount = gameEventRepository.deleteRoundScopedEventsByGameIds(gameIds)
+                + gameEventRepository.deleteByGameIds(gameIds);
+        decrementAccoladeCounters(gameIds);
+        int accoladeCount = accoladeRepository.deleteByGameIds(gameIds);
+        decrementDailyStats(statsDeltas);
+        // Series only detect a changed latest snapshot, so deleted earlier games must drop them here
+        playerRatingSeriesRepository.deleteByGameIds(gameIds);
+        int statsCount = playerStatsRepository.deleteByGameIds(gameIds);
+        gameEventArchiveRepository.deleteByGameIds(gameIds);
+        gameSummaryRepository.deleteByGameIds(gameIds);
+        decrementGlobalCounters(gameIds);
+        int gameCount = gameRepository.deleteByIds(gameIds);
         
-        logger.info("ADMIN_DELETE: Successfully deleted game ID: {} (events: {}, accolades: {}, stats: {})", 
-                gameId, eventCount, accoladeCount, statsCount);
+        logger.info("ADMIN_DELETE: Successfully deleted {} games {} (events: {}, accolades: {}, stats: {})", 
+                gameCount, gameIds, eventCount, accoladeCount, statsCount);
         
-        return true;
+        if (gameCount > 0) {
+            eventPublisher.publishEvent(new GamesDeletedEvent(new ArrayList<>(gameIds), statsDeltas));
+        }
+        return gameCount;
+    }
+    
+    /**
+     * Subtracts the accolades of the given games from the per-player accolade counters
+     * and drops counters that reach zero.
+     */
+    private void decrementAccoladeCounters(List<Long> gameIds) {
+        List<Object[]> counts = accoladeRepository.countByGameIdsGroupedByPlayerAndType(gameIds);
+        if (counts.isEmpty()) {
+            return;
+        }
+        for (Object[] row : counts) {
+            playerAccoladeCountRepository.decrement((String) row[0], (String) row[1], ((Number) row[2]).intValue());
+        }
+        playerAccoladeCountRepository.deleteEmpty();
+    }
+    
+    /**
+     * Subtracts the given games and their rounds from the global, monthly and per-server counters
+     * and drops counters that reach zero.
+     */
+    private void decrementGlobalCounters(List<Long> gameIds) {
+        GlobalCounters counters = new GlobalCounters();
+        for (Object[] row : gameRepository.findCounterScopesByIds(gameIds)) {
+            counters.add((Long) row[0], (Instant) row[1], row[2] != null ? ((Number) row[2]).longValue() : 0);
+        }
+        if (counters.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<GlobalCounterEntity.Key, long[]> total : counters.getTotals().entrySet()) {
+            globalCounterRepository.decrement(total.getKey().getScope(), total.getKey().getScopeKey(),
+                    total.getValue()[0], total.getValue()[1]);
+        }
+        globalCounterRepository.deleteEmpty();
+    }
+    
+    /**
+     * Subtracts the deleted snapshots' contributions from the players' daily stats buckets
+     * and drops buckets left without games.
+     */
+    private void decrementDailyStats(List<GamesDeletedEvent.StatsDelta> statsDeltas) {
+        if (statsDeltas.isEmpty()) {
+            return;
+        }
+        DailyStatsCounters counters = new DailyStatsCounters();
+        for (GamesDeletedEvent.StatsDelta delta : statsDeltas) {
+            counters.add(delta.getPlayerId(), delta.getGameTimestamp(), delta.getKills(), delta.getDeaths(),
+                    delta.getAssists(), delta.getHeadshotKills(), delta.getRoundsPlayed(), delta.getClutchesWon(),
+                    delta.getDamageDealt());
+        }
+        for (PlayerDailyStatsEntity total : counters.getTotals().values()) {
+            playerDailyStatsRepository.decrement(total.getPlayerId(), total.getBucketDay(), total.getGames(),
+                    total.getKills(), total.getDeaths(), total.getAssists(), total.getHeadshotKills(),
+                    total.getRoundsPlayed(), total.getClutchesWon(), total.getDamageDealt());
+        }
+        playerDailyStatsRepository.deleteEmpty();
+    }
+    
+    /**
+     * Computes each deleted snapshot's contribution as (snapshot - previous snapshot of the same player).
+     * Players without an earlier snapshot contribute their whole snapshot.
+     */
+    private List<GamesDeletedEvent.StatsDelta> captureStatsDeltas(List<Long> gameIds) {
+        List<PlayerStatsEntity> snapshots = playerStatsRepository.findByGameIds(gameIds);
+        if (snapshots.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        Map<Long, PlayerStatsEntity> previousBySnapshotId = new HashMap<>();
+        for (Object[] row : playerStatsRepository.findPreviousSnapshotsByGameIds(gameIds)) {
+            previousBySnapshotId.put((Long) row[0], (PlayerStatsEntity) row[1]);
+        }
+        
+        List<GamesDeletedEvent.StatsDelta> deltas = new ArrayList<>();
+        for (PlayerStatsEntity snapshot : snapshots) {
+            PlayerStatsEntity previous = previousBySnapshotId.get(snapshot.getId());
+            deltas.add(new GamesDeletedEvent.StatsDelta(
+                    snapshot.getPlayerId(),
+                    snapshot.getGameTimestamp(),
+                    snapshot.getKills() - (previous != null ? previous.getKills() : 0),
+                    snapshot.getDeaths() - (previous != null ? previous.getDeaths() : 0),
+                    snapshot.getAssists() - (previous != null ? previous.getAssists() : 0),
+                    snapshot.getHeadshotKills() - (previous != null ? previous.getHeadshotKills() : 0),
+                    snapshot.getRoundsPlayed() - (previous != null ? previous.getRoundsPlayed() : 0),
+                    snapshot.getClutchesWon() - (previous != null ? previous.getClutchesWon() : 0),
+                    snapshot.getOpeningKills() - (previous != null ? previous.getOpeningKills() : 0),
+                    snapshot.getOpeningDeaths() - (previous != null ? previous.getOpeningDeaths() : 0),
+                    snapshot.getTradeKills() - (previous != null ? previous.getTradeKills() : 0),
+                    snapshot.getDamageDealt() - (previous != null ? previous.getDamageDealt() : 0.0)
+            ));
+        }
+        return deltas;
     }
     
     /**
@@ -22,32 +22,46 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rankforge.core.events.GameEventType;
+import com.rankforge.pipeline.persistence.GameSummaryFactory;
+import com.rankforge.pipeline.persistence.archive.GameEventArchiveCodec;
 import com.rankforge.pipeline.persistence.entity.AccoladeEntity;
 import com.rankforge.pipeline.persistence.entity.AssistEventEntity;
 import com.rankforge.pipeline.persistence.entity.AttackEventEntity;
 import com.rankforge.pipeline.persistence.entity.BombEventEntity;
 import com.rankforge.pipeline.persistence.entity.GameEntity;
 import com.rankforge.pipeline.persistence.entity.GameEventEntity;
+import com.rankforge.pipeline.persistence.entity.GameSummaryEntity;
 import com.rankforge.pipeline.persistence.entity.KillEventEntity;
-import com.rankforge.pipeline.persistence.entity.PlayerStatsEntity;
 import com.rankforge.pipeline.persistence.entity.RoundEndEventEntity;
 import com.rankforge.pipeline.persistence.entity.RoundStartEventEntity;
 import com.rankforge.pipeline.persistence.repository.AccoladeRepository;
+import com.rankforge.pipeline.persistence.repository.GameEventArchiveRepository;
 import com.rankforge.pipeline.persistence.repository.GameEventRepository;
 import com.rankforge.pipeline.persistence.repository.GameRepository;
-import com.rankforge.pipeline.persistence.repository.PlayerStatsRepository;
+import com.rankforge.pipeline.persistence.repository.GameSummaryFilter;
+import com.rankforge.pipeline.persistence.repository.GameSummaryRepository;
+import com.rankforge.server.config.CacheConfig;
 import com.rankforge.server.dto.AccoladeDTO;
 import com.rankforge.server.dto.GameDTO;
 import com.rankforge.server.dto.GameDetailsDTO;
+import com.rankforge.server.dto.GamePageDTO;
 import com.rankforge.server.dto.PlayerStatsDTO;
 import com.rankforge.server.dto.RoundDetailsDTO;
 import com.rankforge.server.dto.RoundEventDTO;
 import com.rankforge.server.dto.RoundResultDTO;
+import com.rankforge.server.event.GamesDeletedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -66,81 +80,179 @@ public class GameService {
     
     private final ObjectMapper objectMapper;
     private final GameEventRepository gameEventRepository;
-    private final PlayerStatsRepository playerStatsRepository;
     private final GameRepository gameRepository;
     private final AccoladeRepository accoladeRepository;
+    private final GameEventArchiveRepository gameEventArchiveRepository;
+    private final GameSummaryRepository gameSummaryRepository;
+    private final PlayerSearchIndex playerSearchIndex;
+    private final CacheManager cacheManager;
     
     @Autowired
     public GameService(ObjectMapper objectMapper, 
                        GameEventRepository gameEventRepository,
-                       PlayerStatsRepository playerStatsRepository,
                        GameRepository gameRepository,
-                       AccoladeRepository accoladeRepository) {
+                       AccoladeRepository accoladeRepository,
+                       GameEventArchiveRepository gameEventArchiveRepository,
+                       GameSummaryRepository gameSummaryRepository,
+                       PlayerSearchIndex playerSearchIndex,
+                       CacheManager cacheManager) {
         this.objectMapper = objectMapper;
         this.gameEventRepository = gameEventRepository;
-        this.playerStatsRepository = playerStatsRepository;
         this.gameRepository = gameRepository;
         this.accoladeRepository = accoladeRepository;
+        this.gameEventArchiveRepository = gameEventArchiveRepository;
+        this.gameSummaryRepository = gameSummaryRepository;
+        this.playerSearchIndex = playerSearchIndex;
+        this.cacheManager = cacheManager;
     }
 
     /**
-     * Get all processed games from the Game table
+     * Get all processed games, most recent first, from the GameSummary read model
      */
     public List<GameDTO> getAllGames() {
         try {
-            List<GameEntity> gameEntities = gameRepository.findAll();
-            Map<String, String> playerIdToNameCache = new HashMap<>();
-            
-            List<GameDTO> games = new ArrayList<>();
-            LOGGER.info("Processing {} games from database", gameEntities.size());
-            
-            for (GameEntity gameEntity : gameEntities) {
-                long start = System.currentTimeMillis();
-                
-                // Get players for this game using gameId
-                List<String> players = getPlayersForGame(gameEntity.getId(), playerIdToNameCache);
-                
-                // Extract duration
-                String duration = gameEntity.getDuration() != null 
-                    ? String.valueOf(gameEntity.getDuration()) 
-                    : null;
-                
-                GameDTO gameDTO = new GameDTO(
-                        gameEntity.getId(),
-                        gameEntity.getGameOverTimestamp(),
-                        gameEntity.getMap(),
-                        gameEntity.getMode(),
-                        gameEntity.getTeam1Score(),
-                        gameEntity.getTeam2Score(),
-                        players,
-                        duration
-                );
-                games.add(gameDTO);
-                LOGGER.info("Game processing id={} took {}ms, duration: {} min", 
-                        gameEntity.getId(), System.currentTimeMillis() - start, duration);
-            }
-            
-            // Sort by game date descending (most recent first)
-            games.sort((g1, g2) -> g2.getGameDate().compareTo(g1.getGameDate()));
-            
-            return games;
-                    
+            List<GameSummaryEntity> summaries = gameSummaryRepository.findAllNewestFirst();
+            LOGGER.info("Loaded {} game summaries", summaries.size());
+            return summaries.stream()
+                    .map(this::convertToGameDTO)
+                    .collect(Collectors.toList());
         } catch (Exception e) {
             LOGGER.error("Failed to retrieve games", e);
             return new ArrayList<>();
         }
     }
     
+    /**
+     * Get one page of games, newest first, using keyset pagination on (gameOverTimestamp, gameId).
+     * The cost of a page does not depend on how deep it is or on the total number of games.
+     * 
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param limit Page size
+     * @param filter Optional map, app server, date range and player filters
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public GamePageDTO getGamesPage(String cursor, int limit, GameSummaryFilter filter) {
+        Instant afterTimestamp = null;
+        Long afterGameId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] parts = decodeCursor(cursor);
+            afterTimestamp = Instant.parse(parts[0]);
+            afterGameId = Long.parseLong(parts[1]);
+        }
+        
+        // One extra row tells whether another page exists
+        List<GameSummaryEntity> rows = gameSummaryRepository.findPage(filter, afterTimestamp, afterGameId, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<GameSummaryEntity> page = hasMore ? rows.subList(0, limit) : rows;
+        
+        String nextCursor = null;
+        if (hasMore) {
+            GameSummaryEntity last = page.get(page.size() - 1);
+            nextCursor = encodeCursor(last.getGameOverTimestamp(), last.getGameId());
+        }
+        List<GameDTO> games = page.stream()
+                .map(this::convertToGameDTO)
+                .collect(Collectors.toList());
+        return new GamePageDTO(games, nextCursor, hasMore);
+    }
+    
+    static String encodeCursor(Instant gameOverTimestamp, Long gameId) {
+        String raw = gameOverTimestamp + "|" + gameId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            Instant.parse(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+    
+    /**
+     * Creates the missing summaries once the application has started. Games stored since then get
+     * their summary in the match transaction, so the game list GETs stay read-only.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            backfillMissingSummaries();
+        } catch (Exception e) {
+            // e.g. another instance inserted the same summaries first; the next start retries
+            LOGGER.error("Failed to backfill game summaries at startup", e);
+        }
+    }
+    
+    /**
+     * Deleted games must not be served from their cached archives
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGamesDeleted(GamesDeletedEvent event) {
+        Cache cache = cacheManager.getCache(CacheConfig.GAME_EVENT_ARCHIVES);
+        if (cache == null || event.getGameIds() == null) {
+            return;
+        }
+        for (Long gameId : event.getGameIds()) {
+            cache.evict(gameId);
+        }
+    }
+    
+    /**
+     * Creates summaries for games stored before the GameSummary read model existed, so that
+     * listings only fan out to events and player stats once per historical game.
+     */
+    void backfillMissingSummaries() {
+        List<GameEntity> gamesWithoutSummary = gameRepository.findGamesWithoutSummary();
+        if (gamesWithoutSummary.isEmpty()) {
+            return;
+        }
+        
+        long start = System.currentTimeMillis();
+        List<GameSummaryEntity> summaries = new ArrayList<>();
+        for (GameEntity gameEntity : gamesWithoutSummary) {
+            Map<String, String> roster = getPlayersForGameWithIds(new GameEvents(gameEntity.getId(), null));
+            summaries.add(GameSummaryFactory.create(gameEntity.getId(), gameEntity, roster));
+        }
+        gameSummaryRepository.saveAll(summaries);
+        LOGGER.info("Backfilled {} game summaries (took {}ms)", summaries.size(), System.currentTimeMillis() - start);
+    }
+    
+    private GameDTO convertToGameDTO(GameSummaryEntity summary) {
+        List<String> players = new ArrayList<>(GameSummaryFactory.readRoster(summary).values());
+        String duration = summary.getDuration() != null 
+            ? String.valueOf(summary.getDuration()) 
+            : null;
+        
+        return new GameDTO(
+                summary.getGameId(),
+                summary.getGameOverTimestamp(),
+                summary.getMap(),
+                summary.getMode(),
+                summary.getTeam1Score(),
+                summary.getTeam2Score(),
+                players,
+                duration
+        );
+    }
+    
     /**
      * Get players for a game using the game's database ID
      * Returns a map of steam ID -> player name
      */
-    private Map<String, String> getPlayersForGameWithIds(Long gameId, Map<String, String> playerIdToNameCache) {
+    private Map<String, String> getPlayersForGameWithIds(GameEvents events) {
+        Long gameId = events.gameId;
         Map<String, String> steamIdToName = new LinkedHashMap<>();
         
         try {
             // Get all rounds for this game
-            List<RoundEndEventEntity> rounds = gameEventRepository.findRoundEndEventsByGameId(gameId);
+            List<RoundEndEventEntity> rounds = events.roundEnds();
             
             LOGGER.debug("Found {} rounds for game {}", rounds.size(), gameId);
             
@@ -156,7 +268,7 @@ public class GameService {
                                 String playerId = playerIdNode.asText();
                                 if (playerId != null && !playerId.isEmpty() && !"0".equals(playerId)) {
                                     String fullSteamId = "[U:1:" + playerId + "]";
-                                    String playerName = getPlayerNameById(playerIdToNameCache, playerId);
+                                    String playerName = getPlayerNameById(playerId);
                                     if (playerName != null && !playerName.trim().isEmpty()) {
                                         String trimmedName = playerName.trim();
                                         if (!steamIdToName.containsKey(fullSteamId)) {
@@ -184,8 +296,9 @@ public class GameService {
     /**
      * Get players for a game using the game's database ID
      */
-    private List<String> getPlayersForGame(Long gameId, Map<String, String> playerIdToNameCache) {
-        Map<String, String> steamIdToName = getPlayersForGameWithIds(gameId, playerIdToNameCache);
+    private List<String> getPlayersForGame(Long gameId) {
+        // Game lists only need the round ends - a targeted query beats decoding whole archives
+        Map<String, String> steamIdToName = getPlayersForGameWithIds(new GameEvents(gameId, null));
         List<String> playerList = new ArrayList<>(steamIdToName.values());
         playerList.sort(String.CASE_INSENSITIVE_ORDER);
         return playerList;
@@ -195,42 +308,21 @@ public class GameService {
      * Get top N most recent games
      */
     public List<GameDTO> getRecentGames(int limit) {
-        return getAllGames().stream()
-                .limit(limit)
-                .collect(Collectors.toList());
+        try {
+            return gameSummaryRepository.findNewest(PageRequest.of(0, limit)).stream()
+                    .map(this::convertToGameDTO)
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            LOGGER.error("Failed to retrieve recent games", e);
+            return new ArrayList<>();
+        }
     }
 
     /**
-     * Retrieve player name by ID from PlayerStats table
+     * Retrieve player name by ID from the in-memory player name dictionary
      */
-    private String getPlayerNameById(Map<String, String> playerIdToNameCache, String playerId) {
-        if (playerIdToNameCache.containsKey(playerId)) {
-            return playerIdToNameCache.get(playerId);
-        }
-
-        try {
-            // Convert the player ID format from round end events to full steam ID
-            String fullSteamId = "[U:1:" + playerId + "]";
-            
-            Optional<PlayerStatsEntity> entityOpt = playerStatsRepository.findByPlayerId(fullSteamId);
-            if (entityOpt.isPresent()) {
-                PlayerStatsEntity entity = entityOpt.get();
-                String nick = entity.getLastSeenNickname();
-                if (nick != null && !nick.isEmpty()) {
-                    playerIdToNameCache.put(playerId, nick);
-                    return nick;
-                }
-            }
-        } catch (org.springframework.dao.InvalidDataAccessResourceUsageException e) {
-            LOGGER.debug("PlayerStats table does not exist yet for player ID {}", playerId);
-        } catch (org.springframework.dao.DataAccessException e) {
-            LOGGER.warn("Database access error while retrieving player name for ID {}", playerId);
-        } catch (Exception e) {
-            LOGGER.warn("Could not find player name for ID {}: {}", playerId, e.getMessage());
-        }
-        
-        // Return the player ID as fallback
-        return "Player " + playerId;
+    private String getPlayerNameById(String playerId) {
+        return playerSearchIndex.currentName(playerId).orElse("Player " + playerId);
     }
     
     /**
@@ -239,6 +331,11 @@ public class GameService {
     public GameDTO getGameById(String gameIdStr) {
         try {
             Long gameId = Long.parseLong(gameIdStr);
+            Optional<GameSummaryEntity> summaryOpt = gameSummaryRepository.findById(gameId);
+            if (summaryOpt.isPresent()) {
+                return convertToGameDTO(summaryOpt.get());
+            }
+            
             Optional<GameEntity> gameEntityOpt = gameRepository.findById(gameId);
             
             if (gameEntityOpt.isEmpty()) {
@@ -246,8 +343,7 @@ public class GameService {
             }
             
             GameEntity gameEntity = gameEntityOpt.get();
-            Map<String, String> playerIdToNameCache = new HashMap<>();
-            List<String> players = getPlayersForGame(gameId, playerIdToNameCache);
+            List<String> players = getPlayersForGame(gameId);
             
             String duration = gameEntity.getDuration() != null 
                 ? String.valueOf(gameEntity.getDuration()) 
@@ -284,9 +380,10 @@ public class GameService {
             }
             
             GameEntity gameEntity = gameEntityOpt.get();
+            GameEvents events = loadGameEvents(gameId);
             
             // Get rounds using gameId foreign key
-            List<RoundResultDTO> rounds = getRoundResults(gameId, 
+            List<RoundResultDTO> rounds = getRoundResults(events, 
                     gameEntity.getTeam1Score(), gameEntity.getTeam2Score());
             
             // Create game details with scores from the game entity
@@ -298,11 +395,10 @@ public class GameService {
             details.setRounds(rounds);
             
             // Get players for the game (steamId -> playerName)
-            Map<String, String> playerIdToNameCache = new HashMap<>();
-            Map<String, String> steamIdToName = getPlayersForGameWithIds(gameId, playerIdToNameCache);
+            Map<String, String> steamIdToName = getPlayersForGameWithIds(events);
             
             // Get player statistics
-            List<PlayerStatsDTO> playerStats = getPlayerStatistics(gameId, steamIdToName);
+            List<PlayerStatsDTO> playerStats = getPlayerStatistics(events, steamIdToName);
             details.setPlayerStats(playerStats);
             
             // Get accolades
@@ -323,11 +419,12 @@ public class GameService {
     /**
      * Get round-by-round results for a specific game
      */
-    private List<RoundResultDTO> getRoundResults(Long gameId, int finalCtScore, int finalTScore) {
+    private List<RoundResultDTO> getRoundResults(GameEvents events, int finalCtScore, int finalTScore) {
+        Long gameId = events.gameId;
         List<RoundResultDTO> rounds = new ArrayList<>();
         
         try {
-            List<RoundEndEventEntity> roundEntities = gameEventRepository.findRoundEndEventsByGameId(gameId);
+            List<RoundEndEventEntity> roundEntities = events.roundEnds();
             
             LOGGER.debug("Found {} rounds for game {}", roundEntities.size(), gameId);
             
@@ -393,252 +490,125 @@ public class GameService {
     }
     
     /**
-     * Get player statistics for a game by querying KillEvent and AssistEvent
-     * @param gameId The game ID to query events for
+     * Get player statistics for a game from per-player kill, death, assist and damage totals
+     * @param events Event source of the game
      * @param steamIdToName Map of Steam ID -> player name
      */
-    private List<PlayerStatsDTO> getPlayerStatistics(Long gameId, Map<String, String> steamIdToName) {
-        // Create a map to track stats for each player (keyed by steamId)
-        Map<String, PlayerStatsDTO> statsMap = new LinkedHashMap<>();
-        for (Map.Entry<String, String> entry : steamIdToName.entrySet()) {
-            String steamId = entry.getKey();
-            String playerName = entry.getValue();
-            statsMap.put(steamId, new PlayerStatsDTO(
-                playerName.trim(),
-                steamId,
-                0, 0, 0, 0.0, "Unknown"
-            ));
-        }
-        
-        // Query KillEvent to count kills and deaths using gameId
-        try {
-            List<GameEventEntity> killEntities = gameEventRepository.findByGameIdAndGameEventType(
-                    gameId, GameEventType.KILL);
-            
-            LOGGER.debug("Found {} kill events for game {}", killEntities.size(), gameId);
-            
-            for (GameEventEntity entity : killEntities) {
-                String killerSteamId = entity.getPlayer1();
-                String victimSteamId = entity.getPlayer2();
-                
-                // Check if it's a headshot kill
-                boolean isHeadshot = false;
-                if (entity instanceof com.rankforge.pipeline.persistence.entity.KillEventEntity killEvent) {
-                    isHeadshot = Boolean.TRUE.equals(killEvent.getIsHeadshot());
-                }
-                
-                if (killerSteamId != null) {
-                    // Try exact match first
-                    if (statsMap.containsKey(killerSteamId)) {
-                        PlayerStatsDTO stats = statsMap.get(killerSteamId);
-                        stats.setKills(stats.getKills() + 1);
-                        if (isHeadshot) {
-                            stats.setHeadshotKills(stats.getHeadshotKills() + 1);
-                        }
-                    } else {
-                        // Fallback to partial match
-                        for (Map.Entry<String, PlayerStatsDTO> mapEntry : statsMap.entrySet()) {
-                            PlayerStatsDTO stats = mapEntry.getValue();
-                            String normalizedName = stats.getPlayerName().toLowerCase();
-                            if (stats != null && killerSteamId.contains(normalizedName.substring(0, Math.min(3, normalizedName.length())))) {
-                                stats.setKills(stats.getKills() + 1);
-                                if (isHeadshot) {
-                                    stats.setHeadshotKills(stats.getHeadshotKills() + 1);
-                                }
-                                break;
-                            }
-                        }
-                    }
-                }
-                
-                if (victimSteamId != null) {
-                    // Try exact match first
-                    if (statsMap.containsKey(victimSteamId)) {
-                        PlayerStatsDTO stats = statsMap.get(victimSteamId);
-                        stats.setDeaths(stats.getDeaths() + 1);
-                    } else {
-                        // Fallback to partial match
-                        for (Map.Entry<String, PlayerStatsDTO> mapEntry : statsMap.entrySet()) {
-                            PlayerStatsDTO stats = mapEntry.getValue();
-                            String normalizedName = stats.getPlayerName().toLowerCase();
-                            if (stats != null && victimSteamId.contains(normalizedName.substring(0, Math.min(3, normalizedName.length())))) {
-                                stats.setDeaths(stats.getDeaths() + 1);
-                                break;
-                            }
-                        }
-                    }
-                }
-            }
-        } catch (org.springframework.dao.InvalidDataAccessResourceUsageException e) {
-            LOGGER.debug("GameEvent table does not exist yet, skipping kill events");
-        } catch (org.springframework.dao.DataAccessException e) {
-            LOGGER.warn("Database access error while retrieving kill events");
-        } catch (Exception e) {
-            LOGGER.error("Failed to get kill events for game {}", gameId, e);
-        }
-        
-        // Query AssistEvent to count assists using gameId
+    private List<PlayerStatsDTO> getPlayerStatistics(GameEvents events, Map<String, String> steamIdToName) {
+        Long gameId = events.gameId;
+        Map<String, PlayerTotals> totals = Collections.emptyMap();
         try {
-            List<GameEventEntity> assistEntities = gameEventRepository.findByGameIdAndGameEventType(
-                    gameId, GameEventType.ASSIST);
-            
-            LOGGER.debug("Found {} assist events for game {}", assistEntities.size(), gameId);
-            
-            for (GameEventEntity entity : assistEntities) {
-                String assisterSteamId = entity.getPlayer1();
-                
-                if (assisterSteamId != null) {
-                    // Try exact match first
-                    if (statsMap.containsKey(assisterSteamId)) {
-                        PlayerStatsDTO stats = statsMap.get(assisterSteamId);
-                        stats.setAssists(stats.getAssists() + 1);
-                    } else {
-                        // Fallback to partial match
-                        for (Map.Entry<String, PlayerStatsDTO> mapEntry : statsMap.entrySet()) {
-                            PlayerStatsDTO stats = mapEntry.getValue();
-                            String normalizedName = stats.getPlayerName().toLowerCase();
-                            if (stats != null && assisterSteamId.contains(normalizedName.substring(0, Math.min(3, normalizedName.length())))) {
-                                stats.setAssists(stats.getAssists() + 1);
-                                break;
-                            }
-                        }
-                    }
-                }
-            }
+            totals = events.playerTotals();
         } catch (org.springframework.dao.InvalidDataAccessResourceUsageException e) {
-            LOGGER.debug("GameEvent table does not exist yet, skipping assist events");
+            LOGGER.debug("GameEvent table does not exist yet, skipping player statistics");
         } catch (org.springframework.dao.DataAccessException e) {
-            LOGGER.warn("Database access error while retrieving assist events");
+            LOGGER.warn("Database access error while retrieving player statistics");
         } catch (Exception e) {
-            LOGGER.error("Failed to get assist events for game {}", gameId, e);
+            LOGGER.error("Failed to get player statistics for game {}", gameId, e);
         }
         
-        // Query AttackEvent to calculate damage dealt using gameId
-        // NOTE: We calculate actual HP damage by tracking victim HP and using healthRemaining from logs
-        try {
-            List<GameEventEntity> attackEntities = gameEventRepository.findByGameIdAndGameEventType(
-                    gameId, GameEventType.ATTACK);
-            
-            LOGGER.info("Found {} attack events for game {}", attackEntities.size(), gameId);
-            
-            // CRITICAL: Sort events by timestamp to ensure HP tracking works correctly
-            attackEntities.sort(Comparator.comparing(GameEventEntity::getTimestamp));
-            
-            // Track each victim's HP throughout the game (resets to 100 each round)
-            // Key: victimSteamId_roundStartId, Value: current HP
-            Map<String, Integer> victimHPTracker = new HashMap<>();
-            
-            // Debug: Track damage per player
-            Map<String, Integer> damageDebug = new HashMap<>();
-            int totalHitsProcessed = 0;
-            int hitsWithoutHealthData = 0;
-            
-            for (GameEventEntity entity : attackEntities) {
-                if (entity instanceof com.rankforge.pipeline.persistence.entity.AttackEventEntity attackEvent) {
-                    String attackerSteamId = entity.getPlayer1();
-                    String victimSteamId = entity.getPlayer2();
-                    Integer healthRemaining = attackEvent.getHealthRemaining();
-                    
-                    // Get round ID for proper HP tracking (HP resets each round)
-                    Long roundStartId = (entity.getRoundStart() != null) ? entity.getRoundStart().getId() : 0L;
-                    
-                    // Calculate actual damage using HP tracking
-                    Integer actualDamage = null;
-                    
-                    if (victimSteamId != null && healthRemaining != null) {
-                        // Get victim's HP before this hit (100 at start of each round)
-                        String victimKey = victimSteamId + "_" + roundStartId;
-                        Integer previousHP = victimHPTracker.getOrDefault(victimKey, 100);
-                        
-                        // Calculate actual damage dealt = previous HP - remaining HP
-                        actualDamage = previousHP - healthRemaining;
-                        
-                        // Update victim's HP for this round
-                        victimHPTracker.put(victimKey, healthRemaining);
-                        
-                        // Sanity check: damage should be positive and reasonable
-                        if (actualDamage < 0 || actualDamage > 100) {
-                            // This shouldn't happen with proper round tracking, but fallback to safe calculation
-                            actualDamage = Math.max(0, Math.min(100, 100 - healthRemaining));
-                            LOGGER.warn("Anomaly in damage calculation for victim {} in round {}: calculated {}, using fallback", 
-                                victimSteamId, roundStartId, actualDamage);
-                        }
-                    } else {
-                        hitsWithoutHealthData++;
-                    }
-                    
-                    // Add damage to attacker's total
-                    if (attackerSteamId != null && actualDamage != null && actualDamage > 0) {
-                        totalHitsProcessed++;
-                        
-                        // Try exact match first
-                        if (statsMap.containsKey(attackerSteamId)) {
-                            PlayerStatsDTO stats = statsMap.get(attackerSteamId);
-                            stats.setDamage(stats.getDamage() + actualDamage);
-                            damageDebug.put(attackerSteamId, damageDebug.getOrDefault(attackerSteamId, 0) + actualDamage);
-                        } else {
-                            // Fallback to partial match
-                            for (Map.Entry<String, PlayerStatsDTO> mapEntry : statsMap.entrySet()) {
-                                PlayerStatsDTO stats = mapEntry.getValue();
-                                String normalizedName = stats.getPlayerName().toLowerCase();
-                                if (stats != null && attackerSteamId.contains(normalizedName.substring(0, Math.min(3, normalizedName.length())))) {
-                                    stats.setDamage(stats.getDamage() + actualDamage);
-                                    damageDebug.put(attackerSteamId, damageDebug.getOrDefault(attackerSteamId, 0) + actualDamage);
-                                    break;
-                                }
-                            }
-                        }
-                    }
-                }
+        List<PlayerStatsDTO> playerStats = new ArrayList<>(steamIdToName.size());
+        for (Map.Entry<String, String> entry : steamIdToName.entrySet()) {
+            PlayerStatsDTO stats = new PlayerStatsDTO(
+                entry.getValue().trim(),
+                entry.getKey(),
+                0, 0, 0, 0.0, "Unknown"
+            );
+            PlayerTotals playerTotals = totals.get(entry.getKey());
+            if (playerTotals != null) {
+                stats.setKills(playerTotals.kills);
+                stats.setDeaths(playerTotals.deaths);
+                stats.setAssists(playerTotals.assists);
+                stats.setHeadshotKills(playerTotals.headshotKills);
+                stats.setDamage(playerTotals.damage);
             }
             
-            LOGGER.info("Processed {} attack hits for game {} ({} hits without health data), damage per player: {}", 
-                totalHitsProcessed, gameId, hitsWithoutHealthData, damageDebug);
-        } catch (org.springframework.dao.InvalidDataAccessResourceUsageException e) {
-            LOGGER.debug("GameEvent table does not exist yet, skipping attack events");
-        } catch (org.springframework.dao.DataAccessException e) {
-            LOGGER.warn("Database access error while retrieving attack events");
-        } catch (Exception e) {
-            LOGGER.error("Failed to get attack events for game {}", gameId, e);
-        }
-        
-        // Calculate rating (K/D ratio) and headshot percentage
-        for (PlayerStatsDTO stats : statsMap.values()) {
+            // Rating (K/D ratio) and headshot percentage
             double rating = stats.getDeaths() > 0 
                 ? (double) stats.getKills() / stats.getDeaths() 
                 : (stats.getKills() > 0 ? stats.getKills() : 0.0);
             stats.setRating(rating);
-            
-            // Calculate headshot percentage
             double headshotPercentage = stats.getKills() > 0
                 ? (double) stats.getHeadshotKills() / stats.getKills() * 100.0
                 : 0.0;
             stats.setHeadshotPercentage(headshotPercentage);
+            playerStats.add(stats);
         }
         
-        // Return stats as a list (order preserved by LinkedHashMap)
-        List<PlayerStatsDTO> playerStats = new ArrayList<>(statsMap.values());
-        
         LOGGER.debug("Calculated statistics for {} players", playerStats.size());
         
         return playerStats;
     }
     
+    /**
+     * Adds damage dealt to each attacker's totals. Hits must be in game order: the damage of a hit
+     * is the victim's health before it (100 at the start of each round) minus the health remaining.
+     */
+    static void addDamage(List<AttackHit> hits, Map<String, PlayerTotals> totals) {
+        // Key: victimSteamId_roundStartId, Value: current HP
+        Map<String, Integer> victimHPTracker = new HashMap<>();
+        for (AttackHit hit : hits) {
+            if (hit.victim == null || hit.healthRemaining == null) {
+                continue;
+            }
+            String victimKey = hit.victim + "_" + hit.roundStartId;
+            int previousHP = victimHPTracker.getOrDefault(victimKey, 100);
+            int actualDamage = previousHP - hit.healthRemaining;
+            victimHPTracker.put(victimKey, hit.healthRemaining);
+            
+            // Sanity check: damage should be positive and reasonable
+            if (actualDamage < 0 || actualDamage > 100) {
+                actualDamage = Math.max(0, Math.min(100, 100 - hit.healthRemaining));
+                LOGGER.warn("Anomaly in damage calculation for victim {} in round {}, using fallback {}", 
+                    hit.victim, hit.roundStartId, actualDamage);
+            }
+            if (hit.attacker != null && actualDamage > 0) {
+                totals.computeIfAbsent(hit.attacker, id -> new PlayerTotals()).damage += actualDamage;
+            }
+        }
+    }
+    
+    /**
+     * Kill, death, assist and damage totals of one player in one game
+     */
+    static final class PlayerTotals {
+        int kills;
+        int headshotKills;
+        int deaths;
+        int assists;
+        int damage;
+    }
+    
+    /**
+     * One attack event reduced to the fields the damage calculation needs
+     */
+    static final class AttackHit {
+        final String attacker;
+        final String victim;
+        final Long roundStartId;
+        final Integer healthRemaining;
+        
+        AttackHit(String attacker, String victim, Long roundStartId, Integer healthRemaining) {
+            this.attacker = attacker;
+            this.victim = victim;
+            // Events without a round share one HP track, as before
+            this.roundStartId = roundStartId != null ? roundStartId : 0L;
+            this.healthRemaining = healthRemaining;
+        }
+    }
+    
     /**
      * Get accolades for a game
      */
     private List<AccoladeDTO> getAccolades(Long gameId) {
         List<AccoladeDTO> accolades = new ArrayList<>();
         
-        // Cache for player name to Steam ID lookup
-        Map<String, String> playerNameToSteamId = new HashMap<>();
-        
         try {
             List<AccoladeEntity> accoladeEntities = accoladeRepository.findByGameId(gameId);
             
             for (AccoladeEntity entity : accoladeEntities) {
                 // Look up actual Steam ID from player name
-                String steamId = resolvePlayerSteamId(entity.getPlayerName(), playerNameToSteamId);
+                String steamId = resolvePlayerSteamId(entity.getPlayerName());
                 
                 AccoladeDTO accoladeDTO = new AccoladeDTO(
                         entity.getType(),
@@ -661,33 +631,14 @@ public class GameService {
     }
     
     /**
-     * Resolve player Steam ID from player name using PlayerStats table
+     * Resolve player Steam ID from player name using the in-memory player search index
+     * @return The Steam ID of the player who most recently used the name, or "" if unknown
      */
-    private String resolvePlayerSteamId(String playerName, Map<String, String> cache) {
+    private String resolvePlayerSteamId(String playerName) {
         if (playerName == null || playerName.isEmpty()) {
             return "";
         }
-        
-        // Check cache first
-        String normalizedName = playerName.trim().toLowerCase();
-        if (cache.containsKey(normalizedName)) {
-            return cache.get(normalizedName);
-        }
-        
-        try {
-            // Look up by nickname in PlayerStats
-            Optional<PlayerStatsEntity> entityOpt = playerStatsRepository.findByLastSeenNickname(playerName.trim());
-            if (entityOpt.isPresent()) {
-                String steamId = entityOpt.get().getPlayerId();
-                cache.put(normalizedName, steamId);
-                return steamId;
-            }
-        } catch (Exception e) {
-            LOGGER.debug("Could not find Steam ID for player: {}", playerName);
-        }
-        
-        cache.put(normalizedName, "");
-        return "";
+        return playerSearchIndex.resolvePlayerId(playerName).orElse("");
     }
     
     /**
@@ -707,36 +658,48 @@ public class GameService {
             }
             
             GameEntity gameEntity = gameEntityOpt.get();
+            GameEvents events = loadGameEvents(gameId);
             
-            // Get all round start events for this game to find the specific round
-            List<GameEventEntity> roundStartEvents = gameEventRepository.findByGameIdAndGameEventType(
-                    gameId, GameEventType.ROUND_START);
-            
-            // Sort by timestamp to get correct round order
-            roundStartEvents.sort(Comparator.comparing(GameEventEntity::getTimestamp));
-            
-            if (roundNumber < 1 || roundNumber > roundStartEvents.size()) {
-                LOGGER.warn("Invalid round number {} for game {} (has {} rounds)", 
-                        roundNumber, gameId, roundStartEvents.size());
-                return null;
-            }
-            
-            // Get the round start event for the requested round (0-indexed in list)
-            GameEventEntity roundStartEvent = roundStartEvents.get(roundNumber - 1);
-            Long roundStartId = roundStartEvent.getId();
-            Instant roundStartTime = roundStartEvent.getTimestamp();
-            
-            // Get round end time
-            List<RoundEndEventEntity> roundEndEvents = gameEventRepository.findRoundEndEventsByGameId(gameId);
-            roundEndEvents.sort(Comparator.comparing(GameEventEntity::getTimestamp));
-            
+            RoundStartEventEntity roundStartEvent;
+            int totalRounds;
+            List<GameEventEntity> roundEvents;
             Instant roundEndTime = null;
-            if (roundNumber <= roundEndEvents.size()) {
-                roundEndTime = roundEndEvents.get(roundNumber - 1).getTimestamp();
+            if (events.archived == null) {
+                // Indexed lookup by persisted round number, then only this round's events
+                Object[] round = findNumberedRound(gameId, roundNumber);
+                if (round == null) {
+                    LOGGER.warn("Invalid round number {} for game {}", roundNumber, gameId);
+                    return null;
+                }
+                roundStartEvent = (RoundStartEventEntity) round[0];
+                totalRounds = ((Number) round[1]).intValue();
+                roundEvents = gameEventRepository.findByRoundStartId(roundStartEvent.getId());
+                for (GameEventEntity event : roundEvents) {
+                    if (event instanceof RoundEndEventEntity) {
+                        roundEndTime = event.getTimestamp();
+                        break;
+                    }
+                }
+            } else {
+                // Archived events are already in memory: locate the round by position
+                List<GameEventEntity> roundStartEvents = events.ofType(GameEventType.ROUND_START);
+                if (roundNumber < 1 || roundNumber > roundStartEvents.size()) {
+                    LOGGER.warn("Invalid round number {} for game {} (has {} rounds)", 
+                            roundNumber, gameId, roundStartEvents.size());
+                    return null;
+                }
+                roundStartEvent = (RoundStartEventEntity) roundStartEvents.get(roundNumber - 1);
+                totalRounds = roundStartEvents.size();
+                roundEvents = events.byRoundStart(roundStartEvent.getId());
+                List<RoundEndEventEntity> roundEndEvents = events.roundEnds();
+                if (roundNumber <= roundEndEvents.size()) {
+                    roundEndTime = roundEndEvents.get(roundNumber - 1).getTimestamp();
+                }
             }
+            Instant roundStartTime = roundStartEvent.getTimestamp();
             
             // Determine winner team
-            String winnerTeam = determineRoundWinner(gameEntity, roundNumber, roundStartEvents.size());
+            String winnerTeam = determineRoundWinner(gameEntity, roundNumber, totalRounds);
             
             // Create round details DTO
             RoundDetailsDTO roundDetails = new RoundDetailsDTO(gameId, roundNumber, winnerTeam);
@@ -747,12 +710,7 @@ public class GameService {
                 roundDetails.setDurationMs(roundEndTime.toEpochMilli() - roundStartTime.toEpochMilli());
             }
             
-            // Get all events for this round
-            List<GameEventEntity> roundEvents = gameEventRepository.findByRoundStartId(roundStartId);
-            
-            // Build player name cache
-            Map<String, String> playerIdToNameCache = new HashMap<>();
-            Map<String, String> steamIdToName = getPlayersForGameWithIds(gameId, playerIdToNameCache);
+            Map<String, String> steamIdToName = getRosterForGame(events);
             
             // Convert events to DTOs
             List<RoundEventDTO> eventDTOs = new ArrayList<>();
@@ -824,6 +782,168 @@ public class GameService {
         }
     }
     
+    /**
+     * Finds a round by its persisted number. Games stored before round numbering (until the
+     * numbering migration in DATABASE_INDEXES.md has run) are located by position instead,
+     * without writing anything.
+     * @return [0] = RoundStartEventEntity, [1] = round count; null if the game has no such round
+     */
+    private Object[] findNumberedRound(Long gameId, int roundNumber) {
+        if (roundNumber < 1) {
+            return null;
+        }
+        List<Object[]> rows = gameEventRepository.findRoundByNumber(gameId, roundNumber);
+        if (!rows.isEmpty()) {
+            return rows.get(0);
+        }
+        List<RoundStartEventEntity> unnumbered = gameEventRepository.findUnnumberedRoundStarts(gameId);
+        if (roundNumber > unnumbered.size()) {
+            return null;
+        }
+        LOGGER.debug("Game {} has unnumbered rounds - located round {} by position", gameId, roundNumber);
+        return new Object[]{unnumbered.get(roundNumber - 1), unnumbered.size()};
+    }
+    
+    /**
+     * Steam ID -> player name for a game, from its summary roster when available
+     */
+    private Map<String, String> getRosterForGame(GameEvents events) {
+        try {
+            Optional<GameSummaryEntity> summary = gameSummaryRepository.findById(events.gameId);
+            if (summary.isPresent()) {
+                Map<String, String> roster = GameSummaryFactory.readRoster(summary.get());
+                if (!roster.isEmpty()) {
+                    return roster;
+                }
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Failed to read roster of game {}, resolving players from rounds", events.gameId, e);
+        }
+        return getPlayersForGameWithIds(events);
+    }
+    
+    /**
+     * Loads the events of a game from its compressed archive when one exists. Decoded archives are
+     * kept in a small cache, so the requests for a game's details and each of its rounds decode it once.
+     * Games stored before archiving (or with archiving disabled) fall back to event queries.
+     */
+    private GameEvents loadGameEvents(Long gameId) {
+        try {
+            Cache cache = cacheManager.getCache(CacheConfig.GAME_EVENT_ARCHIVES);
+            List<GameEventEntity> archived = cache != null
+                    ? cache.get(gameId, () -> decodeArchive(gameId))
+                    : decodeArchive(gameId);
+            return new GameEvents(gameId, archived);
+        } catch (Exception e) {
+            LOGGER.warn("Failed to read event archive for game {}, falling back to event queries", gameId, e);
+            return new GameEvents(gameId, null);
+        }
+    }
+    
+    /**
+     * The archived events of a game in timestamp order, read-only since they are shared through the cache,
+     * or null if the game has no archive
+     */
+    private List<GameEventEntity> decodeArchive(Long gameId) {
+        return gameEventArchiveRepository.findById(gameId)
+                .map(archive -> {
+                    List<GameEventEntity> events = GameEventArchiveCodec.decode(archive.getPayload());
+                    events.sort(Comparator.comparing(GameEventEntity::getTimestamp));
+                    return Collections.unmodifiableList(events);
+                })
+                .orElse(null);
+    }
+    
+    /**
+     * Event source for a single game: serves decoded archive events when available,
+     * otherwise delegates to the GameEvent queries. Returned lists are in timestamp order and mutable;
+     * the archived events themselves are shared and must not be modified.
+     */
+    private class GameEvents {
+        private final Long gameId;
+        private final List<GameEventEntity> archived;
+        
+        GameEvents(Long gameId, List<GameEventEntity> archived) {
+            this.gameId = gameId;
+            this.archived = archived;
+        }
+        
+        List<GameEventEntity> ofType(GameEventType type) {
+            if (archived == null) {
+                return gameEventRepository.findByGameIdAndGameEventType(gameId, type);
+            }
+            return archived.stream()
+                    .filter(event -> event.getGameEventType() == type)
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+        
+        List<RoundEndEventEntity> roundEnds() {
+            if (archived == null) {
+                return gameEventRepository.findRoundEndEventsByGameId(gameId);
+            }
+            return archived.stream()
+                    .filter(RoundEndEventEntity.class::isInstance)
+                    .map(RoundEndEventEntity.class::cast)
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+        
+        /**
+         * Per-player totals keyed by steam ID. Archived games are tallied from the decoded events;
+         * otherwise the counts are aggregated by the database and only attack hits are read as rows.
+         */
+        Map<String, PlayerTotals> playerTotals() {
+            Map<String, PlayerTotals> totals = new HashMap<>();
+            List<AttackHit> hits = new ArrayList<>();
+            if (archived == null) {
+                for (Object[] row : gameEventRepository.countKillsAndAssistsByGameId(gameId)) {
+                    PlayerTotals playerTotals = totals.computeIfAbsent((String) row[0], id -> new PlayerTotals());
+                    playerTotals.kills = ((Number) row[1]).intValue();
+                    playerTotals.headshotKills = ((Number) row[2]).intValue();
+                    playerTotals.assists = ((Number) row[3]).intValue();
+                }
+                for (Object[] row : gameEventRepository.countDeathsByGameId(gameId)) {
+                    totals.computeIfAbsent((String) row[0], id -> new PlayerTotals()).deaths = ((Number) row[1]).intValue();
+                }
+                for (Object[] row : gameEventRepository.findAttackHitsByGameId(gameId)) {
+                    hits.add(new AttackHit((String) row[0], (String) row[1], (Long) row[2], (Integer) row[3]));
+                }
+            } else {
+                for (GameEventEntity event : archived) {
+                    if (event instanceof KillEventEntity kill) {
+                        if (kill.getPlayer1() != null) {
+                            PlayerTotals killer = totals.computeIfAbsent(kill.getPlayer1(), id -> new PlayerTotals());
+                            killer.kills++;
+                            if (Boolean.TRUE.equals(kill.getIsHeadshot())) {
+                                killer.headshotKills++;
+                            }
+                        }
+                        if (kill.getPlayer2() != null) {
+                            totals.computeIfAbsent(kill.getPlayer2(), id -> new PlayerTotals()).deaths++;
+                        }
+                    } else if (event instanceof AssistEventEntity assist && assist.getPlayer1() != null) {
+                        totals.computeIfAbsent(assist.getPlayer1(), id -> new PlayerTotals()).assists++;
+                    } else if (event instanceof AttackEventEntity attack) {
+                        hits.add(new AttackHit(attack.getPlayer1(), attack.getPlayer2(),
+                                attack.getRoundStart() != null ? attack.getRoundStart().getId() : null,
+                                attack.getHealthRemaining()));
+                    }
+                }
+            }
+            addDamage(hits, totals);
+            return totals;
+        }
+        
+        List<GameEventEntity> byRoundStart(Long roundStartId) {
+            if (archived == null) {
+                return gameEventRepository.findByRoundStartId(roundStartId);
+            }
+            return archived.stream()
+                    .filter(event -> event.getRoundStart() != null 
+                            && roundStartId.equals(event.getRoundStart().getId()))
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+    
     /**
      * Convert a GameEventEntity to RoundEventDTO
      */
@@ -895,36 +1015,25 @@ public class GameService {
     }
     
     /**
-     * Resolve player name from steam ID
+     * Resolve player name from steam ID: the game's roster first, then the player name dictionary.
+     * Both are keyed by the full steam ID, so bare account numbers are converted rather than scanned for.
      */
     private String resolvePlayerName(String steamId, Map<String, String> steamIdToName) {
         if (steamId == null) return null;
         
-        // Try exact match first
-        if (steamIdToName.containsKey(steamId)) {
-            return steamIdToName.get(steamId);
+        String name = steamIdToName.get(steamId);
+        if (name != null) {
+            return name;
         }
-        
-        // Try to find a partial match (handle different steam ID formats)
-        for (Map.Entry<String, String> entry : steamIdToName.entrySet()) {
-            if (entry.getKey().contains(steamId) || steamId.contains(entry.getKey())) {
-                return entry.getValue();
-            }
-        }
-        
-        // Extract numeric part and try again
-        java.util.regex.Pattern pattern = java.util.regex.Pattern.compile("\\[U:1:(\\d+)\\]");
-        java.util.regex.Matcher matcher = pattern.matcher(steamId);
-        if (matcher.find()) {
-            String numericId = matcher.group(1);
-            for (Map.Entry<String, String> entry : steamIdToName.entrySet()) {
-                if (entry.getKey().contains(numericId)) {
-                    return entry.getValue();
-                }
+        String fullSteamId = PlayerSearchIndex.toFullPlayerId(steamId);
+        if (fullSteamId != null && !fullSteamId.equals(steamId)) {
+            name = steamIdToName.get(fullSteamId);
+            if (name != null) {
+                return name;
             }
         }
         
-        return steamId; // Return the ID if name not found
+        return playerSearchIndex.currentName(steamId).orElse(steamId); // Return the ID if name not found
     }
     
     /**
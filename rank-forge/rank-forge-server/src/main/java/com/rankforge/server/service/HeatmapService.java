@@ -0,0 +1,136 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.service;
+
+import com.rankforge.pipeline.persistence.HeatmapCounters;
+import com.rankforge.pipeline.persistence.entity.HeatmapCellEntity;
+import com.rankforge.pipeline.persistence.repository.GameEventRepository;
+import com.rankforge.pipeline.persistence.repository.HeatmapCellRepository;
+import com.rankforge.server.dto.HeatmapDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serves kill/death heatmaps from the HeatmapCell counters that ingestion maintains
+ * (see {@link HeatmapCounters}). A layer is one primary key range read; raw event
+ * coordinates are only read again when games are deleted, to subtract them.
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@Service
+public class HeatmapService {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(HeatmapService.class);
+    
+    private final HeatmapCellRepository heatmapCellRepository;
+    private final GameEventRepository gameEventRepository;
+    
+    @Autowired
+    public HeatmapService(HeatmapCellRepository heatmapCellRepository, GameEventRepository gameEventRepository) {
+        this.heatmapCellRepository = heatmapCellRepository;
+        this.gameEventRepository = gameEventRepository;
+    }
+    
+    /**
+     * One heatmap layer of a map, cropped to its non-empty cells
+     * 
+     * @param map Map name
+     * @param playerId Player ID (numeric or full Steam ID), or null for every player
+     * @param side "CT" or "T", or null for both sides
+     */
+    public HeatmapDTO getHeatmap(String map, String playerId, String side) {
+        String layerPlayerId = playerId != null ? PlayerSearchIndex.toFullPlayerId(playerId) : HeatmapCellEntity.ALL;
+        String layerSide = side != null ? HeatmapCounters.sideOf(side) : HeatmapCellEntity.ALL;
+        HeatmapDTO heatmap = new HeatmapDTO(map, layerPlayerId, layerSide,
+                HeatmapCounters.GRID_SIZE, HeatmapCounters.CELL_SIZE, HeatmapCounters.ORIGIN);
+        List<Object[]> cells = heatmapCellRepository.findLayer(map, layerPlayerId, layerSide);
+        if (cells.isEmpty()) {
+            return heatmap;
+        }
+        
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (Object[] cell : cells) {
+            int x = ((Number) cell[0]).intValue();
+            int y = ((Number) cell[1]).intValue();
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+        }
+        int width = maxX - minX + 1;
+        int height = maxY - minY + 1;
+        int[] kills = new int[width * height];
+        int[] deaths = new int[width * height];
+        long totalKills = 0;
+        long totalDeaths = 0;
+        for (Object[] cell : cells) {
+            int index = (((Number) cell[1]).intValue() - minY) * width + ((Number) cell[0]).intValue() - minX;
+            kills[index] = ((Number) cell[2]).intValue();
+            deaths[index] = ((Number) cell[3]).intValue();
+            totalKills += kills[index];
+            totalDeaths += deaths[index];
+        }
+        heatmap.setMinCellX(minX);
+        heatmap.setMinCellY(minY);
+        heatmap.setWidth(width);
+        heatmap.setHeight(height);
+        heatmap.setKills(kills);
+        heatmap.setDeaths(deaths);
+        heatmap.setTotalKills(totalKills);
+        heatmap.setTotalDeaths(totalDeaths);
+        return heatmap;
+    }
+    
+    /**
+     * Subtracts the kill positions of games about to be deleted from the heatmap cells.
+     * Must run in the deleting transaction, before the kill events are deleted.
+     */
+    public void subtractGames(List<Long> gameIds) {
+        Map<String, HeatmapCounters> countersByMap = new LinkedHashMap<>();
+        for (Object[] row : gameEventRepository.findKillPositionsByGameIds(gameIds)) {
+            String map = (String) row[0];
+            if (map == null) {
+                continue;
+            }
+            countersByMap.computeIfAbsent(map, HeatmapCounters::new)
+                    .add((String) row[1], (String) row[2], (String) row[3], (String) row[4], (String) row[5]);
+        }
+        
+        int decremented = 0;
+        for (HeatmapCounters counters : countersByMap.values()) {
+            for (Map.Entry<HeatmapCellEntity.Key, int[]> total : counters.getTotals().entrySet()) {
+                HeatmapCellEntity.Key key = total.getKey();
+                heatmapCellRepository.decrement(key.getMap(), key.getPlayerId(), key.getSide(),
+                        key.getCellX(), key.getCellY(), total.getValue()[0], total.getValue()[1]);
+                decremented++;
+            }
+        }
+        if (decremented == 0) {
+            return;
+        }
+        heatmapCellRepository.deleteEmpty();
+        LOGGER.info("Subtracted {} heatmap cells of games {}", decremented, gameIds);
+    }
+}
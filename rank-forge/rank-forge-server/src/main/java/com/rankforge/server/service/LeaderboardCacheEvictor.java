@@ -0,0 +1,146 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.service;
+
+import com.rankforge.server.config.BoundedTtlCache;
+import com.rankforge.server.config.CacheConfig;
+import com.rankforge.server.event.LeaderboardChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Evicts cached leaderboards when the stats behind them change.
+ * 
+ * All-time and top N leaderboards are cleared on every change. Monthly leaderboards (past months
+ * and the current month memo) are only evicted for the affected months; their keys start with "{year}-{month}-".
+ * Rolling-window leaderboards and their bucket prefix sums are evicted when their window, keyed by its
+ * last day, overlaps an affected month.
+ * Runs after the publishing transaction commits, or immediately when published outside one.
+ * 
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@Component
+public class LeaderboardCacheEvictor {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(LeaderboardCacheEvictor.class);
+    
+    private final CacheManager cacheManager;
+    
+    @Autowired
+    public LeaderboardCacheEvictor(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+    
+    // Before DataVersionInterceptor announces the change to clients
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeaderboardChanged(LeaderboardChangedEvent event) {
+        clear(CacheConfig.ALL_TIME_LEADERBOARD);
+        clear(CacheConfig.TOP_LEADERBOARD);
+        
+        evictMonths(CacheConfig.MONTHLY_LEADERBOARD, event);
+        evictMonths(CacheConfig.CURRENT_MONTH_LEADERBOARD, event);
+        
+        // Prefix sums first, so a page recomputed in between does not read stale buckets
+        evictRollingWindows(CacheConfig.ROLLING_BUCKETS, event);
+        evictRollingWindows(CacheConfig.ROLLING_LEADERBOARD, event);
+    }
+    
+    private void evictRollingWindows(String cacheName, LeaderboardChangedEvent event) {
+        Cache rolling = cacheManager.getCache(cacheName);
+        if (rolling == null) {
+            return;
+        }
+        if (event.isAllMonths() || !(rolling.getNativeCache() instanceof BoundedTtlCache boundedCache)) {
+            rolling.clear();
+            return;
+        }
+        if (event.getMonths().isEmpty()) {
+            return;
+        }
+        int evicted = boundedCache.evictIf(key -> rollingWindowOverlaps(lastDayOf(key), event.getMonths()));
+        LOGGER.debug("Evicted {} {} entries for {}", evicted, cacheName, event.getMonths());
+    }
+    
+    /**
+     * The window's last day: the key of the bucket prefix sums, or the leading "yyyy-MM-dd" of
+     * RollingLeaderboardService.getRollingLeaderboard's key
+     */
+    private static LocalDate lastDayOf(Object key) {
+        if (key instanceof LocalDate lastDay) {
+            return lastDay;
+        }
+        return LocalDate.parse(key.toString().substring(0, 10));
+    }
+    
+    /**
+     * Whether the longest rolling window ending on the given day shares a day with any of the months
+     */
+    static boolean rollingWindowOverlaps(LocalDate lastDay, Set<YearMonth> months) {
+        LocalDate firstDay = lastDay.minusDays(RollingLeaderboardService.MAX_WINDOW_DAYS - 1);
+        return months.stream().anyMatch(month ->
+                !month.atEndOfMonth().isBefore(firstDay) && !month.atDay(1).isAfter(lastDay));
+    }
+    
+    private void evictMonths(String cacheName, LeaderboardChangedEvent event) {
+        Cache monthly = cacheManager.getCache(cacheName);
+        if (monthly == null) {
+            return;
+        }
+        if (event.isAllMonths() || !(monthly.getNativeCache() instanceof BoundedTtlCache boundedCache)) {
+            monthly.clear();
+            return;
+        }
+        if (event.getMonths().isEmpty()) {
+            return;
+        }
+        Set<String> prefixes = event.getMonths().stream()
+                .map(LeaderboardCacheEvictor::monthlyKeyPrefix)
+                .collect(Collectors.toSet());
+        int evicted = boundedCache.evictIf(key -> prefixes.stream().anyMatch(prefix -> key.toString().startsWith(prefix)));
+        LOGGER.debug("Evicted {} {} entries for {}", evicted, cacheName, event.getMonths());
+    }
+    
+    /**
+     * Matches the key of PlayerRankingService.getMonthlyPlayerRankingsWithStats
+     */
+    static String monthlyKeyPrefix(YearMonth month) {
+        return month.getYear() + "-" + month.getMonthValue() + "-";
+    }
+    
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
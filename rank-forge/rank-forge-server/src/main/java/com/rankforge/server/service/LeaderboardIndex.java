@@ -0,0 +1,341 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.service;
+
+import com.rankforge.pipeline.persistence.PlayerStatsCommitListener;
+import com.rankforge.pipeline.persistence.entity.PlayerStatsEntity;
+import com.rankforge.pipeline.persistence.repository.PlayerStatsRepository;
+import com.rankforge.server.event.LeaderboardChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory all-time leaderboard: the latest stats of every player, ordered by rating.
+ * 
+ * Readers pin an immutable {@link Snapshot} - a rating-ordered array plus a player lookup - that
+ * writers replace atomically, so rank, top N, page and "players around me" queries never lock and
+ * never touch the database. A player's position is a hash lookup plus a binary search, O(log n).
+ * 
+ * The index is loaded when the application starts (or on first use if that failed) and is then
+ * updated in place: each committed match re-positions only its own players, and deleted games
+ * reload only the affected players. Writers are serialized and build the next snapshot
+ * copy-on-write, which costs one array copy per match. Committed matches are announced with a
+ * {@link LeaderboardChangedEvent} once the new snapshot is visible.
+ * 
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@Component
+public class LeaderboardIndex implements PlayerStatsCommitListener {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(LeaderboardIndex.class);
+    
+    /**
+     * Highest rating first; ties broken by player ID so positions are stable
+     */
+    static final Comparator<Entry> ORDER = Comparator.comparingInt(Entry::getRating).reversed()
+            .thenComparing(Entry::getPlayerId);
+    
+    private final PlayerStatsRepository playerStatsRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final Object writeLock = new Object();
+    
+    @Autowired
+    public LeaderboardIndex(PlayerStatsRepository playerStatsRepository, ApplicationEventPublisher eventPublisher) {
+        this.playerStatsRepository = playerStatsRepository;
+        this.eventPublisher = eventPublisher;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            reload();
+        } catch (Exception e) {
+            LOGGER.error("Failed to load leaderboard index at startup, will retry on first use", e);
+        }
+    }
+    
+    /**
+     * The current leaderboard. Loads the index from the database if it has not been loaded yet.
+     */
+    public Snapshot snapshot() {
+        Snapshot snapshot = current.get();
+        if (snapshot != null) {
+            return snapshot;
+        }
+        synchronized (writeLock) {
+            if (current.get() == null) {
+                reload();
+            }
+            return current.get();
+        }
+    }
+    
+    /**
+     * Rebuilds the whole index from the latest stats of every player
+     */
+    public void reload() {
+        synchronized (writeLock) {
+            List<PlayerStatsEntity> latest = playerStatsRepository.findLatestStatsForAllPlayers();
+            Map<String, Integer> gamesPlayed = toGameCounts(playerStatsRepository.countDistinctGamesPerPlayer());
+            List<Entry> entries = new ArrayList<>(latest.size());
+            for (PlayerStatsEntity stats : latest) {
+                entries.add(new Entry(stats, gamesPlayed.getOrDefault(stats.getPlayerId(), 0)));
+            }
+            current.set(Snapshot.of(entries));
+            LOGGER.info("Loaded leaderboard index with {} players", entries.size());
+        }
+    }
+    
+    /**
+     * Re-reads the given players, e.g. after games they played in were deleted.
+     * Players without any remaining stats leave the leaderboard.
+     */
+    public void reloadPlayers(Collection<String> playerIds) {
+        if (playerIds == null || playerIds.isEmpty()) {
+            return;
+        }
+        synchronized (writeLock) {
+            Snapshot snapshot = current.get();
+            if (snapshot == null) {
+                return; // The first load reads them
+            }
+            Map<String, Integer> gamesPlayed = toGameCounts(playerStatsRepository.countDistinctGamesByPlayerIds(playerIds));
+            Map<String, Entry> updates = new HashMap<>();
+            for (PlayerStatsEntity stats : playerStatsRepository.findLatestStatsForPlayers(playerIds)) {
+                updates.put(stats.getPlayerId(), new Entry(stats, gamesPlayed.getOrDefault(stats.getPlayerId(), 0)));
+            }
+            Set<String> removed = new HashSet<>(playerIds);
+            removed.removeAll(updates.keySet());
+            current.set(snapshot.with(updates, removed));
+        }
+    }
+    
+    /**
+     * Re-positions the players of a committed match. Each snapshot is one more game for its player;
+     * snapshots not newer than the indexed one are already reflected (e.g. read by a concurrent load).
+     * Then publishes a {@link LeaderboardChangedEvent} for the match's month.
+     */
+    @Override
+    public void onPlayerStatsCommitted(List<PlayerStatsEntity> snapshots) {
+        applyCommitted(snapshots);
+        List<Instant> gameTimestamps = new ArrayList<>();
+        for (PlayerStatsEntity stats : snapshots) {
+            gameTimestamps.add(stats.getGameTimestamp());
+        }
+        eventPublisher.publishEvent(LeaderboardChangedEvent.forGames(gameTimestamps));
+    }
+    
+    private void applyCommitted(List<PlayerStatsEntity> snapshots) {
+        synchronized (writeLock) {
+            Snapshot snapshot = current.get();
+            if (snapshot == null) {
+                return; // The first load reads them
+            }
+            Map<String, Entry> updates = new HashMap<>();
+            for (PlayerStatsEntity stats : snapshots) {
+                String playerId = stats.getPlayerId();
+                if (playerId == null) {
+                    continue;
+                }
+                Entry indexed = updates.containsKey(playerId) ? updates.get(playerId) : snapshot.get(playerId).orElse(null);
+                if (indexed != null && !indexed.isOlderThan(stats.getGameTimestamp())) {
+                    continue;
+                }
+                updates.put(playerId, new Entry(stats, indexed != null ? indexed.getGamesPlayed() + 1 : 1));
+            }
+            if (!updates.isEmpty()) {
+                current.set(snapshot.with(updates, Set.of()));
+            }
+        }
+    }
+    
+    /**
+     * Map of playerId -> games played from [playerId, gameCount] rows
+     */
+    private static Map<String, Integer> toGameCounts(List<Object[]> rows) {
+        Map<String, Integer> gameCounts = new HashMap<>();
+        for (Object[] row : rows) {
+            gameCounts.put((String) row[0], ((Number) row[1]).intValue());
+        }
+        return gameCounts;
+    }
+    
+    /**
+     * Immutable point-in-time leaderboard. Positions are 1-based.
+     */
+    public static final class Snapshot {
+        private final Entry[] ranked;
+        private final Map<String, Entry> byPlayer;
+        
+        private Snapshot(Entry[] ranked, Map<String, Entry> byPlayer) {
+            this.ranked = ranked;
+            this.byPlayer = byPlayer;
+        }
+        
+        static Snapshot of(Collection<Entry> entries) {
+            Map<String, Entry> byPlayer = new HashMap<>();
+            for (Entry entry : entries) {
+                byPlayer.put(entry.getPlayerId(), entry);
+            }
+            Entry[] ranked = byPlayer.values().toArray(new Entry[0]);
+            Arrays.sort(ranked, ORDER);
+            return new Snapshot(ranked, byPlayer);
+        }
+        
+        /**
+         * Next snapshot with the given players replaced or added and the removed players dropped
+         */
+        Snapshot with(Map<String, Entry> updates, Set<String> removed) {
+            List<Entry> nextRanked = new ArrayList<>(Arrays.asList(ranked));
+            Map<String, Entry> nextByPlayer = new HashMap<>(byPlayer);
+            Set<String> changed = new HashSet<>(updates.keySet());
+            changed.addAll(removed);
+            for (String playerId : changed) {
+                Entry previous = nextByPlayer.remove(playerId);
+                if (previous != null) {
+                    nextRanked.remove(Collections.binarySearch(nextRanked, previous, ORDER));
+                }
+            }
+            for (Entry entry : updates.values()) {
+                int insertionPoint = -Collections.binarySearch(nextRanked, entry, ORDER) - 1;
+                nextRanked.add(insertionPoint, entry);
+                nextByPlayer.put(entry.getPlayerId(), entry);
+            }
+            return new Snapshot(nextRanked.toArray(new Entry[0]), nextByPlayer);
+        }
+        
+        public int size() {
+            return ranked.length;
+        }
+        
+        public Optional<Entry> get(String playerId) {
+            return Optional.ofNullable(playerId != null ? byPlayer.get(playerId) : null);
+        }
+        
+        /**
+         * @return The player's 1-based position, or 0 if the player is not on the leaderboard
+         */
+        public int positionOf(String playerId) {
+            Entry entry = playerId != null ? byPlayer.get(playerId) : null;
+            return entry != null ? Arrays.binarySearch(ranked, entry, ORDER) + 1 : 0;
+        }
+        
+        /**
+         * Up to {@code limit} entries starting after {@code offset} entries, in leaderboard order;
+         * the first returned entry is at position {@code offset + 1}
+         */
+        public List<Entry> range(int offset, int limit) {
+            int from = Math.min(Math.max(offset, 0), ranked.length);
+            int to = (int) Math.min((long) from + Math.max(limit, 0), ranked.length);
+            return Collections.unmodifiableList(Arrays.asList(ranked).subList(from, to));
+        }
+    }
+    
+    /**
+     * Immutable leaderboard row: a player's latest stats and games played
+     */
+    public static final class Entry {
+        private final String playerId;
+        private final String nickname;
+        private final int rating;
+        private final int kills;
+        private final int deaths;
+        private final int assists;
+        private final int headshotKills;
+        private final int roundsPlayed;
+        private final int clutchesWon;
+        private final double damageDealt;
+        private final int gamesPlayed;
+        private final Instant gameTimestamp;
+        
+        Entry(PlayerStatsEntity stats, int gamesPlayed) {
+            this.playerId = stats.getPlayerId();
+            this.nickname = stats.getLastSeenNickname();
+            this.rating = stats.getRank();
+            this.kills = stats.getKills();
+            this.deaths = stats.getDeaths();
+            this.assists = stats.getAssists();
+            this.headshotKills = stats.getHeadshotKills();
+            this.roundsPlayed = stats.getRoundsPlayed();
+            this.clutchesWon = stats.getClutchesWon();
+            this.damageDealt = stats.getDamageDealt();
+            this.gamesPlayed = gamesPlayed;
+            this.gameTimestamp = stats.getGameTimestamp();
+        }
+        
+        boolean isOlderThan(Instant timestamp) {
+            return gameTimestamp == null || (timestamp != null && gameTimestamp.isBefore(timestamp));
+        }
+        
+        public String getPlayerId() {
+            return playerId;
+        }
+        
+        public String getNickname() {
+            return nickname;
+        }
+        
+        public int getRating() {
+            return rating;
+        }
+        
+        public int getKills() {
+            return kills;
+        }
+        
+        public int getDeaths() {
+            return deaths;
+        }
+        
+        public int getAssists() {
+            return assists;
+        }
+        
+        public int getHeadshotKills() {
+            return headshotKills;
+        }
+        
+        public int getRoundsPlayed() {
+            return roundsPlayed;
+        }
+        
+        public int getClutchesWon() {
+            return clutchesWon;
+        }
+        
+        public double getDamageDealt() {
+            return damageDealt;
+        }
+        
+        public int getGamesPlayed() {
+            return gamesPlayed;
+        }
+    }
+}
@@ -28,6 +28,8 @@ import com.rankforge.pipeline.persistence.repository.AccoladeRepository;
 import com.rankforge.pipeline.persistence.repository.GameEventRepository;
 import com.rankforge.pipeline.persistence.repository.GameRepository;
 import com.rankforge.pipeline.persistence.repository.PlayerStatsRepository;
+import com.rankforge.pipeline.persistence.spool.WriteBehindMatchListener;
+import com.rankforge.pipeline.persistence.spool.WriteBehindMatchQueue;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.PersistenceUnit;
@@ -57,12 +59,24 @@ public class PipelineService {
     private final GameRepository gameRepository;
     private final ObjectMapper objectMapper;
     private final EventProcessingContext eventProcessingContext;
+    private final LeaderboardIndex leaderboardIndex;
+    private final PlayerSearchIndex playerSearchIndex;
     
     @PersistenceUnit
     private EntityManagerFactory entityManagerFactory;
     
     @Value("${rankforge.persistence.type:jpa}")
     private String persistenceType;
+    
+    @Value("${rankforge.persistence.streaming-flush-interval:1000}")
+    private int streamingFlushInterval;
+    
+    @Value("${rankforge.persistence.event-archive.enabled:true}")
+    private boolean eventArchiveEnabled;
+    
+    // Present only when rankforge.persistence.write-behind.enabled=true
+    @Autowired(required = false)
+    private WriteBehindMatchQueue writeBehindMatchQueue;
 
     @Autowired
     public PipelineService(GameEventRepository gameEventRepository,
@@ -70,13 +84,17 @@ public class PipelineService {
                           AccoladeRepository accoladeRepository,
                           GameRepository gameRepository,
                           ObjectMapper objectMapper,
-                          EventProcessingContext eventProcessingContext) {
+                          EventProcessingContext eventProcessingContext,
+                          LeaderboardIndex leaderboardIndex,
+                          PlayerSearchIndex playerSearchIndex) {
         this.gameEventRepository = gameEventRepository;
         this.playerStatsRepository = playerStatsRepository;
         this.accoladeRepository = accoladeRepository;
         this.gameRepository = gameRepository;
         this.objectMapper = objectMapper;
         this.eventProcessingContext = eventProcessingContext;
+        this.leaderboardIndex = leaderboardIndex;
+        this.playerSearchIndex = playerSearchIndex;
     }
 
     /**
@@ -99,9 +117,21 @@ public class PipelineService {
                 gameRepository, objectMapper, eventProcessingContext);
         // Inject EntityManager for direct persistence operations
         jpaEventStore.setEntityManager(entityManager);
+        // Flush and clear the persistence context periodically so long matches commit in flat memory
+        jpaEventStore.setStreamingFlushInterval(streamingFlushInterval);
+        // Also store each game's events as one compressed archive row for the detail views
+        jpaEventStore.setEventArchiveEnabled(eventArchiveEnabled);
+        // Daily stats buckets are computed from each player's previous snapshot
+        jpaEventStore.setPlayerStatsRepository(playerStatsRepository);
         EventStore eventStore = jpaEventStore;
         
-        PlayerStatsStore statsRepo = new JpaPlayerStatsStore(playerStatsRepository, eventProcessingContext, gameRepository);
+        JpaPlayerStatsStore statsRepo = new JpaPlayerStatsStore(playerStatsRepository, eventProcessingContext, gameRepository);
+        // Keep the in-memory player search and leaderboard current as each game's stats commit;
+        // the leaderboard goes last because it announces the change
+        PlayerStatsCommitListener commitListener = PlayerStatsCommitListener.of(playerSearchIndex, leaderboardIndex);
+        jpaEventStore.setCommitListener(commitListener);
+        // Snapshots are committed by the event store in the match transaction
+        statsRepo.setStageSnapshots(true);
         AccoladeStore accoladeStore = new AccoladeStore(accoladeRepository, eventProcessingContext);
         
         // Create ranking algorithm and service
@@ -109,12 +139,21 @@ public class PipelineService {
         RankingService rankingService = new RankingServiceImpl(statsRepo, rankingAlgo);
         
         // Create event processor with shared context for direct entity reference linking
-        EventProcessor eventProcessor = new EventProcessorImpl(statsRepo, rankingService, 
+        EventProcessorImpl eventProcessor = new EventProcessorImpl(statsRepo, rankingService, 
                 eventProcessingContext, gameRepository);
         
-        // Wire event listeners
-        eventProcessor.addGameEventListener((GameEventListener) eventStore);
+        // Wire event listeners - the stats store stages its snapshots before the event store commits the match
         eventProcessor.addGameEventListener((GameEventListener) statsRepo);
+        eventProcessor.addGameEventListener((GameEventListener) eventStore);
+        
+        if (writeBehindMatchQueue != null) {
+            // Stores only stage the match; the listener (registered last) hands it to the queue
+            jpaEventStore.setWriteBehindEnabled(true);
+            statsRepo.setWriteBehindQueue(writeBehindMatchQueue);
+            writeBehindMatchQueue.setCommitListener(commitListener);
+            eventProcessor.setWriteBehindQueue(writeBehindMatchQueue);
+            eventProcessor.addGameEventListener(new WriteBehindMatchListener(writeBehindMatchQueue, eventProcessingContext));
+        }
         
         // Create log parser with accolade store and event processing context
         LogParser logParser = new CS2LogParser(objectMapper, eventStore, accoladeStore, eventProcessingContext);
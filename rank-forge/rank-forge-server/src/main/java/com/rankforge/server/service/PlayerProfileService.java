@@ -19,15 +19,23 @@
 package com.rankforge.server.service;
 
 import com.rankforge.pipeline.persistence.entity.AccoladeEntity;
+import com.rankforge.pipeline.persistence.entity.PlayerAccoladeCountEntity;
+import com.rankforge.pipeline.persistence.entity.PlayerRatingSeriesEntity;
 import com.rankforge.pipeline.persistence.entity.PlayerStatsEntity;
 import com.rankforge.pipeline.persistence.repository.AccoladeRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerAccoladeCountRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerRatingSeriesRepository;
 import com.rankforge.pipeline.persistence.repository.PlayerStatsRepository;
+import com.rankforge.pipeline.persistence.series.RatingSeriesCodec;
 import com.rankforge.server.dto.PlayerProfileDTO;
 import com.rankforge.server.dto.PlayerProfileDTO.PlayerAccoladeDTO;
 import com.rankforge.server.dto.PlayerProfileDTO.RatingHistoryPoint;
+import com.rankforge.server.event.RatingSeriesStaleEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -40,6 +48,12 @@ import java.util.stream.Collectors;
 /**
  * Service for player profile operations
  * Provides comprehensive player data including rating history and accolades
+ * 
+ * The rating history is served from the player's PlayerRatingSeries row, downsampled on request,
+ * so profile cost does not grow with the number of games played. Likewise the accolade summary comes
+ * from the PlayerAccoladeCount counters, only the newest page of accolades is loaded, and past nicknames
+ * come from the in-memory PlayerSearchIndex.
+ * 
  * Author bageshwar.pn
  * Date 2026
  */
@@ -51,38 +65,90 @@ public class PlayerProfileService {
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm")
             .withZone(ZoneId.systemDefault());
     
+    public static final int DEFAULT_HISTORY_POINTS = 200;
+    
+    /**
+     * Number of accolades a profile carries; older ones are paged through {@link #getPlayerAccolades}
+     */
+    public static final int DEFAULT_ACCOLADE_PAGE_SIZE = 20;
+    
+    /**
+     * How much of the rating history a profile carries
+     */
+    public enum HistoryResolution {
+        /** At most the requested number of points, picked by LTTB */
+        AUTO,
+        /** The last game of each week */
+        WEEKLY,
+        /** Every game */
+        FULL
+    }
+    
     private final PlayerStatsRepository playerStatsRepository;
     private final AccoladeRepository accoladeRepository;
+    private final PlayerRatingSeriesRepository playerRatingSeriesRepository;
+    private final PlayerAccoladeCountRepository playerAccoladeCountRepository;
+    private final PlayerSearchIndex playerSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Autowired
     public PlayerProfileService(PlayerStatsRepository playerStatsRepository, 
-                                  AccoladeRepository accoladeRepository) {
+                                  AccoladeRepository accoladeRepository,
+                                  PlayerRatingSeriesRepository playerRatingSeriesRepository,
+                                  PlayerAccoladeCountRepository playerAccoladeCountRepository,
+                                  PlayerSearchIndex playerSearchIndex,
+                                  ApplicationEventPublisher eventPublisher) {
         this.playerStatsRepository = playerStatsRepository;
         this.accoladeRepository = accoladeRepository;
+        this.playerRatingSeriesRepository = playerRatingSeriesRepository;
+        this.playerAccoladeCountRepository = playerAccoladeCountRepository;
+        this.playerSearchIndex = playerSearchIndex;
+        this.eventPublisher = eventPublisher;
     }
     
     /**
-     * Get complete player profile by player ID
+     * Get complete player profile by player ID, with the default downsampled rating history
      */
     public Optional<PlayerProfileDTO> getPlayerProfile(String playerId) {
+        return getPlayerProfile(playerId, HistoryResolution.AUTO, DEFAULT_HISTORY_POINTS);
+    }
+    
+    /**
+     * Get complete player profile by player ID.
+     * The rating history comes from the player's compact rating series; the snapshot history is
+     * only read when the series is missing or behind. The series is then built from it in memory,
+     * and storing it is left to {@link RatingSeriesRebuilder} so the read does not write.
+     * 
+     * @param resolution How to downsample the rating history
+     * @param maxPoints Maximum number of history points for {@link HistoryResolution#AUTO}
+     */
+    public Optional<PlayerProfileDTO> getPlayerProfile(String playerId, HistoryResolution resolution, int maxPoints) {
         try {
-            // Get player stats history
-            List<PlayerStatsEntity> statsHistory = playerStatsRepository.findHistoryByPlayerId(playerId);
-            
-            if (statsHistory.isEmpty()) {
-                LOGGER.info("No player stats found for player ID: {}", playerId);
-                return Optional.empty();
+            PlayerStatsEntity latestStats = null;
+            PlayerRatingSeriesEntity series = playerRatingSeriesRepository.findById(playerId).orElse(null);
+            if (series != null) {
+                latestStats = playerStatsRepository.findFirstByPlayerIdOrderByGameTimestampDescLastUpdatedDesc(playerId)
+                        .orElse(null);
+                if (latestStats == null || !isCurrent(series, latestStats)) {
+                    series = null;
+                }
+            }
+            if (series == null) {
+                List<PlayerStatsEntity> statsHistory = playerStatsRepository.findHistoryByPlayerId(playerId);
+                if (statsHistory.isEmpty()) {
+                    LOGGER.info("No player stats found for player ID: {}", playerId);
+                    return Optional.empty();
+                }
+                latestStats = statsHistory.get(statsHistory.size() - 1);
+                series = RatingSeriesCodec.build(playerId, statsHistory);
+                eventPublisher.publishEvent(new RatingSeriesStaleEvent(playerId));
             }
-            
-            // Get the latest stats (current state)
-            PlayerStatsEntity latestStats = statsHistory.get(statsHistory.size() - 1);
             
             PlayerProfileDTO profile = new PlayerProfileDTO();
             
             // Basic info from latest stats
             profile.setPlayerId(latestStats.getPlayerId());
-            profile.setPlayerName(latestStats.getLastSeenNickname() != null ? 
-                    latestStats.getLastSeenNickname() : "Unknown Player");
+            profile.setPlayerName(displayName(latestStats));
             profile.setCurrentRank(latestStats.getRank());
             
             // Current stats
@@ -96,31 +162,40 @@ public class PlayerProfileService {
                     (double) latestStats.getHeadshotKills() / latestStats.getKills() * 100 : 0);
             profile.setTotalRoundsPlayed(latestStats.getRoundsPlayed());
             profile.setClutchesWon(latestStats.getClutchesWon());
+            profile.setOpeningKills(latestStats.getOpeningKills());
+            profile.setOpeningDeaths(latestStats.getOpeningDeaths());
+            profile.setTradeKills(latestStats.getTradeKills());
             profile.setTotalDamageDealt(latestStats.getDamageDealt());
-            profile.setTotalGamesPlayed(statsHistory.size());
+            profile.setTotalGamesPlayed(series.getPointCount());
             
             // Build rating history
-            List<RatingHistoryPoint> ratingHistory = buildRatingHistory(statsHistory);
+            List<RatingHistoryPoint> ratingHistory = buildRatingHistory(RatingSeriesCodec.decode(series), resolution, maxPoints);
             profile.setRatingHistory(ratingHistory);
             
-            // Get accolades - try by player ID first (for new data with correct Steam IDs),
+            // Get the newest accolades - try by player ID first (for new data with correct Steam IDs),
             // then by player name (for legacy data where Steam IDs weren't resolved correctly)
-            List<AccoladeEntity> accoladeEntities = accoladeRepository.findByPlayerId(playerId);
+            PageRequest firstPage = PageRequest.of(0, DEFAULT_ACCOLADE_PAGE_SIZE);
+            List<AccoladeEntity> accoladeEntities = accoladeRepository.findPageByPlayerId(playerId, firstPage);
+            Map<String, Integer> countsByType;
             if (accoladeEntities.isEmpty() && profile.getPlayerName() != null) {
                 LOGGER.debug("No accolades found by playerId, trying by playerName: {}", profile.getPlayerName());
-                accoladeEntities = accoladeRepository.findByPlayerName(profile.getPlayerName());
+                String normalizedName = AccoladeEntity.normalizeName(profile.getPlayerName());
+                accoladeEntities = accoladeRepository.findPageByNormalizedPlayerName(normalizedName, firstPage);
+                countsByType = toTypeCounts(accoladeRepository.countByNormalizedPlayerNameGroupedByType(normalizedName));
+            } else {
+                countsByType = countAccoladesByType(playerId);
             }
-            List<PlayerAccoladeDTO> accolades = buildAccoladeList(accoladeEntities);
-            profile.setAccolades(accolades);
+            profile.setAccolades(buildAccoladeList(accoladeEntities));
             
             // Accolade analytics
             Map<String, Integer> accoladesByType = new HashMap<>();
-            for (AccoladeEntity accolade : accoladeEntities) {
-                String type = getAccoladeTypeDescription(accolade.getType());
-                accoladesByType.merge(type, 1, Integer::sum);
+            int totalAccolades = 0;
+            for (Map.Entry<String, Integer> count : countsByType.entrySet()) {
+                accoladesByType.merge(getAccoladeTypeDescription(count.getKey()), count.getValue(), Integer::sum);
+                totalAccolades += count.getValue();
             }
             profile.setAccoladesByType(accoladesByType);
-            profile.setTotalAccolades(accoladeEntities.size());
+            profile.setTotalAccolades(totalAccolades);
             
             // Find most frequent accolade
             String mostFrequent = accoladesByType.entrySet().stream()
@@ -129,18 +204,11 @@ public class PlayerProfileService {
                     .orElse("None");
             profile.setMostFrequentAccolade(mostFrequent);
             
-            // Extract all unique past nicks from stats history
-            List<String> pastNicks = statsHistory.stream()
-                    .map(PlayerStatsEntity::getLastSeenNickname)
-                    .filter(Objects::nonNull)
-                    .filter(nick -> !nick.trim().isEmpty())
-                    .distinct()
-                    .collect(Collectors.toList());
-            // Always set a non-null list (empty if no past nicks)
-            profile.setPastNicks(pastNicks != null ? pastNicks : new ArrayList<>());
+            // Past nicks come from the search index, which already holds every (trimmed, distinct) name of every player
+            profile.setPastNicks(playerSearchIndex.names(playerId));
             
             LOGGER.info("Built profile for player {} with {} games and {} accolades", 
-                    profile.getPlayerName(), statsHistory.size(), accoladeEntities.size());
+                    profile.getPlayerName(), series.getPointCount(), totalAccolades);
             
             return Optional.of(profile);
             
@@ -150,35 +218,104 @@ public class PlayerProfileService {
         }
     }
     
+    /**
+     * The series is current if it ends at the player's latest snapshot. Late games drop the series
+     * when they are appended and deleted games drop it when they are deleted, so a series that ends
+     * at the latest snapshot holds every snapshot; one that does not missed an append or predates
+     * the last-snapshot column.
+     */
+    private boolean isCurrent(PlayerRatingSeriesEntity series, PlayerStatsEntity latestStats) {
+        return Objects.equals(series.getLastSnapshotId(), latestStats.getId());
+    }
+    
     /**
      * Build rating history points for charting
      */
-    private List<RatingHistoryPoint> buildRatingHistory(List<PlayerStatsEntity> statsHistory) {
-        List<RatingHistoryPoint> history = new ArrayList<>();
-        int gameNumber = 1;
-        
-        for (PlayerStatsEntity stats : statsHistory) {
-            String formattedDate = stats.getGameTimestamp() != null ? 
-                    DATE_FORMATTER.format(stats.getGameTimestamp()) : "Unknown";
-            
-            double kd = stats.getDeaths() > 0 ? 
-                    (double) stats.getKills() / stats.getDeaths() : stats.getKills();
-            
-            RatingHistoryPoint point = new RatingHistoryPoint(
-                    formattedDate,
-                    stats.getRank(),
-                    Math.round(kd * 100.0) / 100.0,
-                    stats.getKills(),
-                    stats.getDeaths(),
-                    stats.getAssists(),
-                    gameNumber++
-            );
-            history.add(point);
+    private List<RatingHistoryPoint> buildRatingHistory(List<RatingSeriesCodec.Point> points,
+                                                        HistoryResolution resolution, int maxPoints) {
+        List<Integer> indices = switch (resolution) {
+            case AUTO -> RatingHistorySampler.lttb(points, maxPoints);
+            case WEEKLY -> RatingHistorySampler.weekly(points);
+            case FULL -> null;
+        };
+        List<RatingHistoryPoint> history = new ArrayList<>(indices != null ? indices.size() : points.size());
+        if (indices == null) {
+            for (int i = 0; i < points.size(); i++) {
+                history.add(toHistoryPoint(points.get(i), i + 1));
+            }
+        } else {
+            for (int index : indices) {
+                history.add(toHistoryPoint(points.get(index), index + 1));
+            }
         }
-        
         return history;
     }
     
+    private RatingHistoryPoint toHistoryPoint(RatingSeriesCodec.Point point, int gameNumber) {
+        String formattedDate = point.getGameTimestamp() != null ? 
+                DATE_FORMATTER.format(point.getGameTimestamp()) : "Unknown";
+        
+        double kd = point.getDeaths() > 0 ? 
+                (double) point.getKills() / point.getDeaths() : point.getKills();
+        
+        return new RatingHistoryPoint(
+                formattedDate,
+                point.getRank(),
+                Math.round(kd * 100.0) / 100.0,
+                point.getKills(),
+                point.getDeaths(),
+                point.getAssists(),
+                gameNumber
+        );
+    }
+    
+    /**
+     * Get one page of a player's accolades, newest first.
+     * Falls back to the player's last seen name for legacy accolades stored without a resolved Steam ID.
+     * 
+     * @param page 0-based page number
+     * @param size Page size
+     */
+    public List<PlayerAccoladeDTO> getPlayerAccolades(String playerId, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(page, size);
+        if (accoladeRepository.existsByPlayerId(playerId)) {
+            return buildAccoladeList(accoladeRepository.findPageByPlayerId(playerId, pageRequest));
+        }
+        String playerName = playerSearchIndex.currentName(playerId).orElse(null);
+        if (playerName == null) {
+            return new ArrayList<>();
+        }
+        return buildAccoladeList(accoladeRepository.findPageByNormalizedPlayerName(
+                AccoladeEntity.normalizeName(playerName), pageRequest));
+    }
+    
+    /**
+     * Accolade counts by raw type for a player ID, from the maintained counters.
+     * Players whose accolades predate the counters are aggregated from the Accolade table instead.
+     */
+    private Map<String, Integer> countAccoladesByType(String playerId) {
+        List<PlayerAccoladeCountEntity> counters = playerAccoladeCountRepository.findByPlayerIdOrderByAccoladeCountDesc(playerId);
+        if (counters.isEmpty()) {
+            return toTypeCounts(accoladeRepository.countByPlayerIdGroupedByType(playerId));
+        }
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (PlayerAccoladeCountEntity counter : counters) {
+            counts.put(counter.getType(), counter.getAccoladeCount());
+        }
+        return counts;
+    }
+    
+    /**
+     * Converts [type, count] aggregate rows into a type -> count map
+     */
+    private Map<String, Integer> toTypeCounts(List<Object[]> rows) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            counts.put((String) row[0], ((Number) row[1]).intValue());
+        }
+        return counts;
+    }
+    
     /**
      * Build accolade list from entities
      * Uses game end time as the timestamp when the accolade was awarded.
@@ -264,14 +401,21 @@ public class PlayerProfileService {
         }
     }
     
+    /**
+     * The player's current name from the shared name dictionary, else the name stored with the stats
+     */
+    private String displayName(PlayerStatsEntity stats) {
+        return playerSearchIndex.currentName(stats.getPlayerId())
+                .orElse(stats.getLastSeenNickname() != null ? stats.getLastSeenNickname() : "Unknown Player");
+    }
+    
     /**
      * Build basic profile from entity (without full history)
      */
     private PlayerProfileDTO buildBasicProfile(PlayerStatsEntity stats) {
         PlayerProfileDTO profile = new PlayerProfileDTO();
         profile.setPlayerId(stats.getPlayerId());
-        profile.setPlayerName(stats.getLastSeenNickname() != null ? 
-                stats.getLastSeenNickname() : "Unknown Player");
+        profile.setPlayerName(displayName(stats));
         profile.setCurrentRank(stats.getRank());
         profile.setTotalKills(stats.getKills());
         profile.setTotalDeaths(stats.getDeaths());
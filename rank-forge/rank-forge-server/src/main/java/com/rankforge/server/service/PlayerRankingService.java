@@ -23,11 +23,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rankforge.core.interfaces.RankingAlgorithm;
 import com.rankforge.core.models.PlayerStats;
 import com.rankforge.pipeline.EloBasedRankingAlgorithm;
+import com.rankforge.pipeline.persistence.GlobalCounters;
 import com.rankforge.pipeline.persistence.entity.GameEntity;
+import com.rankforge.pipeline.persistence.entity.GlobalCounterEntity;
 import com.rankforge.pipeline.persistence.entity.PlayerStatsEntity;
 import com.rankforge.pipeline.persistence.entity.RoundEndEventEntity;
 import com.rankforge.pipeline.persistence.repository.GameEventRepository;
 import com.rankforge.pipeline.persistence.repository.GameRepository;
+import com.rankforge.pipeline.persistence.repository.GlobalCounterRepository;
 import com.rankforge.pipeline.persistence.repository.PlayerStatsRepository;
 import com.rankforge.server.dto.LeaderboardResponseDTO;
 import com.rankforge.server.dto.PlayerRankingDTO;
@@ -40,6 +43,7 @@ import org.springframework.stereotype.Service;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.ZoneOffset;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -60,35 +64,37 @@ public class PlayerRankingService {
     private final GameEventRepository gameEventRepository;
     private final ObjectMapper objectMapper;
     private final RankingAlgorithm rankingAlgorithm;
+    private final LeaderboardIndex leaderboardIndex;
+    private final PlayerSearchIndex playerSearchIndex;
+    private final GlobalCounterRepository globalCounterRepository;
     
     @Autowired
     public PlayerRankingService(PlayerStatsRepository playerStatsRepository, 
                                GameRepository gameRepository,
                                GameEventRepository gameEventRepository,
                                ObjectMapper objectMapper,
-                               RankingAlgorithm rankingAlgorithm) {
+                               RankingAlgorithm rankingAlgorithm,
+                               LeaderboardIndex leaderboardIndex,
+                               PlayerSearchIndex playerSearchIndex,
+                               GlobalCounterRepository globalCounterRepository) {
         this.playerStatsRepository = playerStatsRepository;
         this.gameRepository = gameRepository;
         this.gameEventRepository = gameEventRepository;
         this.objectMapper = objectMapper;
         this.rankingAlgorithm = rankingAlgorithm;
+        this.leaderboardIndex = leaderboardIndex;
+        this.playerSearchIndex = playerSearchIndex;
+        this.globalCounterRepository = globalCounterRepository;
     }
 
     /**
      * Get all player rankings sorted by existing rank field
-     * Fetches real data from the persistence layer and sorts by rank
+     * Served from the in-memory leaderboard index
      */
     public List<PlayerRankingDTO> getAllPlayerRankings() {
         try {
-            List<PlayerStats> playerStats = getAllPlayerStatsFromDatabase();
-            
-            // Sort by existing rank field (descending order - rank 1 is best)
-            playerStats.sort((p1, p2) -> Integer.compare(p2.getRank(), p1.getRank()));
-            
-            return playerStats.stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
-                    
+            LeaderboardIndex.Snapshot leaderboard = leaderboardIndex.snapshot();
+            return convertToDTOs(leaderboard.range(0, leaderboard.size()), 1);
         } catch (Exception e) {
             LOGGER.error("Failed to retrieve player rankings", e);
             // Return empty list on error instead of crashing
@@ -100,67 +106,119 @@ public class PlayerRankingService {
      * Get top N player rankings
      */
     public List<PlayerRankingDTO> getTopPlayerRankings(int limit) {
-        return getAllPlayerRankings().stream()
-                .limit(limit)
-                .collect(Collectors.toList());
+        return getLeaderboardPage(0, limit);
+    }
+    
+    /**
+     * Get one page of the all-time leaderboard
+     * @param offset Number of players to skip
+     * @param limit Maximum number of players to return
+     */
+    public List<PlayerRankingDTO> getLeaderboardPage(int offset, int limit) {
+        try {
+            return convertToDTOs(leaderboardIndex.snapshot().range(offset, limit), Math.max(offset, 0) + 1);
+        } catch (Exception e) {
+            LOGGER.error("Failed to retrieve {} player rankings from offset {}", limit, offset, e);
+            return new ArrayList<>();
+        }
+    }
+    
+    /**
+     * Get the players ranked around a player, including the player
+     * @param playerId The player to center on
+     * @param radius Number of players to include above and below
+     * @return Up to 2 * radius + 1 rankings, empty if the player is not ranked
+     */
+    public List<PlayerRankingDTO> getPlayersAround(String playerId, int radius) {
+        LeaderboardIndex.Snapshot leaderboard = leaderboardIndex.snapshot();
+        int position = leaderboard.positionOf(playerId);
+        if (position == 0) {
+            return new ArrayList<>();
+        }
+        int offset = Math.max(position - 1 - radius, 0);
+        return convertToDTOs(leaderboard.range(offset, position + radius - offset), offset + 1);
     }
     
     /**
      * Get all player rankings with summary statistics
-     * Cached for 1 minute as data changes when new games are processed
+     * Cached for 1 minute and refreshed ahead; evicted when games are ingested or deleted
      */
-    @Cacheable(value = "allTimeLeaderboard", key = "'all-time'")
+    @Cacheable(value = "allTimeLeaderboard", key = "'all-time'", sync = true)
     public LeaderboardResponseDTO getAllPlayerRankingsWithStats() {
         List<PlayerRankingDTO> rankings = getAllPlayerRankings();
-        long totalGames = playerStatsRepository.countTotalDistinctGames();
-        // Calculate total rounds from games, not from player stats (to avoid double-counting)
-        long totalRounds = gameRepository.calculateTotalRounds();
-        return new LeaderboardResponseDTO(rankings, totalGames, totalRounds, rankings.size());
+        GlobalCounterEntity totals = findCounter(
+                new GlobalCounterEntity.Key(GlobalCounterEntity.SCOPE_ALL, GlobalCounterEntity.ALL));
+        return new LeaderboardResponseDTO(rankings, totals.getGames(), totals.getRounds(), rankings.size());
     }
     
     /**
      * Get top N player rankings with summary statistics
-     * Cached for 1 minute as data changes when new games are processed
+     * Cached for 1 minute and refreshed ahead; evicted when games are ingested or deleted
      */
-    @Cacheable(value = "topLeaderboard", key = "#limit")
+    @Cacheable(value = "topLeaderboard", key = "#limit", sync = true)
     public LeaderboardResponseDTO getTopPlayerRankingsWithStats(int limit) {
-        List<PlayerRankingDTO> rankings = getTopPlayerRankings(limit);
-        long totalGames = playerStatsRepository.countTotalDistinctGames();
-        // For top N, we still show total games and rounds across all players
-        List<PlayerRankingDTO> allRankings = getAllPlayerRankings();
-        // Calculate total rounds from games, not from player stats (to avoid double-counting)
-        long totalRounds = gameRepository.calculateTotalRounds();
-        return new LeaderboardResponseDTO(rankings, totalGames, totalRounds, allRankings.size());
+        // One snapshot serves both the top N and the total player count
+        LeaderboardIndex.Snapshot leaderboard = leaderboardIndex.snapshot();
+        List<PlayerRankingDTO> rankings = convertToDTOs(leaderboard.range(0, limit), 1);
+        GlobalCounterEntity totals = findCounter(
+                new GlobalCounterEntity.Key(GlobalCounterEntity.SCOPE_ALL, GlobalCounterEntity.ALL));
+        return new LeaderboardResponseDTO(rankings, totals.getGames(), totals.getRounds(), leaderboard.size());
+    }
+    
+    /**
+     * Games and rounds of a counter scope, counted as games are stored and deleted
+     * (total rounds come from the games' scores, not from player stats, to avoid double-counting)
+     * @return The counter row, or an empty one if no game was counted in the scope
+     */
+    private GlobalCounterEntity findCounter(GlobalCounterEntity.Key key) {
+        return globalCounterRepository.findById(key)
+                .orElseGet(() -> new GlobalCounterEntity(key.getScope(), key.getScopeKey()));
     }
 
     /**
-     * Convert PlayerStats to PlayerRankingDTO
+     * Convert consecutive leaderboard entries to DTOs
+     * @param firstPosition Leaderboard position of the first entry
      */
-    private PlayerRankingDTO convertToDTO(PlayerStats stats) {
-        // Count distinct games for this player
-        long gamesPlayed = playerStatsRepository.countDistinctGamesByPlayerId(stats.getPlayerId());
+    private List<PlayerRankingDTO> convertToDTOs(List<LeaderboardIndex.Entry> entries, int firstPosition) {
+        List<PlayerRankingDTO> rankings = new ArrayList<>(entries.size());
+        for (LeaderboardIndex.Entry entry : entries) {
+            PlayerRankingDTO dto = convertToDTO(entry);
+            dto.setPosition(firstPosition + rankings.size());
+            rankings.add(dto);
+        }
+        return rankings;
+    }
+    
+    private PlayerRankingDTO convertToDTO(LeaderboardIndex.Entry entry) {
         return new PlayerRankingDTO(
-                stats.getRank(),
-                stats.getLastSeenNickname(),
-                stats.getPlayerId(),
-                stats.getKills(),
-                stats.getDeaths(),
-                stats.getAssists(),
-                stats.getHeadshotKills(),
-                stats.getRoundsPlayed(),
-                stats.getClutchesWon(),
-                stats.getDamageDealt(),
-                (int) gamesPlayed
+                entry.getRating(),
+                displayName(entry.getPlayerId(), entry.getNickname()),
+                entry.getPlayerId(),
+                entry.getKills(),
+                entry.getDeaths(),
+                entry.getAssists(),
+                entry.getHeadshotKills(),
+                entry.getRoundsPlayed(),
+                entry.getClutchesWon(),
+                entry.getDamageDealt(),
+                entry.getGamesPlayed()
         );
     }
     
+    /**
+     * The player's current name from the shared name dictionary, so every leaderboard shows the same name
+     */
+    private String displayName(String playerId, String fallback) {
+        return playerSearchIndex.currentName(playerId).orElse(fallback);
+    }
+    
     /**
      * Convert PlayerStats to PlayerRankingDTO with custom games played count
      */
     private PlayerRankingDTO convertToDTO(PlayerStats stats, int gamesPlayed) {
         return new PlayerRankingDTO(
                 stats.getRank(),
-                stats.getLastSeenNickname(),
+                displayName(stats.getPlayerId(), stats.getLastSeenNickname()),
                 stats.getPlayerId(),
                 stats.getKills(),
                 stats.getDeaths(),
@@ -173,54 +231,16 @@ public class PlayerRankingService {
         );
     }
 
-    /**
-     * Convert PlayerStatsEntity to PlayerStats domain object
-     */
-    private PlayerStats convertToDomain(PlayerStatsEntity entity) {
-        PlayerStats stats = new PlayerStats();
-        stats.setPlayerId(entity.getPlayerId());
-        stats.setKills(entity.getKills());
-        stats.setDeaths(entity.getDeaths());
-        stats.setAssists(entity.getAssists());
-        stats.setHeadshotKills(entity.getHeadshotKills());
-        stats.setRoundsPlayed(entity.getRoundsPlayed());
-        stats.setClutchesWon(entity.getClutchesWon());
-        stats.setDamageDealt(entity.getDamageDealt());
-        stats.setLastUpdated(entity.getLastUpdated());
-        stats.setRank(entity.getRank());
-        stats.setLastSeenNickname(entity.getLastSeenNickname());
-        return stats;
-    }
-    
-    /**
-     * Retrieves all player statistics from the database
-     * Gets the latest stats for each player (most recent gameTimestamp)
-     */
-    private List<PlayerStats> getAllPlayerStatsFromDatabase() {
-        List<PlayerStats> playerStatsList = new ArrayList<>();
-        
-        try {
-            // Get latest stats for all players (one record per player)
-            List<PlayerStatsEntity> entities = playerStatsRepository.findLatestStatsForAllPlayers();
-            
-            for (PlayerStatsEntity entity : entities) {
-                PlayerStats stats = convertToDomain(entity);
-                playerStatsList.add(stats);
-            }
-        } catch (Exception e) {
-            LOGGER.error("Failed to retrieve player statistics", e);
-        }
-
-        LOGGER.info("Retrieved {} player statistics from database (latest stats per player)", playerStatsList.size());
-        return playerStatsList;
-    }
-    
-
     /**
      * Gets a specific player's ranking and statistics
      */
     public Optional<PlayerRankingDTO> getPlayerRanking(String playerId) {
-        return Optional.empty();
+        LeaderboardIndex.Snapshot leaderboard = leaderboardIndex.snapshot();
+        return leaderboard.get(playerId).map(entry -> {
+            PlayerRankingDTO dto = convertToDTO(entry);
+            dto.setPosition(leaderboard.positionOf(playerId));
+            return dto;
+        });
     }
     
     /**
@@ -240,8 +260,8 @@ public class PlayerRankingService {
      * Get monthly player rankings with summary statistics
      * 
      * Caching Strategy:
-     * - Past months: Cached indefinitely (data doesn't change)
-     * - Current month: Not cached (data changes as new games are processed)
+     * - Past months: Cached until games of that month are ingested or deleted
+     * - Current month: Memoised for a few seconds, so concurrent requests share one query
      * 
      * @param year The year (e.g., 2026)
      * @param month The month (1-12)
@@ -249,9 +269,9 @@ public class PlayerRankingService {
      * @param offset Number of results to skip for pagination
      * @return LeaderboardResponseDTO with rankings and summary stats
      */
-    @Cacheable(value = "monthlyLeaderboard", 
+    @Cacheable(cacheResolver = "monthlyLeaderboardCacheResolver", 
                key = "#year + '-' + #month + '-' + #limit + '-' + #offset",
-               condition = "T(java.time.LocalDate).of(#year, #month, 1).isBefore(T(java.time.LocalDate).now().withDayOfMonth(1))")
+               sync = true)
     public LeaderboardResponseDTO getMonthlyPlayerRankingsWithStats(int year, int month, int limit, int offset) {
         try {
             // Calculate month boundaries in UTC
@@ -399,9 +419,9 @@ public class PlayerRankingService {
             int toIndex = Math.min(offset + limit, monthlyStatsList.size());
             
             // Handle case where offset is beyond list size
+            GlobalCounterEntity monthTotals = findCounter(GlobalCounters.monthKey(YearMonth.of(year, month)));
             if (fromIndex >= monthlyStatsList.size()) {
-                long totalGamesInMonth = playerStatsRepository.countTotalDistinctGamesInMonth(startInstant, endInstant);
-                return new LeaderboardResponseDTO(new ArrayList<>(), totalGamesInMonth, 0, monthlyStatsList.size());
+                return new LeaderboardResponseDTO(new ArrayList<>(), monthTotals.getGames(), 0, monthlyStatsList.size());
             }
             
             List<PlayerStats> paginatedStats = monthlyStatsList.subList(fromIndex, toIndex);
@@ -435,12 +455,7 @@ public class PlayerRankingService {
                 dtos.add(dto);
             }
             
-            // Calculate summary statistics for the month
-            long totalGamesInMonth = playerStatsRepository.countTotalDistinctGamesInMonth(startInstant, endInstant);
-            // Calculate total rounds from games in the month, not from player stats (to avoid double-counting)
-            long totalRoundsInMonth = gameRepository.calculateTotalRoundsInMonth(startInstant, endInstant);
-            
-            return new LeaderboardResponseDTO(dtos, totalGamesInMonth, totalRoundsInMonth, monthlyStatsList.size());
+            return new LeaderboardResponseDTO(dtos, monthTotals.getGames(), monthTotals.getRounds(), monthlyStatsList.size());
                     
         } catch (Exception e) {
             LOGGER.error("Failed to retrieve monthly player rankings for {}-{}", year, month, e);
@@ -0,0 +1,567 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.service;
+
+import com.rankforge.pipeline.persistence.PlayerStatsCommitListener;
+import com.rankforge.pipeline.persistence.entity.PlayerStatsEntity;
+import com.rankforge.pipeline.persistence.repository.PlayerStatsRepository;
+import com.rankforge.server.event.GamesDeletedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory search index over every nickname each player has been seen with.
+ *
+ * Readers pin an immutable {@link Snapshot}: all (nickname, player) pairs sorted by normalized
+ * nickname, so prefix and exact lookups are a binary search, plus trigram postings over the same
+ * names so substring queries only verify the names sharing all of the query's trigrams. Lookups
+ * never lock and never touch the database. The same snapshot maps every player to their current
+ * name, which is how the read path turns Steam IDs into display names, and to all of their names,
+ * which profiles list as past nicknames.
+ *
+ * Like {@link LeaderboardIndex} the index is loaded when the application starts (or on first use
+ * if that failed) and then kept current: committed matches add or refresh their players' names and
+ * deleted games reload only the affected players. Writers are serialized and copy-on-write: a new
+ * name rebuilds the sorted arrays, while a refreshed last use (the common case, a player keeping
+ * their name) only patches the affected entries and shares the rest.
+ *
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@Component
+public class PlayerSearchIndex implements PlayerStatsCommitListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PlayerSearchIndex.class);
+
+    static final int GRAM_LENGTH = 3;
+
+    private final PlayerStatsRepository playerStatsRepository;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final Object writeLock = new Object();
+
+    @Autowired
+    public PlayerSearchIndex(PlayerStatsRepository playerStatsRepository) {
+        this.playerStatsRepository = playerStatsRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            reload();
+        } catch (Exception e) {
+            LOGGER.error("Failed to load player search index at startup, will retry on first use", e);
+        }
+    }
+
+    /**
+     * Players whose current or past nicknames match the query, best matches first:
+     * exact names, then name prefixes, then names containing the query; current names before past ones.
+     * Queries shorter than {@value #GRAM_LENGTH} characters only match prefixes.
+     *
+     * @param query Case-insensitive search text
+     * @param limit Maximum number of players
+     * @return At most {@code limit} matches, one per player
+     */
+    public List<Match> search(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized == null || normalized.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        return snapshot().search(normalized, limit);
+    }
+
+    /**
+     * The player who most recently played under the given nickname (case-insensitive)
+     */
+    public Optional<String> resolvePlayerId(String nickname) {
+        String normalized = normalize(nickname);
+        if (normalized == null || normalized.isEmpty()) {
+            return Optional.empty();
+        }
+        return snapshot().resolve(normalized);
+    }
+
+    /**
+     * The name a player most recently played under. Serves as the shared id -> display name dictionary
+     * of the read path, so resolving names never queries the database.
+     *
+     * @param playerId Full Steam ID ({@code [U:1:n]}) or its numeric account part
+     */
+    public Optional<String> currentName(String playerId) {
+        String fullId = toFullPlayerId(playerId);
+        if (fullId == null) {
+            return Optional.empty();
+        }
+        return snapshot().currentName(fullId);
+    }
+
+    /**
+     * Every name a player has played under, least recently used first (so the current name is last)
+     *
+     * @param playerId Full Steam ID ({@code [U:1:n]}) or its numeric account part
+     */
+    public List<String> names(String playerId) {
+        String fullId = toFullPlayerId(playerId);
+        if (fullId == null) {
+            return new ArrayList<>();
+        }
+        return snapshot().names(fullId);
+    }
+
+    /**
+     * The current index. Loads it from the database if it has not been loaded yet.
+     */
+    Snapshot snapshot() {
+        Snapshot snapshot = current.get();
+        if (snapshot != null) {
+            return snapshot;
+        }
+        synchronized (writeLock) {
+            if (current.get() == null) {
+                reload();
+            }
+            return current.get();
+        }
+    }
+
+    /**
+     * Rebuilds the whole index from the nickname usage of every player
+     */
+    public void reload() {
+        synchronized (writeLock) {
+            Map<String, Map<String, Name>> names = new HashMap<>();
+            addUsage(names, playerStatsRepository.findNicknameUsage());
+            current.set(Snapshot.of(names));
+            LOGGER.info("Loaded player search index with {} players", names.size());
+        }
+    }
+
+    /**
+     * Re-reads the names of the given players. Players without any remaining stats leave the index.
+     */
+    public void reloadPlayers(Collection<String> playerIds) {
+        if (playerIds == null || playerIds.isEmpty()) {
+            return;
+        }
+        synchronized (writeLock) {
+            Snapshot snapshot = current.get();
+            if (snapshot == null) {
+                return; // The first load reads them
+            }
+            Map<String, Map<String, Name>> names = snapshot.copyNames();
+            names.keySet().removeAll(playerIds);
+            addUsage(names, playerStatsRepository.findNicknameUsageByPlayerIds(playerIds));
+            current.set(Snapshot.of(names));
+        }
+    }
+
+    /**
+     * Adds or refreshes the names the players of a committed match played under
+     */
+    @Override
+    public void onPlayerStatsCommitted(List<PlayerStatsEntity> snapshots) {
+        synchronized (writeLock) {
+            Snapshot snapshot = current.get();
+            if (snapshot == null) {
+                return; // The first load reads them
+            }
+            Map<String, Name> refreshed = new HashMap<>();
+            for (PlayerStatsEntity stats : snapshots) {
+                String normalized = normalize(stats.getLastSeenNickname());
+                if (stats.getPlayerId() == null || normalized == null || normalized.isEmpty()) {
+                    continue;
+                }
+                Name existing = snapshot.find(stats.getPlayerId(), normalized);
+                if (existing == null) {
+                    // A name the player had not used before changes the sorted order and the postings
+                    Map<String, Map<String, Name>> names = snapshot.copyNames();
+                    for (PlayerStatsEntity added : snapshots) {
+                        addName(names, added.getPlayerId(), added.getLastSeenNickname(), added.getGameTimestamp());
+                    }
+                    current.set(Snapshot.of(names));
+                    return;
+                }
+                String key = stats.getPlayerId() + "\n" + normalized;
+                Name latest = refreshed.getOrDefault(key, existing);
+                if (latest.isOlderThan(stats.getGameTimestamp())) {
+                    refreshed.put(key, new Name(stats.getPlayerId(), stats.getLastSeenNickname().trim(),
+                            normalized, stats.getGameTimestamp()));
+                }
+            }
+            if (!refreshed.isEmpty()) {
+                current.set(snapshot.withRefreshed(refreshed.values()));
+            }
+        }
+    }
+
+    /**
+     * Deleted games may have been the only ones a player used a name in
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGamesDeleted(GamesDeletedEvent event) {
+        if (event.getStatsDeltas() == null) {
+            return;
+        }
+        Set<String> playerIds = new HashSet<>();
+        for (GamesDeletedEvent.StatsDelta delta : event.getStatsDeltas()) {
+            playerIds.add(delta.getPlayerId());
+        }
+        reloadPlayers(playerIds);
+    }
+
+    private static void addUsage(Map<String, Map<String, Name>> names, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            addName(names, (String) row[0], (String) row[1], (Instant) row[2]);
+        }
+    }
+
+    /**
+     * Records that a player used a name at the given time; case variants of a name are one name,
+     * shown as most recently used.
+     * @return Whether the index changed
+     */
+    private static boolean addName(Map<String, Map<String, Name>> names, String playerId, String nickname, Instant lastUsed) {
+        String normalized = normalize(nickname);
+        if (playerId == null || normalized == null || normalized.isEmpty()) {
+            return false;
+        }
+        Map<String, Name> playerNames = names.computeIfAbsent(playerId, id -> new HashMap<>());
+        Name existing = playerNames.get(normalized);
+        if (existing != null && !existing.isOlderThan(lastUsed)) {
+            return false;
+        }
+        playerNames.put(normalized, new Name(playerId, nickname.trim(), normalized, lastUsed));
+        return true;
+    }
+
+    /**
+     * Game events store account IDs both as {@code [U:1:n]} and as bare numbers; stats use the full form
+     */
+    static String toFullPlayerId(String playerId) {
+        if (playerId == null || playerId.isEmpty()) {
+            return null;
+        }
+        for (int i = 0; i < playerId.length(); i++) {
+            if (!Character.isDigit(playerId.charAt(i))) {
+                return playerId;
+            }
+        }
+        return "[U:1:" + playerId + "]";
+    }
+
+    static String normalize(String name) {
+        return name != null ? name.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    /**
+     * Immutable point-in-time index
+     */
+    static final class Snapshot {
+        private static final Comparator<Name> ORDER = Comparator.comparing((Name name) -> name.normalized)
+                .thenComparing(name -> name.playerId);
+
+        private final Name[] sorted;
+        private final Map<String, int[]> postings;
+        private final Map<String, int[]> playerNames;
+        private final Map<String, Name> currentNames;
+
+        private Snapshot(Name[] sorted, Map<String, int[]> postings, Map<String, int[]> playerNames,
+                         Map<String, Name> currentNames) {
+            this.sorted = sorted;
+            this.postings = postings;
+            this.playerNames = playerNames;
+            this.currentNames = currentNames;
+        }
+
+        static Snapshot of(Map<String, Map<String, Name>> names) {
+            List<Name> all = new ArrayList<>();
+            Map<String, Name> currentNames = new HashMap<>();
+            for (Map.Entry<String, Map<String, Name>> player : names.entrySet()) {
+                Name latest = null;
+                for (Name name : player.getValue().values()) {
+                    all.add(name);
+                    if (latest == null || latest.isOlderThan(name.lastUsed)) {
+                        latest = name;
+                    }
+                }
+                if (latest != null) {
+                    currentNames.put(player.getKey(), latest);
+                }
+            }
+            Name[] sorted = all.toArray(new Name[0]);
+            Arrays.sort(sorted, ORDER);
+
+            Map<String, List<Integer>> gramLists = new HashMap<>();
+            for (int i = 0; i < sorted.length; i++) {
+                for (String gram : grams(sorted[i].normalized)) {
+                    List<Integer> list = gramLists.computeIfAbsent(gram, g -> new ArrayList<>());
+                    if (list.isEmpty() || list.get(list.size() - 1) != i) {
+                        list.add(i);
+                    }
+                }
+            }
+            Map<String, int[]> postings = new HashMap<>(gramLists.size() * 2);
+            for (Map.Entry<String, List<Integer>> gram : gramLists.entrySet()) {
+                postings.put(gram.getKey(), gram.getValue().stream().mapToInt(Integer::intValue).toArray());
+            }
+            Map<String, List<Integer>> playerLists = new HashMap<>(names.size() * 2);
+            for (int i = 0; i < sorted.length; i++) {
+                playerLists.computeIfAbsent(sorted[i].playerId, id -> new ArrayList<>(1)).add(i);
+            }
+            Map<String, int[]> playerNames = new HashMap<>(playerLists.size() * 2);
+            for (Map.Entry<String, List<Integer>> player : playerLists.entrySet()) {
+                playerNames.put(player.getKey(), player.getValue().stream().mapToInt(Integer::intValue).toArray());
+            }
+            return new Snapshot(sorted, postings, playerNames, currentNames);
+        }
+
+        /**
+         * Copy with newer uses of names this snapshot already holds. The order, the postings and the
+         * per-player positions only depend on (normalized name, player), so they are shared; the
+         * refreshed entries and the current names of their players are replaced.
+         */
+        Snapshot withRefreshed(Collection<Name> refreshed) {
+            Name[] patched = sorted.clone();
+            Map<String, Name> patchedCurrentNames = new HashMap<>(currentNames);
+            for (Name name : refreshed) {
+                patched[Arrays.binarySearch(sorted, name, ORDER)] = name;
+                // Uses only move forward, so a refreshed name is current if it already was or is now the latest
+                Name currentName = patchedCurrentNames.get(name.playerId);
+                if (currentName == null || currentName.normalized.equals(name.normalized)
+                        || currentName.isOlderThan(name.lastUsed)) {
+                    patchedCurrentNames.put(name.playerId, name);
+                }
+            }
+            return new Snapshot(patched, postings, playerNames, patchedCurrentNames);
+        }
+
+        /**
+         * The entry for a player's name, or null if the player has not used it
+         */
+        Name find(String playerId, String normalized) {
+            int i = Arrays.binarySearch(sorted, new Name(playerId, null, normalized, null), ORDER);
+            return i >= 0 ? sorted[i] : null;
+        }
+
+        /**
+         * Mutable copy of playerId -> normalized name -> name, for building the next snapshot
+         */
+        Map<String, Map<String, Name>> copyNames() {
+            Map<String, Map<String, Name>> names = new HashMap<>();
+            for (Name name : sorted) {
+                names.computeIfAbsent(name.playerId, id -> new HashMap<>()).put(name.normalized, name);
+            }
+            return names;
+        }
+
+        int playerCount() {
+            return currentNames.size();
+        }
+
+        Optional<String> currentName(String playerId) {
+            Name name = currentNames.get(playerId);
+            return name != null ? Optional.of(name.display) : Optional.empty();
+        }
+
+        List<String> names(String playerId) {
+            int[] positions = playerNames.get(playerId);
+            if (positions == null) {
+                return new ArrayList<>();
+            }
+            List<Name> names = new ArrayList<>(positions.length);
+            for (int i : positions) {
+                names.add(sorted[i]);
+            }
+            names.sort(Comparator.comparing((Name name) -> name.lastUsed, Comparator.nullsFirst(Comparator.naturalOrder())));
+            List<String> displays = new ArrayList<>(names.size());
+            for (Name name : names) {
+                displays.add(name.display);
+            }
+            return displays;
+        }
+
+        Optional<String> resolve(String normalized) {
+            Name best = null;
+            for (int i = lowerBound(normalized); i < sorted.length && sorted[i].normalized.equals(normalized); i++) {
+                if (best == null || best.isOlderThan(sorted[i].lastUsed)) {
+                    best = sorted[i];
+                }
+            }
+            return best != null ? Optional.of(best.playerId) : Optional.empty();
+        }
+
+        List<Match> search(String normalized, int limit) {
+            Map<String, Match> best = new HashMap<>();
+            for (int i = lowerBound(normalized); i < sorted.length && sorted[i].normalized.startsWith(normalized); i++) {
+                offer(best, sorted[i], sorted[i].normalized.length() == normalized.length() ? Match.EXACT : Match.PREFIX);
+            }
+            if (normalized.length() >= GRAM_LENGTH) {
+                for (int i : candidates(normalized)) {
+                    Name name = sorted[i];
+                    if (!name.normalized.startsWith(normalized) && name.normalized.contains(normalized)) {
+                        offer(best, name, Match.SUBSTRING);
+                    }
+                }
+            }
+            List<Match> matches = new ArrayList<>(best.values());
+            matches.sort(Match.ORDER);
+            return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+        }
+
+        private void offer(Map<String, Match> best, Name name, int quality) {
+            Name currentName = currentNames.get(name.playerId);
+            Match match = new Match(name.playerId, currentName.display, name.display, name != currentName, quality);
+            best.merge(name.playerId, match, (a, b) -> Match.ORDER.compare(a, b) <= 0 ? a : b);
+        }
+
+        /**
+         * Indices of the names containing every trigram of the query, by intersecting the shortest posting list
+         * with the others
+         */
+        private int[] candidates(String normalized) {
+            List<int[]> lists = new ArrayList<>();
+            for (String gram : grams(normalized)) {
+                int[] list = postings.get(gram);
+                if (list == null) {
+                    return new int[0];
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.length));
+            int[] result = lists.get(0);
+            for (int l = 1; l < lists.size() && result.length > 0; l++) {
+                result = intersect(result, lists.get(l));
+            }
+            return result;
+        }
+
+        private static int[] intersect(int[] a, int[] b) {
+            int[] out = new int[Math.min(a.length, b.length)];
+            int i = 0, j = 0, n = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    out[n++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(out, n);
+        }
+
+        private int lowerBound(String normalized) {
+            int low = 0, high = sorted.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (sorted[mid].normalized.compareTo(normalized) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private static Set<String> grams(String normalized) {
+            Set<String> grams = new LinkedHashSet<>();
+            for (int i = 0; i + GRAM_LENGTH <= normalized.length(); i++) {
+                grams.add(normalized.substring(i, i + GRAM_LENGTH));
+            }
+            return grams;
+        }
+    }
+
+    /**
+     * A name a player has played under
+     */
+    static final class Name {
+        private final String playerId;
+        private final String display;
+        private final String normalized;
+        private final Instant lastUsed;
+
+        Name(String playerId, String display, String normalized, Instant lastUsed) {
+            this.playerId = playerId;
+            this.display = display;
+            this.normalized = normalized;
+            this.lastUsed = lastUsed;
+        }
+
+        boolean isOlderThan(Instant timestamp) {
+            return lastUsed == null || (timestamp != null && lastUsed.isBefore(timestamp));
+        }
+    }
+
+    /**
+     * A player found by a search
+     */
+    public static final class Match {
+        static final int EXACT = 0;
+        static final int PREFIX = 1;
+        static final int SUBSTRING = 2;
+
+        static final Comparator<Match> ORDER = Comparator.comparingInt((Match match) -> match.quality)
+                .thenComparing(match -> match.pastName)
+                .thenComparingInt(match -> match.matchedName.length())
+                .thenComparing(match -> match.matchedName, String.CASE_INSENSITIVE_ORDER)
+                .thenComparing(match -> match.playerId);
+
+        private final String playerId;
+        private final String currentName;
+        private final String matchedName;
+        private final boolean pastName;
+        private final int quality;
+
+        Match(String playerId, String currentName, String matchedName, boolean pastName, int quality) {
+            this.playerId = playerId;
+            this.currentName = currentName;
+            this.matchedName = matchedName;
+            this.pastName = pastName;
+            this.quality = quality;
+        }
+
+        public String getPlayerId() {
+            return playerId;
+        }
+
+        public String getCurrentName() {
+            return currentName;
+        }
+
+        public String getMatchedName() {
+            return matchedName;
+        }
+
+        public boolean isPastName() {
+            return pastName;
+        }
+    }
+}
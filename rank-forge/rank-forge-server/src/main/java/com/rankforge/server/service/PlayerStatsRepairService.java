@@ -0,0 +1,172 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.service;
+
+import com.rankforge.core.interfaces.RankingAlgorithm;
+import com.rankforge.core.models.PlayerStats;
+import com.rankforge.pipeline.persistence.entity.PlayerStatsEntity;
+import com.rankforge.pipeline.persistence.repository.PlayerRatingSeriesRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerStatsRepository;
+import com.rankforge.server.event.GamesDeletedEvent;
+import com.rankforge.server.event.LeaderboardChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Repairs derived player stats after games are deleted.
+ * 
+ * PlayerStats rows are cumulative snapshots, so deleting a game leaves every later snapshot
+ * of its players still counting that game. Once the deletion has committed, this service
+ * subtracts each deleted game's contribution from the later snapshots with one set-based
+ * UPDATE per player and game, then recalculates the rank of each affected player's latest snapshot
+ * and drops their rating series.
+ * 
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@Service
+public class PlayerStatsRepairService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PlayerStatsRepairService.class);
+    
+    private final PlayerStatsRepository playerStatsRepository;
+    private final RankingAlgorithm rankingAlgorithm;
+    private final LeaderboardIndex leaderboardIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlayerRatingSeriesRepository playerRatingSeriesRepository;
+    
+    @Autowired
+    public PlayerStatsRepairService(PlayerStatsRepository playerStatsRepository, RankingAlgorithm rankingAlgorithm,
+                                    LeaderboardIndex leaderboardIndex, ApplicationEventPublisher eventPublisher,
+                                    PlayerRatingSeriesRepository playerRatingSeriesRepository) {
+        this.playerStatsRepository = playerStatsRepository;
+        this.playerRatingSeriesRepository = playerRatingSeriesRepository;
+        this.rankingAlgorithm = rankingAlgorithm;
+        this.leaderboardIndex = leaderboardIndex;
+        this.eventPublisher = eventPublisher;
+    }
+    
+    /**
+     * Runs asynchronously after the deleting transaction commits. The leaderboard index then
+     * re-reads every player of the deleted games, including players with no stats left, and
+     * cached leaderboards of the deleted games' months are evicted once the repair commits.
+     */
+    @Async
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onGamesDeleted(GamesDeletedEvent event) {
+        List<GamesDeletedEvent.StatsDelta> deltas = event.getStatsDeltas();
+        rebaseSnapshots(deltas);
+        if (deltas == null || deltas.isEmpty()) {
+            // Games without player stats; their months are unknown here
+            eventPublisher.publishEvent(LeaderboardChangedEvent.forAllMonths());
+            return;
+        }
+        Set<String> playerIds = new LinkedHashSet<>();
+        List<Instant> gameTimestamps = new ArrayList<>();
+        for (GamesDeletedEvent.StatsDelta delta : deltas) {
+            playerIds.add(delta.getPlayerId());
+            gameTimestamps.add(delta.getGameTimestamp());
+        }
+        leaderboardIndex.reloadPlayers(playerIds);
+        eventPublisher.publishEvent(LeaderboardChangedEvent.forGames(gameTimestamps));
+    }
+    
+    /**
+     * Subtracts each delta from the player's snapshots recorded after the deleted game,
+     * then re-ranks the latest snapshot of every affected player.
+     * 
+     * @param deltas Contributions of the deleted games
+     * @return Number of snapshot rows rebased
+     */
+    @Transactional
+    public int rebaseSnapshots(List<GamesDeletedEvent.StatsDelta> deltas) {
+        if (deltas == null || deltas.isEmpty()) {
+            return 0;
+        }
+        
+        int rebased = 0;
+        Set<String> affectedPlayers = new LinkedHashSet<>();
+        for (GamesDeletedEvent.StatsDelta delta : deltas) {
+            int updated = playerStatsRepository.rebaseSnapshotsAfter(
+                    delta.getPlayerId(), delta.getGameTimestamp(),
+                    delta.getKills(), delta.getDeaths(), delta.getAssists(), delta.getHeadshotKills(),
+                    delta.getRoundsPlayed(), delta.getClutchesWon(), delta.getOpeningKills(),
+                    delta.getOpeningDeaths(), delta.getTradeKills(), delta.getDamageDealt());
+            if (updated > 0) {
+                affectedPlayers.add(delta.getPlayerId());
+                rebased += updated;
+            }
+        }
+        
+        // Series rebuilt since the deletion still hold the old cumulative stats; rebuilt after the next read
+        Set<String> deltaPlayers = new LinkedHashSet<>();
+        for (GamesDeletedEvent.StatsDelta delta : deltas) {
+            deltaPlayers.add(delta.getPlayerId());
+        }
+        playerRatingSeriesRepository.deleteByPlayerIds(deltaPlayers);
+        
+        if (!affectedPlayers.isEmpty()) {
+            List<PlayerStatsEntity> latest = playerStatsRepository.findLatestStatsForPlayers(affectedPlayers);
+            for (PlayerStatsEntity entity : latest) {
+                entity.setRank(rankingAlgorithm.calculateRank(convertToDomain(entity)));
+            }
+            playerStatsRepository.saveAll(latest);
+        }
+        
+        logger.info("STATS_REPAIR: Rebased {} snapshots for {} players from {} deleted game contributions", 
+                rebased, affectedPlayers.size(), deltas.size());
+        return rebased;
+    }
+    
+    /**
+     * Convert PlayerStatsEntity to PlayerStats domain object
+     */
+    private PlayerStats convertToDomain(PlayerStatsEntity entity) {
+        PlayerStats stats = new PlayerStats();
+        stats.setPlayerId(entity.getPlayerId());
+        stats.setKills(entity.getKills());
+        stats.setDeaths(entity.getDeaths());
+        stats.setAssists(entity.getAssists());
+        stats.setHeadshotKills(entity.getHeadshotKills());
+        stats.setRoundsPlayed(entity.getRoundsPlayed());
+        stats.setClutchesWon(entity.getClutchesWon());
+        stats.setOpeningKills(entity.getOpeningKills());
+        stats.setOpeningDeaths(entity.getOpeningDeaths());
+        stats.setTradeKills(entity.getTradeKills());
+        stats.setDamageDealt(entity.getDamageDealt());
+        stats.setLastUpdated(entity.getLastUpdated());
+        stats.setRank(entity.getRank());
+        stats.setLastSeenNickname(entity.getLastSeenNickname());
+        return stats;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.service;
+
+import com.rankforge.pipeline.persistence.series.RatingSeriesCodec;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Downsamples a player's rating series for charting.
+ * 
+ * Both views keep the first and last game, so the chart still starts and ends at the real ratings.
+ * Methods return the indices of the kept points, oldest first.
+ * 
+ * Author bageshwar.pn
+ * Date 2026
+ */
+public final class RatingHistorySampler {
+    
+    private RatingHistorySampler() {
+    }
+    
+    /**
+     * Largest-Triangle-Three-Buckets: keeps the points that best preserve the visual shape of
+     * the rating curve (x = game number, y = rating).
+     * 
+     * @param points Series points, oldest first
+     * @param threshold Maximum number of points to keep (below 3 keeps everything)
+     */
+    public static List<Integer> lttb(List<RatingSeriesCodec.Point> points, int threshold) {
+        int size = points.size();
+        if (threshold < 3 || threshold >= size) {
+            return allIndices(size);
+        }
+        List<Integer> kept = new ArrayList<>(threshold);
+        double bucketSize = (double) (size - 2) / (threshold - 2);
+        int previous = 0;
+        kept.add(previous);
+        
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            // Average of the next bucket is the third triangle vertex
+            int nextStart = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, size);
+            double averageX = 0;
+            double averageY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                averageX += i;
+                averageY += points.get(i).getRank();
+            }
+            int nextCount = nextEnd - nextStart;
+            averageX /= nextCount;
+            averageY /= nextCount;
+            
+            int start = (int) Math.floor(bucket * bucketSize) + 1;
+            int end = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            double previousY = points.get(previous).getRank();
+            double maxArea = -1;
+            int selected = start;
+            for (int i = start; i < end; i++) {
+                double area = Math.abs((previous - averageX) * (points.get(i).getRank() - previousY)
+                        - (previous - i) * (averageY - previousY));
+                if (area > maxArea) {
+                    maxArea = area;
+                    selected = i;
+                }
+            }
+            kept.add(selected);
+            previous = selected;
+        }
+        
+        kept.add(size - 1);
+        return kept;
+    }
+    
+    /**
+     * Keeps the last game of each week (weeks start on Monday, UTC), plus the first game.
+     */
+    public static List<Integer> weekly(List<RatingSeriesCodec.Point> points) {
+        List<Integer> kept = new ArrayList<>();
+        LocalDate previousWeek = null;
+        for (int i = 0; i < points.size(); i++) {
+            LocalDate week = points.get(i).getGameTimestamp().atZone(ZoneOffset.UTC).toLocalDate()
+                    .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            // A later game of the same week replaces the week's previous one, except the first game
+            if (week.equals(previousWeek) && kept.get(kept.size() - 1) != 0) {
+                kept.set(kept.size() - 1, i);
+            } else {
+                kept.add(i);
+            }
+            previousWeek = week;
+        }
+        return kept;
+    }
+    
+    private static List<Integer> allIndices(int size) {
+        List<Integer> indices = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            indices.add(i);
+        }
+        return indices;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.service;
+
+import com.rankforge.pipeline.persistence.entity.PlayerRatingSeriesEntity;
+import com.rankforge.pipeline.persistence.entity.PlayerStatsEntity;
+import com.rankforge.pipeline.persistence.repository.PlayerRatingSeriesRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerStatsRepository;
+import com.rankforge.pipeline.persistence.series.RatingSeriesCodec;
+import com.rankforge.server.event.RatingSeriesStaleEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stores rebuilt rating series off the request path, so profile reads never write.
+ * 
+ * A profile read that finds a series missing or behind publishes a {@link RatingSeriesStaleEvent}.
+ * The series is rebuilt here from the snapshot history as it is when the rebuild runs; reads of the
+ * same player while a rebuild is in flight do not start another one. A rebuild that races an
+ * ingest may still end up behind, which the next read detects again.
+ * 
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@Service
+public class RatingSeriesRebuilder {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(RatingSeriesRebuilder.class);
+    
+    private final PlayerStatsRepository playerStatsRepository;
+    private final PlayerRatingSeriesRepository playerRatingSeriesRepository;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    
+    @Autowired
+    public RatingSeriesRebuilder(PlayerStatsRepository playerStatsRepository,
+                                 PlayerRatingSeriesRepository playerRatingSeriesRepository) {
+        this.playerStatsRepository = playerStatsRepository;
+        this.playerRatingSeriesRepository = playerRatingSeriesRepository;
+    }
+    
+    @Async
+    @EventListener
+    public void onRatingSeriesStale(RatingSeriesStaleEvent event) {
+        rebuild(event.getPlayerId());
+    }
+    
+    /**
+     * Rebuilds and stores the player's series unless a rebuild for the player is already running
+     * @return true if a series was stored
+     */
+    public boolean rebuild(String playerId) {
+        if (!inFlight.add(playerId)) {
+            return false;
+        }
+        try {
+            List<PlayerStatsEntity> statsHistory = playerStatsRepository.findHistoryByPlayerId(playerId);
+            if (statsHistory.isEmpty()) {
+                return false;
+            }
+            PlayerRatingSeriesEntity series = RatingSeriesCodec.build(playerId, statsHistory);
+            playerRatingSeriesRepository.save(series);
+            LOGGER.debug("Rebuilt rating series for player {} with {} games", playerId, series.getPointCount());
+            return true;
+        } catch (Exception e) {
+            // A concurrent ingest may have written the series; the next read checks it again
+            LOGGER.warn("Failed to store rebuilt rating series for player {}", playerId, e);
+            return false;
+        } finally {
+            inFlight.remove(playerId);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.service;
+
+import com.rankforge.pipeline.persistence.RivalryCounters;
+import com.rankforge.pipeline.persistence.entity.KillMatrixEntity;
+import com.rankforge.pipeline.persistence.entity.PlayerRivalEntity;
+import com.rankforge.pipeline.persistence.repository.GameEventRepository;
+import com.rankforge.pipeline.persistence.repository.KillMatrixRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerRivalRepository;
+import com.rankforge.server.dto.PlayerRivalsDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Serves head-to-head rivalries from the kill matrix and the per-player rival heaps that
+ * ingestion maintains (see {@link RivalryCounters}). Top-K reads are one bounded heap read per
+ * direction plus one keyed read for the reverse counts.
+ * 
+ * Deleting games subtracts their kills from the matrix and rebuilds the heaps of the players
+ * involved, since a heap cannot know the next best rival once counts go down.
+ * 
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@Service
+public class RivalryService {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(RivalryService.class);
+    
+    private final KillMatrixRepository killMatrixRepository;
+    private final PlayerRivalRepository playerRivalRepository;
+    private final GameEventRepository gameEventRepository;
+    private final PlayerSearchIndex playerSearchIndex;
+    
+    @Autowired
+    public RivalryService(KillMatrixRepository killMatrixRepository,
+                          PlayerRivalRepository playerRivalRepository,
+                          GameEventRepository gameEventRepository,
+                          PlayerSearchIndex playerSearchIndex) {
+        this.killMatrixRepository = killMatrixRepository;
+        this.playerRivalRepository = playerRivalRepository;
+        this.gameEventRepository = gameEventRepository;
+        this.playerSearchIndex = playerSearchIndex;
+    }
+    
+    /**
+     * A player's top victims and nemeses
+     * 
+     * @param playerId Full Steam ID
+     * @param period {@link KillMatrixEntity#ALL_TIME} or a month ("yyyy-MM")
+     * @param limit Rivals per direction, at most {@link RivalryCounters#TOP_K}
+     */
+    public PlayerRivalsDTO getRivals(String playerId, String period, int limit) {
+        PlayerRivalsDTO rivals = new PlayerRivalsDTO(playerId, period);
+        List<PlayerRivalEntity> victims = top(playerId, period, PlayerRivalEntity.Direction.VICTIM, limit);
+        List<PlayerRivalEntity> nemeses = top(playerId, period, PlayerRivalEntity.Direction.NEMESIS, limit);
+        if (victims.isEmpty() && nemeses.isEmpty()) {
+            return rivals;
+        }
+        
+        // The other side of each pair: how often the victim killed the player, and the player the nemesis
+        Set<KillMatrixEntity.Key> reverseKeys = new LinkedHashSet<>();
+        victims.forEach(row -> reverseKeys.add(new KillMatrixEntity.Key(row.getRivalId(), playerId, period)));
+        nemeses.forEach(row -> reverseKeys.add(new KillMatrixEntity.Key(playerId, row.getRivalId(), period)));
+        Map<KillMatrixEntity.Key, Integer> reverse = new HashMap<>();
+        for (KillMatrixEntity cell : killMatrixRepository.findAllById(reverseKeys)) {
+            reverse.put(new KillMatrixEntity.Key(cell.getKillerId(), cell.getVictimId(), cell.getPeriod()), cell.getKills());
+        }
+        
+        for (PlayerRivalEntity row : victims) {
+            int deaths = reverse.getOrDefault(new KillMatrixEntity.Key(row.getRivalId(), playerId, period), 0);
+            rivals.getVictims().add(toDTO(row.getRivalId(), row.getKills(), deaths));
+        }
+        for (PlayerRivalEntity row : nemeses) {
+            int kills = reverse.getOrDefault(new KillMatrixEntity.Key(playerId, row.getRivalId(), period), 0);
+            rivals.getNemeses().add(toDTO(row.getRivalId(), kills, row.getKills()));
+        }
+        return rivals;
+    }
+    
+    private List<PlayerRivalEntity> top(String playerId, String period, PlayerRivalEntity.Direction direction, int limit) {
+        List<PlayerRivalEntity> heap = playerRivalRepository.findHeap(playerId, period, direction);
+        return heap.size() > limit ? heap.subList(0, limit) : heap;
+    }
+    
+    private PlayerRivalsDTO.RivalDTO toDTO(String rivalId, int kills, int deaths) {
+        return new PlayerRivalsDTO.RivalDTO(rivalId, playerSearchIndex.currentName(rivalId).orElse(rivalId), kills, deaths);
+    }
+    
+    /**
+     * Subtracts the kills of games about to be deleted from the matrix and rebuilds the affected
+     * rival heaps. Must run in the deleting transaction, before the kill events are deleted.
+     */
+    public void subtractGames(List<Long> gameIds) {
+        Map<KillMatrixEntity.Key, Integer> decrements = new LinkedHashMap<>();
+        for (Object[] row : gameEventRepository.countKillPairsByGameIds(gameIds)) {
+            String killerId = (String) row[0];
+            String victimId = (String) row[1];
+            if (!RivalryCounters.isCounted(killerId, victimId)) {
+                continue;
+            }
+            int kills = ((Number) row[3]).intValue();
+            decrements.merge(new KillMatrixEntity.Key(killerId, victimId, KillMatrixEntity.ALL_TIME), kills, Integer::sum);
+            if (row[2] != null) {
+                decrements.merge(new KillMatrixEntity.Key(killerId, victimId, RivalryCounters.monthOf((Instant) row[2])),
+                        kills, Integer::sum);
+            }
+        }
+        if (decrements.isEmpty()) {
+            return;
+        }
+        
+        Set<List<Object>> heaps = new LinkedHashSet<>();
+        for (Map.Entry<KillMatrixEntity.Key, Integer> decrement : decrements.entrySet()) {
+            KillMatrixEntity.Key key = decrement.getKey();
+            killMatrixRepository.decrement(key.getKillerId(), key.getVictimId(), key.getPeriod(), decrement.getValue());
+            heaps.add(List.of(key.getKillerId(), key.getPeriod(), PlayerRivalEntity.Direction.VICTIM));
+            heaps.add(List.of(key.getVictimId(), key.getPeriod(), PlayerRivalEntity.Direction.NEMESIS));
+        }
+        killMatrixRepository.deleteEmpty();
+        
+        for (List<Object> heap : heaps) {
+            rebuildHeap((String) heap.get(0), (String) heap.get(1), (PlayerRivalEntity.Direction) heap.get(2));
+        }
+        LOGGER.info("Subtracted {} kill matrix cells of games {} and rebuilt {} rival heaps",
+                decrements.size(), gameIds, heaps.size());
+    }
+    
+    private void rebuildHeap(String playerId, String period, PlayerRivalEntity.Direction direction) {
+        playerRivalRepository.deleteHeap(playerId, period, direction);
+        PageRequest topK = PageRequest.of(0, RivalryCounters.TOP_K);
+        List<KillMatrixEntity> cells = direction == PlayerRivalEntity.Direction.VICTIM
+                ? killMatrixRepository.findTopVictims(playerId, period, topK)
+                : killMatrixRepository.findTopKillers(playerId, period, topK);
+        List<PlayerRivalEntity> rows = new ArrayList<>(cells.size());
+        for (KillMatrixEntity cell : cells) {
+            String rivalId = direction == PlayerRivalEntity.Direction.VICTIM ? cell.getVictimId() : cell.getKillerId();
+            rows.add(new PlayerRivalEntity(playerId, period, direction, rivalId, cell.getKills()));
+        }
+        playerRivalRepository.saveAll(rows);
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.service;
+
+import com.rankforge.core.interfaces.RankingAlgorithm;
+import com.rankforge.core.models.PlayerStats;
+import com.rankforge.pipeline.persistence.entity.GlobalCounterEntity;
+import com.rankforge.pipeline.persistence.entity.PlayerDailyStatsEntity;
+import com.rankforge.pipeline.persistence.repository.GlobalCounterRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerDailyStatsRepository;
+import com.rankforge.server.config.CacheConfig;
+import com.rankforge.server.dto.LeaderboardResponseDTO;
+import com.rankforge.server.dto.PlayerRankingDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Leaderboards over the last N days (up to {@link #MAX_WINDOW_DAYS}), built from the per-player
+ * daily stats buckets.
+ * 
+ * The buckets of the longest window are loaded once per last day and turned into per-player prefix
+ * sums, so any window ending that day is one subtraction per player instead of an aggregate over
+ * its games. The prefix sums are cached by their last day, and the pages by (last day, window,
+ * limit, offset); both are evicted by LeaderboardCacheEvictor when games of the covered months
+ * change, and a new day starts new keys.
+ * 
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@Service
+public class RollingLeaderboardService {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(RollingLeaderboardService.class);
+    
+    /**
+     * Longest window served, in days (including the last day)
+     */
+    public static final int MAX_WINDOW_DAYS = 30;
+    
+    private final PlayerDailyStatsRepository playerDailyStatsRepository;
+    private final GlobalCounterRepository globalCounterRepository;
+    private final RankingAlgorithm rankingAlgorithm;
+    private final PlayerSearchIndex playerSearchIndex;
+    private final CacheManager cacheManager;
+    
+    @Autowired
+    public RollingLeaderboardService(PlayerDailyStatsRepository playerDailyStatsRepository,
+                                     GlobalCounterRepository globalCounterRepository,
+                                     RankingAlgorithm rankingAlgorithm,
+                                     PlayerSearchIndex playerSearchIndex,
+                                     CacheManager cacheManager) {
+        this.playerDailyStatsRepository = playerDailyStatsRepository;
+        this.globalCounterRepository = globalCounterRepository;
+        this.rankingAlgorithm = rankingAlgorithm;
+        this.playerSearchIndex = playerSearchIndex;
+        this.cacheManager = cacheManager;
+    }
+    
+    /**
+     * Get the player rankings over the days ending with a given day, with summary statistics
+     * 
+     * @param lastDay Last day of the window (UTC), included
+     * @param days Window length in days, 1 to {@link #MAX_WINDOW_DAYS}
+     * @param limit Maximum number of results to return
+     * @param offset Number of results to skip for pagination
+     * @return LeaderboardResponseDTO with the window's rankings, games and rounds
+     */
+    @Cacheable(value = CacheConfig.ROLLING_LEADERBOARD,
+               key = "#lastDay.toString() + '-' + #days + '-' + #limit + '-' + #offset",
+               sync = true)
+    public LeaderboardResponseDTO getRollingLeaderboard(LocalDate lastDay, int days, int limit, int offset) {
+        if (days < 1 || days > MAX_WINDOW_DAYS) {
+            throw new IllegalArgumentException("Window must be between 1 and " + MAX_WINDOW_DAYS + " days: " + days);
+        }
+        DailyBuckets buckets = getBuckets(lastDay);
+        
+        List<PlayerStats> windowStats = new ArrayList<>();
+        Map<String, Integer> gamesByPlayer = new HashMap<>();
+        for (String playerId : buckets.getPlayerIds()) {
+            double[] sums = buckets.window(playerId, days);
+            if (sums[DailyBuckets.GAMES] <= 0) {
+                continue;
+            }
+            PlayerStats stats = toPlayerStats(playerId, sums);
+            stats.setRank(rankingAlgorithm.calculateRank(stats));
+            windowStats.add(stats);
+            gamesByPlayer.put(playerId, (int) sums[DailyBuckets.GAMES]);
+        }
+        
+        // Sort by rank descending (higher rank = better)
+        windowStats.sort((p1, p2) -> Integer.compare(p2.getRank(), p1.getRank()));
+        
+        int fromIndex = Math.min(offset, windowStats.size());
+        int toIndex = Math.min(offset + limit, windowStats.size());
+        List<PlayerRankingDTO> rankings = new ArrayList<>(toIndex - fromIndex);
+        for (PlayerStats stats : windowStats.subList(fromIndex, toIndex)) {
+            PlayerRankingDTO dto = convertToDTO(stats, gamesByPlayer.get(stats.getPlayerId()));
+            dto.setPosition(fromIndex + rankings.size() + 1);
+            rankings.add(dto);
+        }
+        
+        LOGGER.debug("Computed {}-day leaderboard ending {}: {} players, returning {} (offset: {}, limit: {})",
+                days, lastDay, windowStats.size(), rankings.size(), offset, limit);
+        return new LeaderboardResponseDTO(rankings, buckets.windowGames(days), buckets.windowRounds(days),
+                windowStats.size());
+    }
+    
+    /**
+     * Prefix sums of the longest window ending on the given day, shared by every window and page of that day
+     */
+    DailyBuckets getBuckets(LocalDate lastDay) {
+        Cache cache = cacheManager.getCache(CacheConfig.ROLLING_BUCKETS);
+        if (cache == null) {
+            return loadBuckets(lastDay);
+        }
+        return cache.get(lastDay, () -> loadBuckets(lastDay));
+    }
+    
+    private DailyBuckets loadBuckets(LocalDate lastDay) {
+        LocalDate firstDay = lastDay.minusDays(MAX_WINDOW_DAYS - 1);
+        List<PlayerDailyStatsEntity> rows = playerDailyStatsRepository.findByBucketDayBetween(firstDay, lastDay);
+        List<GlobalCounterEntity> dayCounters = globalCounterRepository.findByScopeAndScopeKeyBetween(
+                GlobalCounterEntity.SCOPE_DAY, firstDay.toString(), lastDay.toString());
+        LOGGER.info("Loaded {} daily stats buckets and {} day counters from {} to {}",
+                rows.size(), dayCounters.size(), firstDay, lastDay);
+        return new DailyBuckets(firstDay, rows, dayCounters);
+    }
+    
+    private static PlayerStats toPlayerStats(String playerId, double[] sums) {
+        PlayerStats stats = new PlayerStats();
+        stats.setPlayerId(playerId);
+        stats.setKills((int) sums[DailyBuckets.KILLS]);
+        stats.setDeaths((int) sums[DailyBuckets.DEATHS]);
+        stats.setAssists((int) sums[DailyBuckets.ASSISTS]);
+        stats.setHeadshotKills((int) sums[DailyBuckets.HEADSHOT_KILLS]);
+        stats.setRoundsPlayed((int) sums[DailyBuckets.ROUNDS_PLAYED]);
+        stats.setClutchesWon((int) sums[DailyBuckets.CLUTCHES_WON]);
+        stats.setDamageDealt(sums[DailyBuckets.DAMAGE_DEALT]);
+        return stats;
+    }
+    
+    private PlayerRankingDTO convertToDTO(PlayerStats stats, int gamesPlayed) {
+        return new PlayerRankingDTO(
+                stats.getRank(),
+                playerSearchIndex.currentName(stats.getPlayerId()).orElse(stats.getPlayerId()),
+                stats.getPlayerId(),
+                stats.getKills(),
+                stats.getDeaths(),
+                stats.getAssists(),
+                stats.getHeadshotKills(),
+                stats.getRoundsPlayed(),
+                stats.getClutchesWon(),
+                stats.getDamageDealt(),
+                gamesPlayed
+        );
+    }
+    
+    /**
+     * Per-player prefix sums of the daily stats buckets over {@link #MAX_WINDOW_DAYS} days.
+     * Entry d of a player holds the sums of the days before day d, so a window of the last n days
+     * is the last entry minus entry (MAX_WINDOW_DAYS - n).
+     */
+    static final class DailyBuckets {
+        
+        static final int GAMES = 0;
+        static final int KILLS = 1;
+        static final int DEATHS = 2;
+        static final int ASSISTS = 3;
+        static final int HEADSHOT_KILLS = 4;
+        static final int ROUNDS_PLAYED = 5;
+        static final int CLUTCHES_WON = 6;
+        static final int DAMAGE_DEALT = 7;
+        private static final int FIELDS = 8;
+        
+        // Per player: (MAX_WINDOW_DAYS + 1) x FIELDS prefix sums, flattened
+        private final Map<String, double[]> prefixByPlayer = new HashMap<>();
+        private final long[] gamesPrefix = new long[MAX_WINDOW_DAYS + 1];
+        private final long[] roundsPrefix = new long[MAX_WINDOW_DAYS + 1];
+        
+        DailyBuckets(LocalDate firstDay, List<PlayerDailyStatsEntity> rows, List<GlobalCounterEntity> dayCounters) {
+            Map<String, double[]> dailyByPlayer = new HashMap<>();
+            for (PlayerDailyStatsEntity row : rows) {
+                int day = dayIndex(firstDay, row.getBucketDay());
+                if (day < 0) {
+                    continue;
+                }
+                double[] daily = dailyByPlayer.computeIfAbsent(row.getPlayerId(),
+                        id -> new double[MAX_WINDOW_DAYS * FIELDS]);
+                int base = day * FIELDS;
+                daily[base + GAMES] += row.getGames();
+                daily[base + KILLS] += row.getKills();
+                daily[base + DEATHS] += row.getDeaths();
+                daily[base + ASSISTS] += row.getAssists();
+                daily[base + HEADSHOT_KILLS] += row.getHeadshotKills();
+                daily[base + ROUNDS_PLAYED] += row.getRoundsPlayed();
+                daily[base + CLUTCHES_WON] += row.getClutchesWon();
+                daily[base + DAMAGE_DEALT] += row.getDamageDealt();
+            }
+            for (Map.Entry<String, double[]> entry : dailyByPlayer.entrySet()) {
+                double[] daily = entry.getValue();
+                double[] prefix = new double[(MAX_WINDOW_DAYS + 1) * FIELDS];
+                for (int day = 0; day < MAX_WINDOW_DAYS; day++) {
+                    for (int field = 0; field < FIELDS; field++) {
+                        prefix[(day + 1) * FIELDS + field] = prefix[day * FIELDS + field] + daily[day * FIELDS + field];
+                    }
+                }
+                prefixByPlayer.put(entry.getKey(), prefix);
+            }
+            
+            long[] dailyGames = new long[MAX_WINDOW_DAYS];
+            long[] dailyRounds = new long[MAX_WINDOW_DAYS];
+            for (GlobalCounterEntity counter : dayCounters) {
+                int day = dayIndex(firstDay, LocalDate.parse(counter.getScopeKey()));
+                if (day >= 0) {
+                    dailyGames[day] += counter.getGames();
+                    dailyRounds[day] += counter.getRounds();
+                }
+            }
+            for (int day = 0; day < MAX_WINDOW_DAYS; day++) {
+                gamesPrefix[day + 1] = gamesPrefix[day] + dailyGames[day];
+                roundsPrefix[day + 1] = roundsPrefix[day] + dailyRounds[day];
+            }
+        }
+        
+        Set<String> getPlayerIds() {
+            return Collections.unmodifiableSet(prefixByPlayer.keySet());
+        }
+        
+        /**
+         * A player's sums over the last {@code days} days, indexed by the field constants
+         */
+        double[] window(String playerId, int days) {
+            double[] sums = new double[FIELDS];
+            double[] prefix = prefixByPlayer.get(playerId);
+            if (prefix == null) {
+                return sums;
+            }
+            int end = MAX_WINDOW_DAYS * FIELDS;
+            int start = (MAX_WINDOW_DAYS - days) * FIELDS;
+            for (int field = 0; field < FIELDS; field++) {
+                sums[field] = prefix[end + field] - prefix[start + field];
+            }
+            return sums;
+        }
+        
+        long windowGames(int days) {
+            return gamesPrefix[MAX_WINDOW_DAYS] - gamesPrefix[MAX_WINDOW_DAYS - days];
+        }
+        
+        long windowRounds(int days) {
+            return roundsPrefix[MAX_WINDOW_DAYS] - roundsPrefix[MAX_WINDOW_DAYS - days];
+        }
+        
+        /**
+         * Position of a day in the window, or -1 outside it
+         */
+        private static int dayIndex(LocalDate firstDay, LocalDate day) {
+            long index = ChronoUnit.DAYS.between(firstDay, day);
+            return index >= 0 && index < MAX_WINDOW_DAYS ? (int) index : -1;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.service;
+
+import com.rankforge.pipeline.persistence.WeaponStatsCounters;
+import com.rankforge.pipeline.persistence.entity.PlayerWeaponStatsEntity;
+import com.rankforge.pipeline.persistence.repository.GameEventRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerWeaponStatsRepository;
+import com.rankforge.server.dto.PlayerWeaponStatsDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Serves per-player weapon breakdowns from the PlayerWeaponStats rollup that ingestion maintains
+ * (see {@link WeaponStatsCounters}), and subtracts deleted games from it.
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@Service
+public class WeaponStatsService {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(WeaponStatsService.class);
+    
+    private final PlayerWeaponStatsRepository playerWeaponStatsRepository;
+    private final GameEventRepository gameEventRepository;
+    
+    @Autowired
+    public WeaponStatsService(PlayerWeaponStatsRepository playerWeaponStatsRepository,
+                              GameEventRepository gameEventRepository) {
+        this.playerWeaponStatsRepository = playerWeaponStatsRepository;
+        this.gameEventRepository = gameEventRepository;
+    }
+    
+    /**
+     * A player's weapons, most kills first
+     * 
+     * @param playerId Full Steam ID
+     */
+    public List<PlayerWeaponStatsDTO> getPlayerWeapons(String playerId) {
+        return playerWeaponStatsRepository.findByPlayerId(playerId).stream()
+                .map(row -> new PlayerWeaponStatsDTO(row.getWeapon(), row.getKills(), row.getHeadshotKills(),
+                        row.getHits(), row.getDamage()))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Subtracts the kills and hits of games about to be deleted from the weapon rows.
+     * Must run in the deleting transaction, before the events are deleted.
+     */
+    public void subtractGames(List<Long> gameIds) {
+        // Per (player, weapon): [kills, headshot kills, hits, damage]
+        Map<PlayerWeaponStatsEntity.Key, long[]> decrements = new LinkedHashMap<>();
+        for (Object[] row : gameEventRepository.countKillsByWeaponForGameIds(gameIds)) {
+            long[] counts = countsFor(decrements, (String) row[0], (String) row[1]);
+            if (counts != null) {
+                counts[0] += ((Number) row[2]).longValue();
+                counts[1] += row[3] != null ? ((Number) row[3]).longValue() : 0;
+            }
+        }
+        for (Object[] row : gameEventRepository.sumHitsByWeaponForGameIds(gameIds)) {
+            long[] counts = countsFor(decrements, (String) row[0], (String) row[1]);
+            if (counts != null) {
+                counts[2] += ((Number) row[2]).longValue();
+                counts[3] += row[3] != null ? ((Number) row[3]).longValue() : 0;
+            }
+        }
+        if (decrements.isEmpty()) {
+            return;
+        }
+        
+        for (Map.Entry<PlayerWeaponStatsEntity.Key, long[]> decrement : decrements.entrySet()) {
+            PlayerWeaponStatsEntity.Key key = decrement.getKey();
+            long[] counts = decrement.getValue();
+            playerWeaponStatsRepository.decrement(key.getPlayerId(), key.getWeapon(),
+                    (int) counts[0], (int) counts[1], (int) counts[2], counts[3]);
+        }
+        playerWeaponStatsRepository.deleteEmpty();
+        LOGGER.info("Subtracted {} weapon stats rows of games {}", decrements.size(), gameIds);
+    }
+    
+    private static long[] countsFor(Map<PlayerWeaponStatsEntity.Key, long[]> decrements, String playerId, String weapon) {
+        // The queries already exclude self kills and self damage
+        if (!WeaponStatsCounters.isCounted(playerId, null, weapon)) {
+            return null;
+        }
+        return decrements.computeIfAbsent(new PlayerWeaponStatsEntity.Key(playerId, weapon), key -> new long[4]);
+    }
+}
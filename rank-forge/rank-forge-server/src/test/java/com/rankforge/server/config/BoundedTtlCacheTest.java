@@ -0,0 +1,243 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the size-bounded, expiring, refresh-ahead, single-flight cache
+ * 
+ * @author bageshwar.pn
+ * @date 2026
+ */
+@DisplayName("BoundedTtlCache Tests")
+class BoundedTtlCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    // Runs refreshes only when the test says so
+    private final List<Runnable> pendingRefreshes = new ArrayList<>();
+    private final Executor executor = pendingRefreshes::add;
+
+    private BoundedTtlCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new BoundedTtlCache("test", 2, Duration.ofSeconds(60), Duration.ofSeconds(45), executor, now::get);
+    }
+
+    @Nested
+    @DisplayName("Bounds")
+    class BoundsTests {
+
+        @Test
+        @DisplayName("Should evict the least recently used entry beyond the size bound")
+        void shouldEvictLeastRecentlyUsed() {
+            cache.put("a", 1);
+            cache.put("b", 2);
+            cache.get("a");
+            cache.put("c", 3);
+
+            assertNotNull(cache.get("a"));
+            assertNull(cache.get("b"));
+            assertNotNull(cache.get("c"));
+            assertEquals(1, cache.getStats().getEvictions());
+        }
+
+        @Test
+        @DisplayName("Should expire entries after the TTL")
+        void shouldExpireAfterWrite() {
+            cache.put("a", 1);
+            advance(59);
+            assertNotNull(cache.get("a"));
+
+            advance(1);
+            assertNull(cache.get("a"));
+            assertEquals(1, cache.getStats().getExpirations());
+            assertEquals(0, cache.size());
+        }
+
+        @Test
+        @DisplayName("Should evict entries by key predicate")
+        void shouldEvictMatchingKeys() {
+            cache.put("2025-11-100-0", 1);
+            cache.put("2025-12-100-0", 2);
+
+            assertEquals(1, cache.evictIf(key -> key.toString().startsWith("2025-11-")));
+            assertNull(cache.get("2025-11-100-0"));
+            assertNotNull(cache.get("2025-12-100-0"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Loading")
+    class LoadingTests {
+
+        @Test
+        @DisplayName("Should load on miss and count hits, misses and loads")
+        void shouldLoadOnMiss() {
+            AtomicInteger calls = new AtomicInteger();
+
+            assertEquals(1, cache.get("a", calls::incrementAndGet));
+            assertEquals(1, cache.get("a", calls::incrementAndGet));
+
+            BoundedTtlCache.Stats stats = cache.getStats();
+            assertEquals(1, stats.getHits());
+            assertEquals(1, stats.getMisses());
+            assertEquals(1, stats.getLoads());
+            assertEquals(0.5, stats.getHitRate(), 0.001);
+        }
+
+        @Test
+        @DisplayName("Should serve the cached value and reload it in the background once past the refresh age")
+        void shouldRefreshAhead() {
+            AtomicInteger version = new AtomicInteger();
+            cache.get("a", version::incrementAndGet);
+            advance(46);
+
+            assertEquals(1, cache.get("a", version::incrementAndGet));
+            assertEquals(1, cache.get("a", version::incrementAndGet));
+            assertEquals(1, pendingRefreshes.size(), "Only one refresh per entry at a time");
+
+            runRefreshes();
+            assertEquals(2, cache.get("a", version::incrementAndGet));
+            assertEquals(1, cache.getStats().getRefreshes());
+        }
+
+        @Test
+        @DisplayName("Should not store a refresh that started before an eviction")
+        void shouldDiscardRefreshAfterEviction() {
+            cache.get("a", () -> 1);
+            advance(46);
+            cache.get("a", () -> 2);
+
+            cache.clear();
+            runRefreshes();
+
+            assertNull(cache.get("a"));
+        }
+
+        @Test
+        @DisplayName("Should wrap loader failures")
+        void shouldWrapLoaderFailures() {
+            assertThrows(org.springframework.cache.Cache.ValueRetrievalException.class,
+                    () -> cache.get("a", () -> { throw new IllegalStateException("boom"); }));
+            assertEquals(0, cache.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Single flight")
+    class SingleFlightTests {
+
+        @Test
+        @DisplayName("Should run one load for concurrent misses on the same key")
+        void shouldCoalesceConcurrentMisses() throws Exception {
+            int callers = 8;
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicInteger loads = new AtomicInteger();
+            ExecutorService pool = Executors.newFixedThreadPool(callers);
+            try {
+                List<Future<Object>> results = new ArrayList<>();
+                for (int i = 0; i < callers; i++) {
+                    results.add(pool.submit(() -> cache.get("a", () -> {
+                        loads.incrementAndGet();
+                        release.await();
+                        return "value";
+                    })));
+                }
+                awaitCoalesced(callers - 1);
+                release.countDown();
+
+                for (Future<Object> result : results) {
+                    assertEquals("value", result.get(5, TimeUnit.SECONDS));
+                }
+                assertEquals(1, loads.get());
+                assertEquals(1, cache.getStats().getLoads());
+                assertEquals(callers - 1, cache.getStats().getCoalesced());
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("Should fail waiting callers when the shared load fails")
+        void shouldPropagateLoadFailureToWaiters() throws Exception {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            ExecutorService pool = Executors.newFixedThreadPool(2);
+            try {
+                Future<Object> owner = pool.submit(() -> cache.get("a", () -> {
+                    started.countDown();
+                    release.await();
+                    throw new IllegalStateException("boom");
+                }));
+                assertTrue(started.await(5, TimeUnit.SECONDS));
+                Future<Object> waiter = pool.submit(() -> cache.get("a", () -> "unused"));
+                awaitCoalesced(1);
+                release.countDown();
+
+                for (Future<Object> result : List.of(owner, waiter)) {
+                    ExecutionException failure = assertThrows(ExecutionException.class,
+                            () -> result.get(5, TimeUnit.SECONDS));
+                    assertInstanceOf(org.springframework.cache.Cache.ValueRetrievalException.class, failure.getCause());
+                    assertInstanceOf(IllegalStateException.class, failure.getCause().getCause());
+                }
+                assertEquals(0, cache.size());
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    private void awaitCoalesced(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cache.getStats().getCoalesced() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, cache.getStats().getCoalesced());
+    }
+
+    private void advance(long seconds) {
+        now.addAndGet(Duration.ofSeconds(seconds).toNanos());
+    }
+
+    private void runRefreshes() {
+        List<Runnable> refreshes = new ArrayList<>(pendingRefreshes);
+        pendingRefreshes.clear();
+        refreshes.forEach(Runnable::run);
+    }
+}
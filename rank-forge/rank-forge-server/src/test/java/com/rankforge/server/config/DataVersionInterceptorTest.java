@@ -0,0 +1,138 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the validators of DataVersionInterceptor, including today-relative leaderboards
+ * 
+ * @author bageshwar.pn
+ * @date 2026
+ */
+@DisplayName("DataVersionInterceptor Tests")
+class DataVersionInterceptorTest {
+
+    private MutableClock clock;
+    private DataVersionInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-03-31T23:59:00Z"));
+        interceptor = new DataVersionInterceptor(clock);
+    }
+
+    @Nested
+    @DisplayName("Today-relative leaderboards")
+    class TodayRelative {
+
+        @Test
+        @DisplayName("Rolling leaderboard should not be 304 after UTC midnight without a new version")
+        void rollingShouldChangeAtMidnight() {
+            String etag = etag(request("/api/rankings/leaderboard/rolling"));
+            assertTrue(etag.contains("2026-03-31"));
+
+            clock.instant = Instant.parse("2026-04-01T00:00:30Z");
+            MockHttpServletRequest request = request("/api/rankings/leaderboard/rolling");
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+
+            assertFalse(interceptor.checkNotModified(request, new MockHttpServletResponse()));
+        }
+
+        @Test
+        @DisplayName("Rolling leaderboard should still be 304 within the same day")
+        void rollingShouldMatchWithinDay() {
+            String etag = etag(request("/api/rankings/leaderboard/rolling"));
+            MockHttpServletRequest request = request("/api/rankings/leaderboard/rolling");
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+
+            assertTrue(interceptor.checkNotModified(request, new MockHttpServletResponse()));
+        }
+
+        @Test
+        @DisplayName("Current-month leaderboard should not be 304 in a new month, also via If-Modified-Since")
+        void currentMonthShouldChangeAtMonthStart() {
+            MockHttpServletResponse first = new MockHttpServletResponse();
+            interceptor.checkNotModified(request("/api/rankings/leaderboard/monthly"), first);
+            assertTrue(first.getHeader(HttpHeaders.ETAG).contains("2026-03-01"));
+
+            clock.instant = Instant.parse("2026-04-01T00:00:30Z");
+            MockHttpServletRequest request = request("/api/rankings/leaderboard/monthly");
+            request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, first.getHeader(HttpHeaders.LAST_MODIFIED));
+
+            assertFalse(interceptor.checkNotModified(request, new MockHttpServletResponse()));
+        }
+
+        @Test
+        @DisplayName("An explicit month should depend on the data version only")
+        void explicitMonthShouldUseVersionOnly() {
+            MockHttpServletRequest request = request("/api/rankings/leaderboard/monthly");
+            request.setParameter("year", "2026");
+            request.setParameter("month", "3");
+
+            assertEquals(DataVersionInterceptor.etag(interceptor.getVersion()), etag(request));
+        }
+    }
+
+    private String etag(MockHttpServletRequest request) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.checkNotModified(request, response);
+        return response.getHeader(HttpHeaders.ETAG);
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        return new MockHttpServletRequest("GET", path);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
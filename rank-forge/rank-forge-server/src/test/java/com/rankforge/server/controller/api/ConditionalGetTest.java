@@ -0,0 +1,115 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.controller.api;
+
+import com.rankforge.server.config.DataVersionInterceptor;
+import com.rankforge.server.dto.LeaderboardResponseDTO;
+import com.rankforge.server.event.LeaderboardChangedEvent;
+import com.rankforge.server.service.PlayerRankingService;
+import com.rankforge.server.service.RollingLeaderboardService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for data-version ETags and conditional GET on the read APIs
+ * 
+ * @author bageshwar.pn
+ * @date 2026
+ */
+@WebMvcTest(PlayerRankingApiController.class)
+@DisplayName("Conditional GET Tests")
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataVersionInterceptor dataVersionInterceptor;
+
+    @MockBean
+    private PlayerRankingService playerRankingService;
+
+    @MockBean
+    private RollingLeaderboardService rollingLeaderboardService;
+
+    @BeforeEach
+    void setUp() {
+        when(playerRankingService.getAllPlayerRankingsWithStats())
+                .thenReturn(new LeaderboardResponseDTO(List.of(), 0, 0, 0));
+    }
+
+    @Test
+    @DisplayName("Should send a weak ETag and Last-Modified for the current data version")
+    void shouldSendVersionHeaders() throws Exception {
+        mockMvc.perform(get("/api/rankings/stats"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag()))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+    }
+
+    @Test
+    @DisplayName("Should answer 304 without calling the service when the ETag matches")
+    void shouldReturnNotModified() throws Exception {
+        mockMvc.perform(get("/api/rankings/stats").header(HttpHeaders.IF_NONE_MATCH, etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verifyNoInteractions(playerRankingService);
+    }
+
+    @Test
+    @DisplayName("Should serve the body again once the data changed")
+    void shouldReturnBodyAfterChange() throws Exception {
+        String previous = etag();
+        dataVersionInterceptor.onLeaderboardChanged(LeaderboardChangedEvent.forAllMonths());
+
+        String current = mockMvc.perform(get("/api/rankings/stats").header(HttpHeaders.IF_NONE_MATCH, previous))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotEquals(previous, current);
+        verify(playerRankingService).getAllPlayerRankingsWithStats();
+    }
+
+    @Test
+    @DisplayName("Should not add version headers to health checks")
+    void shouldSkipHealthEndpoint() throws Exception {
+        mockMvc.perform(get("/api/rankings/health"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    private String etag() {
+        return "W/\"" + dataVersionInterceptor.getVersion() + "\"";
+    }
+}
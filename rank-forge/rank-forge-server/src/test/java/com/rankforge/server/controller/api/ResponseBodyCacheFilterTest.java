@@ -0,0 +1,126 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.controller.api;
+
+import com.rankforge.server.config.CacheConfig;
+import com.rankforge.server.config.DataVersionInterceptor;
+import com.rankforge.server.dto.GameDetailsDTO;
+import com.rankforge.server.event.LeaderboardChangedEvent;
+import com.rankforge.server.service.GameService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for the serialized, pre-compressed response body cache
+ * 
+ * @author bageshwar.pn
+ * @date 2026
+ */
+@WebMvcTest(GameApiController.class)
+@Import(CacheConfig.class)
+@DisplayName("ResponseBodyCacheFilter Tests")
+class ResponseBodyCacheFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private DataVersionInterceptor dataVersionInterceptor;
+
+    @MockBean
+    private GameService gameService;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.RESPONSE_BODIES).clear();
+        when(gameService.getGameDetails("1")).thenReturn(new GameDetailsDTO(13, 7, 20));
+    }
+
+    @Test
+    @DisplayName("Should serve repeat requests from the stored bytes")
+    void shouldServeStoredBody() throws Exception {
+        String first = mockMvc.perform(get("/api/games/1/details"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String second = mockMvc.perform(get("/api/games/1/details"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(first, second);
+        assertTrue(second.contains("\"totalRounds\":20"));
+        verify(gameService, times(1)).getGameDetails("1");
+    }
+
+    @Test
+    @DisplayName("Should serve the gzip variant when the client accepts it")
+    void shouldServeGzipVariant() throws Exception {
+        String json = mockMvc.perform(get("/api/games/1/details"))
+                .andReturn().getResponse().getContentAsString();
+
+        byte[] gzipped = mockMvc.perform(get("/api/games/1/details").header(HttpHeaders.ACCEPT_ENCODING, "gzip, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            assertEquals(json, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("Should recompute the body once the data version changed")
+    void shouldMissAfterDataChange() throws Exception {
+        mockMvc.perform(get("/api/games/1/details")).andExpect(status().isOk());
+        dataVersionInterceptor.onLeaderboardChanged(LeaderboardChangedEvent.forAllMonths());
+        mockMvc.perform(get("/api/games/1/details")).andExpect(status().isOk());
+
+        verify(gameService, times(2)).getGameDetails("1");
+    }
+
+    @Test
+    @DisplayName("Should not store error responses")
+    void shouldNotStoreNotFound() throws Exception {
+        mockMvc.perform(get("/api/games/2/details")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/games/2/details")).andExpect(status().isNotFound());
+
+        verify(gameService, times(2)).getGameDetails("2");
+    }
+}
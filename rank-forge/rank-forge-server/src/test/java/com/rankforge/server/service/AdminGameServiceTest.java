@@ -18,41 +18,45 @@
 
 package com.rankforge.server.service;
 
-import com.rankforge.core.events.GameEventType;
-import com.rankforge.pipeline.persistence.entity.AccoladeEntity;
 import com.rankforge.pipeline.persistence.entity.GameEntity;
-import com.rankforge.pipeline.persistence.entity.GameEventEntity;
-import com.rankforge.pipeline.persistence.entity.KillEventEntity;
 import com.rankforge.pipeline.persistence.entity.PlayerStatsEntity;
-import com.rankforge.pipeline.persistence.entity.RoundEndEventEntity;
-import com.rankforge.pipeline.persistence.entity.RoundStartEventEntity;
 import com.rankforge.pipeline.persistence.repository.AccoladeRepository;
+import com.rankforge.pipeline.persistence.repository.GameEventArchiveRepository;
 import com.rankforge.pipeline.persistence.repository.GameEventRepository;
 import com.rankforge.pipeline.persistence.repository.GameRepository;
+import com.rankforge.pipeline.persistence.repository.GameSummaryRepository;
+import com.rankforge.pipeline.persistence.repository.GlobalCounterRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerAccoladeCountRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerDailyStatsRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerRatingSeriesRepository;
 import com.rankforge.pipeline.persistence.repository.PlayerStatsRepository;
+import com.rankforge.server.event.GamesDeletedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 /**
  * Comprehensive test suite for AdminGameService delete functionality.
- * Tests cascade deletion of all related entities.
+ * Tests set-based cascade deletion of all related entities and batch purge.
  * Author bageshwar.pn
  * Date 2026
  */
@@ -72,6 +76,36 @@ class AdminGameServiceTest {
     @Mock
     private PlayerStatsRepository playerStatsRepository;
 
+    @Mock
+    private GameEventArchiveRepository gameEventArchiveRepository;
+
+    @Mock
+    private GameSummaryRepository gameSummaryRepository;
+
+    @Mock
+    private PlayerAccoladeCountRepository playerAccoladeCountRepository;
+
+    @Mock
+    private GlobalCounterRepository globalCounterRepository;
+
+    @Mock
+    private PlayerDailyStatsRepository playerDailyStatsRepository;
+
+    @Mock
+    private PlayerRatingSeriesRepository playerRatingSeriesRepository;
+
+    @Mock
+    private RivalryService rivalryService;
+    
+    @Mock
+    private WeaponStatsService weaponStatsService;
+    
+    @Mock
+    private HeatmapService heatmapService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AdminGameService adminGameService;
 
@@ -111,181 +145,56 @@ class AdminGameServiceTest {
     class GameDeletionTests {
 
         @Test
-        @DisplayName("Should delete game and all related entities with data validation")
+        @DisplayName("Should delete game and all related entities with bulk statements keyed by game ID")
         void shouldDeleteGameAndAllRelatedEntities() {
-            // Given: Comprehensive test data with multiple games to verify isolation
+            // Given
             Long game1Id = 1L;
             Long game2Id = 2L;
-            
-            // Game1 data
-            List<GameEventEntity> game1Events = createGameEvents(game1, 3); // 3 rounds = 9 events (3 round starts, 9 kills, 3 round ends)
-            List<AccoladeEntity> game1Accolades = createAccolades(game1, 5); // 5 accolades
-            List<PlayerStatsEntity> game1Stats = createPlayerStats(game1, 4); // 4 players
-            
-            // Game2 data (should remain untouched)
-            List<GameEventEntity> game2Events = createGameEvents(game2, 2); // 2 rounds
-            List<AccoladeEntity> game2Accolades = createAccolades(game2, 3); // 3 accolades
-            List<PlayerStatsEntity> game2Stats = createPlayerStats(game2, 3); // 3 players
-
-            // Mock repository responses - return game1 data when queried for game1Id
+            List<PlayerStatsEntity> game1Stats = createPlayerStats(game1, 4);
+
             when(gameRepository.findById(game1Id)).thenReturn(Optional.of(game1));
-            when(gameEventRepository.findAllByGameId(game1Id)).thenReturn(game1Events);
-            when(accoladeRepository.findByGameId(game1Id)).thenReturn(game1Accolades);
-            when(playerStatsRepository.findByGameId(game1Id)).thenReturn(game1Stats);
-            
-            // Note: We don't stub game2 methods since we only verify they're never called
+            when(playerStatsRepository.findByGameIds(List.of(game1Id))).thenReturn(game1Stats);
+            when(gameEventRepository.deleteRoundScopedEventsByGameIds(List.of(game1Id))).thenReturn(12);
+            when(gameEventRepository.deleteByGameIds(List.of(game1Id))).thenReturn(4);
+            when(accoladeRepository.deleteByGameIds(List.of(game1Id))).thenReturn(5);
+            when(playerStatsRepository.deleteByGameIds(List.of(game1Id))).thenReturn(4);
+            when(gameRepository.deleteByIds(List.of(game1Id))).thenReturn(1);
 
-            // When: Delete game1
+            // When
             boolean result = adminGameService.deleteGame(game1Id);
 
-            // Then: Verify deletion result
+            // Then
             assertTrue(result, "Delete should return true");
 
-            // Capture what was actually deleted
-            ArgumentCaptor<List<GameEventEntity>> eventsCaptor = ArgumentCaptor.forClass(List.class);
-            ArgumentCaptor<List<AccoladeEntity>> accoladesCaptor = ArgumentCaptor.forClass(List.class);
-            ArgumentCaptor<List<PlayerStatsEntity>> statsCaptor = ArgumentCaptor.forClass(List.class);
-            ArgumentCaptor<GameEntity> gameCaptor = ArgumentCaptor.forClass(GameEntity.class);
-
-            // Verify game events deletion with data validation
-            verify(gameEventRepository, times(1)).findAllByGameId(game1Id);
-            verify(gameEventRepository, times(1)).deleteAll(eventsCaptor.capture());
-            List<GameEventEntity> deletedEvents = eventsCaptor.getValue();
-            // Expected: 3 rounds * (1 ROUND_START + 3 KILLS + 1 ROUND_END) = 3 * 5 = 15 events
-            assertEquals(15, deletedEvents.size(), 
-                String.format("Should delete all 15 events (3 rounds * 5 events each), but got %d", deletedEvents.size()));
-            // Verify all deleted events belong to game1
-            Instant game1Timestamp = game1.getGameOverTimestamp();
-            deletedEvents.forEach(event -> {
-                assertNotNull(event.getGame(), "Event should have game reference");
-                assertEquals(game1Id, event.getGame().getId(), 
-                    "Deleted event should belong to game1");
-                assertNotNull(event.getTimestamp(), "Event should have timestamp");
-                // Events should occur before or at the game over timestamp
-                assertTrue(event.getTimestamp().isBefore(game1Timestamp) || 
-                          event.getTimestamp().equals(game1Timestamp),
-                    "Event timestamp should be before or equal to game over timestamp");
-            });
-            // Verify event types are correct
-            long roundStarts = deletedEvents.stream()
-                .filter(e -> e.getGameEventType() == GameEventType.ROUND_START)
-                .count();
-            long kills = deletedEvents.stream()
-                .filter(e -> e.getGameEventType() == GameEventType.KILL)
-                .count();
-            long roundEnds = deletedEvents.stream()
-                .filter(e -> e.getGameEventType() == GameEventType.ROUND_END)
-                .count();
-            assertEquals(3, roundStarts, "Should delete 3 round start events");
-            assertEquals(9, kills, "Should delete 9 kill events (3 per round)");
-            assertEquals(3, roundEnds, "Should delete 3 round end events");
-
-            // Verify accolades deletion with data validation
-            verify(accoladeRepository, times(1)).findByGameId(game1Id);
-            verify(accoladeRepository, times(1)).deleteAll(accoladesCaptor.capture());
-            List<AccoladeEntity> deletedAccolades = accoladesCaptor.getValue();
-            assertEquals(5, deletedAccolades.size(), "Should delete all 5 accolades");
-            // Verify all deleted accolades belong to game1
-            deletedAccolades.forEach(accolade -> {
-                assertNotNull(accolade.getGame(), "Accolade should have game reference");
-                assertEquals(game1Id, accolade.getGame().getId(), 
-                    "Deleted accolade should belong to game1");
-                assertNotNull(accolade.getType(), "Accolade should have type");
-                assertFalse(accolade.getType().isEmpty(), "Accolade type should not be empty");
-                assertNotNull(accolade.getPlayerName(), "Accolade should have player name");
-                assertFalse(accolade.getPlayerName().isEmpty(), "Accolade player name should not be empty");
-                assertNotNull(accolade.getPlayerId(), "Accolade should have player ID");
-                assertFalse(accolade.getPlayerId().isEmpty(), "Accolade player ID should not be empty");
-            });
-            // Verify unique players in accolades
-            long uniquePlayers = deletedAccolades.stream()
-                .map(AccoladeEntity::getPlayerId)
-                .distinct()
-                .count();
-            assertTrue(uniquePlayers >= 1, "Should have at least 1 unique player in accolades");
-
-            // Verify player stats deletion with data validation
-            verify(playerStatsRepository, times(1)).findByGameId(game1Id);
-            verify(playerStatsRepository, times(1)).deleteAll(statsCaptor.capture());
-            List<PlayerStatsEntity> deletedStats = statsCaptor.getValue();
-            assertEquals(4, deletedStats.size(), "Should delete all 4 player stats");
-            // Verify all deleted stats belong to game1
-            // game1Timestamp already defined above
-            deletedStats.forEach(stat -> {
-                assertNotNull(stat.getGame(), "Player stat should have game reference");
-                assertEquals(game1Id, stat.getGame().getId(), 
-                    "Deleted player stat should belong to game1");
-                assertEquals(game1Timestamp, stat.getGameTimestamp(), 
-                    "Player stat gameTimestamp should match game's gameOverTimestamp");
-                assertNotNull(stat.getPlayerId(), "Player stat should have playerId");
-                assertTrue(stat.getKills() >= 0, "Player stat should have valid kills");
-                assertTrue(stat.getDeaths() >= 0, "Player stat should have valid deaths");
-                assertNotNull(stat.getLastSeenNickname(), "Player stat should have nickname");
-            });
-            // Verify unique players
-            long uniquePlayerIds = deletedStats.stream()
-                .map(PlayerStatsEntity::getPlayerId)
-                .distinct()
-                .count();
-            assertEquals(4, uniquePlayerIds, "Should have 4 unique players");
-            // Verify all player IDs are non-null and non-empty
-            deletedStats.forEach(stat -> {
-                assertNotNull(stat.getPlayerId(), "Player ID should not be null");
-                assertFalse(stat.getPlayerId().isEmpty(), "Player ID should not be empty");
-            });
-
-            // Verify game deletion with data validation
-            verify(gameRepository, times(1)).delete(gameCaptor.capture());
-            GameEntity deletedGame = gameCaptor.getValue();
-            assertEquals(game1Id, deletedGame.getId(), "Should delete game1");
-            assertEquals("de_dust2", deletedGame.getMap(), "Deleted game should be de_dust2");
-            assertEquals(16, deletedGame.getTeam1Score(), "Deleted game should have correct team1 score");
-            assertEquals(14, deletedGame.getTeam2Score(), "Deleted game should have correct team2 score");
-            assertNotNull(deletedGame.getGameOverTimestamp(), "Deleted game should have timestamp");
-            assertEquals(game1Timestamp, deletedGame.getGameOverTimestamp(), 
-                "Deleted game timestamp should match original");
-
-            // Verify round references in events are correct
-            // Each round should have events linked to the same RoundStartEventEntity
-            List<RoundStartEventEntity> deletedRoundStarts = deletedEvents.stream()
-                .filter(e -> e instanceof RoundStartEventEntity)
-                .map(e -> (RoundStartEventEntity) e)
-                .collect(java.util.stream.Collectors.toList());
-            assertEquals(3, deletedRoundStarts.size(), "Should have 3 round start events");
-            
-            // Verify kill events are linked to their round starts
-            deletedEvents.stream()
-                .filter(e -> e instanceof KillEventEntity)
-                .map(e -> (KillEventEntity) e)
-                .forEach(killEvent -> {
-                    assertNotNull(killEvent.getRoundStart(), 
-                        "Kill event should be linked to a round start");
-                    assertTrue(deletedRoundStarts.contains(killEvent.getRoundStart()), 
-                        "Kill event's round start should be one of the deleted round starts");
-                });
-            
-            // Verify round end events are linked to their round starts
-            deletedEvents.stream()
-                .filter(e -> e instanceof RoundEndEventEntity)
-                .map(e -> (RoundEndEventEntity) e)
-                .forEach(roundEnd -> {
-                    assertNotNull(roundEnd.getRoundStart(), 
-                        "Round end event should be linked to a round start");
-                    assertTrue(deletedRoundStarts.contains(roundEnd.getRoundStart()), 
-                        "Round end's round start should be one of the deleted round starts");
-                });
-
-            // Verify game2 data was NOT touched (isolation check)
-            verify(gameEventRepository, never()).findAllByGameId(game2Id);
-            verify(accoladeRepository, never()).findByGameId(game2Id);
-            verify(playerStatsRepository, never()).findByGameId(game2Id);
-            verify(gameRepository, never()).delete(game2);
-            
-            // Verify that game2's data would still exist (if we queried it)
-            // This ensures the deletion was isolated to game1
-            assertNotEquals(game1Id, game2Id, "Game IDs should be different");
-            assertNotEquals(game1.getGameOverTimestamp(), game2.getGameOverTimestamp(), 
-                "Game timestamps should be different to ensure isolation");
+            // Round-scoped events must be deleted before the ROUND_START rows they reference,
+            // and the game itself last
+            InOrder inOrder = inOrder(gameEventRepository, accoladeRepository, playerStatsRepository,
+                    gameEventArchiveRepository, gameSummaryRepository, gameRepository, rivalryService,
+                    weaponStatsService, heatmapService, playerRatingSeriesRepository);
+            inOrder.verify(playerStatsRepository).findByGameIds(List.of(game1Id));
+            inOrder.verify(rivalryService).subtractGames(List.of(game1Id)); // Needs the kill events
+            inOrder.verify(weaponStatsService).subtractGames(List.of(game1Id));
+            inOrder.verify(heatmapService).subtractGames(List.of(game1Id));
+            inOrder.verify(gameEventRepository).deleteRoundScopedEventsByGameIds(List.of(game1Id));
+            inOrder.verify(gameEventRepository).deleteByGameIds(List.of(game1Id));
+            inOrder.verify(accoladeRepository).deleteByGameIds(List.of(game1Id));
+            inOrder.verify(playerRatingSeriesRepository).deleteByGameIds(List.of(game1Id)); // Needs the stats rows
+            inOrder.verify(playerStatsRepository).deleteByGameIds(List.of(game1Id));
+            inOrder.verify(gameEventArchiveRepository).deleteByGameIds(List.of(game1Id));
+            inOrder.verify(gameSummaryRepository).deleteByGameIds(List.of(game1Id));
+            inOrder.verify(gameRepository).deleteByIds(List.of(game1Id));
+
+            // No per-row entity loading or deletion
+            verify(gameEventRepository, never()).findAllByGameId(any());
+            verify(gameEventRepository, never()).deleteAll(any());
+            verify(accoladeRepository, never()).deleteAll(any());
+            verify(playerStatsRepository, never()).deleteAll(any());
+            verify(gameRepository, never()).delete(any());
+
+            // Game2 was never touched
+            verify(gameEventRepository, never()).deleteByGameIds(List.of(game2Id));
+            verify(playerStatsRepository, never()).deleteByGameIds(List.of(game2Id));
+            verify(gameRepository, never()).deleteByIds(List.of(game2Id));
         }
 
         @Test
@@ -300,170 +209,227 @@ class AdminGameServiceTest {
 
             // Then
             assertFalse(result, "Should return false for non-existent game");
-            verify(gameRepository, never()).delete(any());
-            verify(gameEventRepository, never()).deleteAll(any());
-            verify(accoladeRepository, never()).deleteAll(any());
-            verify(playerStatsRepository, never()).deleteAll(any());
+            verify(gameRepository, never()).deleteByIds(any());
+            verify(gameEventRepository, never()).deleteByGameIds(any());
+            verify(accoladeRepository, never()).deleteByGameIds(any());
+            verify(playerStatsRepository, never()).deleteByGameIds(any());
+            verify(eventPublisher, never()).publishEvent(any());
         }
 
         @Test
-        @DisplayName("Should handle game with no events")
-        void shouldHandleGameWithNoEvents() {
-            // Given
+        @DisplayName("Should publish stats deltas relative to the previous snapshot")
+        void shouldPublishStatsDeltasRelativeToPreviousSnapshot() {
+            // Given: player 0 has an earlier snapshot, player 1 played for the first time
             Long gameId = 1L;
+            List<PlayerStatsEntity> game1Stats = createPlayerStats(game1, 2);
+            PlayerStatsEntity previous = new PlayerStatsEntity();
+            previous.setPlayerId(game1Stats.get(0).getPlayerId());
+            previous.setKills(4);
+            previous.setDeaths(2);
+            previous.setAssists(1);
+            previous.setHeadshotKills(1);
+            previous.setRoundsPlayed(10);
+            previous.setDamageDealt(500.0);
+
             when(gameRepository.findById(gameId)).thenReturn(Optional.of(game1));
-            when(gameEventRepository.findAllByGameId(gameId)).thenReturn(new ArrayList<>());
-            when(accoladeRepository.findByGameId(gameId)).thenReturn(new ArrayList<>());
-            when(playerStatsRepository.findByGameId(gameId)).thenReturn(new ArrayList<>());
+            when(playerStatsRepository.findByGameIds(List.of(gameId))).thenReturn(game1Stats);
+            when(playerStatsRepository.findPreviousSnapshotsByGameIds(List.of(gameId)))
+                    .thenReturn(List.<Object[]>of(new Object[]{game1Stats.get(0).getId(), previous}));
+            when(gameRepository.deleteByIds(List.of(gameId))).thenReturn(1);
 
             // When
-            boolean result = adminGameService.deleteGame(gameId);
+            adminGameService.deleteGame(gameId);
 
             // Then
-            assertTrue(result);
-            verify(gameEventRepository, times(1)).findAllByGameId(gameId);
-            verify(gameEventRepository, never()).deleteAll(any());
-            verify(gameRepository, times(1)).delete(game1);
+            ArgumentCaptor<GamesDeletedEvent> eventCaptor = ArgumentCaptor.forClass(GamesDeletedEvent.class);
+            verify(eventPublisher).publishEvent(eventCaptor.capture());
+            GamesDeletedEvent event = eventCaptor.getValue();
+            assertEquals(List.of(gameId), event.getGameIds());
+            assertEquals(2, event.getStatsDeltas().size());
+
+            GamesDeletedEvent.StatsDelta returning = event.getStatsDeltas().get(0);
+            assertEquals(game1Timestamp, returning.getGameTimestamp());
+            assertEquals(10 - 4, returning.getKills());
+            assertEquals(5 - 2, returning.getDeaths());
+            assertEquals(16 - 10, returning.getRoundsPlayed());
+            assertEquals(1500.0 - 500.0, returning.getDamageDealt());
+
+            GamesDeletedEvent.StatsDelta firstTimer = event.getStatsDeltas().get(1);
+            assertEquals(11, firstTimer.getKills(), "Without a previous snapshot the whole snapshot is the delta");
+            assertEquals(16, firstTimer.getRoundsPlayed());
         }
 
         @Test
-        @DisplayName("Should only delete player stats for the specific game ID")
-        void shouldOnlyDeletePlayerStatsForSpecificGameId() {
-            // Given: Two games with different IDs
-            Long game1Id = 1L;
-            Long game2Id = 2L;
+        @DisplayName("Should subtract deleted accolades from the player accolade counters")
+        void shouldDecrementAccoladeCounters() {
+            // Given
+            Long gameId = 1L;
+            when(gameRepository.findById(gameId)).thenReturn(Optional.of(game1));
+            when(accoladeRepository.countByGameIdsGroupedByPlayerAndType(List.of(gameId)))
+                    .thenReturn(List.of(new Object[]{"[U:1:1]", "MVP", 1L}, new Object[]{"[U:1:2]", "kills", 2L}));
 
-            // Game1 stats
-            List<PlayerStatsEntity> game1Stats = createPlayerStats(game1, 3);
-            // Game2 stats (different game)
-            List<PlayerStatsEntity> game2Stats = createPlayerStats(game2, 2);
+            // When
+            adminGameService.deleteGame(gameId);
 
-            when(gameRepository.findById(game1Id)).thenReturn(Optional.of(game1));
-            when(gameEventRepository.findAllByGameId(game1Id)).thenReturn(new ArrayList<>());
-            when(accoladeRepository.findByGameId(game1Id)).thenReturn(new ArrayList<>());
-            when(playerStatsRepository.findByGameId(game1Id)).thenReturn(game1Stats);
-
-            // When: Delete game1
-            adminGameService.deleteGame(game1Id);
-
-            // Then: Only game1 stats should be deleted
-            verify(playerStatsRepository, times(1)).findByGameId(game1Id);
-            verify(playerStatsRepository, times(1)).deleteAll(game1Stats);
-            // Verify game2 stats were never touched
-            verify(playerStatsRepository, never()).findByGameId(game2Id);
+            // Then: counters are adjusted before the accolade rows are gone
+            InOrder inOrder = inOrder(accoladeRepository, playerAccoladeCountRepository);
+            inOrder.verify(accoladeRepository).countByGameIdsGroupedByPlayerAndType(List.of(gameId));
+            inOrder.verify(playerAccoladeCountRepository).decrement("[U:1:1]", "MVP", 1);
+            inOrder.verify(playerAccoladeCountRepository).decrement("[U:1:2]", "kills", 2);
+            inOrder.verify(playerAccoladeCountRepository).deleteEmpty();
+            inOrder.verify(accoladeRepository).deleteByGameIds(List.of(gameId));
         }
-    }
-
-    @Nested
-    @DisplayName("Cascade Deletion Verification")
-    class CascadeDeletionVerification {
 
         @Test
-        @DisplayName("Should delete all event types including GAME_OVER")
-        void shouldDeleteAllEventTypesIncludingGameOver() {
-            // Given: Game with multiple event types
+        @DisplayName("Should subtract deleted games and rounds from the global, monthly and server counters")
+        void shouldDecrementGlobalCounters() {
+            // Given
             Long gameId = 1L;
-            List<GameEventEntity> events = new ArrayList<>();
-            
-            // Add round start events
-            for (int i = 0; i < 3; i++) {
-                RoundStartEventEntity roundStart = new RoundStartEventEntity(game1Timestamp.plusSeconds(i * 100));
-                roundStart.setId((long) (i + 1));
-                roundStart.setGame(game1);
-                events.add(roundStart);
-            }
-            
-            // Add kill events
-            for (int i = 0; i < 5; i++) {
-                KillEventEntity kill = new KillEventEntity(game1Timestamp.plusSeconds(i * 50));
-                kill.setId((long) (i + 10));
-                kill.setGame(game1);
-                events.add(kill);
-            }
-            
-            // Add round end events
-            for (int i = 0; i < 3; i++) {
-                RoundEndEventEntity roundEnd = new RoundEndEventEntity(game1Timestamp.plusSeconds(i * 100 + 90));
-                roundEnd.setId((long) (i + 20));
-                roundEnd.setGame(game1);
-                events.add(roundEnd);
-            }
-
             when(gameRepository.findById(gameId)).thenReturn(Optional.of(game1));
-            when(gameEventRepository.findAllByGameId(gameId)).thenReturn(events);
-            when(accoladeRepository.findByGameId(gameId)).thenReturn(new ArrayList<>());
-            when(playerStatsRepository.findByGameId(gameId)).thenReturn(new ArrayList<>());
+            when(gameRepository.findCounterScopesByIds(List.of(gameId)))
+                    .thenReturn(List.<Object[]>of(new Object[]{7L, game1Timestamp, 30}));
 
             // When
             adminGameService.deleteGame(gameId);
 
-            // Then: All events should be deleted
-            ArgumentCaptor<List<GameEventEntity>> eventsCaptor = ArgumentCaptor.forClass(List.class);
-            verify(gameEventRepository).deleteAll(eventsCaptor.capture());
-            
-            List<GameEventEntity> deletedEvents = eventsCaptor.getValue();
-            assertEquals(11, deletedEvents.size(), "Should delete all 11 events");
-            
-            // Verify game is deleted
-            verify(gameRepository).delete(game1);
+            // Then: counters are adjusted before the game row is gone
+            InOrder inOrder = inOrder(globalCounterRepository, gameRepository);
+            inOrder.verify(gameRepository).findCounterScopesByIds(List.of(gameId));
+            inOrder.verify(globalCounterRepository).decrement("ALL", "ALL", 1L, 30L);
+            inOrder.verify(globalCounterRepository).decrement("MONTH", "2026-01", 1L, 30L);
+            inOrder.verify(globalCounterRepository).decrement("DAY", "2026-01-10", 1L, 30L);
+            inOrder.verify(globalCounterRepository).decrement("SERVER", "7", 1L, 30L);
+            inOrder.verify(globalCounterRepository).deleteEmpty();
+            inOrder.verify(gameRepository).deleteByIds(List.of(gameId));
         }
 
         @Test
-        @DisplayName("Should delete all accolades for the game")
-        void shouldDeleteAllAccoladesForGame() {
-            // Given: Game with multiple accolades
+        @DisplayName("Should subtract deleted snapshots from the players' daily stats buckets")
+        void shouldDecrementDailyStats() {
+            // Given: player 0 has an earlier snapshot, player 1 played for the first time
             Long gameId = 1L;
-            List<AccoladeEntity> accolades = createAccolades(game1, 10); // 10 accolades
+            List<PlayerStatsEntity> game1Stats = createPlayerStats(game1, 2);
+            PlayerStatsEntity previous = new PlayerStatsEntity();
+            previous.setPlayerId(game1Stats.get(0).getPlayerId());
+            previous.setKills(4);
+            previous.setDeaths(2);
+            previous.setRoundsPlayed(10);
+            previous.setDamageDealt(500.0);
 
             when(gameRepository.findById(gameId)).thenReturn(Optional.of(game1));
-            when(gameEventRepository.findAllByGameId(gameId)).thenReturn(new ArrayList<>());
-            when(accoladeRepository.findByGameId(gameId)).thenReturn(accolades);
-            when(playerStatsRepository.findByGameId(gameId)).thenReturn(new ArrayList<>());
+            when(playerStatsRepository.findByGameIds(List.of(gameId))).thenReturn(game1Stats);
+            when(playerStatsRepository.findPreviousSnapshotsByGameIds(List.of(gameId)))
+                    .thenReturn(List.<Object[]>of(new Object[]{game1Stats.get(0).getId(), previous}));
 
             // When
             adminGameService.deleteGame(gameId);
 
-            // Then
-            ArgumentCaptor<List<AccoladeEntity>> accoladesCaptor = ArgumentCaptor.forClass(List.class);
-            verify(accoladeRepository).deleteAll(accoladesCaptor.capture());
-            
-            List<AccoladeEntity> deletedAccolades = accoladesCaptor.getValue();
-            assertEquals(10, deletedAccolades.size(), "Should delete all 10 accolades");
-            
-            // Verify all accolades belong to the game
-            deletedAccolades.forEach(accolade -> 
-                assertEquals(game1.getId(), accolade.getGame().getId(), 
-                    "Accolade should belong to the deleted game"));
+            // Then: buckets are adjusted before the snapshots are gone
+            LocalDate day = LocalDate.of(2026, 1, 10);
+            InOrder inOrder = inOrder(playerDailyStatsRepository, playerStatsRepository);
+            inOrder.verify(playerDailyStatsRepository).decrement("[U:1:1000000]", day, 1,
+                    10 - 4, 5 - 2, 3, 2, 16 - 10, 0, 1500.0 - 500.0);
+            inOrder.verify(playerDailyStatsRepository).decrement("[U:1:1000001]", day, 1,
+                    11, 6, 4, 3, 16, 0, 1600.0);
+            inOrder.verify(playerDailyStatsRepository).deleteEmpty();
+            inOrder.verify(playerStatsRepository).deleteByGameIds(List.of(gameId));
         }
+    }
+
+    @Nested
+    @DisplayName("Batch Purge")
+    class BatchPurge {
 
         @Test
-        @DisplayName("Should delete all player stats for the game ID")
-        void shouldDeleteAllPlayerStatsForGameId() {
-            // Given: Game with multiple players
-            Long gameId = 1L;
-            List<PlayerStatsEntity> playerStats = createPlayerStats(game1, 8); // 8 players
+        @DisplayName("Should purge all games in a time range")
+        void shouldPurgeAllGamesInTimeRange() {
+            // Given
+            Instant from = Instant.parse("2026-01-10T00:00:00Z");
+            Instant to = Instant.parse("2026-01-10T23:59:59Z");
+            List<Long> ids = List.of(1L, 2L);
+            when(gameRepository.findIdsByGameOverTimestampBetween(from, to)).thenReturn(ids);
+            when(gameRepository.deleteByIds(ids)).thenReturn(2);
 
-            when(gameRepository.findById(gameId)).thenReturn(Optional.of(game1));
-            when(gameEventRepository.findAllByGameId(gameId)).thenReturn(new ArrayList<>());
-            when(accoladeRepository.findByGameId(gameId)).thenReturn(new ArrayList<>());
-            when(playerStatsRepository.findByGameId(gameId)).thenReturn(playerStats);
+            // When
+            int deleted = adminGameService.purgeGames(from, to);
+
+            // Then
+            assertEquals(2, deleted);
+            verify(gameEventRepository).deleteRoundScopedEventsByGameIds(ids);
+            verify(gameEventRepository).deleteByGameIds(ids);
+            verify(accoladeRepository).deleteByGameIds(ids);
+            verify(playerStatsRepository).deleteByGameIds(ids);
+            verify(gameEventArchiveRepository).deleteByGameIds(ids);
+            verify(gameSummaryRepository).deleteByGameIds(ids);
+            verify(eventPublisher).publishEvent(any(GamesDeletedEvent.class));
+        }
+
+        @Test
+        @DisplayName("Should split large deletions into bounded batches")
+        void shouldSplitLargeDeletionsIntoBatches() {
+            // Given
+            List<Long> ids = new ArrayList<>();
+            for (long i = 1; i <= AdminGameService.DELETE_BATCH_SIZE + 1; i++) {
+                ids.add(i);
+            }
+            when(gameRepository.deleteByIds(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
 
             // When
-            adminGameService.deleteGame(gameId);
+            int deleted = adminGameService.deleteGames(ids);
 
             // Then
-            ArgumentCaptor<List<PlayerStatsEntity>> statsCaptor = ArgumentCaptor.forClass(List.class);
-            verify(playerStatsRepository).deleteAll(statsCaptor.capture());
-            
-            List<PlayerStatsEntity> deletedStats = statsCaptor.getValue();
-            assertEquals(8, deletedStats.size(), "Should delete all 8 player stats");
-            
-            // Verify all stats belong to the correct game
-            deletedStats.forEach(stat -> {
-                assertNotNull(stat.getGame(), "Player stat should have a game reference");
-                assertEquals(game1.getId(), stat.getGame().getId(), 
-                    "Player stat should belong to the deleted game");
-            });
+            assertEquals(ids.size(), deleted);
+            verify(gameRepository, times(2)).deleteByIds(anyList());
+            verify(eventPublisher, times(2)).publishEvent(any(GamesDeletedEvent.class));
+        }
+
+        @Test
+        @DisplayName("Should capture every batch's stats deltas before the first batch is deleted")
+        void shouldCaptureAllStatsDeltasBeforeDeleting() {
+            // Given: the same player played the last game of the first batch and the first game of the second
+            List<Long> ids = new ArrayList<>();
+            for (long i = 1; i <= AdminGameService.DELETE_BATCH_SIZE + 1; i++) {
+                ids.add(i);
+            }
+            List<Long> firstBatch = ids.subList(0, AdminGameService.DELETE_BATCH_SIZE);
+            List<Long> secondBatch = ids.subList(AdminGameService.DELETE_BATCH_SIZE, ids.size());
+            PlayerStatsEntity earlier = createPlayerStats(game1, 1).get(0);
+            PlayerStatsEntity later = createPlayerStats(game2, 1).get(0);
+            later.setId(2L);
+            later.setKills(25);
+            later.setRoundsPlayed(40);
+
+            when(playerStatsRepository.findByGameIds(firstBatch)).thenReturn(List.of(earlier));
+            when(playerStatsRepository.findByGameIds(secondBatch)).thenReturn(List.of(later));
+            when(playerStatsRepository.findPreviousSnapshotsByGameIds(firstBatch)).thenReturn(List.of());
+            when(playerStatsRepository.findPreviousSnapshotsByGameIds(secondBatch))
+                    .thenReturn(List.<Object[]>of(new Object[]{later.getId(), earlier}));
+            when(gameRepository.deleteByIds(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+            // When
+            adminGameService.deleteGames(ids);
+
+            // Then: the second batch is measured against the first batch's snapshot while it still exists
+            InOrder inOrder = inOrder(playerStatsRepository);
+            inOrder.verify(playerStatsRepository).findPreviousSnapshotsByGameIds(secondBatch);
+            inOrder.verify(playerStatsRepository).deleteByGameIds(firstBatch);
+
+            ArgumentCaptor<GamesDeletedEvent> eventCaptor = ArgumentCaptor.forClass(GamesDeletedEvent.class);
+            verify(eventPublisher, times(2)).publishEvent(eventCaptor.capture());
+            GamesDeletedEvent.StatsDelta first = eventCaptor.getAllValues().get(0).getStatsDeltas().get(0);
+            GamesDeletedEvent.StatsDelta second = eventCaptor.getAllValues().get(1).getStatsDeltas().get(0);
+            assertEquals(10, first.getKills());
+            assertEquals(25 - 10, second.getKills(), "The later game only contributes what it added");
+            assertEquals(40 - 16, second.getRoundsPlayed());
+            verify(playerDailyStatsRepository).decrement("[U:1:1000000]", LocalDate.of(2026, 1, 10), 1,
+                    25 - 10, 0, 0, 0, 40 - 16, 0, 0.0);
+        }
+
+        @Test
+        @DisplayName("Should do nothing for an empty ID list")
+        void shouldDoNothingForEmptyIdList() {
+            assertEquals(0, adminGameService.deleteGames(List.of()));
+            verifyNoInteractions(gameRepository, gameEventRepository, accoladeRepository, playerStatsRepository, eventPublisher);
         }
     }
 
@@ -504,67 +470,6 @@ class AdminGameServiceTest {
 
     // Helper methods to create test data
 
-    /**
-     * Create game events for a game (rounds, kills, etc.)
-     */
-    private List<GameEventEntity> createGameEvents(GameEntity game, int rounds) {
-        List<GameEventEntity> events = new ArrayList<>();
-        long eventId = 1L;
-
-        for (int round = 1; round <= rounds; round++) {
-            // Round start
-            RoundStartEventEntity roundStart = new RoundStartEventEntity(
-                game.getGameOverTimestamp().minusSeconds((rounds - round + 1) * 100));
-            roundStart.setId(eventId++);
-            roundStart.setGame(game);
-            events.add(roundStart);
-
-            // Some kill events in the round
-            for (int kill = 0; kill < 3; kill++) {
-                KillEventEntity killEvent = new KillEventEntity(
-                    game.getGameOverTimestamp().minusSeconds((rounds - round + 1) * 100 + kill * 10));
-                killEvent.setId(eventId++);
-                killEvent.setGame(game);
-                killEvent.setRoundStart(roundStart);
-                events.add(killEvent);
-            }
-
-            // Round end
-            RoundEndEventEntity roundEnd = new RoundEndEventEntity(
-                game.getGameOverTimestamp().minusSeconds((rounds - round) * 100));
-            roundEnd.setId(eventId++);
-            roundEnd.setGame(game);
-            roundEnd.setRoundStart(roundStart);
-            events.add(roundEnd);
-        }
-
-        return events;
-    }
-
-    /**
-     * Create accolades for a game
-     */
-    private List<AccoladeEntity> createAccolades(GameEntity game, int count) {
-        List<AccoladeEntity> accolades = new ArrayList<>();
-        String[] accoladeTypes = {"MVP", "Top Fragger", "Clutch King", "Ace", "Headshot Master"};
-
-        for (int i = 0; i < count; i++) {
-            AccoladeEntity accolade = new AccoladeEntity();
-            accolade.setId((long) (i + 1));
-            accolade.setGame(game);
-            accolade.setPlayerId("[U:1:" + (1000000 + i) + "]");
-            accolade.setPlayerName("Player" + (i + 1));
-            accolade.setType(accoladeTypes[i % accoladeTypes.length]);
-            accolade.setPosition(i + 1);
-            accolade.setValue(100.0 + (i * 10));
-            accolade.setScore(1500.0 + (i * 50));
-            accolade.setCreatedAt(game.getGameOverTimestamp());
-            accolades.add(accolade);
-        }
-
-        return accolades;
-    }
-
     /**
      * Create player stats for a game
      */
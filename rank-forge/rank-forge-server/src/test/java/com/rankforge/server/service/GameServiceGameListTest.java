@@ -0,0 +1,236 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.service;
+
+import com.rankforge.core.util.ObjectMapperFactory;
+import com.rankforge.pipeline.persistence.GameSummaryFactory;
+import com.rankforge.pipeline.persistence.entity.GameEntity;
+import com.rankforge.pipeline.persistence.entity.GameSummaryEntity;
+import com.rankforge.pipeline.persistence.entity.RoundEndEventEntity;
+import com.rankforge.pipeline.persistence.repository.AccoladeRepository;
+import com.rankforge.pipeline.persistence.repository.GameEventArchiveRepository;
+import com.rankforge.pipeline.persistence.repository.GameEventRepository;
+import com.rankforge.pipeline.persistence.repository.GameRepository;
+import com.rankforge.pipeline.persistence.repository.GameSummaryFilter;
+import com.rankforge.pipeline.persistence.repository.GameSummaryRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerStatsRepository;
+import com.rankforge.server.dto.GameDTO;
+import com.rankforge.server.dto.GamePageDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.support.NoOpCacheManager;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for game listings served from the GameSummary read model.
+ * 
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GameService Game List Tests")
+class GameServiceGameListTest {
+
+    @Mock
+    private GameEventRepository gameEventRepository;
+
+    @Mock
+    private PlayerStatsRepository playerStatsRepository;
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private AccoladeRepository accoladeRepository;
+
+    @Mock
+    private GameEventArchiveRepository gameEventArchiveRepository;
+
+    @Mock
+    private GameSummaryRepository gameSummaryRepository;
+
+    private GameService gameService;
+
+    @BeforeEach
+    void setUp() {
+        gameService = new GameService(ObjectMapperFactory.createObjectMapper(), gameEventRepository, 
+                gameRepository, accoladeRepository, gameEventArchiveRepository, 
+                gameSummaryRepository, new PlayerSearchIndex(playerStatsRepository),
+                new NoOpCacheManager());
+    }
+
+    @Nested
+    @DisplayName("Summaries")
+    class SummaryTests {
+
+        @Test
+        @DisplayName("Should build the game list from summaries without per-game lookups")
+        void shouldListGamesFromSummaries() {
+            GameSummaryEntity newer = GameSummaryFactory.create(2L, createGame("de_inferno", "2026-02-02T20:00:00Z"),
+                    Map.of("[U:1:1]", "zed", "[U:1:2]", "Alice"));
+            GameSummaryEntity older = GameSummaryFactory.create(1L, createGame("de_dust2", "2026-02-01T20:00:00Z"),
+                    Map.of("[U:1:3]", "bob"));
+            when(gameSummaryRepository.findAllNewestFirst()).thenReturn(List.of(newer, older));
+
+            List<GameDTO> games = gameService.getAllGames();
+
+            assertEquals(2, games.size());
+            assertEquals(2L, games.get(0).getId());
+            assertEquals("de_inferno", games.get(0).getMap());
+            assertEquals(List.of("Alice", "zed"), games.get(0).getPlayers());
+            assertEquals("45", games.get(0).getDuration());
+            verifyNoInteractions(gameEventRepository, playerStatsRepository);
+        }
+
+        @Test
+        @DisplayName("Should limit recent games in the query")
+        void shouldLimitRecentGamesInQuery() {
+            when(gameSummaryRepository.findNewest(argThat(page -> page.getPageSize() == 5)))
+                    .thenReturn(Collections.emptyList());
+
+            assertTrue(gameService.getRecentGames(5).isEmpty());
+            verify(gameSummaryRepository, never()).findAllNewestFirst();
+        }
+
+        @Test
+        @DisplayName("Should serve a single game from its summary")
+        void shouldServeGameByIdFromSummary() {
+            when(gameSummaryRepository.findById(3L)).thenReturn(Optional.of(
+                    GameSummaryFactory.create(3L, createGame("de_nuke", "2026-02-03T20:00:00Z"), Map.of())));
+
+            GameDTO game = gameService.getGameById("3");
+
+            assertEquals("de_nuke", game.getMap());
+            verify(gameRepository, never()).findById(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Keyset pages")
+    class PageTests {
+
+        @Test
+        @DisplayName("Should return a cursor pointing after the last row when more rows exist")
+        void shouldReturnCursorWhenMoreRowsExist() {
+            GameSummaryEntity first = GameSummaryFactory.create(5L, createGame("de_nuke", "2026-02-05T20:00:00Z"), Map.of());
+            GameSummaryEntity second = GameSummaryFactory.create(4L, createGame("de_nuke", "2026-02-04T20:00:00Z"), Map.of());
+            GameSummaryEntity extra = GameSummaryFactory.create(3L, createGame("de_nuke", "2026-02-03T20:00:00Z"), Map.of());
+            GameSummaryFilter filter = new GameSummaryFilter();
+            filter.setMap("de_nuke");
+            when(gameSummaryRepository.findPage(filter, null, null, 3)).thenReturn(List.of(first, second, extra));
+
+            GamePageDTO page = gameService.getGamesPage(null, 2, filter);
+
+            assertTrue(page.isHasMore());
+            assertEquals(List.of(5L, 4L), page.getGames().stream().map(GameDTO::getId).toList());
+            assertEquals(GameService.encodeCursor(Instant.parse("2026-02-04T20:00:00Z"), 4L), page.getNextCursor());
+        }
+
+        @Test
+        @DisplayName("Should continue strictly after the cursor position")
+        void shouldContinueAfterCursor() {
+            String cursor = GameService.encodeCursor(Instant.parse("2026-02-04T20:00:00Z"), 4L);
+            when(gameSummaryRepository.findPage(any(), eq(Instant.parse("2026-02-04T20:00:00Z")), eq(4L), eq(3)))
+                    .thenReturn(List.of());
+
+            GamePageDTO page = gameService.getGamesPage(cursor, 2, new GameSummaryFilter());
+
+            assertFalse(page.isHasMore());
+            assertNull(page.getNextCursor());
+            assertTrue(page.getGames().isEmpty());
+            // Pages never run the backfill check
+            verify(gameRepository, never()).findGamesWithoutSummary();
+        }
+
+        @Test
+        @DisplayName("Should reject a malformed cursor")
+        void shouldRejectMalformedCursor() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> gameService.getGamesPage("not-a-cursor", 10, new GameSummaryFilter()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Backfill")
+    class BackfillTests {
+
+        @Test
+        @DisplayName("Should create summaries for games stored before the read model existed, at startup")
+        @SuppressWarnings("unchecked")
+        void shouldBackfillMissingSummaries() {
+            GameEntity legacy = createGame("de_mirage", "2026-01-01T20:00:00Z");
+            legacy.setId(9L);
+            RoundEndEventEntity roundEnd = new RoundEndEventEntity(Instant.parse("2026-01-01T19:10:00Z"));
+            roundEnd.setPlayersJson("[\"11\",\"12\",\"0\"]");
+            when(gameRepository.findGamesWithoutSummary()).thenReturn(List.of(legacy));
+            when(gameEventRepository.findRoundEndEventsByGameId(9L)).thenReturn(List.of(roundEnd));
+            when(playerStatsRepository.findNicknameUsage()).thenReturn(List.<Object[]>of(
+                    new Object[]{"[U:1:12]", "carol", Instant.parse("2026-01-01T20:00:00Z")}));
+
+            gameService.onApplicationReady();
+
+            ArgumentCaptor<List<GameSummaryEntity>> captor = ArgumentCaptor.forClass(List.class);
+            verify(gameSummaryRepository).saveAll(captor.capture());
+            GameSummaryEntity summary = captor.getValue().get(0);
+            assertEquals(9L, summary.getGameId());
+            assertEquals("de_mirage", summary.getMap());
+            assertEquals(Map.of("[U:1:11]", "Player 11", "[U:1:12]", "carol"), GameSummaryFactory.readRoster(summary));
+        }
+
+        @Test
+        @DisplayName("Should keep game list reads free of backfill checks and writes")
+        void shouldNotBackfillOnReads() {
+            when(gameSummaryRepository.findPage(any(), isNull(), isNull(), eq(11))).thenReturn(List.of());
+
+            gameService.getAllGames();
+            gameService.getRecentGames(5);
+            gameService.getGamesPage(null, 10, new GameSummaryFilter());
+
+            verify(gameRepository, never()).findGamesWithoutSummary();
+            verify(gameSummaryRepository, never()).saveAll(any());
+        }
+    }
+
+    private static GameEntity createGame(String map, String gameOver) {
+        GameEntity game = new GameEntity();
+        game.setMap(map);
+        game.setMode("competitive");
+        game.setGameOverTimestamp(Instant.parse(gameOver));
+        game.setTeam1Score(13);
+        game.setTeam2Score(9);
+        game.setDuration(45);
+        game.setAppServerId(1L);
+        return game;
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+package com.rankforge.server.service;
+
+import com.rankforge.core.util.ObjectMapperFactory;
+import com.rankforge.pipeline.persistence.archive.GameEventArchiveCodec;
+import com.rankforge.pipeline.persistence.entity.AssistEventEntity;
+import com.rankforge.pipeline.persistence.entity.AttackEventEntity;
+import com.rankforge.pipeline.persistence.entity.GameEntity;
+import com.rankforge.pipeline.persistence.entity.GameEventArchiveEntity;
+import com.rankforge.pipeline.persistence.entity.GameEventEntity;
+import com.rankforge.pipeline.persistence.entity.KillEventEntity;
+import com.rankforge.pipeline.persistence.entity.RoundEndEventEntity;
+import com.rankforge.pipeline.persistence.entity.RoundStartEventEntity;
+import com.rankforge.pipeline.persistence.repository.AccoladeRepository;
+import com.rankforge.pipeline.persistence.repository.GameEventArchiveRepository;
+import com.rankforge.pipeline.persistence.repository.GameEventRepository;
+import com.rankforge.pipeline.persistence.repository.GameRepository;
+import com.rankforge.pipeline.persistence.repository.GameSummaryRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerStatsRepository;
+import com.rankforge.server.dto.GameDetailsDTO;
+import com.rankforge.server.dto.PlayerStatsDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.support.NoOpCacheManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for per-player statistics in {@link GameService#getGameDetails(String)}
+ * 
+ * @author bageshwar.pn
+ * @date 2026
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GameService Player Statistics Tests")
+class GameServicePlayerStatisticsTest {
+
+    private static final Long GAME_ID = 7L;
+    private static final Instant START = Instant.parse("2026-03-01T20:00:00Z");
+
+    @Mock
+    private GameEventRepository gameEventRepository;
+
+    @Mock
+    private PlayerStatsRepository playerStatsRepository;
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private AccoladeRepository accoladeRepository;
+
+    @Mock
+    private GameEventArchiveRepository gameEventArchiveRepository;
+
+    @Mock
+    private GameSummaryRepository gameSummaryRepository;
+
+    private GameService gameService;
+
+    @BeforeEach
+    void setUp() {
+        gameService = new GameService(ObjectMapperFactory.createObjectMapper(), gameEventRepository, 
+                gameRepository, accoladeRepository, gameEventArchiveRepository, 
+                gameSummaryRepository, new PlayerSearchIndex(playerStatsRepository),
+                new NoOpCacheManager());
+        GameEntity game = new GameEntity();
+        game.setTeam1Score(1);
+        game.setTeam2Score(0);
+        lenient().when(gameRepository.findById(GAME_ID)).thenReturn(Optional.of(game));
+    }
+
+    @Nested
+    @DisplayName("Aggregated queries")
+    class AggregateTests {
+
+        @Test
+        @DisplayName("Should build stats from grouped counts and attack hit rows without loading events")
+        void shouldBuildStatsFromAggregates() {
+            when(gameEventRepository.findRoundEndEventsByGameId(GAME_ID)).thenReturn(List.of(roundEnd(10L)));
+            when(gameEventRepository.countKillsAndAssistsByGameId(GAME_ID)).thenReturn(List.of(
+                    new Object[]{"[U:1:1]", 2L, 1L, 0L},
+                    new Object[]{"[U:1:3]", 0L, 0L, 1L}));
+            when(gameEventRepository.countDeathsByGameId(GAME_ID)).thenReturn(List.<Object[]>of(
+                    new Object[]{"[U:1:2]", 2L}));
+            when(gameEventRepository.findAttackHitsByGameId(GAME_ID)).thenReturn(List.of(
+                    new Object[]{"[U:1:1]", "[U:1:2]", 1L, 60},
+                    new Object[]{"[U:1:3]", "[U:1:2]", 1L, 10},
+                    new Object[]{"[U:1:1]", "[U:1:2]", 1L, 0}));
+
+            Map<String, PlayerStatsDTO> stats = statsById(gameService.getGameDetails(GAME_ID.toString()));
+
+            assertExpectedStats(stats);
+            verify(gameEventRepository, never()).findByGameIdAndGameEventType(anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("Should ignore events of players outside the roster")
+        void shouldIgnorePlayersOutsideRoster() {
+            when(gameEventRepository.findRoundEndEventsByGameId(GAME_ID)).thenReturn(List.of(roundEnd(10L)));
+            when(gameEventRepository.countKillsAndAssistsByGameId(GAME_ID)).thenReturn(List.<Object[]>of(
+                    new Object[]{"[U:1:99]", 5L, 5L, 0L}));
+
+            Map<String, PlayerStatsDTO> stats = statsById(gameService.getGameDetails(GAME_ID.toString()));
+
+            assertEquals(3, stats.size());
+            assertTrue(stats.values().stream().allMatch(player -> player.getKills() == 0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Archived events")
+    class ArchiveTests {
+
+        @Test
+        @DisplayName("Should tally archived events to the same stats without event queries")
+        void shouldTallyArchivedEvents() {
+            RoundStartEventEntity roundStart = new RoundStartEventEntity(START);
+            List<GameEventEntity> events = new ArrayList<>();
+            events.add(roundStart);
+            events.add(attack(roundStart, "[U:1:1]", "[U:1:2]", 60, 1));
+            events.add(attack(roundStart, "[U:1:3]", "[U:1:2]", 10, 2));
+            events.add(kill(roundStart, "[U:1:1]", "[U:1:2]", true, 3));
+            events.add(assist(roundStart, "[U:1:3]", "[U:1:2]", 3));
+            events.add(attack(roundStart, "[U:1:1]", "[U:1:2]", 0, 4));
+            events.add(kill(roundStart, "[U:1:1]", "[U:1:2]", false, 5));
+            events.add(roundEnd(6L));
+            GameEventArchiveCodec.Encoder encoder = new GameEventArchiveCodec.Encoder();
+            long id = 1;
+            for (GameEventEntity event : events) {
+                event.setId(id++);
+                encoder.add(event);
+            }
+            when(gameEventArchiveRepository.findById(GAME_ID)).thenReturn(Optional.of(new GameEventArchiveEntity(
+                    GAME_ID, GameEventArchiveCodec.FORMAT_VERSION, encoder.getEventCount(), encoder.finish(), 1L)));
+
+            Map<String, PlayerStatsDTO> stats = statsById(gameService.getGameDetails(GAME_ID.toString()));
+
+            assertExpectedStats(stats);
+            verifyNoInteractions(gameEventRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Damage")
+    class DamageTests {
+
+        @Test
+        @DisplayName("Should reset victim health at each round and cap anomalous hits")
+        void shouldTrackHealthPerRound() {
+            Map<String, GameService.PlayerTotals> totals = new HashMap<>();
+            GameService.addDamage(List.of(
+                    new GameService.AttackHit("a", "v", 1L, 30),
+                    new GameService.AttackHit("a", "v", 2L, 80),
+                    // Health going up is an anomaly: fall back to 100 - remaining
+                    new GameService.AttackHit("b", "v", 2L, 90),
+                    new GameService.AttackHit("b", "v", 2L, null)), totals);
+
+            assertEquals(70 + 20, totals.get("a").damage);
+            assertEquals(10, totals.get("b").damage);
+        }
+    }
+
+    /**
+     * Both sources describe: [U:1:1] kills [U:1:2] twice (one headshot) after 40 + 10 damage,
+     * [U:1:3] assists after dealing 50 damage.
+     */
+    private static void assertExpectedStats(Map<String, PlayerStatsDTO> stats) {
+        PlayerStatsDTO killer = stats.get("[U:1:1]");
+        assertEquals(2, killer.getKills());
+        assertEquals(1, killer.getHeadshotKills());
+        assertEquals(50.0, killer.getHeadshotPercentage(), 0.001);
+        assertEquals(50, killer.getDamage());
+        assertEquals(2.0, killer.getRating(), 0.001);
+
+        PlayerStatsDTO victim = stats.get("[U:1:2]");
+        assertEquals(2, victim.getDeaths());
+        assertEquals(0.0, victim.getRating(), 0.001);
+
+        PlayerStatsDTO assister = stats.get("[U:1:3]");
+        assertEquals(1, assister.getAssists());
+        assertEquals(50, assister.getDamage());
+    }
+
+    private static Map<String, PlayerStatsDTO> statsById(GameDetailsDTO details) {
+        assertNotNull(details);
+        return details.getPlayerStats().stream()
+                .collect(Collectors.toMap(PlayerStatsDTO::getPlayerId, Function.identity()));
+    }
+
+    private static RoundEndEventEntity roundEnd(long offsetSeconds) {
+        RoundEndEventEntity roundEnd = new RoundEndEventEntity(START.plusSeconds(offsetSeconds));
+        roundEnd.setPlayersJson("[1,2,3]");
+        return roundEnd;
+    }
+
+    private static KillEventEntity kill(RoundStartEventEntity roundStart, String killer, String victim,
+                                        boolean headshot, long offsetSeconds) {
+        KillEventEntity kill = new KillEventEntity(START.plusSeconds(offsetSeconds));
+        kill.setRoundStart(roundStart);
+        kill.setPlayer1(killer);
+        kill.setPlayer2(victim);
+        kill.setIsHeadshot(headshot);
+        return kill;
+    }
+
+    private static AssistEventEntity assist(RoundStartEventEntity roundStart, String assister, String victim,
+                                            long offsetSeconds) {
+        AssistEventEntity assist = new AssistEventEntity(START.plusSeconds(offsetSeconds));
+        assist.setRoundStart(roundStart);
+        assist.setPlayer1(assister);
+        assist.setPlayer2(victim);
+        return assist;
+    }
+
+    private static AttackEventEntity attack(RoundStartEventEntity roundStart, String attacker, String victim,
+                                            int healthRemaining, long offsetSeconds) {
+        AttackEventEntity attack = new AttackEventEntity(START.plusSeconds(offsetSeconds));
+        attack.setRoundStart(roundStart);
+        attack.setPlayer1(attacker);
+        attack.setPlayer2(victim);
+        attack.setHealthRemaining(healthRemaining);
+        return attack;
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+package com.rankforge.server.service;
+
+import com.rankforge.core.util.ObjectMapperFactory;
+import com.rankforge.pipeline.persistence.GameSummaryFactory;
+import com.rankforge.pipeline.persistence.archive.GameEventArchiveCodec;
+import com.rankforge.pipeline.persistence.entity.GameEntity;
+import com.rankforge.pipeline.persistence.entity.GameEventArchiveEntity;
+import com.rankforge.pipeline.persistence.entity.GameEventEntity;
+import com.rankforge.pipeline.persistence.entity.KillEventEntity;
+import com.rankforge.pipeline.persistence.entity.RoundEndEventEntity;
+import com.rankforge.pipeline.persistence.entity.RoundStartEventEntity;
+import com.rankforge.pipeline.persistence.repository.AccoladeRepository;
+import com.rankforge.pipeline.persistence.repository.GameEventArchiveRepository;
+import com.rankforge.pipeline.persistence.repository.GameEventRepository;
+import com.rankforge.pipeline.persistence.repository.GameRepository;
+import com.rankforge.pipeline.persistence.repository.GameSummaryRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerStatsRepository;
+import com.rankforge.server.config.BoundedTtlCache;
+import com.rankforge.server.config.CacheConfig;
+import com.rankforge.server.dto.RoundDetailsDTO;
+import com.rankforge.server.event.GamesDeletedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for {@link GameService#getRoundDetails(String, int)} round lookup
+ * 
+ * @author bageshwar.pn
+ * @date 2026
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GameService Round Details Tests")
+class GameServiceRoundDetailsTest {
+
+    private static final Long GAME_ID = 9L;
+    private static final Instant START = Instant.parse("2026-03-01T20:00:00Z");
+
+    @Mock
+    private GameEventRepository gameEventRepository;
+
+    @Mock
+    private PlayerStatsRepository playerStatsRepository;
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private AccoladeRepository accoladeRepository;
+
+    @Mock
+    private GameEventArchiveRepository gameEventArchiveRepository;
+
+    @Mock
+    private GameSummaryRepository gameSummaryRepository;
+
+    private GameService gameService;
+
+    @BeforeEach
+    void setUp() {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(new BoundedTtlCache(CacheConfig.GAME_EVENT_ARCHIVES, 4, null, null, Runnable::run)));
+        cacheManager.afterPropertiesSet();
+        gameService = new GameService(ObjectMapperFactory.createObjectMapper(), gameEventRepository, 
+                gameRepository, accoladeRepository, gameEventArchiveRepository, 
+                gameSummaryRepository, new PlayerSearchIndex(playerStatsRepository), cacheManager);
+        GameEntity game = new GameEntity();
+        game.setTeam1Score(2);
+        game.setTeam2Score(1);
+        when(gameRepository.findById(GAME_ID)).thenReturn(Optional.of(game));
+    }
+
+    @Nested
+    @DisplayName("Numbered rounds")
+    class NumberedRoundTests {
+
+        @Test
+        @DisplayName("Should load one round by number and name players from the summary roster")
+        void shouldLoadRoundByNumber() {
+            RoundStartEventEntity roundStart = roundStart(20L, 2, 60);
+            when(gameEventRepository.findRoundByNumber(GAME_ID, 2))
+                    .thenReturn(Collections.singletonList(new Object[]{roundStart, 3}));
+            when(gameEventRepository.findByRoundStartId(20L)).thenReturn(roundEvents(roundStart));
+            when(gameSummaryRepository.findById(GAME_ID)).thenReturn(Optional.of(GameSummaryFactory.create(
+                    GAME_ID, summaryGame(), Map.of("[U:1:1]", "alice", "[U:1:2]", "bob"))));
+
+            RoundDetailsDTO details = gameService.getRoundDetails(GAME_ID.toString(), 2);
+
+            assertNotNull(details);
+            assertEquals(2, details.getRoundNumber());
+            assertEquals(START.plusSeconds(60), details.getRoundStartTime());
+            assertEquals(START.plusSeconds(100), details.getRoundEndTime());
+            assertEquals(40_000L, details.getDurationMs());
+            assertEquals(1, details.getTotalKills());
+            assertEquals("alice", details.getEvents().get(0).getPlayer1Name());
+            assertEquals("bob", details.getEvents().get(0).getPlayer2Name());
+            // Neither the game's other rounds nor the round-end player lists are read
+            verify(gameEventRepository, never()).findByGameIdAndGameEventType(anyLong(), any());
+            verify(gameEventRepository, never()).findRoundEndEventsByGameId(anyLong());
+        }
+
+        @Test
+        @DisplayName("Should return null for a round number the game does not have")
+        void shouldReturnNullForUnknownRound() {
+            when(gameEventRepository.findRoundByNumber(GAME_ID, 5)).thenReturn(List.of());
+
+            assertNull(gameService.getRoundDetails(GAME_ID.toString(), 5));
+            verify(gameEventRepository, never()).saveAll(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Rounds stored before numbering")
+    class LegacyRoundTests {
+
+        @Test
+        @DisplayName("Should locate the round by position without writing round numbers")
+        void shouldLocateLegacyRoundsReadOnly() {
+            RoundStartEventEntity first = roundStart(10L, null, 0);
+            RoundStartEventEntity second = roundStart(20L, null, 60);
+            when(gameEventRepository.findRoundByNumber(GAME_ID, 2)).thenReturn(List.of());
+            when(gameEventRepository.findUnnumberedRoundStarts(GAME_ID)).thenReturn(List.of(first, second));
+            when(gameEventRepository.findByRoundStartId(20L)).thenReturn(roundEvents(second));
+
+            RoundDetailsDTO details = gameService.getRoundDetails(GAME_ID.toString(), 2);
+
+            assertNotNull(details);
+            assertEquals(2, details.getRoundNumber());
+            assertNull(second.getRoundNumber());
+            verify(gameEventRepository, never()).saveAll(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Archived rounds")
+    class ArchivedRoundTests {
+
+        @Test
+        @DisplayName("Should decode a game's archive once for all of its rounds until the game is deleted")
+        void shouldReuseDecodedArchive() {
+            GameEventArchiveCodec.Encoder encoder = new GameEventArchiveCodec.Encoder();
+            for (RoundStartEventEntity roundStart : List.of(roundStart(10L, 1, 0), roundStart(20L, 2, 60))) {
+                encoder.add(roundStart);
+                roundEvents(roundStart).forEach(encoder::add);
+            }
+            when(gameEventArchiveRepository.findById(GAME_ID)).thenReturn(Optional.of(new GameEventArchiveEntity(
+                    GAME_ID, GameEventArchiveCodec.FORMAT_VERSION, encoder.getEventCount(), encoder.finish(), 1L)));
+
+            RoundDetailsDTO first = gameService.getRoundDetails(GAME_ID.toString(), 1);
+            RoundDetailsDTO second = gameService.getRoundDetails(GAME_ID.toString(), 2);
+
+            assertEquals(START, first.getRoundStartTime());
+            assertEquals(START.plusSeconds(60), second.getRoundStartTime());
+            assertEquals(START.plusSeconds(100), second.getRoundEndTime());
+            assertEquals(1, second.getTotalKills());
+            verify(gameEventArchiveRepository, times(1)).findById(GAME_ID);
+            verifyNoInteractions(gameEventRepository);
+
+            gameService.onGamesDeleted(new GamesDeletedEvent(List.of(GAME_ID), List.of()));
+            gameService.getRoundDetails(GAME_ID.toString(), 1);
+
+            verify(gameEventArchiveRepository, times(2)).findById(GAME_ID);
+        }
+    }
+
+    private static RoundStartEventEntity roundStart(Long id, Integer roundNumber, long offsetSeconds) {
+        RoundStartEventEntity roundStart = new RoundStartEventEntity(START.plusSeconds(offsetSeconds));
+        roundStart.setId(id);
+        roundStart.setRoundNumber(roundNumber);
+        return roundStart;
+    }
+
+    private static List<GameEventEntity> roundEvents(RoundStartEventEntity roundStart) {
+        KillEventEntity kill = new KillEventEntity(roundStart.getTimestamp().plusSeconds(20));
+        kill.setId(roundStart.getId() + 1);
+        kill.setRoundStart(roundStart);
+        kill.setPlayer1("[U:1:1]");
+        kill.setPlayer2("[U:1:2]");
+        RoundEndEventEntity roundEnd = new RoundEndEventEntity(roundStart.getTimestamp().plusSeconds(40));
+        roundEnd.setId(roundStart.getId() + 2);
+        roundEnd.setRoundStart(roundStart);
+        return new ArrayList<>(List.of(kill, roundEnd));
+    }
+
+    private static GameEntity summaryGame() {
+        GameEntity game = new GameEntity();
+        game.setGameOverTimestamp(START.plusSeconds(600));
+        game.setAppServerId(1L);
+        return game;
+    }
+}
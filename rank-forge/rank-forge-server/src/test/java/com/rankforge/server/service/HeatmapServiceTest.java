@@ -0,0 +1,135 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.service;
+
+import com.rankforge.pipeline.persistence.HeatmapCounters;
+import com.rankforge.pipeline.persistence.entity.HeatmapCellEntity;
+import com.rankforge.pipeline.persistence.repository.GameEventRepository;
+import com.rankforge.pipeline.persistence.repository.HeatmapCellRepository;
+import com.rankforge.server.dto.HeatmapDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for heatmap layer reads and their repair after game deletion
+ * 
+ * @author bageshwar.pn
+ * @date 2026
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HeatmapService Tests")
+class HeatmapServiceTest {
+
+    private static final String MAP = "de_mirage";
+    private static final String ALL = HeatmapCellEntity.ALL;
+
+    @Mock
+    private HeatmapCellRepository heatmapCellRepository;
+
+    @Mock
+    private GameEventRepository gameEventRepository;
+
+    @InjectMocks
+    private HeatmapService heatmapService;
+
+    @Nested
+    @DisplayName("Heatmap")
+    class HeatmapTests {
+
+        @Test
+        @DisplayName("Should crop the layer to its bounding box as row-major arrays")
+        void shouldCropToBoundingBox() {
+            when(heatmapCellRepository.findLayer(MAP, ALL, ALL)).thenReturn(List.of(
+                    new Object[]{60, 70, 4, 1},
+                    new Object[]{62, 71, 0, 3}));
+
+            HeatmapDTO heatmap = heatmapService.getHeatmap(MAP, null, null);
+
+            assertEquals(60, heatmap.getMinCellX());
+            assertEquals(70, heatmap.getMinCellY());
+            assertEquals(3, heatmap.getWidth());
+            assertEquals(2, heatmap.getHeight());
+            assertArrayEquals(new int[]{4, 0, 0, 0, 0, 0}, heatmap.getKills());
+            assertArrayEquals(new int[]{1, 0, 0, 0, 0, 3}, heatmap.getDeaths());
+            assertEquals(4, heatmap.getTotalKills());
+            assertEquals(4, heatmap.getTotalDeaths());
+            assertEquals(HeatmapCounters.ORIGIN, heatmap.getOrigin());
+        }
+
+        @Test
+        @DisplayName("Should read the player or side layer and return an empty grid when nothing was recorded")
+        void shouldReadRequestedLayer() {
+            when(heatmapCellRepository.findLayer(MAP, "[U:1:42]", ALL)).thenReturn(List.of());
+            when(heatmapCellRepository.findLayer(MAP, ALL, "CT")).thenReturn(List.of());
+
+            HeatmapDTO player = heatmapService.getHeatmap(MAP, "42", null);
+            HeatmapDTO side = heatmapService.getHeatmap(MAP, null, "ct");
+
+            assertEquals("[U:1:42]", player.getPlayerId());
+            assertEquals(0, player.getWidth());
+            assertEquals(0, player.getKills().length);
+            assertEquals("CT", side.getSide());
+        }
+    }
+
+    @Nested
+    @DisplayName("Game Deletion")
+    class DeletionTests {
+
+        @Test
+        @DisplayName("Should re-quantize the deleted kills and subtract them from every layer")
+        void shouldSubtractKillPositions() {
+            when(gameEventRepository.findKillPositionsByGameIds(List.of(7L))).thenReturn(List.<Object[]>of(
+                    new Object[]{MAP, "[U:1:1]", "BOT Ivan", "T", "CT",
+                            "{\"player1\":{\"x\":0,\"y\":0,\"z\":0},\"player2\":{\"x\":0,\"y\":0,\"z\":0}}"}));
+
+            heatmapService.subtractGames(List.of(7L));
+
+            verify(heatmapCellRepository).decrement(MAP, ALL, ALL, 64, 64, 1, 1);
+            verify(heatmapCellRepository).decrement(MAP, ALL, "T", 64, 64, 1, 0);
+            verify(heatmapCellRepository).decrement(MAP, ALL, "CT", 64, 64, 0, 1);
+            verify(heatmapCellRepository).decrement(MAP, "[U:1:1]", ALL, 64, 64, 1, 0);
+            verify(heatmapCellRepository, times(4))
+                    .decrement(anyString(), anyString(), anyString(), anyInt(), anyInt(), anyInt(), anyInt());
+            verify(heatmapCellRepository).deleteEmpty();
+        }
+
+        @Test
+        @DisplayName("Should leave the cells alone when the games have no kill positions")
+        void shouldSkipGamesWithoutPositions() {
+            when(gameEventRepository.findKillPositionsByGameIds(List.of(7L))).thenReturn(List.of());
+
+            heatmapService.subtractGames(List.of(7L));
+
+            verifyNoInteractions(heatmapCellRepository);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.service;
+
+import com.rankforge.server.config.BoundedTtlCache;
+import com.rankforge.server.config.CacheConfig;
+import com.rankforge.server.event.LeaderboardChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that leaderboard changes evict exactly the affected caches and months
+ * 
+ * @author bageshwar.pn
+ * @date 2026
+ */
+@DisplayName("LeaderboardCacheEvictor Tests")
+class LeaderboardCacheEvictorTest {
+
+    private SimpleCacheManager cacheManager;
+    private LeaderboardCacheEvictor evictor;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+                new BoundedTtlCache(CacheConfig.MONTHLY_LEADERBOARD, 10, null, null, Runnable::run),
+                new BoundedTtlCache(CacheConfig.ALL_TIME_LEADERBOARD, 1, null, null, Runnable::run),
+                new BoundedTtlCache(CacheConfig.TOP_LEADERBOARD, 10, null, null, Runnable::run),
+                new BoundedTtlCache(CacheConfig.CURRENT_MONTH_LEADERBOARD, 10, null, null, Runnable::run),
+                new BoundedTtlCache(CacheConfig.ROLLING_BUCKETS, 2, null, null, Runnable::run),
+                new BoundedTtlCache(CacheConfig.ROLLING_LEADERBOARD, 10, null, null, Runnable::run)));
+        cacheManager.afterPropertiesSet();
+        evictor = new LeaderboardCacheEvictor(cacheManager);
+
+        cache(CacheConfig.ALL_TIME_LEADERBOARD).put("all-time", "leaderboard");
+        cache(CacheConfig.TOP_LEADERBOARD).put(10, "top");
+        cache(CacheConfig.MONTHLY_LEADERBOARD).put("2025-11-100-0", "november");
+        cache(CacheConfig.MONTHLY_LEADERBOARD).put("2025-1-100-0", "january");
+        cache(CacheConfig.MONTHLY_LEADERBOARD).put("2025-12-100-0", "december");
+        cache(CacheConfig.CURRENT_MONTH_LEADERBOARD).put("2026-1-100-0", "current");
+        cache(CacheConfig.ROLLING_BUCKETS).put(LocalDate.of(2026, 2, 10), "buckets");
+        cache(CacheConfig.ROLLING_LEADERBOARD).put("2026-02-10-7-100-0", "last week");
+    }
+
+    @Test
+    @DisplayName("Should clear all-time caches and only the changed month")
+    void shouldEvictChangedMonthOnly() {
+        evictor.onLeaderboardChanged(LeaderboardChangedEvent.forGames(List.of(Instant.parse("2025-01-20T10:00:00Z"))));
+
+        assertNull(cache(CacheConfig.ALL_TIME_LEADERBOARD).get("all-time"));
+        assertNull(cache(CacheConfig.TOP_LEADERBOARD).get(10));
+        assertNull(cache(CacheConfig.MONTHLY_LEADERBOARD).get("2025-1-100-0"));
+        // "2025-1-" must not match November or December
+        assertNotNull(cache(CacheConfig.MONTHLY_LEADERBOARD).get("2025-11-100-0"));
+        assertNotNull(cache(CacheConfig.MONTHLY_LEADERBOARD).get("2025-12-100-0"));
+        assertNotNull(cache(CacheConfig.CURRENT_MONTH_LEADERBOARD).get("2026-1-100-0"));
+        assertNotNull(cache(CacheConfig.ROLLING_LEADERBOARD).get("2026-02-10-7-100-0"));
+    }
+
+    @Test
+    @DisplayName("Should evict the current month memo when its games change")
+    void shouldEvictCurrentMonthMemo() {
+        evictor.onLeaderboardChanged(LeaderboardChangedEvent.forGames(List.of(Instant.parse("2026-01-05T10:00:00Z"))));
+
+        assertNull(cache(CacheConfig.CURRENT_MONTH_LEADERBOARD).get("2026-1-100-0"));
+        assertNotNull(cache(CacheConfig.MONTHLY_LEADERBOARD).get("2025-1-100-0"));
+    }
+
+    @Test
+    @DisplayName("Should evict rolling windows reaching into the changed month")
+    void shouldEvictOverlappingRollingWindows() {
+        // The 30-day window ending 2026-02-10 starts on 2026-01-12
+        evictor.onLeaderboardChanged(LeaderboardChangedEvent.forGames(List.of(Instant.parse("2026-01-05T10:00:00Z"))));
+
+        assertNull(cache(CacheConfig.ROLLING_BUCKETS).get(LocalDate.of(2026, 2, 10)));
+        assertNull(cache(CacheConfig.ROLLING_LEADERBOARD).get("2026-02-10-7-100-0"));
+        assertFalse(LeaderboardCacheEvictor.rollingWindowOverlaps(LocalDate.of(2026, 2, 10), Set.of(YearMonth.of(2025, 12))));
+        assertFalse(LeaderboardCacheEvictor.rollingWindowOverlaps(LocalDate.of(2026, 2, 10), Set.of(YearMonth.of(2026, 3))));
+    }
+
+    @Test
+    @DisplayName("Should clear every month when the months are unknown")
+    void shouldEvictAllMonths() {
+        evictor.onLeaderboardChanged(LeaderboardChangedEvent.forAllMonths());
+
+        assertNull(cache(CacheConfig.MONTHLY_LEADERBOARD).get("2025-11-100-0"));
+        assertNull(cache(CacheConfig.MONTHLY_LEADERBOARD).get("2025-12-100-0"));
+    }
+
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
+    }
+}
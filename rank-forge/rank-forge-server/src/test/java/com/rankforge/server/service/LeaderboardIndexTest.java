@@ -0,0 +1,235 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.service;
+
+import com.rankforge.pipeline.persistence.entity.PlayerStatsEntity;
+import com.rankforge.pipeline.persistence.repository.PlayerStatsRepository;
+import com.rankforge.server.event.LeaderboardChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the in-memory all-time leaderboard index
+ * 
+ * @author bageshwar.pn
+ * @date 2026
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LeaderboardIndex Tests")
+class LeaderboardIndexTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-10T10:00:00Z");
+
+    @Mock
+    private PlayerStatsRepository playerStatsRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private LeaderboardIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new LeaderboardIndex(playerStatsRepository, eventPublisher);
+    }
+
+    @Nested
+    @DisplayName("Queries")
+    class QueryTests {
+
+        @BeforeEach
+        void load() {
+            when(playerStatsRepository.findLatestStatsForAllPlayers()).thenReturn(List.of(
+                    stats("[U:1:1]", 1200, T0), stats("[U:1:2]", 1500, T0),
+                    stats("[U:1:3]", 900, T0), stats("[U:1:4]", 1200, T0)));
+            when(playerStatsRepository.countDistinctGamesPerPlayer()).thenReturn(List.<Object[]>of(
+                    new Object[]{"[U:1:1]", 3L}));
+        }
+
+        @Test
+        @DisplayName("Should order by rating with ties broken by player ID")
+        void shouldOrderByRating() {
+            LeaderboardIndex.Snapshot leaderboard = index.snapshot();
+
+            assertEquals(List.of("[U:1:2]", "[U:1:1]", "[U:1:4]", "[U:1:3]"), playerIds(leaderboard.range(0, 10)));
+            assertEquals(3, leaderboard.positionOf("[U:1:4]"));
+            assertEquals(0, leaderboard.positionOf("[U:1:9]"));
+            assertEquals(3, leaderboard.get("[U:1:1]").orElseThrow().getGamesPlayed());
+        }
+
+        @Test
+        @DisplayName("Should clip pages to the leaderboard")
+        void shouldClipRanges() {
+            LeaderboardIndex.Snapshot leaderboard = index.snapshot();
+
+            assertEquals(List.of("[U:1:3]"), playerIds(leaderboard.range(3, 10)));
+            assertTrue(leaderboard.range(10, 10).isEmpty());
+            assertEquals(4, leaderboard.range(0, Integer.MAX_VALUE).size());
+        }
+
+        @Test
+        @DisplayName("Should load once and serve later reads from memory")
+        void shouldLoadOnce() {
+            index.snapshot();
+            index.snapshot();
+
+            verify(playerStatsRepository, times(1)).findLatestStatsForAllPlayers();
+        }
+    }
+
+    @Nested
+    @DisplayName("Updates")
+    class UpdateTests {
+
+        @BeforeEach
+        void load() {
+            when(playerStatsRepository.findLatestStatsForAllPlayers()).thenReturn(List.of(
+                    stats("[U:1:1]", 1200, T0), stats("[U:1:2]", 1500, T0), stats("[U:1:3]", 900, T0)));
+            when(playerStatsRepository.countDistinctGamesPerPlayer()).thenReturn(List.<Object[]>of(
+                    new Object[]{"[U:1:1]", 4L}, new Object[]{"[U:1:2]", 7L}, new Object[]{"[U:1:3]", 1L}));
+            index.reload();
+        }
+
+        @Test
+        @DisplayName("Committed snapshots should re-position their players without a database read")
+        void shouldApplyCommittedSnapshots() {
+            LeaderboardIndex.Snapshot before = index.snapshot();
+            Instant t1 = T0.plusSeconds(3600);
+
+            index.onPlayerStatsCommitted(List.of(stats("[U:1:3]", 1600, t1), stats("[U:1:5]", 1000, t1)));
+
+            LeaderboardIndex.Snapshot after = index.snapshot();
+            assertEquals(List.of("[U:1:3]", "[U:1:2]", "[U:1:1]", "[U:1:5]"), playerIds(after.range(0, 10)));
+            assertEquals(2, after.get("[U:1:3]").orElseThrow().getGamesPlayed());
+            assertEquals(1, after.get("[U:1:5]").orElseThrow().getGamesPlayed());
+            // Readers holding the previous snapshot are unaffected
+            assertEquals(3, before.positionOf("[U:1:3]"));
+            verify(playerStatsRepository, times(1)).findLatestStatsForAllPlayers();
+        }
+
+        @Test
+        @DisplayName("Snapshots already reflected in the index should be ignored")
+        void shouldIgnoreStaleSnapshots() {
+            index.onPlayerStatsCommitted(List.of(stats("[U:1:1]", 2000, T0)));
+
+            assertEquals(1200, index.snapshot().get("[U:1:1]").orElseThrow().getRating());
+            assertEquals(4, index.snapshot().get("[U:1:1]").orElseThrow().getGamesPlayed());
+        }
+
+        @Test
+        @DisplayName("Reloading players should refresh them and drop players without stats")
+        void shouldReloadPlayers() {
+            when(playerStatsRepository.findLatestStatsForPlayers(any())).thenReturn(List.of(stats("[U:1:2]", 1100, T0)));
+            when(playerStatsRepository.countDistinctGamesByPlayerIds(any())).thenReturn(List.<Object[]>of(
+                    new Object[]{"[U:1:2]", 6L}));
+
+            index.reloadPlayers(Set.of("[U:1:2]", "[U:1:3]"));
+
+            LeaderboardIndex.Snapshot leaderboard = index.snapshot();
+            assertEquals(List.of("[U:1:1]", "[U:1:2]"), playerIds(leaderboard.range(0, 10)));
+            assertEquals(6, leaderboard.get("[U:1:2]").orElseThrow().getGamesPlayed());
+            assertTrue(leaderboard.get("[U:1:3]").isEmpty());
+        }
+
+        @Test
+        @DisplayName("Incremental updates should match a full sort")
+        void incrementalUpdatesShouldMatchFullSort() {
+            Random random = new Random(42);
+            List<PlayerStatsEntity> latest = new ArrayList<>(List.of(
+                    stats("[U:1:1]", 1200, T0), stats("[U:1:2]", 1500, T0), stats("[U:1:3]", 900, T0)));
+            for (int game = 1; game <= 200; game++) {
+                List<PlayerStatsEntity> match = new ArrayList<>();
+                for (int i = 0; i < 10; i++) {
+                    String playerId = "[U:1:" + random.nextInt(60) + "]";
+                    if (match.stream().noneMatch(s -> s.getPlayerId().equals(playerId))) {
+                        match.add(stats(playerId, random.nextInt(50) * 50, T0.plusSeconds(game)));
+                    }
+                }
+                index.onPlayerStatsCommitted(match);
+                for (PlayerStatsEntity stats : match) {
+                    latest.removeIf(s -> s.getPlayerId().equals(stats.getPlayerId()));
+                    latest.add(stats);
+                }
+            }
+
+            List<String> expected = latest.stream()
+                    .sorted(Comparator.comparing(PlayerStatsEntity::getRank).reversed()
+                            .thenComparing(PlayerStatsEntity::getPlayerId))
+                    .map(PlayerStatsEntity::getPlayerId)
+                    .collect(Collectors.toList());
+            LeaderboardIndex.Snapshot leaderboard = index.snapshot();
+            assertEquals(expected, playerIds(leaderboard.range(0, leaderboard.size())));
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(i + 1, leaderboard.positionOf(expected.get(i)));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Commits before the first load should be left to the load")
+    void shouldIgnoreCommitsBeforeLoad() {
+        index.onPlayerStatsCommitted(List.of(stats("[U:1:1]", 1200, T0)));
+
+        verifyNoInteractions(playerStatsRepository);
+    }
+
+    @Test
+    @DisplayName("Committed matches should announce the month they changed")
+    void shouldPublishChangedMonth() {
+        index.onPlayerStatsCommitted(List.of(stats("[U:1:1]", 1200, T0), stats("[U:1:2]", 1300, T0)));
+
+        ArgumentCaptor<LeaderboardChangedEvent> event = ArgumentCaptor.forClass(LeaderboardChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(Set.of(YearMonth.of(2026, 1)), event.getValue().getMonths());
+        assertFalse(event.getValue().isAllMonths());
+    }
+
+    private static List<String> playerIds(List<LeaderboardIndex.Entry> entries) {
+        return entries.stream().map(LeaderboardIndex.Entry::getPlayerId).collect(Collectors.toList());
+    }
+
+    private static PlayerStatsEntity stats(String playerId, int rank, Instant gameTimestamp) {
+        PlayerStatsEntity entity = new PlayerStatsEntity();
+        entity.setPlayerId(playerId);
+        entity.setRank(rank);
+        entity.setGameTimestamp(gameTimestamp);
+        entity.setLastSeenNickname("nick" + playerId);
+        return entity;
+    }
+}
@@ -71,7 +71,9 @@ class PipelineServiceTest {
         objectMapper = ObjectMapperFactory.createObjectMapper();
         eventProcessingContext = new EventProcessingContext();
         pipelineService = new PipelineService(gameEventRepository, playerStatsRepository, 
-                accoladeRepository, gameRepository, objectMapper, eventProcessingContext);
+                accoladeRepository, gameRepository, objectMapper, eventProcessingContext,
+                new LeaderboardIndex(playerStatsRepository, event -> { }),
+                new PlayerSearchIndex(playerStatsRepository));
         
         // Mock EntityManagerFactory to return EntityManager
         when(entityManagerFactory.createEntityManager()).thenReturn(entityManager);
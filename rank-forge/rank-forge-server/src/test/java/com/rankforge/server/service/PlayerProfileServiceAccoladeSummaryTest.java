@@ -0,0 +1,235 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.service;
+
+import com.rankforge.pipeline.persistence.entity.AccoladeEntity;
+import com.rankforge.pipeline.persistence.entity.PlayerAccoladeCountEntity;
+import com.rankforge.pipeline.persistence.entity.PlayerStatsEntity;
+import com.rankforge.pipeline.persistence.repository.AccoladeRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerAccoladeCountRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerRatingSeriesRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerStatsRepository;
+import com.rankforge.server.dto.PlayerProfileDTO;
+import com.rankforge.server.dto.PlayerProfileDTO.PlayerAccoladeDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the profile accolade summary served from the per-player counters
+ * and for paging through a player's accolades
+ * 
+ * @author bageshwar.pn
+ * @date 2026
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PlayerProfileService Accolade Summary Tests")
+class PlayerProfileServiceAccoladeSummaryTest {
+
+    private static final String PLAYER_ID = "[U:1:1000000]";
+
+    @Mock
+    private PlayerStatsRepository playerStatsRepository;
+
+    @Mock
+    private AccoladeRepository accoladeRepository;
+
+    @Mock
+    private PlayerRatingSeriesRepository playerRatingSeriesRepository;
+
+    @Mock
+    private PlayerAccoladeCountRepository playerAccoladeCountRepository;
+
+    @Mock
+    private PlayerSearchIndex playerSearchIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private PlayerProfileService playerProfileService;
+
+    private PlayerStatsEntity latestStats;
+
+    @BeforeEach
+    void setUp() {
+        latestStats = new PlayerStatsEntity();
+        latestStats.setPlayerId(PLAYER_ID);
+        latestStats.setLastSeenNickname("  Frag Master ");
+        latestStats.setGameTimestamp(Instant.parse("2026-02-01T20:00:00Z"));
+        latestStats.setRank(1200);
+    }
+
+    @Nested
+    @DisplayName("Profile Summary")
+    class ProfileSummary {
+
+        @Test
+        @DisplayName("Should summarize accolades from the counters and load only the first page")
+        void shouldSummarizeFromCounters() {
+            when(playerStatsRepository.findHistoryByPlayerId(PLAYER_ID)).thenReturn(List.of(latestStats));
+            when(accoladeRepository.findPageByPlayerId(eq(PLAYER_ID), any()))
+                    .thenReturn(List.of(accolade("MVP", PLAYER_ID)));
+            when(playerAccoladeCountRepository.findByPlayerIdOrderByAccoladeCountDesc(PLAYER_ID))
+                    .thenReturn(List.of(counter("kills", 7), counter("MVP", 3)));
+
+            PlayerProfileDTO profile = playerProfileService.getPlayerProfile(PLAYER_ID).orElseThrow();
+
+            assertEquals(10, profile.getTotalAccolades());
+            assertEquals(7, profile.getAccoladesByType().get("Top Fragger"));
+            assertEquals(3, profile.getAccoladesByType().get("MVP"));
+            assertEquals("Top Fragger", profile.getMostFrequentAccolade());
+            assertEquals(1, profile.getAccolades().size());
+            verify(accoladeRepository).findPageByPlayerId(PLAYER_ID,
+                    PageRequest.of(0, PlayerProfileService.DEFAULT_ACCOLADE_PAGE_SIZE));
+            verify(accoladeRepository, never()).findByPlayerId(any());
+            verify(accoladeRepository, never()).countByPlayerIdGroupedByType(any());
+        }
+
+        @Test
+        @DisplayName("Should aggregate in the database when the player has no counters yet")
+        void shouldAggregateWhenCountersAreMissing() {
+            when(playerStatsRepository.findHistoryByPlayerId(PLAYER_ID)).thenReturn(List.of(latestStats));
+            when(accoladeRepository.findPageByPlayerId(eq(PLAYER_ID), any()))
+                    .thenReturn(List.of(accolade("headshots", PLAYER_ID)));
+            when(playerAccoladeCountRepository.findByPlayerIdOrderByAccoladeCountDesc(PLAYER_ID))
+                    .thenReturn(List.of());
+            when(accoladeRepository.countByPlayerIdGroupedByType(PLAYER_ID))
+                    .thenReturn(rows(new Object[]{"headshots", 4L}));
+
+            PlayerProfileDTO profile = playerProfileService.getPlayerProfile(PLAYER_ID).orElseThrow();
+
+            assertEquals(4, profile.getTotalAccolades());
+            assertEquals("Headshot Master", profile.getMostFrequentAccolade());
+        }
+
+        @Test
+        @DisplayName("Should fall back to the normalized player name for legacy accolades")
+        void shouldFallBackToNormalizedName() {
+            when(playerStatsRepository.findHistoryByPlayerId(PLAYER_ID)).thenReturn(List.of(latestStats));
+            when(accoladeRepository.findPageByPlayerId(eq(PLAYER_ID), any())).thenReturn(List.of());
+            when(accoladeRepository.findPageByNormalizedPlayerName(eq("frag master"), any()))
+                    .thenReturn(List.of(accolade("assists", null)));
+            when(accoladeRepository.countByNormalizedPlayerNameGroupedByType("frag master"))
+                    .thenReturn(rows(new Object[]{"assists", 2L}));
+
+            PlayerProfileDTO profile = playerProfileService.getPlayerProfile(PLAYER_ID).orElseThrow();
+
+            assertEquals(2, profile.getTotalAccolades());
+            assertEquals("Team Player", profile.getMostFrequentAccolade());
+            assertEquals(1, profile.getAccolades().size());
+            verifyNoInteractions(playerAccoladeCountRepository);
+        }
+
+        @Test
+        @DisplayName("Should report no accolades when the player has none")
+        void shouldReportNoAccolades() {
+            latestStats.setLastSeenNickname(null);
+            when(playerStatsRepository.findHistoryByPlayerId(PLAYER_ID)).thenReturn(List.of(latestStats));
+            when(accoladeRepository.findPageByPlayerId(eq(PLAYER_ID), any())).thenReturn(List.of());
+            when(accoladeRepository.findPageByNormalizedPlayerName(eq("unknown player"), any())).thenReturn(List.of());
+
+            PlayerProfileDTO profile = playerProfileService.getPlayerProfile(PLAYER_ID).orElseThrow();
+
+            assertEquals(0, profile.getTotalAccolades());
+            assertEquals("None", profile.getMostFrequentAccolade());
+            assertTrue(profile.getAccolades().isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Accolade Pages")
+    class AccoladePages {
+
+        @Test
+        @DisplayName("Should page through accolades stored under the player ID")
+        void shouldPageByPlayerId() {
+            when(accoladeRepository.existsByPlayerId(PLAYER_ID)).thenReturn(true);
+            when(accoladeRepository.findPageByPlayerId(PLAYER_ID, PageRequest.of(2, 5)))
+                    .thenReturn(List.of(accolade("MVP", PLAYER_ID), accolade("kills", PLAYER_ID)));
+
+            List<PlayerAccoladeDTO> page = playerProfileService.getPlayerAccolades(PLAYER_ID, 2, 5);
+
+            assertEquals(2, page.size());
+            assertEquals("MVP", page.get(0).getTypeDescription());
+            verify(playerSearchIndex, never()).currentName(any());
+        }
+
+        @Test
+        @DisplayName("Should page by the current name when no accolade has the player ID")
+        void shouldPageByCurrentName() {
+            when(accoladeRepository.existsByPlayerId(PLAYER_ID)).thenReturn(false);
+            when(playerSearchIndex.currentName(PLAYER_ID)).thenReturn(Optional.of("Frag Master"));
+            when(accoladeRepository.findPageByNormalizedPlayerName(eq("frag master"), any(Pageable.class)))
+                    .thenReturn(List.of(accolade("assists", null)));
+
+            List<PlayerAccoladeDTO> page = playerProfileService.getPlayerAccolades(PLAYER_ID, 0, 20);
+
+            assertEquals(1, page.size());
+        }
+
+        @Test
+        @DisplayName("Should return an empty page for an unknown player")
+        void shouldReturnEmptyPageForUnknownPlayer() {
+            when(accoladeRepository.existsByPlayerId(PLAYER_ID)).thenReturn(false);
+            when(playerSearchIndex.currentName(PLAYER_ID)).thenReturn(Optional.empty());
+
+            assertTrue(playerProfileService.getPlayerAccolades(PLAYER_ID, 0, 20).isEmpty());
+        }
+    }
+
+    private AccoladeEntity accolade(String type, String playerId) {
+        AccoladeEntity accolade = new AccoladeEntity();
+        accolade.setType(type);
+        accolade.setPlayerName("Frag Master");
+        accolade.setPlayerId(playerId);
+        accolade.setValue(1.0);
+        accolade.setPosition(1);
+        accolade.setScore(10.0);
+        return accolade;
+    }
+
+    private PlayerAccoladeCountEntity counter(String type, int count) {
+        PlayerAccoladeCountEntity counter = new PlayerAccoladeCountEntity(PLAYER_ID, type);
+        counter.setAccoladeCount(count);
+        return counter;
+    }
+
+    private List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+}
@@ -22,6 +22,8 @@ import com.rankforge.pipeline.persistence.entity.AccoladeEntity;
 import com.rankforge.pipeline.persistence.entity.GameEntity;
 import com.rankforge.pipeline.persistence.entity.PlayerStatsEntity;
 import com.rankforge.pipeline.persistence.repository.AccoladeRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerAccoladeCountRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerRatingSeriesRepository;
 import com.rankforge.pipeline.persistence.repository.PlayerStatsRepository;
 import com.rankforge.server.dto.PlayerProfileDTO;
 import org.junit.jupiter.api.BeforeEach;
@@ -31,6 +33,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.Instant;
 import java.time.ZoneId;
@@ -63,6 +66,18 @@ class PlayerProfileServiceAccoladeTimestampTest {
     @Mock
     private AccoladeRepository accoladeRepository;
     
+    @Mock
+    private PlayerRatingSeriesRepository playerRatingSeriesRepository;
+    
+    @Mock
+    private PlayerAccoladeCountRepository playerAccoladeCountRepository;
+    
+    @Mock
+    private PlayerSearchIndex playerSearchIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private PlayerProfileService playerProfileService;
     
@@ -114,7 +129,7 @@ class PlayerProfileServiceAccoladeTimestampTest {
         
         when(playerStatsRepository.findHistoryByPlayerId("123456789"))
                 .thenReturn(Arrays.asList(mockPlayerStats));
-        when(accoladeRepository.findByPlayerId("123456789"))
+        when(accoladeRepository.findPageByPlayerId(eq("123456789"), any()))
                 .thenReturn(Arrays.asList(accolade));
         
         // When
@@ -154,7 +169,7 @@ class PlayerProfileServiceAccoladeTimestampTest {
         
         when(playerStatsRepository.findHistoryByPlayerId("123456789"))
                 .thenReturn(Arrays.asList(mockPlayerStats));
-        when(accoladeRepository.findByPlayerId("123456789"))
+        when(accoladeRepository.findPageByPlayerId(eq("123456789"), any()))
                 .thenReturn(Arrays.asList(accolade));
         
         // When
@@ -189,7 +204,7 @@ class PlayerProfileServiceAccoladeTimestampTest {
         
         when(playerStatsRepository.findHistoryByPlayerId("123456789"))
                 .thenReturn(Arrays.asList(mockPlayerStats));
-        when(accoladeRepository.findByPlayerId("123456789"))
+        when(accoladeRepository.findPageByPlayerId(eq("123456789"), any()))
                 .thenReturn(Arrays.asList(accolade));
         
         // When
@@ -227,7 +242,7 @@ class PlayerProfileServiceAccoladeTimestampTest {
         
         when(playerStatsRepository.findHistoryByPlayerId("123456789"))
                 .thenReturn(Arrays.asList(mockPlayerStats));
-        when(accoladeRepository.findByPlayerId("123456789"))
+        when(accoladeRepository.findPageByPlayerId(eq("123456789"), any()))
                 .thenReturn(Arrays.asList(accolade));
         
         // When
@@ -267,7 +282,7 @@ class PlayerProfileServiceAccoladeTimestampTest {
         
         when(playerStatsRepository.findHistoryByPlayerId("123456789"))
                 .thenReturn(Arrays.asList(mockPlayerStats));
-        when(accoladeRepository.findByPlayerId("123456789"))
+        when(accoladeRepository.findPageByPlayerId(eq("123456789"), any()))
                 .thenReturn(Arrays.asList(accolade));
         
         // When
@@ -306,7 +321,7 @@ class PlayerProfileServiceAccoladeTimestampTest {
         
         when(playerStatsRepository.findHistoryByPlayerId("123456789"))
                 .thenReturn(Arrays.asList(mockPlayerStats));
-        when(accoladeRepository.findByPlayerId("123456789"))
+        when(accoladeRepository.findPageByPlayerId(eq("123456789"), any()))
                 .thenReturn(Arrays.asList(accolade));
         
         // When
@@ -360,7 +375,7 @@ class PlayerProfileServiceAccoladeTimestampTest {
         
         when(playerStatsRepository.findHistoryByPlayerId("123456789"))
                 .thenReturn(Arrays.asList(mockPlayerStats));
-        when(accoladeRepository.findByPlayerId("123456789"))
+        when(accoladeRepository.findPageByPlayerId(eq("123456789"), any()))
                 .thenReturn(Arrays.asList(accolade1, accolade2));
         
         // When
@@ -0,0 +1,216 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.service;
+
+import com.rankforge.pipeline.persistence.entity.PlayerRatingSeriesEntity;
+import com.rankforge.pipeline.persistence.entity.PlayerStatsEntity;
+import com.rankforge.pipeline.persistence.repository.AccoladeRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerAccoladeCountRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerRatingSeriesRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerStatsRepository;
+import com.rankforge.pipeline.persistence.series.RatingSeriesCodec;
+import com.rankforge.server.dto.PlayerProfileDTO;
+import com.rankforge.server.dto.PlayerProfileDTO.RatingHistoryPoint;
+import com.rankforge.server.event.RatingSeriesStaleEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for serving profile rating history from the compact rating series
+ * 
+ * @author bageshwar.pn
+ * @date 2026
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PlayerProfileService Rating History Tests")
+class PlayerProfileServiceRatingHistoryTest {
+
+    private static final String PLAYER_ID = "[U:1:1000000]";
+    private static final Instant START = Instant.parse("2026-01-05T20:00:00Z");
+
+    @Mock
+    private PlayerStatsRepository playerStatsRepository;
+
+    @Mock
+    private AccoladeRepository accoladeRepository;
+
+    @Mock
+    private PlayerRatingSeriesRepository playerRatingSeriesRepository;
+
+    @Mock
+    private PlayerAccoladeCountRepository playerAccoladeCountRepository;
+
+    @Mock
+    private PlayerSearchIndex playerSearchIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private PlayerProfileService playerProfileService;
+
+    private List<PlayerStatsEntity> history;
+
+    @BeforeEach
+    void setUp() {
+        history = createHistory(1000);
+    }
+
+    @Nested
+    @DisplayName("Series source")
+    class SeriesSourceTests {
+
+        @Test
+        @DisplayName("Should serve a current series without reading the snapshot history")
+        void shouldUseCurrentSeries() {
+            PlayerStatsEntity latest = history.get(history.size() - 1);
+            when(playerRatingSeriesRepository.findById(PLAYER_ID))
+                    .thenReturn(Optional.of(RatingSeriesCodec.build(PLAYER_ID, history)));
+            when(playerStatsRepository.findFirstByPlayerIdOrderByGameTimestampDescLastUpdatedDesc(PLAYER_ID))
+                    .thenReturn(Optional.of(latest));
+            when(playerSearchIndex.names(PLAYER_ID)).thenReturn(List.of("Old", "Player"));
+
+            PlayerProfileDTO profile = playerProfileService.getPlayerProfile(PLAYER_ID).orElseThrow();
+
+            assertEquals(1000, profile.getTotalGamesPlayed());
+            assertEquals(latest.getRank(), profile.getCurrentRank());
+            assertEquals(List.of("Old", "Player"), profile.getPastNicks());
+            verify(playerStatsRepository, never()).findHistoryByPlayerId(any());
+            verify(playerRatingSeriesRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should treat a series without a last snapshot as behind")
+        void shouldRebuildSeriesWithoutLastSnapshot() {
+            PlayerRatingSeriesEntity legacy = RatingSeriesCodec.build(PLAYER_ID, history);
+            legacy.setLastSnapshotId(null);
+            when(playerRatingSeriesRepository.findById(PLAYER_ID)).thenReturn(Optional.of(legacy));
+            when(playerStatsRepository.findFirstByPlayerIdOrderByGameTimestampDescLastUpdatedDesc(PLAYER_ID))
+                    .thenReturn(Optional.of(history.get(999)));
+            when(playerStatsRepository.findHistoryByPlayerId(PLAYER_ID)).thenReturn(history);
+
+            PlayerProfileDTO profile = playerProfileService.getPlayerProfile(PLAYER_ID).orElseThrow();
+
+            assertEquals(1000, profile.getTotalGamesPlayed());
+            verify(eventPublisher).publishEvent(any(RatingSeriesStaleEvent.class));
+        }
+
+        @Test
+        @DisplayName("Should serve a series that is behind from the snapshots and leave storing it to the rebuilder")
+        void shouldRebuildStaleSeries() {
+            when(playerRatingSeriesRepository.findById(PLAYER_ID))
+                    .thenReturn(Optional.of(RatingSeriesCodec.build(PLAYER_ID, history.subList(0, 999))));
+            when(playerStatsRepository.findFirstByPlayerIdOrderByGameTimestampDescLastUpdatedDesc(PLAYER_ID))
+                    .thenReturn(Optional.of(history.get(999)));
+            when(playerStatsRepository.findHistoryByPlayerId(PLAYER_ID)).thenReturn(history);
+
+            PlayerProfileDTO profile = playerProfileService.getPlayerProfile(PLAYER_ID).orElseThrow();
+
+            assertEquals(1000, profile.getTotalGamesPlayed());
+            ArgumentCaptor<RatingSeriesStaleEvent> event = ArgumentCaptor.forClass(RatingSeriesStaleEvent.class);
+            verify(eventPublisher).publishEvent(event.capture());
+            assertEquals(PLAYER_ID, event.getValue().getPlayerId());
+            verify(playerRatingSeriesRepository, never()).save(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Resolution")
+    class ResolutionTests {
+
+        @BeforeEach
+        void setUp() {
+            when(playerRatingSeriesRepository.findById(PLAYER_ID)).thenReturn(Optional.empty());
+            when(playerStatsRepository.findHistoryByPlayerId(PLAYER_ID)).thenReturn(history);
+        }
+
+        @Test
+        @DisplayName("Should downsample to the requested number of points, keeping first and last game")
+        void shouldDownsampleAuto() {
+            List<RatingHistoryPoint> points = ratingHistory(PlayerProfileService.HistoryResolution.AUTO, 100);
+
+            assertEquals(100, points.size());
+            assertEquals(1, points.get(0).getGameNumber());
+            assertEquals(1000, points.get(99).getGameNumber());
+            assertEquals(history.get(999).getRank(), points.get(99).getRank());
+        }
+
+        @Test
+        @DisplayName("Should keep the last game of each week")
+        void shouldBucketWeekly() {
+            List<RatingHistoryPoint> points = ratingHistory(PlayerProfileService.HistoryResolution.WEEKLY, 100);
+
+            // 1000 games, 20 hours apart, start on a Monday: about 119 weeks plus the first game
+            assertTrue(points.size() > 100 && points.size() < 130, "was " + points.size());
+            assertEquals(1, points.get(0).getGameNumber());
+            assertEquals(1000, points.get(points.size() - 1).getGameNumber());
+        }
+
+        @Test
+        @DisplayName("Should return every game at full resolution")
+        void shouldReturnFullHistory() {
+            List<RatingHistoryPoint> points = ratingHistory(PlayerProfileService.HistoryResolution.FULL, 100);
+
+            assertEquals(1000, points.size());
+        }
+
+        private List<RatingHistoryPoint> ratingHistory(PlayerProfileService.HistoryResolution resolution, int maxPoints) {
+            return playerProfileService.getPlayerProfile(PLAYER_ID, resolution, maxPoints)
+                    .map(PlayerProfileDTO::getRatingHistory)
+                    .orElseThrow();
+        }
+    }
+
+    private List<PlayerStatsEntity> createHistory(int games) {
+        List<PlayerStatsEntity> snapshots = new ArrayList<>();
+        int rank = 1000;
+        for (int i = 0; i < games; i++) {
+            rank += (i % 5 < 3) ? 8 : -11;
+            PlayerStatsEntity snapshot = new PlayerStatsEntity();
+            snapshot.setId((long) i + 1);
+            snapshot.setPlayerId(PLAYER_ID);
+            snapshot.setLastSeenNickname("Player");
+            snapshot.setGameTimestamp(START.plus(Duration.ofHours(20L * i)));
+            snapshot.setRank(rank);
+            snapshot.setKills(15 * (i + 1));
+            snapshot.setDeaths(12 * (i + 1));
+            snapshot.setAssists(3 * (i + 1));
+            snapshots.add(snapshot);
+        }
+        return snapshots;
+    }
+}
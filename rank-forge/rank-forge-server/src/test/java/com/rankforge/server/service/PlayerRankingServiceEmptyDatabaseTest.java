@@ -20,8 +20,10 @@ package com.rankforge.server.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rankforge.core.interfaces.RankingAlgorithm;
+import com.rankforge.pipeline.persistence.entity.GlobalCounterEntity;
 import com.rankforge.pipeline.persistence.repository.GameEventRepository;
 import com.rankforge.pipeline.persistence.repository.GameRepository;
+import com.rankforge.pipeline.persistence.repository.GlobalCounterRepository;
 import com.rankforge.pipeline.persistence.repository.PlayerStatsRepository;
 import com.rankforge.server.dto.LeaderboardResponseDTO;
 import org.junit.jupiter.api.BeforeEach;
@@ -32,6 +34,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
 import java.util.Collections;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -52,6 +55,9 @@ class PlayerRankingServiceEmptyDatabaseTest {
     @Mock
     private GameEventRepository gameEventRepository;
     
+    @Mock
+    private GlobalCounterRepository globalCounterRepository;
+    
     private ObjectMapper objectMapper;
     
     @Mock
@@ -62,7 +68,9 @@ class PlayerRankingServiceEmptyDatabaseTest {
     @BeforeEach
     void setUp() {
         objectMapper = new ObjectMapper();
-        playerRankingService = new PlayerRankingService(playerStatsRepository, gameRepository, gameEventRepository, objectMapper, rankingAlgorithm);
+        playerRankingService = new PlayerRankingService(playerStatsRepository, gameRepository, gameEventRepository, objectMapper, rankingAlgorithm,
+                new LeaderboardIndex(playerStatsRepository, event -> { }),
+                new PlayerSearchIndex(playerStatsRepository), globalCounterRepository);
     }
 
     @Test
@@ -121,7 +129,7 @@ class PlayerRankingServiceEmptyDatabaseTest {
 
     @Test
     void testGetPlayerRanking_WhenCalled_ReturnsEmptyOptional() {
-        // This method doesn't query database yet, but test it returns empty
+        // Unknown players are not on the (empty) leaderboard
         assertDoesNotThrow(() -> {
             var result = playerRankingService.getPlayerRanking("some-player-id");
             assertNotNull(result);
@@ -133,8 +141,6 @@ class PlayerRankingServiceEmptyDatabaseTest {
     void testGetAllPlayerRankingsWithStats_WhenDatabaseIsEmpty_ReturnsEmptyResponse() {
         // Mock empty repository results
         when(playerStatsRepository.findLatestStatsForAllPlayers()).thenReturn(Collections.emptyList());
-        when(playerStatsRepository.countTotalDistinctGames()).thenReturn(0L);
-        when(gameRepository.calculateTotalRounds()).thenReturn(0L);
         
         // Should return empty response without throwing exception
         assertDoesNotThrow(() -> {
@@ -152,8 +158,6 @@ class PlayerRankingServiceEmptyDatabaseTest {
     void testGetTopPlayerRankingsWithStats_WhenDatabaseIsEmpty_ReturnsEmptyResponse() {
         // Mock empty repository results
         when(playerStatsRepository.findLatestStatsForAllPlayers()).thenReturn(Collections.emptyList());
-        when(playerStatsRepository.countTotalDistinctGames()).thenReturn(0L);
-        when(gameRepository.calculateTotalRounds()).thenReturn(0L);
         
         // Should return empty response without throwing exception
         assertDoesNotThrow(() -> {
@@ -203,18 +207,21 @@ class PlayerRankingServiceEmptyDatabaseTest {
     }
     
     @Test
-    void testGetAllPlayerRankingsWithStats_UsesGameRepositoryForTotalRounds() {
+    void testGetAllPlayerRankingsWithStats_ReadsTotalsFromGlobalCounter() {
         // Mock empty player stats but non-zero games/rounds
         when(playerStatsRepository.findLatestStatsForAllPlayers()).thenReturn(Collections.emptyList());
-        when(playerStatsRepository.countTotalDistinctGames()).thenReturn(5L);
-        when(gameRepository.calculateTotalRounds()).thenReturn(150L);
+        GlobalCounterEntity.Key key = new GlobalCounterEntity.Key(GlobalCounterEntity.SCOPE_ALL, GlobalCounterEntity.ALL);
+        GlobalCounterEntity counter = new GlobalCounterEntity(key.getScope(), key.getScopeKey());
+        counter.setGames(5L);
+        counter.setRounds(150L);
+        when(globalCounterRepository.findById(key)).thenReturn(Optional.of(counter));
         
-        // Should use GameRepository for total rounds calculation
+        // Should read the pre-aggregated counter row instead of aggregating games
         LeaderboardResponseDTO result = playerRankingService.getAllPlayerRankingsWithStats();
         
         assertNotNull(result);
         assertEquals(5, result.getTotalGames());
-        assertEquals(150, result.getTotalRounds()); // Should come from GameRepository, not player stats
-        verify(gameRepository).calculateTotalRounds();
+        assertEquals(150, result.getTotalRounds()); // Should come from the counter, not player stats
+        verifyNoInteractions(gameRepository);
     }
 }
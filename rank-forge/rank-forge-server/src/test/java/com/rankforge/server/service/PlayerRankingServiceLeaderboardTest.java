@@ -0,0 +1,148 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+package com.rankforge.server.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rankforge.core.interfaces.RankingAlgorithm;
+import com.rankforge.pipeline.persistence.entity.PlayerStatsEntity;
+import com.rankforge.pipeline.persistence.repository.GameEventRepository;
+import com.rankforge.pipeline.persistence.repository.GameRepository;
+import com.rankforge.pipeline.persistence.repository.GlobalCounterRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerStatsRepository;
+import com.rankforge.server.dto.LeaderboardResponseDTO;
+import com.rankforge.server.dto.PlayerRankingDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests that the all-time leaderboard is served from the in-memory leaderboard index,
+ * which counts games played with one grouped query when it loads
+ * 
+ * @author bageshwar.pn
+ * @date 2026
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PlayerRankingService All-Time Leaderboard Tests")
+class PlayerRankingServiceLeaderboardTest {
+
+    @Mock
+    private PlayerStatsRepository playerStatsRepository;
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private GameEventRepository gameEventRepository;
+
+    @Mock
+    private GlobalCounterRepository globalCounterRepository;
+
+    @Mock
+    private RankingAlgorithm rankingAlgorithm;
+
+    private PlayerRankingService playerRankingService;
+
+    @BeforeEach
+    void setUp() {
+        playerRankingService = new PlayerRankingService(playerStatsRepository, gameRepository, 
+                gameEventRepository, new ObjectMapper(), rankingAlgorithm, new LeaderboardIndex(playerStatsRepository, event -> { }),
+                new PlayerSearchIndex(playerStatsRepository), globalCounterRepository);
+        when(playerStatsRepository.findLatestStatsForAllPlayers()).thenReturn(List.of(
+                stats("[U:1:1]", 1200), stats("[U:1:2]", 1500), stats("[U:1:3]", 900)));
+        when(playerStatsRepository.countDistinctGamesPerPlayer()).thenReturn(List.of(
+                new Object[]{"[U:1:1]", 4L}, new Object[]{"[U:1:2]", 7L}));
+    }
+
+    @Test
+    @DisplayName("Should count games for all players with one grouped query")
+    void shouldCountGamesForAllPlayersInOneQuery() {
+        List<PlayerRankingDTO> rankings = playerRankingService.getAllPlayerRankings();
+
+        assertEquals(List.of("[U:1:2]", "[U:1:1]", "[U:1:3]"), playerIds(rankings));
+        assertEquals(List.of(7, 4, 0), rankings.stream().map(PlayerRankingDTO::getGamesPlayed).collect(Collectors.toList()));
+        assertEquals(List.of(1, 2, 3), rankings.stream().map(PlayerRankingDTO::getPosition).collect(Collectors.toList()));
+        verify(playerStatsRepository, never()).countDistinctGamesByPlayerId(anyString());
+    }
+
+    @Test
+    @DisplayName("Should read stats once across leaderboard requests")
+    void shouldServeRepeatedRequestsFromIndex() {
+        LeaderboardResponseDTO response = playerRankingService.getTopPlayerRankingsWithStats(2);
+        playerRankingService.getTopPlayerRankings(1);
+        playerRankingService.getAllPlayerRankings();
+
+        assertEquals(List.of("[U:1:2]", "[U:1:1]"), playerIds(response.getRankings()));
+        assertEquals(7, response.getRankings().get(0).getGamesPlayed());
+        assertEquals(3, response.getTotalPlayers());
+        verify(playerStatsRepository, times(1)).findLatestStatsForAllPlayers();
+        verify(playerStatsRepository, times(1)).countDistinctGamesPerPlayer();
+        verify(playerStatsRepository, never()).countDistinctGamesByPlayerIds(any());
+    }
+
+    @Test
+    @DisplayName("Should return a player's position and stats")
+    void shouldReturnPlayerRanking() {
+        PlayerRankingDTO ranking = playerRankingService.getPlayerRanking("[U:1:1]").orElseThrow();
+
+        assertEquals(2, ranking.getPosition());
+        assertEquals(1200, ranking.getRank());
+        assertEquals(4, ranking.getGamesPlayed());
+        assertTrue(playerRankingService.getPlayerRanking("[U:1:9]").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should page the leaderboard with absolute positions")
+    void shouldPageLeaderboard() {
+        List<PlayerRankingDTO> page = playerRankingService.getLeaderboardPage(1, 5);
+
+        assertEquals(List.of("[U:1:1]", "[U:1:3]"), playerIds(page));
+        assertEquals(2, page.get(0).getPosition());
+        assertTrue(playerRankingService.getLeaderboardPage(3, 5).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return the players around a player")
+    void shouldReturnPlayersAround() {
+        assertEquals(List.of("[U:1:2]", "[U:1:1]", "[U:1:3]"), playerIds(playerRankingService.getPlayersAround("[U:1:1]", 1)));
+        assertEquals(List.of("[U:1:2]", "[U:1:1]"), playerIds(playerRankingService.getPlayersAround("[U:1:2]", 1)));
+        assertTrue(playerRankingService.getPlayersAround("[U:1:9]", 1).isEmpty());
+    }
+
+    private static List<String> playerIds(List<PlayerRankingDTO> rankings) {
+        return rankings.stream().map(PlayerRankingDTO::getPlayerId).collect(Collectors.toList());
+    }
+
+    private static PlayerStatsEntity stats(String playerId, int rank) {
+        PlayerStatsEntity entity = new PlayerStatsEntity();
+        entity.setPlayerId(playerId);
+        entity.setRank(rank);
+        entity.setLastSeenNickname("nick" + playerId);
+        return entity;
+    }
+}
@@ -25,6 +25,7 @@ import com.rankforge.pipeline.persistence.entity.PlayerStatsEntity;
 import com.rankforge.pipeline.persistence.entity.RoundEndEventEntity;
 import com.rankforge.pipeline.persistence.repository.GameEventRepository;
 import com.rankforge.pipeline.persistence.repository.GameRepository;
+import com.rankforge.pipeline.persistence.repository.GlobalCounterRepository;
 import com.rankforge.pipeline.persistence.repository.PlayerStatsRepository;
 import com.rankforge.server.dto.LeaderboardResponseDTO;
 import com.rankforge.server.dto.PlayerRankingDTO;
@@ -65,6 +66,9 @@ class PlayerRankingServiceMonthlyRoundsTest {
     @Mock
     private GameEventRepository gameEventRepository;
     
+    @Mock
+    private GlobalCounterRepository globalCounterRepository;
+    
     private ObjectMapper objectMapper;
     
     @Mock
@@ -83,7 +87,10 @@ class PlayerRankingServiceMonthlyRoundsTest {
                 gameRepository, 
                 gameEventRepository, 
                 objectMapper,
-                rankingAlgorithm
+                rankingAlgorithm,
+                new LeaderboardIndex(playerStatsRepository, event -> { }),
+                new PlayerSearchIndex(playerStatsRepository),
+                globalCounterRepository
         );
         
         // November 2025 boundaries
@@ -142,10 +149,6 @@ class PlayerRankingServiceMonthlyRoundsTest {
         // Mock batch query method used by the service (returns List<Object[]> where Object[] = [playerId, gameCount])
         when(playerStatsRepository.countDistinctGamesByPlayerIdsInMonth(anyList(), any(Instant.class), any(Instant.class)))
                 .thenReturn(Collections.singletonList(new Object[]{playerId, 1L}));
-        when(playerStatsRepository.countTotalDistinctGamesInMonth(any(Instant.class), any(Instant.class)))
-                .thenReturn(1L);
-        when(gameRepository.calculateTotalRoundsInMonth(any(Instant.class), any(Instant.class)))
-                .thenReturn(30L);
         
         // When: Get monthly leaderboard
         LeaderboardResponseDTO result = playerRankingService.getMonthlyPlayerRankingsWithStats(2025, 11, 100, 0);
@@ -203,10 +206,6 @@ class PlayerRankingServiceMonthlyRoundsTest {
         // Mock batch query method used by the service
         when(playerStatsRepository.countDistinctGamesByPlayerIdsInMonth(anyList(), any(Instant.class), any(Instant.class)))
                 .thenReturn(Collections.singletonList(new Object[]{fullFormatPlayerId, 1L}));
-        when(playerStatsRepository.countTotalDistinctGamesInMonth(any(Instant.class), any(Instant.class)))
-                .thenReturn(1L);
-        when(gameRepository.calculateTotalRoundsInMonth(any(Instant.class), any(Instant.class)))
-                .thenReturn(1L);
         
         // When: Get monthly leaderboard
         LeaderboardResponseDTO result = playerRankingService.getMonthlyPlayerRankingsWithStats(2025, 11, 100, 0);
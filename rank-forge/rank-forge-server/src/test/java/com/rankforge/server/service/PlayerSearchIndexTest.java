@@ -0,0 +1,254 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.service;
+
+import com.rankforge.pipeline.persistence.entity.PlayerStatsEntity;
+import com.rankforge.pipeline.persistence.repository.PlayerStatsRepository;
+import com.rankforge.server.event.GamesDeletedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the in-memory player search index
+ * 
+ * @author bageshwar.pn
+ * @date 2026
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PlayerSearchIndex Tests")
+class PlayerSearchIndexTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-10T10:00:00Z");
+
+    @Mock
+    private PlayerStatsRepository playerStatsRepository;
+
+    private PlayerSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PlayerSearchIndex(playerStatsRepository);
+        lenient().when(playerStatsRepository.findNicknameUsage()).thenReturn(rows(
+                usage("[U:1:1]", "Shadow", T0),
+                usage("[U:1:1]", "NightOwl", T0.plusSeconds(3600)),
+                usage("[U:1:2]", "ShadowFax", T0),
+                usage("[U:1:3]", "the_shadow_king", T0),
+                usage("[U:1:4]", "Sniper", T0)));
+    }
+
+    @Nested
+    @DisplayName("Search")
+    class SearchTests {
+
+        @Test
+        @DisplayName("Should rank exact, then prefix, then substring matches, one result per player")
+        void shouldRankByMatchQuality() {
+            List<PlayerSearchIndex.Match> matches = index.search("SHADOW", 10);
+
+            assertEquals(List.of("[U:1:1]", "[U:1:2]", "[U:1:3]"), ids(matches));
+            assertEquals("NightOwl", matches.get(0).getCurrentName());
+            assertEquals("Shadow", matches.get(0).getMatchedName());
+            assertTrue(matches.get(0).isPastName());
+            assertFalse(matches.get(1).isPastName());
+        }
+
+        @Test
+        @DisplayName("Should match short queries by prefix only")
+        void shouldMatchShortQueriesByPrefix() {
+            // Current names first, then shorter names
+            assertEquals(List.of("[U:1:4]", "[U:1:2]", "[U:1:1]"), ids(index.search("s", 10)));
+            assertTrue(index.search("ha", 10).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should honour the limit and ignore blank queries")
+        void shouldHonourLimit() {
+            assertEquals(1, index.search("shadow", 1).size());
+            assertTrue(index.search("   ", 10).isEmpty());
+            assertTrue(index.search("zzz", 10).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should agree with a linear scan for substring queries")
+        void shouldAgreeWithLinearScan() {
+            List<Object[]> usage = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                usage.add(usage("[U:1:" + i + "]", "player" + Integer.toString(i * 7919, 36), T0));
+            }
+            when(playerStatsRepository.findNicknameUsage()).thenReturn(usage);
+            index.reload();
+
+            for (String query : List.of("er1", "yer", "abc", "r2", "player1")) {
+                Set<String> expected = usage.stream()
+                        .filter(row -> ((String) row[1]).contains(query) && (query.length() >= 3 || ((String) row[1]).startsWith(query)))
+                        .map(row -> (String) row[0])
+                        .collect(Collectors.toSet());
+                assertEquals(expected, Set.copyOf(ids(index.search(query, 1000))), query);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Name Resolution")
+    class ResolutionTests {
+
+        @Test
+        @DisplayName("Should resolve a name to the player who used it most recently")
+        void shouldResolveToMostRecentUser() {
+            when(playerStatsRepository.findNicknameUsage()).thenReturn(rows(
+                    usage("[U:1:1]", "Ace", T0),
+                    usage("[U:1:2]", "ace", T0.plusSeconds(60))));
+
+            assertEquals(Optional.of("[U:1:2]"), index.resolvePlayerId(" ACE "));
+            assertEquals(Optional.empty(), index.resolvePlayerId("Nobody"));
+            assertEquals(Optional.empty(), index.resolvePlayerId(null));
+        }
+
+        @Test
+        @DisplayName("Should map a player ID to the name they played under most recently")
+        void shouldMapIdToCurrentName() {
+            assertEquals(Optional.of("NightOwl"), index.currentName("[U:1:1]"));
+            assertEquals(Optional.of("ShadowFax"), index.currentName("[U:1:2]"));
+            assertEquals(Optional.empty(), index.currentName("[U:1:99]"));
+            assertEquals(Optional.empty(), index.currentName(null));
+        }
+
+        @Test
+        @DisplayName("Should accept bare account numbers as player IDs")
+        void shouldAcceptAccountNumbers() {
+            assertEquals(Optional.of("Sniper"), index.currentName("4"));
+            assertEquals(Optional.empty(), index.currentName("BOT"));
+            verify(playerStatsRepository, times(1)).findNicknameUsage();
+        }
+
+        @Test
+        @DisplayName("Should list every name of a player, current name last")
+        void shouldListPlayerNames() {
+            assertEquals(List.of("Shadow", "NightOwl"), index.names("[U:1:1]"));
+            assertEquals(List.of("Sniper"), index.names("4"));
+            assertTrue(index.names("[U:1:99]").isEmpty());
+            assertTrue(index.names(null).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Updates")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Should index names of committed matches without reloading")
+        void shouldIndexCommittedNames() {
+            index.reload();
+
+            index.onPlayerStatsCommitted(List.of(stats("[U:1:4]", "Shadowbane", T0.plusSeconds(7200))));
+
+            PlayerSearchIndex.Match sniper = index.search("shadowbane", 10).get(0);
+            assertEquals("[U:1:4]", sniper.getPlayerId());
+            assertEquals("Shadowbane", sniper.getCurrentName());
+            assertFalse(sniper.isPastName());
+            assertEquals("Sniper", index.search("sniper", 10).get(0).getMatchedName());
+            assertEquals(Optional.of("Shadowbane"), index.currentName("[U:1:4]"));
+            assertEquals(List.of("Sniper", "Shadowbane"), index.names("[U:1:4]"));
+            verify(playerStatsRepository, times(1)).findNicknameUsage();
+        }
+
+        @Test
+        @DisplayName("Should switch the current name when an older alias is used again")
+        void shouldRefreshExistingNames() {
+            index.reload();
+
+            index.onPlayerStatsCommitted(List.of(
+                    stats("[U:1:1]", "Shadow", T0.plusSeconds(7200)),
+                    stats("[U:1:4]", "SNIPER", T0.plusSeconds(7200))));
+
+            PlayerSearchIndex.Match shadow = index.search("shadow", 10).get(0);
+            assertEquals("[U:1:1]", shadow.getPlayerId());
+            assertFalse(shadow.isPastName());
+            assertTrue(index.search("nightowl", 10).get(0).isPastName());
+            assertEquals(Optional.of("Shadow"), index.currentName("[U:1:1]"));
+            assertEquals("SNIPER", index.search("nipe", 10).get(0).getMatchedName());
+            assertEquals(Optional.of("[U:1:4]"), index.resolvePlayerId("sniper"));
+            assertEquals(List.of("NightOwl", "Shadow"), index.names("[U:1:1]"));
+        }
+
+        @Test
+        @DisplayName("Should keep the snapshot when a match only repeats known uses")
+        void shouldIgnoreStaleUses() {
+            index.reload();
+            PlayerSearchIndex.Snapshot before = index.snapshot();
+
+            index.onPlayerStatsCommitted(List.of(stats("[U:1:2]", "shadowfax", T0)));
+
+            assertSame(before, index.snapshot());
+            assertEquals("ShadowFax", index.search("shadowfax", 10).get(0).getMatchedName());
+        }
+
+        @Test
+        @DisplayName("Should drop names only used in deleted games")
+        void shouldReloadPlayersOfDeletedGames() {
+            index.reload();
+            when(playerStatsRepository.findNicknameUsageByPlayerIds(any())).thenReturn(rows(
+                    usage("[U:1:1]", "Shadow", T0)));
+
+            index.onGamesDeleted(new GamesDeletedEvent(List.of(9L), List.of(
+                    new GamesDeletedEvent.StatsDelta("[U:1:1]", T0.plusSeconds(3600), 1, 1, 1, 0, 10, 0, 0, 0, 0, 0.0),
+                    new GamesDeletedEvent.StatsDelta("[U:1:4]", T0, 1, 1, 1, 0, 10, 0, 0, 0, 0, 0.0))));
+
+            assertTrue(index.search("nightowl", 10).isEmpty());
+            assertTrue(index.search("sniper", 10).isEmpty());
+            assertEquals("Shadow", index.search("shadow", 10).get(0).getCurrentName());
+        }
+    }
+
+    private static List<String> ids(List<PlayerSearchIndex.Match> matches) {
+        return matches.stream().map(PlayerSearchIndex.Match::getPlayerId).collect(Collectors.toList());
+    }
+
+    private static Object[] usage(String playerId, String nickname, Instant lastUsed) {
+        return new Object[]{playerId, nickname, lastUsed};
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+
+    private static PlayerStatsEntity stats(String playerId, String nickname, Instant gameTimestamp) {
+        PlayerStatsEntity stats = new PlayerStatsEntity();
+        stats.setPlayerId(playerId);
+        stats.setLastSeenNickname(nickname);
+        stats.setGameTimestamp(gameTimestamp);
+        return stats;
+    }
+}
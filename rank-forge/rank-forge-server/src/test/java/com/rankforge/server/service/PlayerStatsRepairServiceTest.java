@@ -0,0 +1,136 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.service;
+
+import com.rankforge.core.interfaces.RankingAlgorithm;
+import com.rankforge.pipeline.persistence.entity.PlayerStatsEntity;
+import com.rankforge.pipeline.persistence.repository.PlayerRatingSeriesRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerStatsRepository;
+import com.rankforge.server.event.GamesDeletedEvent;
+import com.rankforge.server.event.LeaderboardChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for PlayerStatsRepairService rebasing of later cumulative snapshots after game deletion.
+ * Author bageshwar.pn
+ * Date 2026
+ */
+@ExtendWith(MockitoExtension.class)
+class PlayerStatsRepairServiceTest {
+
+    @Mock
+    private PlayerStatsRepository playerStatsRepository;
+
+    @Mock
+    private RankingAlgorithm rankingAlgorithm;
+
+    @Mock
+    private LeaderboardIndex leaderboardIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlayerRatingSeriesRepository playerRatingSeriesRepository;
+
+    @InjectMocks
+    private PlayerStatsRepairService repairService;
+
+    @Test
+    void shouldRebaseLaterSnapshotsAndRerankLatest() {
+        Instant gameTimestamp = Instant.parse("2026-01-10T10:00:00Z");
+        String playerId = "[U:1:1000000]";
+        GamesDeletedEvent.StatsDelta delta = new GamesDeletedEvent.StatsDelta(
+                playerId, gameTimestamp, 6, 3, 2, 1, 16, 0, 0, 0, 0, 1000.0);
+
+        when(playerStatsRepository.rebaseSnapshotsAfter(playerId, gameTimestamp, 6, 3, 2, 1, 16, 0, 0, 0, 0, 1000.0))
+                .thenReturn(3);
+        PlayerStatsEntity latest = new PlayerStatsEntity();
+        latest.setPlayerId(playerId);
+        latest.setKills(20);
+        when(playerStatsRepository.findLatestStatsForPlayers(Set.of(playerId))).thenReturn(List.of(latest));
+        when(rankingAlgorithm.calculateRank(any())).thenReturn(1234);
+
+        int rebased = repairService.rebaseSnapshots(List.of(delta));
+
+        assertEquals(3, rebased);
+        assertEquals(1234, latest.getRank());
+        verify(playerStatsRepository).saveAll(List.of(latest));
+    }
+
+    @Test
+    void shouldSkipRerankWhenNoLaterSnapshotsExist() {
+        GamesDeletedEvent.StatsDelta delta = new GamesDeletedEvent.StatsDelta(
+                "[U:1:1000000]", Instant.parse("2026-01-10T10:00:00Z"), 6, 3, 2, 1, 16, 0, 0, 0, 0, 1000.0);
+        when(playerStatsRepository.rebaseSnapshotsAfter(anyString(), any(), anyInt(), anyInt(), anyInt(),
+                anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyDouble())).thenReturn(0);
+
+        assertEquals(0, repairService.rebaseSnapshots(List.of(delta)));
+        verify(playerStatsRepository, never()).findLatestStatsForPlayers(any());
+        verify(playerStatsRepository, never()).saveAll(any());
+        // The deleted game is still in the player's rating series
+        verify(playerRatingSeriesRepository).deleteByPlayerIds(Set.of("[U:1:1000000]"));
+    }
+
+    @Test
+    void shouldReloadEveryDeletedGamePlayerInLeaderboard() {
+        Instant gameTimestamp = Instant.parse("2026-01-10T10:00:00Z");
+        GamesDeletedEvent event = new GamesDeletedEvent(List.of(42L), List.of(
+                new GamesDeletedEvent.StatsDelta("[U:1:1000000]", gameTimestamp, 6, 3, 2, 1, 16, 0, 0, 0, 0, 1000.0),
+                new GamesDeletedEvent.StatsDelta("[U:1:2000000]", gameTimestamp, 1, 5, 0, 0, 16, 0, 0, 0, 0, 300.0)));
+        when(playerStatsRepository.rebaseSnapshotsAfter(anyString(), any(), anyInt(), anyInt(), anyInt(),
+                anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyInt(), anyDouble())).thenReturn(0);
+
+        repairService.onGamesDeleted(event);
+
+        // Players without later snapshots are reloaded too - their latest snapshot was deleted
+        verify(leaderboardIndex).reloadPlayers(Set.of("[U:1:1000000]", "[U:1:2000000]"));
+        ArgumentCaptor<LeaderboardChangedEvent> changed = ArgumentCaptor.forClass(LeaderboardChangedEvent.class);
+        verify(eventPublisher).publishEvent(changed.capture());
+        assertEquals(Set.of(YearMonth.of(2026, 1)), changed.getValue().getMonths());
+    }
+
+    @Test
+    void shouldEvictAllMonthsWhenDeletedGamesHadNoStats() {
+        repairService.onGamesDeleted(new GamesDeletedEvent(List.of(42L), List.of()));
+
+        ArgumentCaptor<LeaderboardChangedEvent> changed = ArgumentCaptor.forClass(LeaderboardChangedEvent.class);
+        verify(eventPublisher).publishEvent(changed.capture());
+        assertTrue(changed.getValue().isAllMonths());
+        verifyNoInteractions(leaderboardIndex);
+    }
+}
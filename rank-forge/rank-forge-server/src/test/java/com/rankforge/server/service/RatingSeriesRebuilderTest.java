@@ -0,0 +1,135 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.service;
+
+import com.rankforge.pipeline.persistence.entity.PlayerRatingSeriesEntity;
+import com.rankforge.pipeline.persistence.entity.PlayerStatsEntity;
+import com.rankforge.pipeline.persistence.repository.PlayerRatingSeriesRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerStatsRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for storing rebuilt rating series off the request path
+ * 
+ * @author bageshwar.pn
+ * @date 2026
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RatingSeriesRebuilder Tests")
+class RatingSeriesRebuilderTest {
+
+    private static final String PLAYER_ID = "[U:1:1000000]";
+
+    @Mock
+    private PlayerStatsRepository playerStatsRepository;
+
+    @Mock
+    private PlayerRatingSeriesRepository playerRatingSeriesRepository;
+
+    @InjectMocks
+    private RatingSeriesRebuilder rebuilder;
+
+    @Test
+    @DisplayName("Should store a series built from the full snapshot history")
+    void shouldStoreRebuiltSeries() {
+        when(playerStatsRepository.findHistoryByPlayerId(PLAYER_ID)).thenReturn(createHistory(3));
+
+        assertTrue(rebuilder.rebuild(PLAYER_ID));
+
+        ArgumentCaptor<PlayerRatingSeriesEntity> captor = ArgumentCaptor.forClass(PlayerRatingSeriesEntity.class);
+        verify(playerRatingSeriesRepository).save(captor.capture());
+        assertEquals(PLAYER_ID, captor.getValue().getPlayerId());
+        assertEquals(3, captor.getValue().getPointCount());
+    }
+
+    @Test
+    @DisplayName("Should not store anything for a player without snapshots")
+    void shouldSkipPlayerWithoutSnapshots() {
+        when(playerStatsRepository.findHistoryByPlayerId(PLAYER_ID)).thenReturn(List.of());
+
+        assertFalse(rebuilder.rebuild(PLAYER_ID));
+        verify(playerRatingSeriesRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should not start a second rebuild of a player while one is running")
+    void shouldCoalesceConcurrentRebuilds() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(playerStatsRepository.findHistoryByPlayerId(PLAYER_ID)).thenAnswer(invocation -> {
+            reading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return createHistory(2);
+        });
+
+        Thread first = new Thread(() -> rebuilder.rebuild(PLAYER_ID));
+        first.start();
+        assertTrue(reading.await(5, TimeUnit.SECONDS));
+
+        assertFalse(rebuilder.rebuild(PLAYER_ID));
+        release.countDown();
+        first.join(5000);
+
+        verify(playerStatsRepository, times(1)).findHistoryByPlayerId(PLAYER_ID);
+        verify(playerRatingSeriesRepository, times(1)).save(any());
+    }
+
+    @Test
+    @DisplayName("Should swallow a failed save so the next read retries")
+    void shouldSurviveFailedSave() {
+        when(playerStatsRepository.findHistoryByPlayerId(PLAYER_ID)).thenReturn(createHistory(1));
+        when(playerRatingSeriesRepository.save(any())).thenThrow(new IllegalStateException("duplicate key"));
+
+        assertFalse(rebuilder.rebuild(PLAYER_ID));
+        // Not left marked as in flight
+        assertFalse(rebuilder.rebuild(PLAYER_ID));
+        verify(playerStatsRepository, times(2)).findHistoryByPlayerId(PLAYER_ID);
+    }
+
+    private static List<PlayerStatsEntity> createHistory(int games) {
+        List<PlayerStatsEntity> history = new ArrayList<>();
+        for (int i = 0; i < games; i++) {
+            PlayerStatsEntity stats = new PlayerStatsEntity();
+            stats.setPlayerId(PLAYER_ID);
+            stats.setKills(10 * (i + 1));
+            stats.setDeaths(5 * (i + 1));
+            stats.setAssists(i);
+            stats.setRank(1000 + i);
+            stats.setGameTimestamp(Instant.parse("2026-01-05T20:00:00Z").plusSeconds(3600L * i));
+            history.add(stats);
+        }
+        return history;
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.service;
+
+import com.rankforge.pipeline.persistence.RivalryCounters;
+import com.rankforge.pipeline.persistence.entity.KillMatrixEntity;
+import com.rankforge.pipeline.persistence.entity.PlayerRivalEntity;
+import com.rankforge.pipeline.persistence.repository.GameEventRepository;
+import com.rankforge.pipeline.persistence.repository.KillMatrixRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerRivalRepository;
+import com.rankforge.server.dto.PlayerRivalsDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for head-to-head rivalry reads and their repair after game deletion
+ * 
+ * @author bageshwar.pn
+ * @date 2026
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RivalryService Tests")
+class RivalryServiceTest {
+
+    private static final String ALICE = "[U:1:1]";
+    private static final String BOB = "[U:1:2]";
+    private static final String CAROL = "[U:1:3]";
+    private static final String ALL = KillMatrixEntity.ALL_TIME;
+
+    @Mock
+    private KillMatrixRepository killMatrixRepository;
+
+    @Mock
+    private PlayerRivalRepository playerRivalRepository;
+
+    @Mock
+    private GameEventRepository gameEventRepository;
+
+    @Mock
+    private PlayerSearchIndex playerSearchIndex;
+
+    @InjectMocks
+    private RivalryService rivalryService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(playerSearchIndex.currentName(anyString())).thenReturn(Optional.empty());
+        lenient().when(playerSearchIndex.currentName(BOB)).thenReturn(Optional.of("Bob"));
+    }
+
+    @Nested
+    @DisplayName("Rivals")
+    class RivalsTests {
+
+        @Test
+        @DisplayName("Should read both heaps and fill in the reverse side of each record")
+        void shouldReadHeapsWithReverseCounts() {
+            when(playerRivalRepository.findHeap(ALICE, ALL, PlayerRivalEntity.Direction.VICTIM))
+                    .thenReturn(List.of(rival(ALICE, PlayerRivalEntity.Direction.VICTIM, BOB, 9),
+                            rival(ALICE, PlayerRivalEntity.Direction.VICTIM, CAROL, 4)));
+            when(playerRivalRepository.findHeap(ALICE, ALL, PlayerRivalEntity.Direction.NEMESIS))
+                    .thenReturn(List.of(rival(ALICE, PlayerRivalEntity.Direction.NEMESIS, BOB, 6)));
+            when(killMatrixRepository.findAllById(any())).thenReturn(List.of(
+                    cell(BOB, ALICE, 6), cell(ALICE, BOB, 9)));
+
+            PlayerRivalsDTO rivals = rivalryService.getRivals(ALICE, ALL, 5);
+
+            assertEquals(2, rivals.getVictims().size());
+            PlayerRivalsDTO.RivalDTO bob = rivals.getVictims().get(0);
+            assertEquals("Bob", bob.getPlayerName());
+            assertEquals(9, bob.getKills());
+            assertEquals(6, bob.getDeaths());
+            PlayerRivalsDTO.RivalDTO carol = rivals.getVictims().get(1);
+            assertEquals(CAROL, carol.getPlayerName(), "Unknown names fall back to the ID");
+            assertEquals(0, carol.getDeaths());
+            assertEquals(9, rivals.getNemeses().get(0).getKills());
+            assertEquals(6, rivals.getNemeses().get(0).getDeaths());
+        }
+
+        @Test
+        @DisplayName("Should cut heaps to the limit and skip the matrix when there are no rivals")
+        void shouldHonourLimit() {
+            when(playerRivalRepository.findHeap(ALICE, "2026-02", PlayerRivalEntity.Direction.VICTIM))
+                    .thenReturn(List.of(rival(ALICE, PlayerRivalEntity.Direction.VICTIM, BOB, 3),
+                            rival(ALICE, PlayerRivalEntity.Direction.VICTIM, CAROL, 2)));
+            when(playerRivalRepository.findHeap(ALICE, "2026-02", PlayerRivalEntity.Direction.NEMESIS))
+                    .thenReturn(List.of());
+
+            assertEquals(1, rivalryService.getRivals(ALICE, "2026-02", 1).getVictims().size());
+
+            when(playerRivalRepository.findHeap(CAROL, ALL, PlayerRivalEntity.Direction.VICTIM)).thenReturn(List.of());
+            when(playerRivalRepository.findHeap(CAROL, ALL, PlayerRivalEntity.Direction.NEMESIS)).thenReturn(List.of());
+            PlayerRivalsDTO none = rivalryService.getRivals(CAROL, ALL, 5);
+            assertTrue(none.getVictims().isEmpty());
+            verify(killMatrixRepository, times(1)).findAllById(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Game Deletion")
+    class DeletionTests {
+
+        @Test
+        @DisplayName("Should subtract kills from all-time and monthly cells and rebuild the affected heaps")
+        @SuppressWarnings("unchecked")
+        void shouldSubtractAndRebuild() {
+            when(gameEventRepository.countKillPairsByGameIds(List.of(7L))).thenReturn(List.of(
+                    new Object[]{ALICE, BOB, Instant.parse("2026-02-14T21:00:00Z"), 3L},
+                    new Object[]{ALICE, "BOT", Instant.parse("2026-02-14T21:00:00Z"), 5L}));
+            when(killMatrixRepository.findTopVictims(ALICE, ALL, PageRequest.of(0, RivalryCounters.TOP_K)))
+                    .thenReturn(List.of(cell(ALICE, CAROL, 4)));
+
+            rivalryService.subtractGames(List.of(7L));
+
+            verify(killMatrixRepository).decrement(ALICE, BOB, ALL, 3);
+            verify(killMatrixRepository).decrement(ALICE, BOB, "2026-02", 3);
+            verify(killMatrixRepository, times(2)).decrement(anyString(), anyString(), anyString(), anyInt());
+            verify(killMatrixRepository).deleteEmpty();
+            verify(playerRivalRepository).deleteHeap(ALICE, ALL, PlayerRivalEntity.Direction.VICTIM);
+            verify(playerRivalRepository).deleteHeap(BOB, "2026-02", PlayerRivalEntity.Direction.NEMESIS);
+            verify(playerRivalRepository, times(4)).deleteHeap(anyString(), anyString(), any());
+
+            ArgumentCaptor<List<PlayerRivalEntity>> captor = ArgumentCaptor.forClass(List.class);
+            verify(playerRivalRepository, times(4)).saveAll(captor.capture());
+            PlayerRivalEntity rebuilt = captor.getAllValues().get(0).get(0);
+            assertEquals(CAROL, rebuilt.getRivalId());
+            assertEquals(4, rebuilt.getKills());
+        }
+
+        @Test
+        @DisplayName("Should do nothing for games without player kills")
+        void shouldIgnoreGamesWithoutKills() {
+            when(gameEventRepository.countKillPairsByGameIds(List.of(7L))).thenReturn(List.of());
+
+            rivalryService.subtractGames(List.of(7L));
+
+            verifyNoInteractions(killMatrixRepository, playerRivalRepository);
+        }
+    }
+
+    private static PlayerRivalEntity rival(String playerId, PlayerRivalEntity.Direction direction, String rivalId, int kills) {
+        return new PlayerRivalEntity(playerId, ALL, direction, rivalId, kills);
+    }
+
+    private static KillMatrixEntity cell(String killerId, String victimId, int kills) {
+        KillMatrixEntity cell = new KillMatrixEntity(killerId, victimId, ALL);
+        cell.setKills(kills);
+        return cell;
+    }
+}
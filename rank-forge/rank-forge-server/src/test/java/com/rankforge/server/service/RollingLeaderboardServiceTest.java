@@ -0,0 +1,187 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.service;
+
+import com.rankforge.pipeline.EloBasedRankingAlgorithm;
+import com.rankforge.pipeline.persistence.GlobalCounters;
+import com.rankforge.pipeline.persistence.entity.GlobalCounterEntity;
+import com.rankforge.pipeline.persistence.entity.PlayerDailyStatsEntity;
+import com.rankforge.pipeline.persistence.repository.GlobalCounterRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerDailyStatsRepository;
+import com.rankforge.server.config.BoundedTtlCache;
+import com.rankforge.server.config.CacheConfig;
+import com.rankforge.server.dto.LeaderboardResponseDTO;
+import com.rankforge.server.dto.PlayerRankingDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for rolling-window leaderboards served from the daily stats buckets
+ * 
+ * @author bageshwar.pn
+ * @date 2026
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RollingLeaderboardService Tests")
+class RollingLeaderboardServiceTest {
+
+    private static final LocalDate LAST_DAY = LocalDate.of(2026, 3, 30);
+    private static final LocalDate FIRST_DAY = LocalDate.of(2026, 3, 1);
+
+    @Mock
+    private PlayerDailyStatsRepository playerDailyStatsRepository;
+
+    @Mock
+    private GlobalCounterRepository globalCounterRepository;
+
+    @Mock
+    private PlayerSearchIndex playerSearchIndex;
+
+    private RollingLeaderboardService rollingLeaderboardService;
+
+    @BeforeEach
+    void setUp() {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(new BoundedTtlCache(CacheConfig.ROLLING_BUCKETS, 2, null, null, Runnable::run)));
+        cacheManager.afterPropertiesSet();
+        rollingLeaderboardService = new RollingLeaderboardService(playerDailyStatsRepository, globalCounterRepository,
+                new EloBasedRankingAlgorithm(), playerSearchIndex, cacheManager);
+    }
+
+    private void givenBuckets() {
+        // Alice played yesterday and three weeks ago, Bob only three weeks ago
+        when(playerDailyStatsRepository.findByBucketDayBetween(FIRST_DAY, LAST_DAY)).thenReturn(List.of(
+                bucket("[U:1:1]", LocalDate.of(2026, 3, 29), 2, 30, 10, 48),
+                bucket("[U:1:1]", LocalDate.of(2026, 3, 8), 1, 5, 20, 24),
+                bucket("[U:1:2]", LocalDate.of(2026, 3, 8), 1, 25, 5, 24)));
+        when(globalCounterRepository.findByScopeAndScopeKeyBetween(
+                GlobalCounterEntity.SCOPE_DAY, "2026-03-01", "2026-03-30")).thenReturn(List.of(
+                dayCounter(LocalDate.of(2026, 3, 29), 2, 48),
+                dayCounter(LocalDate.of(2026, 3, 8), 1, 24)));
+    }
+
+    @Nested
+    @DisplayName("Windows")
+    class WindowTests {
+
+        @Test
+        @DisplayName("Should only count the buckets inside the window")
+        void shouldSumBucketsInsideWindow() {
+            givenBuckets();
+
+            LeaderboardResponseDTO week = rollingLeaderboardService.getRollingLeaderboard(LAST_DAY, 7, 100, 0);
+
+            assertEquals(1, week.getTotalPlayers());
+            assertEquals(2, week.getTotalGames());
+            assertEquals(48, week.getTotalRounds());
+            PlayerRankingDTO alice = week.getRankings().get(0);
+            assertEquals("[U:1:1]", alice.getPlayerId());
+            assertEquals(30, alice.getKills());
+            assertEquals(10, alice.getDeaths());
+            assertEquals(2, alice.getGamesPlayed());
+            assertEquals(1, alice.getPosition());
+        }
+
+        @Test
+        @DisplayName("Should rank the players of the longest window by their window stats")
+        void shouldRankLongestWindow() {
+            givenBuckets();
+
+            LeaderboardResponseDTO month = rollingLeaderboardService.getRollingLeaderboard(LAST_DAY, 30, 100, 0);
+
+            assertEquals(2, month.getTotalPlayers());
+            assertEquals(3, month.getTotalGames());
+            assertEquals(72, month.getTotalRounds());
+            // Bob: 25/5 beats Alice: 35/30
+            assertEquals("[U:1:2]", month.getRankings().get(0).getPlayerId());
+            assertEquals("[U:1:1]", month.getRankings().get(1).getPlayerId());
+            assertEquals(35, month.getRankings().get(1).getKills());
+            assertEquals(3, month.getRankings().get(1).getGamesPlayed());
+        }
+
+        @Test
+        @DisplayName("Should paginate and keep positions absolute")
+        void shouldPaginate() {
+            givenBuckets();
+
+            LeaderboardResponseDTO page = rollingLeaderboardService.getRollingLeaderboard(LAST_DAY, 30, 1, 1);
+
+            assertEquals(2, page.getTotalPlayers());
+            assertEquals(1, page.getRankings().size());
+            assertEquals("[U:1:1]", page.getRankings().get(0).getPlayerId());
+            assertEquals(2, page.getRankings().get(0).getPosition());
+        }
+
+        @Test
+        @DisplayName("Should reject windows longer than the buckets kept")
+        void shouldRejectWindowTooLong() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> rollingLeaderboardService.getRollingLeaderboard(LAST_DAY, 31, 100, 0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Caching")
+    class CachingTests {
+
+        @Test
+        @DisplayName("Should load the buckets once per last day for every window")
+        void shouldShareBucketsAcrossWindows() {
+            givenBuckets();
+
+            rollingLeaderboardService.getRollingLeaderboard(LAST_DAY, 7, 100, 0);
+            rollingLeaderboardService.getRollingLeaderboard(LAST_DAY, 30, 100, 0);
+            rollingLeaderboardService.getRollingLeaderboard(LAST_DAY, 30, 10, 10);
+
+            verify(playerDailyStatsRepository, times(1)).findByBucketDayBetween(FIRST_DAY, LAST_DAY);
+            verify(globalCounterRepository, times(1)).findByScopeAndScopeKeyBetween(anyString(), anyString(), anyString());
+        }
+    }
+
+    private static PlayerDailyStatsEntity bucket(String playerId, LocalDate day, int games, int kills, int deaths,
+                                                 int roundsPlayed) {
+        PlayerDailyStatsEntity bucket = new PlayerDailyStatsEntity(playerId, day);
+        bucket.setGames(games);
+        bucket.setKills(kills);
+        bucket.setDeaths(deaths);
+        bucket.setRoundsPlayed(roundsPlayed);
+        return bucket;
+    }
+
+    private static GlobalCounterEntity dayCounter(LocalDate day, long games, long rounds) {
+        GlobalCounterEntity.Key key = GlobalCounters.dayKey(day);
+        GlobalCounterEntity counter = new GlobalCounterEntity(key.getScope(), key.getScopeKey());
+        counter.setGames(games);
+        counter.setRounds(rounds);
+        return counter;
+    }
+}
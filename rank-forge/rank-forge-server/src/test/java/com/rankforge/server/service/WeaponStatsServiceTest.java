@@ -0,0 +1,126 @@
+/*
+ *
+ *  *Copyright [2024] [Bageshwar Pratap Narain]
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ */
+
+package com.rankforge.server.service;
+
+import com.rankforge.pipeline.persistence.entity.PlayerWeaponStatsEntity;
+import com.rankforge.pipeline.persistence.repository.GameEventRepository;
+import com.rankforge.pipeline.persistence.repository.PlayerWeaponStatsRepository;
+import com.rankforge.server.dto.PlayerWeaponStatsDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for per-player weapon stats reads and their repair after game deletion
+ * 
+ * @author bageshwar.pn
+ * @date 2026
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WeaponStatsService Tests")
+class WeaponStatsServiceTest {
+
+    private static final String ALICE = "[U:1:1]";
+
+    @Mock
+    private PlayerWeaponStatsRepository playerWeaponStatsRepository;
+
+    @Mock
+    private GameEventRepository gameEventRepository;
+
+    @InjectMocks
+    private WeaponStatsService weaponStatsService;
+
+    @Nested
+    @DisplayName("Weapons")
+    class WeaponsTests {
+
+        @Test
+        @DisplayName("Should map rows in repository order with derived ratios")
+        void shouldMapRows() {
+            when(playerWeaponStatsRepository.findByPlayerId(ALICE)).thenReturn(List.of(
+                    row("ak47", 30, 12, 90, 2700L), row("knife", 1, 0, 0, 0L)));
+
+            List<PlayerWeaponStatsDTO> weapons = weaponStatsService.getPlayerWeapons(ALICE);
+
+            assertEquals(2, weapons.size());
+            PlayerWeaponStatsDTO ak = weapons.get(0);
+            assertEquals("ak47", ak.getWeapon());
+            assertEquals(40.0, ak.getHeadshotPercentage(), 0.001);
+            assertEquals(30.0, ak.getDamagePerHit(), 0.001);
+            assertEquals(0.0, weapons.get(1).getDamagePerHit(), 0.001, "No hits must not divide by zero");
+        }
+    }
+
+    @Nested
+    @DisplayName("Game Deletion")
+    class DeletionTests {
+
+        @Test
+        @DisplayName("Should merge kill and hit totals per weapon and subtract them once")
+        void shouldSubtractMergedTotals() {
+            when(gameEventRepository.countKillsByWeaponForGameIds(List.of(7L))).thenReturn(List.of(
+                    new Object[]{ALICE, "ak47", 3L, 2L},
+                    new Object[]{"BOT", "ak47", 1L, 0L}));
+            when(gameEventRepository.sumHitsByWeaponForGameIds(List.of(7L))).thenReturn(List.of(
+                    new Object[]{ALICE, "ak47", 9L, 310L},
+                    new Object[]{ALICE, "hegrenade", 2L, 85L}));
+
+            weaponStatsService.subtractGames(List.of(7L));
+
+            verify(playerWeaponStatsRepository).decrement(ALICE, "ak47", 3, 2, 9, 310L);
+            verify(playerWeaponStatsRepository).decrement(ALICE, "hegrenade", 0, 0, 2, 85L);
+            verify(playerWeaponStatsRepository, times(2))
+                    .decrement(anyString(), anyString(), anyInt(), anyInt(), anyInt(), anyLong());
+            verify(playerWeaponStatsRepository).deleteEmpty();
+        }
+
+        @Test
+        @DisplayName("Should do nothing when the games have no counted events")
+        void shouldSkipEmptyGames() {
+            when(gameEventRepository.countKillsByWeaponForGameIds(List.of(7L))).thenReturn(List.of());
+            when(gameEventRepository.sumHitsByWeaponForGameIds(List.of(7L))).thenReturn(List.of());
+
+            weaponStatsService.subtractGames(List.of(7L));
+
+            verifyNoInteractions(playerWeaponStatsRepository);
+        }
+    }
+
+    private static PlayerWeaponStatsEntity row(String weapon, int kills, int headshotKills, int hits, long damage) {
+        PlayerWeaponStatsEntity row = new PlayerWeaponStatsEntity(ALICE, weapon);
+        row.setKills(kills);
+        row.setHeadshotKills(headshotKills);
+        row.setHits(hits);
+        row.setDamage(damage);
+        return row;
+    }
+}
@@ -1,28 +1,74 @@
-import { useState, useEffect } from 'react';
+import { useState, useEffect, useRef, useCallback } from 'react';
+import type { FormEvent } from 'react';
 import { Link } from 'react-router-dom';
 import { format } from 'date-fns';
 import { PageContainer } from '../components/Layout/PageContainer';
 import { LoadingSpinner } from '../components/Layout/LoadingSpinner';
 import { gamesApi } from '../services/api';
-import type { GameDTO } from '../services/api';
+import type { GameDTO, GamePageParams } from '../services/api';
 import './GamesPage.css';
 
+const PAGE_SIZE = 50;
+
+interface GameFilters {
+  map: string;
+  playerId: string;
+  fromDate: string;  // yyyy-MM-dd from the date input
+  toDate: string;
+}
+
+const EMPTY_FILTERS: GameFilters = { map: '', playerId: '', fromDate: '', toDate: '' };
+
+/**
+ * Converts the filter form into page query params. Dates are whole UTC days:
+ * "from" starts at midnight, "to" is exclusive so it points at the next midnight.
+ */
+const toPageParams = (filters: GameFilters): GamePageParams => {
+  const params: GamePageParams = {};
+  if (filters.map.trim()) params.map = filters.map.trim();
+  if (filters.playerId.trim()) params.playerId = filters.playerId.trim();
+  if (filters.fromDate) params.from = `${filters.fromDate}T00:00:00Z`;
+  if (filters.toDate) {
+    const end = new Date(`${filters.toDate}T00:00:00Z`);
+    end.setUTCDate(end.getUTCDate() + 1);
+    params.to = end.toISOString();
+  }
+  return params;
+};
+
 export const GamesPage = () => {
   const [games, setGames] = useState<GameDTO[]>([]);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [limit, setLimit] = useState<number | null>(null);
   const [error, setError] = useState<string | null>(null);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [hasMore, setHasMore] = useState(false);
+  const [filterForm, setFilterForm] = useState<GameFilters>(EMPTY_FILTERS);
+  const [filters, setFilters] = useState<GameFilters>(EMPTY_FILTERS);
+  const sentinelRef = useRef<HTMLDivElement | null>(null);
+
+  const filtersActive = Object.values(filters).some((value) => value !== '');
 
   useEffect(() => {
     loadGames();
-  }, [limit]);
+  }, [limit, filters]);
 
   const loadGames = async () => {
     try {
       setLoading(true);
       setError(null);
-      const data = limit ? await gamesApi.getRecent(limit) : await gamesApi.getAll();
-      setGames(data);
+      if (limit) {
+        const data = await gamesApi.getRecent(limit);
+        setGames(data);
+        setNextCursor(null);
+        setHasMore(false);
+      } else {
+        const page = await gamesApi.getPage({ ...toPageParams(filters), limit: PAGE_SIZE });
+        setGames(page.games);
+        setNextCursor(page.nextCursor);
+        setHasMore(page.hasMore);
+      }
     } catch (err) {
       setError('Failed to load games. Please try again later.');
       console.error('Error loading games:', err);
@@ -31,6 +77,50 @@ export const GamesPage = () => {
     }
   };
 
+  const loadMore = useCallback(async () => {
+    if (!hasMore || !nextCursor || loadingMore) {
+      return;
+    }
+    try {
+      setLoadingMore(true);
+      const page = await gamesApi.getPage({ ...toPageParams(filters), limit: PAGE_SIZE, cursor: nextCursor });
+      setGames((previous) => [...previous, ...page.games]);
+      setNextCursor(page.nextCursor);
+      setHasMore(page.hasMore);
+    } catch (err) {
+      console.error('Error loading more games:', err);
+      setHasMore(false);
+    } finally {
+      setLoadingMore(false);
+    }
+  }, [hasMore, nextCursor, loadingMore, filters]);
+
+  // Fetch the next page as the end of the table scrolls into view
+  useEffect(() => {
+    const sentinel = sentinelRef.current;
+    if (!sentinel || !hasMore) {
+      return;
+    }
+    const observer = new IntersectionObserver((entries) => {
+      if (entries[0].isIntersecting) {
+        loadMore();
+      }
+    }, { rootMargin: '400px' });
+    observer.observe(sentinel);
+    return () => observer.disconnect();
+  }, [hasMore, loadMore]);
+
+  const applyFilters = (event: FormEvent) => {
+    event.preventDefault();
+    setLimit(null);
+    setFilters({ ...filterForm });
+  };
+
+  const clearFilters = () => {
+    setFilterForm(EMPTY_FILTERS);
+    setFilters(EMPTY_FILTERS);
+  };
+
   const formatDate = (dateString: string) => {
     try {
       const date = new Date(dateString);
@@ -62,8 +152,8 @@ export const GamesPage = () => {
         <h1 className="games-title">🎮 Processed Games</h1>
         <div className="games-stats">
           <div className="stat-item">
-            <span className="stat-number">{games.length}</span>
-            <span className="stat-label">Total Games</span>
+            <span className="stat-number">{games.length}{hasMore ? '+' : ''}</span>
+            <span className="stat-label">{hasMore ? 'Games Loaded' : 'Total Games'}</span>
           </div>
           {limit && (
             <div className="stat-item">
@@ -74,7 +164,7 @@ export const GamesPage = () => {
         </div>
       </div>
 
-      {games.length === 0 ? (
+      {games.length === 0 && !filtersActive ? (
         <div className="no-games">
           <h3>No games processed yet</h3>
           <p>Games will appear here once the CS2 log processing pipeline has analyzed completed matches.</p>
@@ -102,40 +192,93 @@ export const GamesPage = () => {
             </button>
           </div>
 
-          <div className="games-table-container">
-            <table className="games-table">
-              <thead>
-                <tr>
-                  <th>Date & Time</th>
-                  <th>Map</th>
-                  <th>Score</th>
-                  <th>Duration</th>
-                  <th>Actions</th>
-                </tr>
-              </thead>
-              <tbody>
-                {games.map((game) => (
-                  <tr key={game.id}>
-                    <td className="game-date">{formatDate(game.gameDate)}</td>
-                    <td>
-                      <span className="map-badge">{game.map}</span>
-                    </td>
-                    <td className="score">{game.score}</td>
-                    <td>{game.formattedDuration}</td>
-                    <td>
-                      <Link
-                        to={`/games/${game.id}`}
-                        className="details-btn"
-                        data-testid={`testid-game-details-link-${game.id}`}
-                      >
-                        📊 Details
-                      </Link>
-                    </td>
+          <form className="games-filter-form" onSubmit={applyFilters}>
+            <input
+              type="text"
+              className="games-filter-input"
+              placeholder="Map (e.g. de_dust2)"
+              value={filterForm.map}
+              onChange={(e) => setFilterForm({ ...filterForm, map: e.target.value })}
+            />
+            <input
+              type="text"
+              className="games-filter-input"
+              placeholder="Player ID"
+              value={filterForm.playerId}
+              onChange={(e) => setFilterForm({ ...filterForm, playerId: e.target.value })}
+            />
+            <input
+              type="date"
+              className="games-filter-input"
+              aria-label="From date"
+              value={filterForm.fromDate}
+              onChange={(e) => setFilterForm({ ...filterForm, fromDate: e.target.value })}
+            />
+            <input
+              type="date"
+              className="games-filter-input"
+              aria-label="To date"
+              value={filterForm.toDate}
+              onChange={(e) => setFilterForm({ ...filterForm, toDate: e.target.value })}
+            />
+            <button type="submit" className="filter-btn">Apply</button>
+            {filtersActive && (
+              <button type="button" className="filter-btn" onClick={clearFilters}>Clear</button>
+            )}
+          </form>
+
+          {games.length === 0 ? (
+            <div className="no-games">
+              <h3>No games match these filters</h3>
+            </div>
+          ) : (
+            <div className="games-table-container">
+              <table className="games-table">
+                <thead>
+                  <tr>
+                    <th>Date & Time</th>
+                    <th>Map</th>
+                    <th>Score</th>
+                    <th>Duration</th>
+                    <th>Actions</th>
                   </tr>
-                ))}
-              </tbody>
-            </table>
-          </div>
+                </thead>
+                <tbody>
+                  {games.map((game) => (
+                    <tr key={game.id}>
+                      <td className="game-date">{formatDate(game.gameDate)}</td>
+                      <td>
+                        <span className="map-badge">{game.map}</span>
+                      </td>
+                      <td className="score">{game.score}</td>
+                      <td>{game.formattedDuration}</td>
+                      <td>
+                        <Link
+                          to={`/games/${game.id}`}
+                          className="details-btn"
+                          data-testid={`testid-game-details-link-${game.id}`}
+                        >
+                          📊 Details
+                        </Link>
+                      </td>
+                    </tr>
+                  ))}
+                </tbody>
+              </table>
+            </div>
+          )}
+
+          {hasMore && (
+            <div className="games-load-more" ref={sentinelRef}>
+              {loadingMore ? (
+                <LoadingSpinner size="sm" message="Loading more games..." />
+              ) : (
+                <button className="filter-btn" onClick={loadMore}>
+                  Load more
+                </button>
+              )}
+            </div>
+          )}
         </>
       )}
     </PageContainer>
@@ -145,6 +145,16 @@ export const PlayerProfilePage = () => {
           <div className="stat-value">{profile.clutchesWon}</div>
           <div className="stat-label">Clutches Won</div>
         </div>
+        <div className="stat-card">
+          <div className="stat-icon">⚡</div>
+          <div className="stat-value">{profile.openingKills} / {profile.openingDeaths}</div>
+          <div className="stat-label">Opening Duels (W / L)</div>
+        </div>
+        <div className="stat-card">
+          <div className="stat-icon">🔁</div>
+          <div className="stat-value">{profile.tradeKills}</div>
+          <div className="stat-label">Trade Kills</div>
+        </div>
         <div className="stat-card">
           <div className="stat-icon">🔫</div>
           <div className="stat-value">{profile.totalRoundsPlayed}</div>
@@ -35,6 +35,22 @@ export interface GameDTO {
   players?: string[];
 }
 
+export interface GamePageDTO {
+  games: GameDTO[];
+  nextCursor: string | null;  // Opaque; pass back to fetch the following page
+  hasMore: boolean;
+}
+
+export interface GamePageParams {
+  cursor?: string;
+  limit?: number;
+  map?: string;
+  appServerId?: number;
+  from?: string;  // ISO-8601 instant, inclusive
+  to?: string;    // ISO-8601 instant, exclusive
+  playerId?: string;
+}
+
 export interface RoundDTO {
   roundNumber: number;
   winnerTeam: 'CT' | 'T';
@@ -119,6 +135,59 @@ export interface RatingHistoryPoint {
   gameNumber: number;
 }
 
+export interface PlayerSearchResultDTO {
+  playerId: string;
+  playerName: string;
+  matchedName: string;
+  pastName: boolean;
+}
+
+export interface RivalDTO {
+  playerId: string;
+  playerName: string;
+  kills: number;   // Times the player killed this rival
+  deaths: number;  // Times this rival killed the player
+}
+
+export interface PlayerRivalsDTO {
+  playerId: string;
+  period: string;  // "ALL" or "yyyy-MM"
+  victims: RivalDTO[];
+  nemeses: RivalDTO[];
+}
+
+export interface PlayerWeaponStatsDTO {
+  weapon: string;
+  kills: number;
+  headshotKills: number;
+  headshotPercentage: number;
+  hits: number;
+  damage: number;  // Raw damage of all hits
+  damagePerHit: number;
+}
+
+/**
+ * One heatmap layer cropped to its non-empty cells. kills/deaths are row-major
+ * width x height arrays: index (cellY - minCellY) * width + (cellX - minCellX).
+ * Cell (0, 0) starts at world coordinates (origin, origin).
+ */
+export interface HeatmapDTO {
+  map: string;
+  playerId: string;  // "ALL" for every player
+  side: string;      // "CT", "T" or "ALL"
+  gridSize: number;
+  cellSize: number;
+  origin: number;
+  minCellX: number;
+  minCellY: number;
+  width: number;
+  height: number;
+  kills: number[];
+  deaths: number[];
+  totalKills: number;
+  totalDeaths: number;
+}
+
 export interface PlayerAccoladeDTO {
   type: string;
   typeDescription: string;
@@ -141,6 +210,9 @@ export interface PlayerProfileDTO {
   headshotPercentage: number;
   totalRoundsPlayed: number;
   clutchesWon: number;
+  openingKills: number;
+  openingDeaths: number;
+  tradeKills: number;
   totalDamageDealt: number;
   totalGamesPlayed: number;
   ratingHistory: RatingHistoryPoint[];
@@ -207,6 +279,22 @@ export const rankingsApi = {
     });
     return response.data;
   },
+
+  // Last N days (1-30, UTC) including today
+  getRollingLeaderboard: async (
+    days: number = 7,
+    limit?: number,
+    offset?: number
+  ): Promise<LeaderboardResponseDTO> => {
+    const params: Record<string, number> = { days };
+    if (limit !== undefined) params.limit = limit;
+    if (offset !== undefined) params.offset = offset;
+
+    const response = await apiClient.get<LeaderboardResponseDTO>('/rankings/leaderboard/rolling', {
+      params,
+    });
+    return response.data;
+  },
 };
 
 // Games API
@@ -223,6 +311,13 @@ export const gamesApi = {
     return response.data;
   },
 
+  getPage: async (params: GamePageParams = {}): Promise<GamePageDTO> => {
+    const response = await apiClient.get<GamePageDTO>('/games/page', {
+      params,
+    });
+    return response.data;
+  },
+
   getById: async (gameId: string): Promise<GameDTO | null> => {
     try {
       const response = await apiClient.get<GameDTO>(`/games/${gameId}`);
@@ -266,6 +361,15 @@ export const gamesApi = {
 };
 
 // Players API
+export const mapsApi = {
+  getHeatmap: async (map: string, options: { playerId?: string; side?: 'CT' | 'T' } = {}): Promise<HeatmapDTO> => {
+    const response = await apiClient.get<HeatmapDTO>(`/maps/${encodeURIComponent(map)}/heatmap`, {
+      params: options,
+    });
+    return response.data;
+  },
+};
+
 export const playersApi = {
   getProfile: async (playerId: string): Promise<PlayerProfileDTO | null> => {
     try {
@@ -280,6 +384,35 @@ export const playersApi = {
     }
   },
 
+  search: async (query: string, limit = 10): Promise<PlayerSearchResultDTO[]> => {
+    const response = await apiClient.get<PlayerSearchResultDTO[]>('/players/search', {
+      params: { q: query, limit },
+    });
+    return response.data;
+  },
+
+  getAccolades: async (playerId: string, page: number, size = 20): Promise<PlayerAccoladeDTO[]> => {
+    const encodedId = encodeURIComponent(playerId);
+    const response = await apiClient.get<PlayerAccoladeDTO[]>(`/players/${encodedId}/accolades`, {
+      params: { page, size },
+    });
+    return response.data;
+  },
+
+  getRivals: async (playerId: string, month?: string, limit = 5): Promise<PlayerRivalsDTO> => {
+    const encodedId = encodeURIComponent(playerId);
+    const response = await apiClient.get<PlayerRivalsDTO>(`/players/${encodedId}/rivals`, {
+      params: { month, limit },
+    });
+    return response.data;
+  },
+
+  getWeapons: async (playerId: string): Promise<PlayerWeaponStatsDTO[]> => {
+    const encodedId = encodeURIComponent(playerId);
+    const response = await apiClient.get<PlayerWeaponStatsDTO[]>(`/players/${encodedId}/weapons`);
+    return response.data;
+  },
+
   getAll: async (): Promise<PlayerProfileDTO[]> => {
     const response = await apiClient.get<PlayerProfileDTO[]>('/players');
     return response.data;